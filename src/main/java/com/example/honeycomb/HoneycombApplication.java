@@ -12,6 +12,11 @@ import com.example.honeycomb.config.HoneycombAutoscaleProperties;
 import com.example.honeycomb.config.HoneycombAuditProperties;
 import com.example.honeycomb.config.HoneycombIdempotencyProperties;
 import com.example.honeycomb.config.HoneycombValidationProperties;
+import com.example.honeycomb.config.HoneycombSharedBulkheadProperties;
+import com.example.honeycomb.config.HoneycombConcurrencyProperties;
+import com.example.honeycomb.config.HoneycombSharedResultsProperties;
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import com.example.honeycomb.config.HoneycombRSocketProperties;
 
 @SpringBootApplication
 @EnableScheduling
@@ -23,7 +28,12 @@ import com.example.honeycomb.config.HoneycombValidationProperties;
     HoneycombAutoscaleProperties.class,
     HoneycombAuditProperties.class,
     HoneycombValidationProperties.class,
-    HoneycombIdempotencyProperties.class
+    HoneycombIdempotencyProperties.class,
+    HoneycombSharedBulkheadProperties.class,
+    HoneycombConcurrencyProperties.class,
+    HoneycombSharedResultsProperties.class,
+    HoneycombInteractionProperties.class,
+    HoneycombRSocketProperties.class
 })
 public class HoneycombApplication {
     public static void main(String[] args) {
@@ -0,0 +1,13 @@
+package com.example.honeycomb.annotations;
+
+/**
+ * Execution hint for a {@link Sharedwall} method.
+ */
+public enum SharedExecution {
+    /** Run on the configured {@code honeycomb.shared.scheduler}. */
+    DEFAULT,
+    /** Method blocks the calling thread; never run it on the parallel scheduler. */
+    BLOCKING,
+    /** Method returns a non-blocking Mono/Flux; invoke inline without a thread hop. */
+    NON_BLOCKING
+}
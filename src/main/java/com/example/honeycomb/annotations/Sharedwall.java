@@ -13,4 +13,14 @@ public @interface Sharedwall {
     String value() default HoneycombConstants.Messages.EMPTY;
     /** Optional list of cell names that are allowed to call this shared method. Empty means allow all. Use "*" to explicitly allow all. */
     String[] allowedFrom() default {};
+    /** Where the dispatcher runs the method; see {@link SharedExecution}. */
+    SharedExecution execution() default SharedExecution.DEFAULT;
+    /** Bulkhead: max concurrent calls for this alias. Negative means use {@code honeycomb.shared.bulkhead} settings. */
+    int maxConcurrentCalls() default -1;
+    /** Bulkhead: max calls waiting for a permit. Negative means use {@code honeycomb.shared.bulkhead} settings. */
+    int maxQueuedCalls() default -1;
+    /** Cache results per canonicalized argument; only for pure methods. */
+    boolean cacheable() default false;
+    /** Cache TTL such as {@code "30s"} or {@code "PT5M"}. Empty means {@code honeycomb.shared.results.default-ttl}. */
+    String ttl() default HoneycombConstants.Messages.EMPTY;
 }
@@ -0,0 +1,126 @@
+package com.example.honeycomb.config;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = HoneycombConstants.ConfigKeys.CONCURRENCY_PREFIX, ignoreInvalidFields = true)
+public class HoneycombConcurrencyProperties {
+    /**
+     * Enable adaptive concurrency limiting for shared dispatch and inter-cell calls.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Limit algorithm: vegas | gradient2
+     */
+    private String algorithm = HoneycombConstants.ConcurrencyLimits.GRADIENT2;
+
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 1000;
+
+    /**
+     * gradient2: how much the short RTT may exceed the long-term RTT before the limit shrinks.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * gradient2: weight of each new limit estimate (0..1).
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * gradient2: number of samples in the long-term RTT average.
+     */
+    private int longWindow = 600;
+
+    /**
+     * gradient2: number of samples in the short-term RTT average the long-term one is compared with.
+     */
+    private int shortWindow = 10;
+
+    /**
+     * vegas: re-measure the no-load RTT after this many samples (0 disables probing).
+     */
+    private int probeInterval = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public int getLongWindow() {
+        return longWindow;
+    }
+
+    public void setLongWindow(int longWindow) {
+        this.longWindow = longWindow;
+    }
+
+    public int getShortWindow() {
+        return shortWindow;
+    }
+
+    public void setShortWindow(int shortWindow) {
+        this.shortWindow = shortWindow;
+    }
+
+    public int getProbeInterval() {
+        return probeInterval;
+    }
+
+    public void setProbeInterval(int probeInterval) {
+        this.probeInterval = probeInterval;
+    }
+}
@@ -0,0 +1,708 @@
+package com.example.honeycomb.config;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outbound inter-cell calls made by {@code /cells/{from}/invoke/..} and {@code /cells/{from}/forward/..}.
+ */
+@ConfigurationProperties(prefix = HoneycombConstants.ConfigKeys.INTERACTION_PREFIX, ignoreInvalidFields = true)
+public class HoneycombInteractionProperties {
+    private Coalescing coalescing = new Coalescing();
+    private Pool pool = new Pool();
+    private Hedging hedging = new Hedging();
+    private Timeouts timeouts = new Timeouts();
+    private Retry retry = new Retry();
+    private Local local = new Local();
+    private Compression compression = new Compression();
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public void setCoalescing(Coalescing coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public void setPool(Pool pool) {
+        this.pool = pool;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public void setHedging(Hedging hedging) {
+        this.hedging = hedging;
+    }
+
+    public Timeouts getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(Timeouts timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+
+    public Local getLocal() {
+        return local;
+    }
+
+    public void setLocal(Local local) {
+        this.local = local;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    private static boolean enabledFor(boolean enabled, Map<String, Boolean> perCell, String cell) {
+        if (!enabled) return false;
+        if (perCell == null || perCell.isEmpty()) return true;
+        Boolean direct = cell == null ? null : perCell.get(cell);
+        if (direct != null) return direct;
+        Boolean wildcard = perCell.get(HoneycombConstants.ConfigKeys.GLOBAL_WILDCARD);
+        return wildcard == null || wildcard;
+    }
+
+    /**
+     * Single-flight for identical concurrent calls: duplicates share one upstream exchange.
+     */
+    public static class Coalescing {
+        /**
+         * Off by default; only safe for calls whose response does not depend on who asked first.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Coalesce shared method invocations ({@code /invoke/{to}/shared/{method}}).
+         */
+        private boolean invokeShared = true;
+
+        /**
+         * Coalesce GET forwards. Other forward methods are never coalesced.
+         */
+        private boolean forwardReads = true;
+
+        /**
+         * Per target cell on/off; {@code "*"} applies to every cell without its own entry.
+         */
+        private Map<String, Boolean> perCell = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isInvokeShared() {
+            return invokeShared;
+        }
+
+        public void setInvokeShared(boolean invokeShared) {
+            this.invokeShared = invokeShared;
+        }
+
+        public boolean isForwardReads() {
+            return forwardReads;
+        }
+
+        public void setForwardReads(boolean forwardReads) {
+            this.forwardReads = forwardReads;
+        }
+
+        public Map<String, Boolean> getPerCell() {
+            return perCell;
+        }
+
+        public void setPerCell(Map<String, Boolean> perCell) {
+            this.perCell = perCell;
+        }
+
+        public boolean isEnabledFor(String cell) {
+            return enabledFor(enabled, perCell, cell);
+        }
+    }
+
+    /**
+     * Connection pool shared by every inter-cell {@code WebClient}. Limits apply per target host.
+     */
+    public static class Pool {
+        /**
+         * Open connections per target host (for HTTP/2, connections rather than streams).
+         */
+        private int maxConnections = 200;
+
+        /**
+         * Callers allowed to wait for a connection per host; {@code -1} means unbounded.
+         */
+        private int pendingAcquireMaxCount = 1000;
+
+        /**
+         * How long a caller waits for a free connection before failing.
+         */
+        private long pendingAcquireTimeoutMs = 5000;
+
+        /**
+         * Idle connections older than this are closed.
+         */
+        private long maxIdleTimeMs = 30000;
+
+        /**
+         * Connections are recycled after this age so DNS and load balancer changes are picked up;
+         * {@code 0} keeps them forever.
+         */
+        private long maxLifeTimeMs = 300000;
+
+        /**
+         * Background eviction interval for idle and expired connections; {@code 0} evicts only on acquire.
+         */
+        private long evictInBackgroundMs = 30000;
+
+        /**
+         * HTTP keep-alive and TCP {@code SO_KEEPALIVE} on pooled connections.
+         */
+        private boolean keepAlive = true;
+
+        /**
+         * Export pool gauges ({@code reactor.netty.connection.provider.*}) to Micrometer.
+         */
+        private boolean metrics = true;
+
+        /**
+         * HTTP/2 over cleartext: {@code off}, {@code upgrade} (HTTP/1.1 upgrade with fallback)
+         * or {@code prior-knowledge} (every target must accept h2c, e.g. {@code server.http2.enabled}).
+         */
+        private Http2 http2 = Http2.OFF;
+
+        /**
+         * Concurrent streams per HTTP/2 connection.
+         */
+        private long maxConcurrentStreams = 100;
+
+        /**
+         * Per-host overrides of {@link #maxConnections}, keyed by {@code host:port}.
+         */
+        private Map<String, Integer> hosts = new HashMap<>();
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public long getPendingAcquireTimeoutMs() {
+            return pendingAcquireTimeoutMs;
+        }
+
+        public void setPendingAcquireTimeoutMs(long pendingAcquireTimeoutMs) {
+            this.pendingAcquireTimeoutMs = pendingAcquireTimeoutMs;
+        }
+
+        public long getMaxIdleTimeMs() {
+            return maxIdleTimeMs;
+        }
+
+        public void setMaxIdleTimeMs(long maxIdleTimeMs) {
+            this.maxIdleTimeMs = maxIdleTimeMs;
+        }
+
+        public long getMaxLifeTimeMs() {
+            return maxLifeTimeMs;
+        }
+
+        public void setMaxLifeTimeMs(long maxLifeTimeMs) {
+            this.maxLifeTimeMs = maxLifeTimeMs;
+        }
+
+        public long getEvictInBackgroundMs() {
+            return evictInBackgroundMs;
+        }
+
+        public void setEvictInBackgroundMs(long evictInBackgroundMs) {
+            this.evictInBackgroundMs = evictInBackgroundMs;
+        }
+
+        public boolean isKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(boolean keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public boolean isMetrics() {
+            return metrics;
+        }
+
+        public void setMetrics(boolean metrics) {
+            this.metrics = metrics;
+        }
+
+        public Http2 getHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(Http2 http2) {
+            this.http2 = http2;
+        }
+
+        public long getMaxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        public void setMaxConcurrentStreams(long maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+        }
+
+        public Map<String, Integer> getHosts() {
+            return hosts;
+        }
+
+        public void setHosts(Map<String, Integer> hosts) {
+            this.hosts = hosts;
+        }
+
+        public enum Http2 { OFF, UPGRADE, PRIOR_KNOWLEDGE }
+    }
+
+    /**
+     * Hedged reads: when the first target is slow, send the same call to a second healthy
+     * instance and keep whichever answers first.
+     */
+    public static class Hedging {
+        /**
+         * Off by default; hedging doubles the work for every slow call it fires on.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Hedge GET forwards. Other forward methods are never hedged.
+         */
+        private boolean forwardReads = true;
+
+        /**
+         * Hedge shared method invocations; only safe when the shared methods are idempotent.
+         */
+        private boolean invokeShared = false;
+
+        /**
+         * Latency percentile of the target cell to wait before hedging; {@code 0} always uses {@link #delayMs}.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Hedge delay until enough latency samples exist, or always when {@link #percentile} is {@code 0}.
+         */
+        private long delayMs = 50;
+
+        /**
+         * Lower bound for the percentile delay, so a very fast cell is not hedged on every call.
+         */
+        private long minDelayMs = 5;
+
+        /**
+         * Hedges allowed as a percentage of eligible calls.
+         */
+        private double budgetPercent = 10.0;
+
+        /**
+         * Per target cell on/off; {@code "*"} applies to every cell without its own entry.
+         */
+        private Map<String, Boolean> perCell = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isForwardReads() {
+            return forwardReads;
+        }
+
+        public void setForwardReads(boolean forwardReads) {
+            this.forwardReads = forwardReads;
+        }
+
+        public boolean isInvokeShared() {
+            return invokeShared;
+        }
+
+        public void setInvokeShared(boolean invokeShared) {
+            this.invokeShared = invokeShared;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public long getDelayMs() {
+            return delayMs;
+        }
+
+        public void setDelayMs(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+
+        public double getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public void setBudgetPercent(double budgetPercent) {
+            this.budgetPercent = budgetPercent;
+        }
+
+        public Map<String, Boolean> getPerCell() {
+            return perCell;
+        }
+
+        public void setPerCell(Map<String, Boolean> perCell) {
+            this.perCell = perCell;
+        }
+
+        public boolean isEnabledFor(String cell) {
+            return enabledFor(enabled, perCell, cell);
+        }
+    }
+
+    /**
+     * Time allowed for one inter-cell call, and propagation of the caller's remaining budget.
+     */
+    public static class Timeouts {
+        /**
+         * Used when neither the route nor the target cell has its own timeout.
+         */
+        private long defaultMs = 10000;
+
+        /**
+         * Per target cell; {@code "*"} applies to every cell without its own entry.
+         */
+        private Map<String, Long> perCell = new HashMap<>();
+
+        /**
+         * Per upstream path, e.g. {@code /honeycomb/shared/report}; wins over {@link #perCell}.
+         */
+        private Map<String, Long> perRoute = new HashMap<>();
+
+        /**
+         * Send the remaining budget to the target in the deadline header and honour it on inbound calls.
+         */
+        private boolean propagateDeadline = true;
+
+        public long getDefaultMs() {
+            return defaultMs;
+        }
+
+        public void setDefaultMs(long defaultMs) {
+            this.defaultMs = defaultMs;
+        }
+
+        public Map<String, Long> getPerCell() {
+            return perCell;
+        }
+
+        public void setPerCell(Map<String, Long> perCell) {
+            this.perCell = perCell;
+        }
+
+        public Map<String, Long> getPerRoute() {
+            return perRoute;
+        }
+
+        public void setPerRoute(Map<String, Long> perRoute) {
+            this.perRoute = perRoute;
+        }
+
+        public boolean isPropagateDeadline() {
+            return propagateDeadline;
+        }
+
+        public void setPropagateDeadline(boolean propagateDeadline) {
+            this.propagateDeadline = propagateDeadline;
+        }
+
+        public long resolveMs(String cell, String path) {
+            Long route = perRoute == null || path == null ? null : perRoute.get(path);
+            if (route != null) return route;
+            if (perCell != null) {
+                Long direct = cell == null ? null : perCell.get(cell);
+                if (direct != null) return direct;
+                Long wildcard = perCell.get(HoneycombConstants.ConfigKeys.GLOBAL_WILDCARD);
+                if (wildcard != null) return wildcard;
+            }
+            return defaultMs;
+        }
+    }
+
+    /**
+     * Retries of failed inter-cell calls. A retry always goes to a different instance, and
+     * retries are paid for from a token bucket per target so an outage is not multiplied.
+     */
+    public static class Retry {
+        /**
+         * Attempts per call including the first; {@code 1} disables retries.
+         */
+        private int maxAttempts = 2;
+
+        /**
+         * Retry shared method invocations after the request may have reached the target;
+         * only safe when the shared methods are idempotent. Connection failures are always retried.
+         */
+        private boolean invokeShared = false;
+
+        /**
+         * Tokens each first attempt adds to the bucket; {@code 0.2} allows one retry per five calls.
+         */
+        private double budgetRatio = 0.2;
+
+        /**
+         * Tokens added per second regardless of traffic, so quiet targets can still retry.
+         */
+        private double budgetMinPerSecond = 1.0;
+
+        /**
+         * Most tokens the bucket can hold.
+         */
+        private double budgetCapacity = 20;
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public boolean isInvokeShared() {
+            return invokeShared;
+        }
+
+        public void setInvokeShared(boolean invokeShared) {
+            this.invokeShared = invokeShared;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public double getBudgetMinPerSecond() {
+            return budgetMinPerSecond;
+        }
+
+        public void setBudgetMinPerSecond(double budgetMinPerSecond) {
+            this.budgetMinPerSecond = budgetMinPerSecond;
+        }
+
+        public double getBudgetCapacity() {
+            return budgetCapacity;
+        }
+
+        public void setBudgetCapacity(double budgetCapacity) {
+            this.budgetCapacity = budgetCapacity;
+        }
+    }
+
+    /**
+     * Calls whose target is this process are served in-process rather than over a loopback
+     * connection. Only shared methods and the target cell's item routes qualify; anything else,
+     * and every {@code ?mode=proxy} call, still goes over HTTP.
+     */
+    public static class Local {
+        /**
+         * Serve a selected target that is this node (a local host name on one of our ports) in-process.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Skip address lookup and routing for cells registered in this process and always serve
+         * them here. Only right when every node hosts the same cells with the same data.
+         */
+        private boolean preferRegistered = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isPreferRegistered() {
+            return preferRegistered;
+        }
+
+        public void setPreferRegistered(boolean preferRegistered) {
+            this.preferRegistered = preferRegistered;
+        }
+    }
+
+    /**
+     * Content coding between cells: responses of this node's HTTP servers (the main server and
+     * every cell server), the {@code Accept-Encoding} of the inter-cell clients, and optionally
+     * gzip request bodies. Compressed request bodies are always accepted, whatever these say.
+     */
+    public static class Compression {
+        /**
+         * Compress responses and ask other cells for compressed responses.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Codings in order of preference. {@code br} needs brotli4j and {@code zstd} needs zstd-jni
+         * on the classpath; codings that are not available are skipped at startup.
+         */
+        private List<String> encodings = new ArrayList<>(List.of(
+                HoneycombConstants.ContentEncodings.ZSTD,
+                HoneycombConstants.ContentEncodings.BROTLI,
+                HoneycombConstants.ContentEncodings.GZIP));
+
+        /**
+         * Responses with a smaller {@code Content-Length} are sent as they are. Streamed responses
+         * without a length are always compressed.
+         */
+        private int minResponseSize = 2048;
+
+        /**
+         * Gzip request bodies to other cells. Turn on only once every node accepts them.
+         */
+        private boolean compressRequests = false;
+
+        /**
+         * Request bodies below this size are sent as they are.
+         */
+        private int minRequestSize = 8192;
+
+        /**
+         * Largest request body accepted after decompression; larger ones are rejected with 413.
+         */
+        private int maxInflatedRequestSize = 16 * 1024 * 1024;
+
+        private int gzipLevel = 6;
+        private int brotliQuality = 4;
+        private int zstdLevel = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getEncodings() {
+            return encodings;
+        }
+
+        public void setEncodings(List<String> encodings) {
+            this.encodings = encodings;
+        }
+
+        public int getMinResponseSize() {
+            return minResponseSize;
+        }
+
+        public void setMinResponseSize(int minResponseSize) {
+            this.minResponseSize = minResponseSize;
+        }
+
+        public boolean isCompressRequests() {
+            return compressRequests;
+        }
+
+        public void setCompressRequests(boolean compressRequests) {
+            this.compressRequests = compressRequests;
+        }
+
+        public int getMinRequestSize() {
+            return minRequestSize;
+        }
+
+        public void setMinRequestSize(int minRequestSize) {
+            this.minRequestSize = minRequestSize;
+        }
+
+        public int getMaxInflatedRequestSize() {
+            return maxInflatedRequestSize;
+        }
+
+        public void setMaxInflatedRequestSize(int maxInflatedRequestSize) {
+            this.maxInflatedRequestSize = maxInflatedRequestSize;
+        }
+
+        public int getGzipLevel() {
+            return gzipLevel;
+        }
+
+        public void setGzipLevel(int gzipLevel) {
+            this.gzipLevel = gzipLevel;
+        }
+
+        public int getBrotliQuality() {
+            return brotliQuality;
+        }
+
+        public void setBrotliQuality(int brotliQuality) {
+            this.brotliQuality = brotliQuality;
+        }
+
+        public int getZstdLevel() {
+            return zstdLevel;
+        }
+
+        public void setZstdLevel(int zstdLevel) {
+            this.zstdLevel = zstdLevel;
+        }
+    }
+}
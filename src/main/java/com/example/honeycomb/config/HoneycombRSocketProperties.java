@@ -0,0 +1,89 @@
+package com.example.honeycomb.config;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Optional RSocket transport for cell-to-cell shared method calls. Each cell with a port under
+ * {@code cell.rsocket-ports.<cell>} gets a TCP RSocket server next to its HTTP server.
+ */
+@ConfigurationProperties(prefix = HoneycombConstants.ConfigKeys.RSOCKET_PREFIX, ignoreInvalidFields = true)
+public class HoneycombRSocketProperties {
+    /**
+     * Start RSocket servers for cells and let the interaction endpoints call over RSocket.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Token a connecting cell must send as setup data; holders may call shared methods.
+     */
+    private String sharedSecret;
+
+    /**
+     * Accept connections without a token; only for trusted networks.
+     */
+    private boolean allowAnonymous = false;
+
+    /**
+     * Use RSocket for {@code /cells/{from}/invoke/..} when the target advertises an RSocket port.
+     */
+    private boolean preferForInvoke = true;
+
+    /**
+     * Keep-alive frame interval on client connections.
+     */
+    private long keepAliveIntervalMs = 20000;
+
+    /**
+     * A connection with no keep-alive acknowledgement for this long is closed.
+     */
+    private long keepAliveMaxLifetimeMs = 90000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSharedSecret() {
+        return sharedSecret;
+    }
+
+    public void setSharedSecret(String sharedSecret) {
+        this.sharedSecret = sharedSecret;
+    }
+
+    public boolean isAllowAnonymous() {
+        return allowAnonymous;
+    }
+
+    public void setAllowAnonymous(boolean allowAnonymous) {
+        this.allowAnonymous = allowAnonymous;
+    }
+
+    public boolean isPreferForInvoke() {
+        return preferForInvoke;
+    }
+
+    public void setPreferForInvoke(boolean preferForInvoke) {
+        this.preferForInvoke = preferForInvoke;
+    }
+
+    public long getKeepAliveIntervalMs() {
+        return keepAliveIntervalMs;
+    }
+
+    public void setKeepAliveIntervalMs(long keepAliveIntervalMs) {
+        this.keepAliveIntervalMs = keepAliveIntervalMs;
+    }
+
+    public long getKeepAliveMaxLifetimeMs() {
+        return keepAliveMaxLifetimeMs;
+    }
+
+    public void setKeepAliveMaxLifetimeMs(long keepAliveMaxLifetimeMs) {
+        this.keepAliveMaxLifetimeMs = keepAliveMaxLifetimeMs;
+    }
+}
@@ -11,6 +11,11 @@ public class HoneycombRoutingProperties {
     private String defaultPolicy = HoneycombConstants.RoutingPolicies.ROUND_ROBIN;
     private Map<String, String> perCellPolicy = new HashMap<>();
     private Map<String, Map<String, Integer>> weights = new HashMap<>();
+    private Locality locality = new Locality();
+    private Map<String, HashKey> hashKeys = new HashMap<>();
+    private Health health = new Health();
+    private Outlier outlier = new Outlier();
+    private SlowStart slowStart = new SlowStart();
 
     public String getDefaultPolicy() {
         return defaultPolicy;
@@ -36,6 +41,57 @@ public class HoneycombRoutingProperties {
         this.weights = weights;
     }
 
+    public Locality getLocality() {
+        return locality;
+    }
+
+    public void setLocality(Locality locality) {
+        this.locality = locality == null ? new Locality() : locality;
+    }
+
+    public Map<String, HashKey> getHashKeys() {
+        return hashKeys;
+    }
+
+    public void setHashKeys(Map<String, HashKey> hashKeys) {
+        this.hashKeys = hashKeys == null ? new HashMap<>() : hashKeys;
+    }
+
+    public Health getHealth() {
+        return health;
+    }
+
+    public void setHealth(Health health) {
+        this.health = health == null ? new Health() : health;
+    }
+
+    public Outlier getOutlier() {
+        return outlier;
+    }
+
+    public void setOutlier(Outlier outlier) {
+        this.outlier = outlier == null ? new Outlier() : outlier;
+    }
+
+    public SlowStart getSlowStart() {
+        return slowStart;
+    }
+
+    public void setSlowStart(SlowStart slowStart) {
+        this.slowStart = slowStart == null ? new SlowStart() : slowStart;
+    }
+
+    /**
+     * Hash key of {@code cellName} for the {@code consistent-hash} policy, falling back to the
+     * {@code "*"} entry; {@code null} when neither is configured.
+     */
+    public HashKey resolveHashKey(String cellName) {
+        HashKey key = cellName == null ? null : hashKeys.get(cellName);
+        if (key != null) return key;
+        key = hashKeys.get(HoneycombConstants.ConfigKeys.GLOBAL_WILDCARD);
+        return key != null ? key : hashKeys.get(HoneycombConstants.ConfigKeys.GLOBAL_ALL);
+    }
+
     public String resolvePolicy(String cellName) {
         if (cellName == null) return defaultPolicy;
         String policy = perCellPolicy.get(cellName);
@@ -53,4 +109,324 @@ public class HoneycombRoutingProperties {
         if (fallback == null) fallback = weights.get(HoneycombConstants.ConfigKeys.GLOBAL_ALL);
         return fallback == null ? Map.of() : fallback;
     }
+
+    /**
+     * Settings of the {@code zone-aware} policy.
+     */
+    public static class Locality {
+        /**
+         * Zone of this node; addresses in the same zone, or with no zone, are local.
+         */
+        private String zone;
+
+        /**
+         * Below this share of healthy local instances, traffic spills over to other zones in
+         * proportion to the shortfall.
+         */
+        private double minHealthyPercent = 70.0;
+
+        /**
+         * Average in-flight requests per healthy local instance at which other zones are mixed
+         * in; {@code 0} disables the capacity check.
+         */
+        private int maxInFlightPerInstance = 0;
+
+        /**
+         * Policy used to pick one instance within the chosen zone set.
+         */
+        private String policy = HoneycombConstants.RoutingPolicies.ROUND_ROBIN;
+
+        public String getZone() {
+            return zone;
+        }
+
+        public void setZone(String zone) {
+            this.zone = zone;
+        }
+
+        public double getMinHealthyPercent() {
+            return minHealthyPercent;
+        }
+
+        public void setMinHealthyPercent(double minHealthyPercent) {
+            this.minHealthyPercent = minHealthyPercent;
+        }
+
+        public int getMaxInFlightPerInstance() {
+            return maxInFlightPerInstance;
+        }
+
+        public void setMaxInFlightPerInstance(int maxInFlightPerInstance) {
+            this.maxInFlightPerInstance = maxInFlightPerInstance;
+        }
+
+        public String getPolicy() {
+            return policy;
+        }
+
+        public void setPolicy(String policy) {
+            this.policy = policy;
+        }
+    }
+
+    /**
+     * Request attribute whose value picks the instance under {@code consistent-hash}.
+     */
+    public static class HashKey {
+        /**
+         * {@code header}, {@code path-segment} or {@code json-field}.
+         */
+        private String source = HoneycombConstants.HashKeySources.HEADER;
+
+        /**
+         * Header name, or JSON field as a dotted path ({@code customer.id}) or JSON pointer
+         * ({@code /customer/id}).
+         */
+        private String name;
+
+        /**
+         * Zero-based segment of the target path, for {@code path-segment}.
+         */
+        private int segment = 0;
+
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getSegment() {
+            return segment;
+        }
+
+        public void setSegment(int segment) {
+            this.segment = segment;
+        }
+    }
+
+    /**
+     * Active health probes against each discovered address.
+     */
+    public static class Health {
+        /**
+         * Probe every known address on a schedule; off by default since the health endpoint
+         * must be reachable from every node.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Delay between probe rounds; the schedule itself reads
+         * {@code honeycomb.routing.health.interval-ms}.
+         */
+        private long intervalMs = 5000;
+
+        /**
+         * A probe that has not answered within this time counts as failed.
+         */
+        private long timeoutMs = 1000;
+
+        /**
+         * Path probed on the instance's management port (or its cell port when none is known);
+         * defaults to {@code health} under {@code management.endpoints.web.base-path}.
+         */
+        private String path;
+
+        /**
+         * Failed probes in a row before an address is taken out of rotation.
+         */
+        private int unhealthyThreshold = 2;
+
+        /**
+         * Successful probes in a row before it is put back.
+         */
+        private int healthyThreshold = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getIntervalMs() {
+            return intervalMs;
+        }
+
+        public void setIntervalMs(long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getUnhealthyThreshold() {
+            return unhealthyThreshold;
+        }
+
+        public void setUnhealthyThreshold(int unhealthyThreshold) {
+            this.unhealthyThreshold = unhealthyThreshold;
+        }
+
+        public int getHealthyThreshold() {
+            return healthyThreshold;
+        }
+
+        public void setHealthyThreshold(int healthyThreshold) {
+            this.healthyThreshold = healthyThreshold;
+        }
+    }
+
+    /**
+     * Passive outlier ejection driven by the results of real calls.
+     */
+    public static class Outlier {
+        private boolean enabled = true;
+
+        /**
+         * Failed calls (5xx, timeout, connection error) in a row that eject an address;
+         * {@code 0} disables this check.
+         */
+        private int consecutiveErrors = 5;
+
+        /**
+         * An address whose average latency exceeds this multiple of the cell's median is
+         * ejected; {@code 0} disables this check.
+         */
+        private double latencyFactor = 3.0;
+
+        /**
+         * Averages below this are never latency outliers, however they compare to the median.
+         */
+        private long minLatencyMs = 50;
+
+        /**
+         * Length of the first ejection; each further one doubles it.
+         */
+        private long baseEjectionMs = 30000;
+
+        /**
+         * Upper bound of one ejection; also the time in rotation after which one past
+         * ejection is forgiven.
+         */
+        private long maxEjectionMs = 300000;
+
+        /**
+         * Most of a cell that may be out of rotation at once. Beyond it health is ignored and
+         * every address is used, since a shared cause is more likely than that many bad hosts.
+         */
+        private double maxEjectionPercent = 50.0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getConsecutiveErrors() {
+            return consecutiveErrors;
+        }
+
+        public void setConsecutiveErrors(int consecutiveErrors) {
+            this.consecutiveErrors = consecutiveErrors;
+        }
+
+        public double getLatencyFactor() {
+            return latencyFactor;
+        }
+
+        public void setLatencyFactor(double latencyFactor) {
+            this.latencyFactor = latencyFactor;
+        }
+
+        public long getMinLatencyMs() {
+            return minLatencyMs;
+        }
+
+        public void setMinLatencyMs(long minLatencyMs) {
+            this.minLatencyMs = minLatencyMs;
+        }
+
+        public long getBaseEjectionMs() {
+            return baseEjectionMs;
+        }
+
+        public void setBaseEjectionMs(long baseEjectionMs) {
+            this.baseEjectionMs = baseEjectionMs;
+        }
+
+        public long getMaxEjectionMs() {
+            return maxEjectionMs;
+        }
+
+        public void setMaxEjectionMs(long maxEjectionMs) {
+            this.maxEjectionMs = maxEjectionMs;
+        }
+
+        public double getMaxEjectionPercent() {
+            return maxEjectionPercent;
+        }
+
+        public void setMaxEjectionPercent(double maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
+    }
+
+    /**
+     * Traffic ramp for instances that just started, reappeared in discovery or came back from
+     * an ejection or failed health check.
+     */
+    public static class SlowStart {
+        /**
+         * Time over which a new instance goes from {@code min-weight-percent} to a full share;
+         * {@code 0} disables slow start.
+         */
+        private long windowMs = 30000;
+
+        /**
+         * Share of a full weight a new instance starts with.
+         */
+        private double minWeightPercent = 10.0;
+
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public void setWindowMs(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        public double getMinWeightPercent() {
+            return minWeightPercent;
+        }
+
+        public void setMinWeightPercent(double minWeightPercent) {
+            this.minWeightPercent = minWeightPercent;
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package com.example.honeycomb.config;
+
+import com.example.honeycomb.annotations.Sharedwall;
+import com.example.honeycomb.util.HoneycombConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = HoneycombConstants.ConfigKeys.SHARED_BULKHEAD_PREFIX, ignoreInvalidFields = true)
+public class HoneycombSharedBulkheadProperties {
+    /**
+     * Enable per-alias bulkheads in the shared dispatcher.
+     */
+    private boolean enabled = true;
+    private BulkheadConfig defaults = new BulkheadConfig();
+    /**
+     * Overrides keyed by shared method alias.
+     */
+    private Map<String, BulkheadConfig> perMethod = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public BulkheadConfig getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(BulkheadConfig defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, BulkheadConfig> getPerMethod() {
+        return perMethod;
+    }
+
+    public void setPerMethod(Map<String, BulkheadConfig> perMethod) {
+        this.perMethod = perMethod;
+    }
+
+    /**
+     * Resolve the bulkhead for an alias: per-method property first, then the
+     * annotation limits, then the wildcard entry and finally the defaults.
+     */
+    public BulkheadConfig resolve(String alias, Sharedwall annotation) {
+        BulkheadConfig cfg = alias == null ? null : perMethod.get(alias);
+        if (cfg != null) return cfg;
+        BulkheadConfig fallback = perMethod.get(HoneycombConstants.ConfigKeys.GLOBAL_WILDCARD);
+        if (fallback == null) fallback = perMethod.get(HoneycombConstants.ConfigKeys.GLOBAL_ALL);
+        if (fallback == null) fallback = defaults;
+        if (annotation == null || (annotation.maxConcurrentCalls() < 0 && annotation.maxQueuedCalls() < 0)) {
+            return fallback;
+        }
+        BulkheadConfig merged = new BulkheadConfig();
+        merged.setMaxConcurrentCalls(annotation.maxConcurrentCalls() >= 0
+                ? annotation.maxConcurrentCalls() : fallback.getMaxConcurrentCalls());
+        merged.setMaxQueuedCalls(annotation.maxQueuedCalls() >= 0
+                ? annotation.maxQueuedCalls() : fallback.getMaxQueuedCalls());
+        merged.setMaxWait(fallback.getMaxWait());
+        return merged;
+    }
+
+    public static class BulkheadConfig {
+        private int maxConcurrentCalls = 64;
+        private int maxQueuedCalls = 128;
+        private Duration maxWait = Duration.ofMillis(500);
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public int getMaxQueuedCalls() {
+            return maxQueuedCalls;
+        }
+
+        public void setMaxQueuedCalls(int maxQueuedCalls) {
+            this.maxQueuedCalls = maxQueuedCalls;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.honeycomb.config;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = HoneycombConstants.ConfigKeys.SHARED_RESULTS_PREFIX, ignoreInvalidFields = true)
+public class HoneycombSharedResultsProperties {
+    /**
+     * Master switch for shared result caching.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Max cached results across all aliases; least recently used entries are evicted.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * TTL used when neither the annotation nor a per-method entry sets one.
+     */
+    private Duration defaultTtl = Duration.ofSeconds(60);
+
+    /**
+     * Overrides keyed by shared method alias. These win over the annotation.
+     */
+    private Map<String, MethodConfig> perMethod = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Map<String, MethodConfig> getPerMethod() {
+        return perMethod;
+    }
+
+    public void setPerMethod(Map<String, MethodConfig> perMethod) {
+        this.perMethod = perMethod;
+    }
+
+    public MethodConfig resolve(String alias) {
+        return alias == null ? null : perMethod.get(alias);
+    }
+
+    public static class MethodConfig {
+        /**
+         * Null keeps the annotation setting.
+         */
+        private Boolean cacheable;
+        private Duration ttl;
+
+        public Boolean getCacheable() {
+            return cacheable;
+        }
+
+        public void setCacheable(Boolean cacheable) {
+            this.cacheable = cacheable;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.honeycomb.config;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import org.springframework.boot.rsocket.messaging.RSocketStrategiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.MimeType;
+
+/**
+ * Per-request metadata understood by the RSocket shared method endpoints. The calling cell and
+ * request id are carried as their own composite metadata entries so handlers can bind them with
+ * {@code @Header}, the same way HTTP handlers read {@code X-From-Cell} and {@code X-Request-Id}.
+ */
+@Configuration
+public class RSocketConfig {
+    public static final MimeType FROM_CELL_MIME_TYPE = MimeType.valueOf(HoneycombConstants.RSocket.MIME_FROM_CELL);
+    public static final MimeType REQUEST_ID_MIME_TYPE = MimeType.valueOf(HoneycombConstants.RSocket.MIME_REQUEST_ID);
+
+    @Bean
+    public RSocketStrategiesCustomizer honeycombMetadataCustomizer() {
+        return strategies -> strategies.metadataExtractorRegistry(registry -> {
+            registry.metadataToExtract(FROM_CELL_MIME_TYPE, String.class, HoneycombConstants.RSocket.META_FROM_CELL);
+            registry.metadataToExtract(REQUEST_ID_MIME_TYPE, String.class, HoneycombConstants.RSocket.META_REQUEST_ID);
+        });
+    }
+}
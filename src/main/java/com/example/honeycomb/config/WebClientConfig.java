@@ -1,25 +1,49 @@
 package com.example.honeycomb.config;
 
+import com.example.honeycomb.service.InterCellCompression;
+import com.example.honeycomb.service.RetryBudget;
+import com.example.honeycomb.util.HoneycombConstants;
 import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
+import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * WebClient configuration with connection and response timeouts for resilience.
+ * <p>
+ * All inter-cell traffic goes through one pooled {@link ClientHttpConnector}. Spring Boot applies
+ * that bean to every auto-configured {@code WebClient.Builder}, so clients built elsewhere share the
+ * same pool, timeouts and protocol settings. With {@code honeycomb.interaction.compression.enabled}
+ * the connector also decodes compressed responses (see {@link InterCellCompression}).
  */
 @Configuration
 public class WebClientConfig {
+    /**
+     * Qualifier of the client used by the inter-cell endpoints, which retry on their own.
+     */
+    public static final String INTER_CELL_WEB_CLIENT = "interCellWebClient";
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
 
     @Value("${honeycomb.webclient.connect-timeout-ms:5000}")
     private int connectTimeoutMs;
@@ -39,34 +63,111 @@ public class WebClientConfig {
     @Value("${honeycomb.webclient.retry.max-backoff-ms:2000}")
     private long retryMaxBackoffMs;
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider interCellConnectionProvider(HoneycombInteractionProperties properties) {
+        HoneycombInteractionProperties.Pool pool = properties.getPool();
+        ConnectionProvider.Builder provider = ConnectionProvider.builder(HoneycombConstants.Names.INTER_CELL_POOL)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMs()))
+                .metrics(pool.isMetrics());
+        if (pool.getMaxLifeTimeMs() > 0) {
+            provider.maxLifeTime(Duration.ofMillis(pool.getMaxLifeTimeMs()));
+        }
+        if (pool.getEvictInBackgroundMs() > 0) {
+            provider.evictInBackground(Duration.ofMillis(pool.getEvictInBackgroundMs()));
+        }
+        if (pool.getHttp2() != HoneycombInteractionProperties.Pool.Http2.OFF) {
+            // HTTP/2 multiplexes many streams over few connections; cap streams per connection instead
+            provider.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(pool.getMaxConnections())
+                    .maxConcurrentStreams(pool.getMaxConcurrentStreams())
+                    .build());
+        }
+        for (Map.Entry<String, Integer> host : pool.getHosts().entrySet()) {
+            InetSocketAddress address = hostAddress(host.getKey());
+            if (address == null || host.getValue() == null) continue;
+            provider.forRemoteHost(address, spec -> spec.maxConnections(host.getValue()));
+        }
+        return provider.build();
+    }
+
     @Bean
-    @SuppressWarnings("null")
-    public WebClient webClient(WebClient.Builder builder) {
-        HttpClient httpClient = HttpClient.create()
+    public ClientHttpConnector interCellConnector(ConnectionProvider interCellConnectionProvider,
+                                                  HoneycombInteractionProperties properties,
+                                                  InterCellCompression compression) {
+        HoneycombInteractionProperties.Pool pool = properties.getPool();
+        HttpClient httpClient = HttpClient.create(interCellConnectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, pool.isKeepAlive())
+                .keepAlive(pool.isKeepAlive())
                 .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        httpClient = switch (pool.getHttp2()) {
+            case UPGRADE -> httpClient.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+            case PRIOR_KNOWLEDGE -> httpClient.protocol(HttpProtocol.H2C);
+            case OFF -> httpClient;
+        };
+        return new ReactorClientHttpConnector(compression.apply(httpClient));
+    }
 
+    @Bean
+    @Primary
+    @SuppressWarnings("null")
+    public WebClient webClient(WebClient.Builder builder, ClientHttpConnector interCellConnector, RetryBudget retryBudget) {
         WebClient.Builder configured = builder
-                .clientConnector(new ReactorClientHttpConnector(httpClient));
+                .clientConnector(interCellConnector);
 
         if (retryEnabled) {
-            configured.filter(retryFilter());
+            configured.filter(retryFilter(retryBudget));
         }
 
         return configured.build();
     }
 
-    private ExchangeFilterFunction retryFilter() {
-        return (request, next) -> next.exchange(request)
-                .flatMap(response -> {
-                    if (response.statusCode().is5xxServerError()) {
-                        return response.createException().flatMap(Mono::error);
-                    }
-                    return Mono.just(response);
-                })
-                .retryWhen(Retry.backoff(retryMaxAttempts, Duration.ofMillis(retryBackoffMs))
-                        .maxBackoff(Duration.ofMillis(retryMaxBackoffMs))
-                        .filter(this::isRetryable));
+    /**
+     * Same pool and timeouts, without the retry filter: the interaction endpoints retry on a
+     * different instance chosen by the routing policy, which a filter on one URL cannot do.
+     */
+    @Bean(INTER_CELL_WEB_CLIENT)
+    @SuppressWarnings("null")
+    public WebClient interCellWebClient(WebClient.Builder builder, ClientHttpConnector interCellConnector) {
+        return builder.clientConnector(interCellConnector).build();
+    }
+
+    private static InetSocketAddress hostAddress(String hostPort) {
+        int colon = hostPort.lastIndexOf(HoneycombConstants.Names.SEPARATOR_COLON);
+        if (colon <= 0 || colon == hostPort.length() - 1) return null;
+        try {
+            int port = Integer.parseInt(hostPort.substring(colon + 1).trim());
+            return InetSocketAddress.createUnresolved(hostPort.substring(0, colon).trim(), port);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Retries idempotent requests on 5xx and I/O errors. Retries to a host draw on the shared
+     * {@link RetryBudget}, so a failing host sees at most the budgeted extra load.
+     */
+    private ExchangeFilterFunction retryFilter(RetryBudget retryBudget) {
+        return (request, next) -> {
+            if (!IDEMPOTENT_METHODS.contains(request.method())) {
+                return next.exchange(request);
+            }
+            String scope = request.url().getAuthority();
+            retryBudget.deposit(scope);
+            return Mono.defer(() -> next.exchange(request))
+                    .flatMap(response -> {
+                        if (response.statusCode().is5xxServerError()) {
+                            return response.createException().flatMap(Mono::error);
+                        }
+                        return Mono.just(response);
+                    })
+                    .retryWhen(Retry.backoff(retryMaxAttempts, Duration.ofMillis(retryBackoffMs))
+                            .maxBackoff(Duration.ofMillis(retryMaxBackoffMs))
+                            .filter(e -> isRetryable(e) && retryBudget.tryAcquire(scope)));
+        };
     }
 
     private boolean isRetryable(Throwable throwable) {
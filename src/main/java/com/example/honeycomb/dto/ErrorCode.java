@@ -26,6 +26,7 @@ public enum ErrorCode {
     CIRCUIT_OPEN(HoneycombConstants.ErrorCodes.CIRCUIT_OPEN, HoneycombConstants.ErrorMessages.CIRCUIT_OPEN),
     RATE_LIMITED(HoneycombConstants.ErrorCodes.RATE_LIMITED, HoneycombConstants.ErrorMessages.RATE_LIMITED),
     TIMEOUT(HoneycombConstants.ErrorCodes.TIMEOUT, HoneycombConstants.ErrorMessages.TIMEOUT),
+    BULKHEAD_FULL(HoneycombConstants.ErrorCodes.BULKHEAD_FULL, HoneycombConstants.ErrorMessages.BULKHEAD_FULL),
     
     // Forwarding errors
     FORWARD_FAILED(HoneycombConstants.ErrorCodes.FORWARD_FAILED, HoneycombConstants.ErrorMessages.FORWARD_FAILED),
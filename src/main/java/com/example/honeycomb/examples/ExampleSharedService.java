@@ -1,6 +1,7 @@
 package com.example.honeycomb.examples;
 
 import com.example.honeycomb.annotations.Cell;
+import com.example.honeycomb.annotations.SharedExecution;
 import com.example.honeycomb.annotations.Sharedwall;
 import com.example.honeycomb.util.HoneycombConstants;
 import org.springframework.stereotype.Component;
@@ -27,12 +28,13 @@ public class ExampleSharedService {
         ));
     }
 
-    @Sharedwall(HoneycombConstants.Examples.SHARED_CONCAT)
+    @Sharedwall(value = HoneycombConstants.Examples.SHARED_CONCAT, execution = SharedExecution.NON_BLOCKING)
     public Mono<String> concat(String a, String b) {
         return Mono.just(a + HoneycombConstants.Names.SEPARATOR_COLON + b);
     }
 
-    @Sharedwall(HoneycombConstants.Examples.SHARED_SUM_LIST)
+    @Sharedwall(value = HoneycombConstants.Examples.SHARED_SUM_LIST, execution = SharedExecution.NON_BLOCKING,
+            cacheable = true, ttl = "30s")
     public Mono<Integer> sumList(java.util.List<Integer> nums) {
         if (nums == null) return Mono.just(0);
         return Mono.just(nums.stream().mapToInt(Integer::intValue).sum());
@@ -0,0 +1,176 @@
+package com.example.honeycomb.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compile-time index of {@code @Cell}, {@code @Sharedwall} and {@code @MethodType}
+ * metadata written by {@link HoneycombIndexProcessor}. Every jar or output directory
+ * may contribute one file; all of them are merged.
+ * <p>
+ * Format: one tab-separated record per line, {@code #} starts a comment.
+ * <pre>
+ * cell    &lt;class&gt; &lt;name&gt; &lt;port&gt;
+ * shared  &lt;class&gt; &lt;method&gt; &lt;alias&gt;
+ * service &lt;class&gt; &lt;method&gt; &lt;op&gt; &lt;path&gt;
+ * </pre>
+ */
+public final class HoneycombIndex {
+    public static final String LOCATION = "META-INF/honeycomb/index";
+    static final String HEADER = "# honeycomb index v1";
+    static final String SEPARATOR = "\t";
+    static final String EMPTY = "";
+    static final String KIND_CELL = "cell";
+    static final String KIND_SHARED = "shared";
+    static final String KIND_SERVICE = "service";
+
+    public record CellEntry(String className, String name, int port) {}
+
+    public record SharedEntry(String className, String methodName, String alias) {}
+
+    public record ServiceEntry(String className, String methodName, String op, String path) {}
+
+    private static final HoneycombIndex EMPTY_INDEX = new HoneycombIndex(false, List.of(), Map.of(), Map.of(), List.of());
+
+    private final boolean present;
+    private final List<CellEntry> cells;
+    private final Map<String, List<SharedEntry>> sharedByClass;
+    private final Map<String, List<ServiceEntry>> servicesByClass;
+    private final Set<String> indexedClasses;
+    private final List<String> roots;
+
+    private HoneycombIndex(boolean present, List<CellEntry> cells,
+                           Map<String, List<SharedEntry>> sharedByClass,
+                           Map<String, List<ServiceEntry>> servicesByClass,
+                           List<String> roots) {
+        this.present = present;
+        this.cells = cells;
+        this.sharedByClass = sharedByClass;
+        this.servicesByClass = servicesByClass;
+        Set<String> classes = new HashSet<>(sharedByClass.keySet());
+        classes.addAll(servicesByClass.keySet());
+        cells.forEach(c -> classes.add(c.className()));
+        this.indexedClasses = Set.copyOf(classes);
+        this.roots = roots;
+    }
+
+    public static HoneycombIndex empty() {
+        return EMPTY_INDEX;
+    }
+
+    /**
+     * Load and merge every index visible to the class loader. Returns an empty index
+     * (with {@link #isPresent()} false) when none exists.
+     */
+    public static HoneycombIndex load(ClassLoader classLoader) {
+        ClassLoader cl = classLoader != null ? classLoader : HoneycombIndex.class.getClassLoader();
+        List<CellEntry> cells = new ArrayList<>();
+        Map<String, List<SharedEntry>> shared = new LinkedHashMap<>();
+        Map<String, List<ServiceEntry>> services = new LinkedHashMap<>();
+        List<String> roots = new ArrayList<>();
+        try {
+            Enumeration<URL> urls = cl.getResources(LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                String location = url.toString();
+                roots.add(location.substring(0, location.length() - LOCATION.length()));
+                read(url, cells, shared, services);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (roots.isEmpty()) return EMPTY_INDEX;
+        return new HoneycombIndex(true, List.copyOf(cells), freeze(shared), freeze(services), List.copyOf(roots));
+    }
+
+    private static void read(URL url, List<CellEntry> cells,
+                             Map<String, List<SharedEntry>> shared,
+                             Map<String, List<ServiceEntry>> services) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] parts = line.split(SEPARATOR, -1);
+                switch (parts[0]) {
+                    case KIND_CELL -> {
+                        if (parts.length >= 4) {
+                            cells.add(new CellEntry(parts[1], parts[2], parseInt(parts[3])));
+                        }
+                    }
+                    case KIND_SHARED -> {
+                        if (parts.length >= 4) {
+                            shared.computeIfAbsent(parts[1], k -> new ArrayList<>())
+                                    .add(new SharedEntry(parts[1], parts[2], parts[3]));
+                        }
+                    }
+                    case KIND_SERVICE -> {
+                        if (parts.length >= 5) {
+                            services.computeIfAbsent(parts[1], k -> new ArrayList<>())
+                                    .add(new ServiceEntry(parts[1], parts[2], parts[3], parts[4]));
+                        }
+                    }
+                    default -> {
+                        // unknown record from a newer processor; skip
+                    }
+                }
+            }
+        }
+    }
+
+    private static int parseInt(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private static <T> Map<String, List<T>> freeze(Map<String, List<T>> in) {
+        Map<String, List<T>> out = new LinkedHashMap<>();
+        in.forEach((k, v) -> out.put(k, List.copyOf(v)));
+        return Collections.unmodifiableMap(out);
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public List<CellEntry> getCells() {
+        return cells;
+    }
+
+    public boolean isIndexed(String className) {
+        return indexedClasses.contains(className);
+    }
+
+    /**
+     * Whether a resource ({@code file:} or {@code jar:} URL) lives in a jar or output directory
+     * that ships an index. Classes from anywhere else still have to be scanned.
+     */
+    public boolean covers(String resourceUrl) {
+        for (String root : roots) {
+            if (resourceUrl.startsWith(root)) return true;
+        }
+        return false;
+    }
+
+    public List<SharedEntry> getShared(String className) {
+        return sharedByClass.getOrDefault(className, List.of());
+    }
+
+    public List<ServiceEntry> getServiceMethods(String className) {
+        return servicesByClass.getOrDefault(className, List.of());
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.honeycomb.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes {@link HoneycombIndex#LOCATION} at compile time so the registries can skip
+ * classpath scanning. Annotations are matched by name; this class must not load them,
+ * because it is compiled before the rest of the module.
+ * <p>
+ * The index only covers the sources of one compilation. Build tools that recompile a
+ * subset of files produce a partial index; run a full build (or disable the index with
+ * {@code honeycomb.index.enabled=false}) in that case.
+ */
+@SupportedAnnotationTypes({
+    HoneycombIndexProcessor.CELL,
+    HoneycombIndexProcessor.SHAREDWALL,
+    HoneycombIndexProcessor.METHOD_TYPE
+})
+public class HoneycombIndexProcessor extends AbstractProcessor {
+    static final String CELL = "com.example.honeycomb.annotations.Cell";
+    static final String SHAREDWALL = "com.example.honeycomb.annotations.Sharedwall";
+    static final String METHOD_TYPE = "com.example.honeycomb.annotations.MethodType";
+
+    // sorted so the generated file is reproducible
+    private final Set<String> lines = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement cellAnnotation = processingEnv.getElementUtils().getTypeElement(CELL);
+        if (cellAnnotation != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(cellAnnotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    indexCell((TypeElement) element);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !lines.isEmpty()) {
+            write();
+        }
+        // never claim the annotations; other processors may want them
+        return false;
+    }
+
+    private void indexCell(TypeElement type) {
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        AnnotationMirror cell = find(type, CELL);
+        String name = stringValue(cell, "value");
+        if (name.isBlank()) name = type.getSimpleName().toString();
+        lines.add(String.join(HoneycombIndex.SEPARATOR, HoneycombIndex.KIND_CELL, className, name,
+                String.valueOf(intValue(cell, "port"))));
+
+        AnnotationMirror classShared = find(type, SHAREDWALL);
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.METHOD) continue;
+            ExecutableElement method = (ExecutableElement) member;
+            String methodName = method.getSimpleName().toString();
+            AnnotationMirror shared = find(method, SHAREDWALL);
+            if (shared != null) {
+                addShared(className, methodName, shared);
+            } else if (classShared != null && method.getModifiers().contains(Modifier.PUBLIC)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                // same rule as SharedwallMethodCache.placements: only public instance methods
+                addShared(className, methodName, null);
+            }
+            indexServiceMethod(className, type, method);
+        }
+
+        // ServiceCellRegistry looks at every public method, including inherited ones
+        TypeMirror superclass = type.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (superType.getQualifiedName().contentEquals(Object.class.getName())) break;
+            for (Element member : superType.getEnclosedElements()) {
+                if (member.getKind() == ElementKind.METHOD) {
+                    indexServiceMethod(className, type, (ExecutableElement) member);
+                }
+            }
+            superclass = superType.getSuperclass();
+        }
+
+        for (TypeMirror iface : type.getInterfaces()) {
+            TypeElement ifaceType = (TypeElement) ((DeclaredType) iface).asElement();
+            AnnotationMirror ifaceShared = find(ifaceType, SHAREDWALL);
+            for (Element member : ifaceType.getEnclosedElements()) {
+                if (member.getKind() != ElementKind.METHOD) continue;
+                AnnotationMirror shared = find(member, SHAREDWALL);
+                if (shared == null && ifaceShared == null) continue;
+                addShared(className, member.getSimpleName().toString(), shared);
+            }
+        }
+    }
+
+    private void indexServiceMethod(String className, TypeElement cellType, ExecutableElement method) {
+        if (!method.getModifiers().contains(Modifier.PUBLIC)) return;
+        String methodName = method.getSimpleName().toString();
+        AnnotationMirror methodType = find(method, METHOD_TYPE);
+        if (methodType == null) {
+            methodType = findOnInterfaces(cellType, methodName);
+        }
+        if (methodType == null) return;
+        String path = stringValue(methodType, "path");
+        lines.add(String.join(HoneycombIndex.SEPARATOR, HoneycombIndex.KIND_SERVICE, className, methodName,
+                enumValue(methodType, "value"), path.isBlank() ? methodName : path));
+    }
+
+    private void addShared(String className, String methodName, AnnotationMirror shared) {
+        String alias = shared == null ? HoneycombIndex.EMPTY : stringValue(shared, "value");
+        lines.add(String.join(HoneycombIndex.SEPARATOR, HoneycombIndex.KIND_SHARED, className, methodName,
+                alias.isBlank() ? methodName : alias));
+    }
+
+    private AnnotationMirror findOnInterfaces(TypeElement type, String methodName) {
+        for (TypeMirror iface : type.getInterfaces()) {
+            TypeElement ifaceType = (TypeElement) ((DeclaredType) iface).asElement();
+            for (Element member : ifaceType.getEnclosedElements()) {
+                if (member.getKind() == ElementKind.METHOD && member.getSimpleName().contentEquals(methodName)) {
+                    AnnotationMirror mt = find(member, METHOD_TYPE);
+                    if (mt != null) return mt;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void write() {
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, HoneycombIndex.EMPTY, HoneycombIndex.LOCATION);
+            try (Writer writer = file.openWriter()) {
+                writer.write(HoneycombIndex.HEADER);
+                writer.write('\n');
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Could not write " + HoneycombIndex.LOCATION + ": " + ex.getMessage());
+        }
+    }
+
+    private static AnnotationMirror find(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private AnnotationValue value(AnnotationMirror mirror, String name) {
+        if (mirror == null) return null;
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : values.entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals(name)) return e.getValue();
+        }
+        return null;
+    }
+
+    private String stringValue(AnnotationMirror mirror, String name) {
+        AnnotationValue v = value(mirror, name);
+        return v == null || v.getValue() == null ? HoneycombIndex.EMPTY : v.getValue().toString();
+    }
+
+    private int intValue(AnnotationMirror mirror, String name) {
+        AnnotationValue v = value(mirror, name);
+        return v != null && v.getValue() instanceof Integer i ? i : -1;
+    }
+
+    private String enumValue(AnnotationMirror mirror, String name) {
+        AnnotationValue v = value(mirror, name);
+        // enum constants come back as VariableElement; its simple name is the constant
+        return v == null ? HoneycombIndex.EMPTY : ((Element) v.getValue()).getSimpleName().toString();
+    }
+}
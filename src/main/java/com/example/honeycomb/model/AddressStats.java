@@ -0,0 +1,261 @@
+package com.example.honeycomb.model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Routing statistics of one address as seen from one calling cell. Every field is updated
+ * with atomics only, so concurrent callers never block each other and readers always see a
+ * complete value. Instances are created once per {@code cell@host:port} and cached on the
+ * {@link CellAddress} they describe.
+ */
+public final class AddressStats {
+    private static final double LATENCY_ALPHA = 0.2;
+    private static final double ERROR_ALPHA = 0.05;
+    // bucket i holds samples in [2^(i-1), 2^i) ms; bucket 0 holds 0 ms
+    private static final int BUCKETS = 32;
+
+    private final String cell;
+    private final String key;
+    private final String circuitName;
+    private final long keyHash;
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+    private final AtomicLong errorBits = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger probeStreak = new AtomicInteger();
+    private final AtomicInteger ejections = new AtomicInteger();
+    private volatile boolean probeHealthy = true;
+    // nanoTime may be negative, so "never ejected" is a deadline already in the past
+    private volatile long ejectedUntilNanos = System.nanoTime();
+    private volatile boolean warmingUp;
+    private volatile long warmUpStartNanos;
+
+    public AddressStats(String cell, String key, String circuitName) {
+        this.cell = cell;
+        this.key = key;
+        this.circuitName = circuitName;
+        this.keyHash = hash64(key);
+    }
+
+    public String getCell() {
+        return cell;
+    }
+
+    /**
+     * {@code cell@host:port}.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getCircuitName() {
+        return circuitName;
+    }
+
+    /**
+     * {@link #hash64} of the key, for rendezvous scoring.
+     */
+    public long getKeyHash() {
+        return keyHash;
+    }
+
+    /**
+     * Stable 64-bit hash (FNV-1a over the chars, then a murmur3 finalizer). Unlike
+     * {@link String#hashCode()} it spreads short, similar keys such as {@code host:port} across
+     * the full range, which rendezvous hashing relies on.
+     */
+    public static long hash64(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    public static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public void record(long durationMs, boolean success) {
+        long ms = Math.max(0, durationMs);
+        updateEwma(latencyBits, ms, LATENCY_ALPHA);
+        updateEwma(errorBits, success ? 0.0 : 1.0, ERROR_ALPHA);
+        histogram.incrementAndGet(bucket(ms));
+        if (success) {
+            consecutiveFailures.set(0);
+        } else {
+            consecutiveFailures.incrementAndGet();
+        }
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * Neither failing its health probe nor ejected as an outlier.
+     */
+    public boolean isHealthy(long nowNanos) {
+        return probeHealthy && !isEjected(nowNanos);
+    }
+
+    public boolean isProbeHealthy() {
+        return probeHealthy;
+    }
+
+    public boolean isEjected(long nowNanos) {
+        return nowNanos - ejectedUntilNanos < 0;
+    }
+
+    /**
+     * Apply one probe result. The state flips only after {@code threshold} results in a row
+     * that disagree with it, so one lost probe does not take an address out.
+     *
+     * @return whether the probe state changed
+     */
+    public boolean recordProbe(boolean ok, int threshold) {
+        if (ok == probeHealthy) {
+            probeStreak.set(0);
+            return false;
+        }
+        if (probeStreak.incrementAndGet() < Math.max(1, threshold)) {
+            return false;
+        }
+        probeStreak.set(0);
+        probeHealthy = ok;
+        return true;
+    }
+
+    /**
+     * Take the address out of rotation for {@code baseMs * 2^(ejections so far)}, capped at
+     * {@code maxMs}. Latency history is dropped so it is judged afresh once it is back.
+     *
+     * @return the ejection length in milliseconds, or {@code 0} if it was already ejected
+     */
+    public long eject(long nowNanos, long baseMs, long maxMs) {
+        if (isEjected(nowNanos)) return 0;
+        int previous = Math.min(30, ejections.getAndIncrement());
+        long ms = Math.min(maxMs, baseMs << previous);
+        ejectedUntilNanos = nowNanos + TimeUnit.MILLISECONDS.toNanos(ms);
+        // ramp back up from the moment it is readmitted
+        startWarmUp(ejectedUntilNanos);
+        consecutiveFailures.set(0);
+        latencyBits.set(Double.doubleToRawLongBits(Double.NaN));
+        return ms;
+    }
+
+    /**
+     * Forget one past ejection once the address has stayed in rotation for {@code quietMs}, so
+     * the back-off shrinks again for an address that recovered.
+     */
+    public void decayEjections(long nowNanos, long quietMs) {
+        if (ejections.get() > 0 && !isEjected(nowNanos)
+                && nowNanos - ejectedUntilNanos > TimeUnit.MILLISECONDS.toNanos(quietMs)) {
+            ejections.updateAndGet(n -> Math.max(0, n - 1));
+            ejectedUntilNanos = nowNanos;
+        }
+    }
+
+    public int getEjections() {
+        return ejections.get();
+    }
+
+    /**
+     * Begin a slow-start ramp at {@code startNanos}.
+     */
+    public void startWarmUp(long startNanos) {
+        warmUpStartNanos = startNanos;
+        warmingUp = true;
+    }
+
+    /**
+     * Share of its full traffic the address should get: rises linearly from {@code minFactor}
+     * at the start of the ramp to {@code 1} after {@code windowNanos}. Once the ramp is over
+     * this is a single volatile read.
+     */
+    public double warmUpFactor(long nowNanos, long windowNanos, double minFactor) {
+        if (!warmingUp) return 1.0;
+        long elapsed = nowNanos - warmUpStartNanos;
+        if (windowNanos <= 0 || elapsed >= windowNanos) {
+            warmingUp = false;
+            return 1.0;
+        }
+        return Math.max(minFactor, (double) Math.max(0, elapsed) / windowNanos);
+    }
+
+    /**
+     * Exponentially weighted average latency, or {@link Double#NaN} before the first sample.
+     */
+    public double getAvgMs() {
+        return Double.longBitsToDouble(latencyBits.get());
+    }
+
+    public boolean hasSamples() {
+        return !Double.isNaN(getAvgMs());
+    }
+
+    /**
+     * Exponentially weighted share of failed calls, between 0 and 1.
+     */
+    public double getErrorRate() {
+        return Double.longBitsToDouble(errorBits.get());
+    }
+
+    public void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    public void end() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return Math.max(0, inFlight.get());
+    }
+
+    /**
+     * Upper bound of the histogram bucket holding quantile {@code q}; coarse (powers of two) but
+     * cheap to keep. Returns 0 before the first sample.
+     */
+    public long latencyQuantileMs(double q) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return i == 0 ? 0 : (1L << i) - 1;
+        }
+        return (1L << (BUCKETS - 1)) - 1;
+    }
+
+    private static int bucket(long ms) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(ms));
+    }
+
+    private static void updateEwma(AtomicLong bits, double sample, double alpha) {
+        long prev;
+        long next;
+        do {
+            prev = bits.get();
+            double avg = Double.longBitsToDouble(prev);
+            double updated = Double.isNaN(avg) ? sample : alpha * sample + (1 - alpha) * avg;
+            next = Double.doubleToRawLongBits(updated);
+        } while (!bits.compareAndSet(prev, next));
+    }
+}
@@ -1,15 +1,44 @@
 package com.example.honeycomb.model;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class CellAddress {
     private Long id;
     private String cellName;
     private String host;
     private Integer port;
+    // advertised RSocket port of the same instance; null when it only speaks HTTP
+    private Integer rsocketPort;
+    // availability zone / rack of the instance; null when unknown
+    private String zone;
+    // port serving the management endpoints; null when they share the cell port
+    private Integer managementPort;
+    // routing statistics, resolved on first use so the request path skips the key lookup
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient AddressStats stats;
+
+    public CellAddress(Long id, String cellName, String host, Integer port) {
+        this(id, cellName, host, port, null);
+    }
+
+    public CellAddress(Long id, String cellName, String host, Integer port, Integer rsocketPort) {
+        this(id, cellName, host, port, rsocketPort, null);
+    }
+
+    public CellAddress(Long id, String cellName, String host, Integer port, Integer rsocketPort, String zone) {
+        this.id = id;
+        this.cellName = cellName;
+        this.host = host;
+        this.port = port;
+        this.rsocketPort = rsocketPort;
+        this.zone = zone;
+    }
 }
@@ -0,0 +1,8 @@
+package com.example.honeycomb.model;
+
+/**
+ * An instance of {@code cellName} has just come up, or reappeared in discovery, and is cold.
+ * A {@code null} host means a server started on this node.
+ */
+public record CellInstanceStartedEvent(String cellName, String host, int port) {
+}
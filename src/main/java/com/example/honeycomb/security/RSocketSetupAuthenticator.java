@@ -0,0 +1,73 @@
+package com.example.honeycomb.security;
+
+import com.example.honeycomb.config.HoneycombRSocketProperties;
+import com.example.honeycomb.config.HoneycombSecurityProperties;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.rsocket.SocketAcceptor;
+import io.rsocket.exceptions.RejectedSetupException;
+import io.rsocket.plugins.SocketAcceptorInterceptor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates RSocket connections once, at setup: the setup data must be the configured
+ * shared secret. An accepted connection acts with the shared invoker role, the one
+ * {@code /honeycomb/shared/**} requires over HTTP; API keys do not grant that role there and are
+ * not accepted here. Per-method JWT roles are checked on every request with
+ * {@link #mayInvoke(String)}, since a connection carries no token to satisfy them.
+ */
+@Component
+public class RSocketSetupAuthenticator {
+    private static final String CONNECTION_ROLE =
+        HoneycombConstants.SecurityDefaults.ROLE_PREFIX + HoneycombConstants.Roles.SHARED_INVOKER;
+
+    private final HoneycombRSocketProperties rsocketProperties;
+    private final HoneycombSecurityProperties securityProperties;
+
+    public RSocketSetupAuthenticator(HoneycombRSocketProperties rsocketProperties,
+                                     HoneycombSecurityProperties securityProperties) {
+        this.rsocketProperties = rsocketProperties;
+        this.securityProperties = securityProperties;
+    }
+
+    /**
+     * Whether any way to authenticate is configured; servers are not started without one.
+     */
+    public boolean hasCredentials() {
+        return rsocketProperties.isAllowAnonymous()
+            || hasText(rsocketProperties.getSharedSecret());
+    }
+
+    public SocketAcceptorInterceptor forCell(String cell) {
+        return acceptor -> (SocketAcceptor) (setup, sendingSocket) -> isAuthorized(cell, setup.getDataUtf8())
+            ? acceptor.accept(setup, sendingSocket)
+            : Mono.error(new RejectedSetupException(HoneycombConstants.ErrorKeys.RSOCKET_SETUP_REJECTED));
+    }
+
+    boolean isAuthorized(String cell, String token) {
+        if (rsocketProperties.isAllowAnonymous()) return true;
+        if (!hasText(token)) return false;
+        String secret = rsocketProperties.getSharedSecret();
+        return hasText(secret) && MessageDigest.isEqual(
+                secret.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether a request on an accepted connection may call {@code method}: the connection holds
+     * only the shared invoker role, so a method whose JWT roles do not include it is refused.
+     */
+    public boolean mayInvoke(String method) {
+        var jwt = securityProperties.getJwt();
+        if (jwt == null || !jwt.isEnabled()) return true;
+        List<String> required = jwt.resolveSharedMethodRoles(method);
+        return required == null || required.isEmpty() || required.contains(CONNECTION_ROLE);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
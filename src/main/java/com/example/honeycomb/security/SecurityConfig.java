@@ -3,6 +3,7 @@ package com.example.honeycomb.security;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.userdetails.User;
@@ -49,6 +50,9 @@ public class SecurityConfig {
         http.authorizeExchange(exchanges -> {
             exchanges.pathMatchers(mgmtBasePath + "/**").hasRole(HoneycombConstants.Roles.ACTUATOR);
             exchanges.pathMatchers(HoneycombConstants.Paths.HONEYCOMB_SHARED + "/**").hasRole(HoneycombConstants.Roles.SHARED_INVOKER);
+            exchanges.pathMatchers(HttpMethod.DELETE, HoneycombConstants.Paths.HONEYCOMB_METRICS
+                + HoneycombConstants.Names.SEPARATOR_SLASH + HoneycombConstants.Paths.SHARED_RESULTS)
+                .hasRole(HoneycombConstants.Roles.ACTUATOR);
             exchanges.pathMatchers(HoneycombConstants.Paths.HONEYCOMB_SWAGGER_UI + "/**", HoneycombConstants.Paths.HONEYCOMB_API_DOCS + "/**").permitAll();
             if (securityProperties.isRequireAuth()) {
                 exchanges.pathMatchers(HoneycombConstants.Paths.HONEYCOMB_BASE + "/**").authenticated();
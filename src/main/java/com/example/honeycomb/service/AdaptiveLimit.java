@@ -0,0 +1,18 @@
+package com.example.honeycomb.service;
+
+/**
+ * Concurrency limit that adapts to observed round-trip times.
+ */
+public interface AdaptiveLimit {
+    /** Current number of requests allowed in flight. */
+    int getLimit();
+
+    /**
+     * Feed one completed request.
+     *
+     * @param rttNanos round-trip time of the request
+     * @param inFlight requests in flight when the request started
+     * @param dropped  true if the request failed in a way that signals overload (error, 503, 504)
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+}
@@ -0,0 +1,155 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombRoutingProperties;
+import com.example.honeycomb.config.WebClientConfig;
+import com.example.honeycomb.model.AddressStats;
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps unhealthy addresses out of rotation for every routing policy.
+ * <p>
+ * Two signals feed {@link AddressStats}: active probes of each known address's health
+ * endpoint (when {@code honeycomb.routing.health.enabled}), and outlier ejection. Consecutive
+ * failed calls eject an address as soon as {@link RoutingPolicyService#recordLatency} sees
+ * them; latency outliers against the cell median are found here on every round. Ejections back
+ * off exponentially and are forgiven one at a time while an address stays in rotation.
+ */
+@Service
+public class AddressHealthService {
+    private static final Logger log = LoggerFactory.getLogger(AddressHealthService.class);
+    // a median over fewer measured addresses says little about any one of them
+    private static final int MIN_ADDRESSES_FOR_LATENCY = 3;
+
+    private final HoneycombRoutingProperties props;
+    private final CellAddressService addressService;
+    private final RoutingPolicyService routingPolicyService;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value(HoneycombConstants.PropertyValues.MGMT_BASE_PATH)
+    private String mgmtBasePath = HoneycombConstants.Paths.ACTUATOR_BASE;
+
+    @Value(HoneycombConstants.PropertyValues.ACTUATOR_USER)
+    private String actuatorUser;
+
+    @Value(HoneycombConstants.PropertyValues.ACTUATOR_PASSWORD)
+    private String actuatorPassword;
+
+    public AddressHealthService(HoneycombRoutingProperties props,
+                                CellAddressService addressService,
+                                RoutingPolicyService routingPolicyService,
+                                @Qualifier(WebClientConfig.INTER_CELL_WEB_CLIENT) WebClient webClient,
+                                MeterRegistry meterRegistry) {
+        this.props = props;
+        this.addressService = addressService;
+        this.routingPolicyService = routingPolicyService;
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = HoneycombConstants.ConfigKeys.HEALTH_PROBE_INTERVAL)
+    public void evaluate() {
+        Map<String, List<CellAddress>> snapshots = addressService.snapshots();
+        if (props.getHealth().isEnabled()) {
+            snapshots.forEach((cell, addresses) -> addresses.forEach(addr ->
+                probe(addr).subscribe(ok -> applyProbe(cell, addr, ok))));
+        }
+        if (props.getOutlier().isEnabled()) {
+            snapshots.forEach(this::sweepOutliers);
+        }
+    }
+
+    /**
+     * One probe; any 2xx answer within the timeout is healthy, everything else is not.
+     */
+    Mono<Boolean> probe(CellAddress addr) {
+        HoneycombRoutingProperties.Health health = props.getHealth();
+        int port = addr.getManagementPort() != null ? addr.getManagementPort() : addr.getPort();
+        URI uri = URI.create(HoneycombConstants.Schemes.HTTP + addr.getHost()
+            + HoneycombConstants.Names.SEPARATOR_COLON + port + healthPath());
+        return webClient.get().uri(uri)
+            .headers(h -> h.setBasicAuth(actuatorUser, actuatorPassword))
+            .exchangeToMono(cr -> cr.releaseBody().thenReturn(cr.statusCode().is2xxSuccessful()))
+            .timeout(Duration.ofMillis(health.getTimeoutMs()))
+            .onErrorReturn(false);
+    }
+
+    void applyProbe(String cell, CellAddress addr, boolean ok) {
+        HoneycombRoutingProperties.Health health = props.getHealth();
+        AddressStats stats = routingPolicyService.stats(cell, addr);
+        int threshold = ok ? health.getHealthyThreshold() : health.getUnhealthyThreshold();
+        if (stats.recordProbe(ok, threshold)) {
+            if (ok) stats.startWarmUp(System.nanoTime());
+            String state = ok ? HoneycombConstants.Health.STATUS_UP : HoneycombConstants.Health.STATUS_DOWN;
+            log.warn(HoneycombConstants.Messages.ADDRESS_PROBE_STATE, stats.getKey(), state);
+            meterRegistry.counter(HoneycombConstants.Metrics.ROUTING_PROBE_TRANSITIONS,
+                    HoneycombConstants.Metrics.TAG_CELL, cell,
+                    HoneycombConstants.Metrics.TAG_STATUS, state).increment();
+        }
+    }
+
+    /**
+     * Eject addresses whose average latency is {@code latency-factor} times the cell median,
+     * without taking more than {@code max-ejection-percent} of the cell out, and forgive old
+     * ejections of addresses that have been back long enough.
+     */
+    void sweepOutliers(String cell, List<CellAddress> addresses) {
+        HoneycombRoutingProperties.Outlier outlier = props.getOutlier();
+        long now = System.nanoTime();
+        List<AddressStats> measured = new ArrayList<>(addresses.size());
+        int unhealthy = 0;
+        for (CellAddress addr : addresses) {
+            AddressStats stats = routingPolicyService.stats(cell, addr);
+            stats.decayEjections(now, outlier.getMaxEjectionMs());
+            if (!stats.isHealthy(now)) {
+                unhealthy++;
+            } else if (stats.hasSamples()) {
+                measured.add(stats);
+            }
+        }
+        if (outlier.getLatencyFactor() <= 0 || measured.size() < MIN_ADDRESSES_FOR_LATENCY) return;
+
+        double median = median(measured);
+        double limit = Math.max(outlier.getMinLatencyMs(), median * outlier.getLatencyFactor());
+        double maxUnhealthy = addresses.size() * outlier.getMaxEjectionPercent() / 100.0;
+        // slowest first, so the budget goes to the worst offenders
+        measured.sort((a, b) -> Double.compare(b.getAvgMs(), a.getAvgMs()));
+        for (AddressStats stats : measured) {
+            if (stats.getAvgMs() <= limit || unhealthy + 1 > maxUnhealthy) break;
+            if (routingPolicyService.eject(stats, HoneycombConstants.EjectionReasons.LATENCY)) {
+                unhealthy++;
+            }
+        }
+    }
+
+    private String healthPath() {
+        String path = props.getHealth().getPath();
+        if (path != null && !path.isBlank()) return path;
+        return mgmtBasePath + HoneycombConstants.Paths.HEALTH;
+    }
+
+    private static double median(List<AddressStats> stats) {
+        double[] avgs = new double[stats.size()];
+        for (int i = 0; i < avgs.length; i++) avgs[i] = stats.get(i).getAvgMs();
+        Arrays.sort(avgs);
+        int mid = avgs.length / 2;
+        return avgs.length % 2 == 1 ? avgs[mid] : (avgs[mid - 1] + avgs[mid]) / 2.0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.honeycomb.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable string-keyed lookup built with hash-and-displace perfect hashing.
+ * <p>
+ * Keys are first split into buckets by their hash; each bucket then gets a seed so that
+ * every key lands in its own slot of a table exactly {@code n} long. A lookup is two
+ * multiplications on the cached {@link String#hashCode()} plus one {@code equals}; no
+ * chains, no probing. If two keys share a {@code hashCode} no seed can separate them,
+ * so construction falls back to {@link Map#copyOf}.
+ */
+final class AliasTable<V> {
+    private static final int MAX_SEED_ATTEMPTS = 1 << 16;
+    private static final AliasTable<?> EMPTY = new AliasTable<>(new String[0], new Object[0], new int[0], null);
+
+    private final String[] keys;
+    private final Object[] values;
+    private final int[] seeds;
+    private final Map<String, V> fallback;
+
+    private AliasTable(String[] keys, Object[] values, int[] seeds, Map<String, V> fallback) {
+        this.keys = keys;
+        this.values = values;
+        this.seeds = seeds;
+        this.fallback = fallback;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> AliasTable<V> empty() {
+        return (AliasTable<V>) EMPTY;
+    }
+
+    static <V> AliasTable<V> of(Map<String, V> entries) {
+        int n = entries.size();
+        if (n == 0) return empty();
+        String[] input = entries.keySet().toArray(new String[0]);
+        int bucketCount = Math.max(1, n / 2);
+        List<List<String>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) buckets.add(new ArrayList<>(2));
+        for (String key : input) {
+            buckets.get(index(key.hashCode(), 0, bucketCount)).add(key);
+        }
+        Integer[] order = new Integer[bucketCount];
+        for (int i = 0; i < bucketCount; i++) order[i] = i;
+        // place the largest buckets first while the table is still empty
+        Arrays.sort(order, Comparator.comparingInt((Integer b) -> buckets.get(b).size()).reversed());
+
+        String[] keys = new String[n];
+        Object[] values = new Object[n];
+        int[] seeds = new int[bucketCount];
+        int[] slots = new int[n];
+        for (int b : order) {
+            List<String> bucket = buckets.get(b);
+            if (bucket.isEmpty()) continue;
+            int seed = 1;
+            while (!fits(bucket, seed, keys, slots)) {
+                if (++seed > MAX_SEED_ATTEMPTS) {
+                    return new AliasTable<>(new String[0], new Object[0], new int[0], Map.copyOf(entries));
+                }
+            }
+            seeds[b] = seed;
+            for (int i = 0; i < bucket.size(); i++) {
+                String key = bucket.get(i);
+                keys[slots[i]] = key;
+                values[slots[i]] = entries.get(key);
+            }
+        }
+        return new AliasTable<>(keys, values, seeds, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(String key) {
+        if (key == null) return null;
+        if (fallback != null) return fallback.get(key);
+        if (keys.length == 0) return null;
+        int h = key.hashCode();
+        int slot = index(h, seeds[index(h, 0, seeds.length)], keys.length);
+        return key.equals(keys[slot]) ? (V) values[slot] : null;
+    }
+
+    int size() {
+        return fallback != null ? fallback.size() : keys.length;
+    }
+
+    boolean isPerfect() {
+        return fallback == null;
+    }
+
+    private static boolean fits(List<String> bucket, int seed, String[] keys, int[] slots) {
+        for (int i = 0; i < bucket.size(); i++) {
+            int slot = index(bucket.get(i).hashCode(), seed, keys.length);
+            if (keys[slot] != null) return false;
+            for (int j = 0; j < i; j++) {
+                if (slots[j] == slot) return false;
+            }
+            slots[i] = slot;
+        }
+        return true;
+    }
+
+    private static int index(int hash, int seed, int size) {
+        int h = (hash ^ (seed * 0x9E3779B9)) * 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return (h & 0x7FFFFFFF) % size;
+    }
+}
@@ -2,9 +2,17 @@ package com.example.honeycomb.service;
 
 import com.example.honeycomb.annotations.Cell;
 import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.model.CellInstanceStartedEvent;
 import com.example.honeycomb.util.HoneycombConstants;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
@@ -13,24 +21,57 @@ import reactor.core.publisher.Mono;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Addresses of each cell's instances, kept in memory so the request path never waits on the
+ * discovery client or re-parses {@code cell.*} properties.
+ * <p>
+ * Each cell maps to an immutable snapshot that is replaced whole, so a lookup is one map read.
+ * Snapshots are refreshed in the background on every discovery heartbeat (Eureka publishes
+ * one per registry fetch) and whenever one is older than {@code cell.address-max-stale-ms};
+ * a failed refresh keeps the last good snapshot. Static addresses from {@code cell.ports},
+ * {@code cell.addresses} and {@code @Cell(port)} are parsed once and reparsed only when a
+ * {@code cell.*} property changes.
+ * <p>
+ * An address that appears in a refreshed snapshot, including one that drops out and comes
+ * back after a restart, is announced as a {@link CellInstanceStartedEvent} so routing can ramp
+ * its traffic; the first snapshot of a cell announces nothing.
+ */
 @Service
-public class CellAddressService {
+public class CellAddressService implements ApplicationEventPublisherAware {
     private final CellRegistry registry;
     private final Environment env;
     private final ReactiveDiscoveryClient discoveryClient;
 
+    private final Map<String, Snapshot> table = new ConcurrentHashMap<>();
+    private final Map<String, List<CellAddress>> staticTable = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private ApplicationEventPublisher eventPublisher;
+
     @Value(HoneycombConstants.PropertyValues.SERVICE_DISCOVERY_BASE_URL)
     private String baseUrl;
 
+    @Value(HoneycombConstants.PropertyValues.ADDRESS_MAX_STALE_MS)
+    private long maxStaleMs = 30000;
+
     public CellAddressService(CellRegistry registry, Environment env, ReactiveDiscoveryClient discoveryClient) {
         this.registry = registry;
         this.env = env;
         this.discoveryClient = discoveryClient;
     }
 
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
     /**
      * List all discovered cell addresses based on configured ports.
      */
@@ -48,9 +89,103 @@ public class CellAddressService {
     }
 
     public Flux<CellAddress> findByCell(String name) {
+        return addressesOf(name).flatMapIterable(list -> list);
+    }
+
+    /**
+     * Current address snapshot of {@code name}. The list is immutable and shared; only the
+     * first lookup of a cell goes to the discovery client.
+     */
+    public Mono<List<CellAddress>> addressesOf(String name) {
+        Snapshot snapshot = table.get(name);
+        if (snapshot == null) {
+            return load(name);
+        }
+        if (System.nanoTime() - snapshot.loadedAtNanos() > TimeUnit.MILLISECONDS.toNanos(maxStaleMs)) {
+            refreshInBackground(name);
+        }
+        return Mono.just(snapshot.addresses());
+    }
+
+    /**
+     * Every cell resolved so far with its current snapshot, for background work such as
+     * health probing; never triggers a load.
+     */
+    public Map<String, List<CellAddress>> snapshots() {
+        Map<String, List<CellAddress>> current = new java.util.HashMap<>();
+        table.forEach((name, snapshot) -> current.put(name, snapshot.addresses()));
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (String name : registry.getCellNames()) {
+            staticAddresses(name);
+            refreshInBackground(name);
+        }
+    }
+
+    @EventListener(HeartbeatEvent.class)
+    public void onHeartbeat() {
+        table.keySet().forEach(this::refreshInBackground);
+    }
+
+    @EventListener(EnvironmentChangeEvent.class)
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        boolean cellKeys = event.getKeys().stream()
+                .anyMatch(k -> k.startsWith(HoneycombConstants.ConfigKeys.CELL_PREFIX));
+        if (cellKeys) {
+            staticTable.clear();
+            table.keySet().forEach(this::refreshInBackground);
+        }
+    }
+
+    private Mono<List<CellAddress>> load(String name) {
         return discoveryClient.getInstances(name)
-                .map(instance -> new CellAddress(null, name, instance.getHost(), instance.getPort()))
-                .switchIfEmpty(Flux.defer(() -> Flux.fromIterable(addressesForCell(name))));
+                .map(instance -> toAddress(name, instance))
+                .collectList()
+                .map(found -> found.isEmpty() ? staticAddresses(name) : List.copyOf(found))
+                .onErrorResume(e -> {
+                    Snapshot last = table.get(name);
+                    return Mono.just(last != null ? last.addresses() : staticAddresses(name));
+                })
+                .doOnNext(list -> {
+                    Snapshot previous = table.put(name, new Snapshot(list, System.nanoTime()));
+                    if (previous != null && previous.addresses() != list) {
+                        announceNew(name, previous.addresses(), list);
+                    }
+                });
+    }
+
+    private void announceNew(String name, List<CellAddress> before, List<CellAddress> after) {
+        if (eventPublisher == null) return;
+        Set<String> known = new HashSet<>();
+        for (CellAddress a : before) known.add(a.getHost() + HoneycombConstants.Names.SEPARATOR_COLON + a.getPort());
+        for (CellAddress a : after) {
+            if (!known.contains(a.getHost() + HoneycombConstants.Names.SEPARATOR_COLON + a.getPort())) {
+                eventPublisher.publishEvent(new CellInstanceStartedEvent(name, a.getHost(), a.getPort()));
+            }
+        }
+    }
+
+    private void refreshInBackground(String name) {
+        if (refreshing.add(name)) {
+            load(name).doFinally(signal -> refreshing.remove(name)).subscribe();
+        }
+    }
+
+    private static CellAddress toAddress(String name, ServiceInstance instance) {
+        Map<String, String> metadata = instance.getMetadata();
+        CellAddress address = new CellAddress(null, name, instance.getHost(), instance.getPort(),
+                parsePort(metadata == null ? null : metadata.get(HoneycombConstants.ConfigKeys.RSOCKET_PORT_METADATA)),
+                metadata == null ? null : blankToNull(metadata.get(HoneycombConstants.ConfigKeys.ZONE_METADATA)));
+        address.setManagementPort(parsePort(metadata == null ? null
+                : metadata.get(HoneycombConstants.ConfigKeys.MANAGEMENT_PORT_METADATA)));
+        return address;
+    }
+
+    private List<CellAddress> staticAddresses(String name) {
+        return staticTable.computeIfAbsent(name, n -> List.copyOf(addressesForCell(n)));
     }
 
     /**
@@ -88,25 +223,58 @@ public class CellAddressService {
             ports.add(annotatedPort);
         }
 
+        // static layouts run every instance of a cell with the same RSocket port
+        Integer rsocketPort = parsePort(env.getProperty(HoneycombConstants.ConfigKeys.CELL_RSOCKET_PORTS_PREFIX + name));
+        Integer managementPort = parsePort(env.getProperty(HoneycombConstants.ConfigKeys.CELL_MGMT_PORT_PREFIX + name));
+
         String addressesProp = env.getProperty(HoneycombConstants.ConfigKeys.CELL_ADDRESSES_PREFIX + name);
         if (addressesProp != null && !addressesProp.isBlank()) {
-            return parseAddressList(name, addressesProp);
+            List<CellAddress> parsed = parseAddressList(name, addressesProp);
+            parsed.forEach(a -> {
+                a.setRsocketPort(rsocketPort);
+                a.setManagementPort(managementPort);
+            });
+            return parsed;
         }
 
         String host = resolveBaseHost();
         List<CellAddress> addresses = new ArrayList<>();
         for (int port : ports) {
-            CellAddress addr = new CellAddress(null, name, host, port);
+            CellAddress addr = new CellAddress(null, name, host, port, rsocketPort);
+            addr.setManagementPort(managementPort);
             addresses.add(addr);
         }
         return addresses;
     }
 
+    private record Snapshot(List<CellAddress> addresses, long loadedAtNanos) {}
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static Integer parsePort(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            int v = Integer.parseInt(value.split(HoneycombConstants.Names.SEPARATOR_COMMA)[0].trim());
+            return v > 0 ? v : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
     private List<CellAddress> parseAddressList(String name, String value) {
         List<CellAddress> addresses = new ArrayList<>();
         for (String token : value.split(HoneycombConstants.Names.SEPARATOR_COMMA)) {
             String entry = token.trim();
             if (entry.isBlank()) continue;
+            // "host:port@zone"; the zone must go before URI parsing would read it as user info
+            String zone = null;
+            int at = entry.lastIndexOf('@');
+            if (at > 0) {
+                zone = blankToNull(entry.substring(at + 1).trim());
+                entry = entry.substring(0, at).trim();
+            }
             String host = null;
             int port = -1;
             try {
@@ -133,7 +301,7 @@ public class CellAddressService {
                 }
             }
             if (host != null && !host.isBlank() && port > 0) {
-                addresses.add(new CellAddress(null, name, host, port));
+                addresses.add(new CellAddress(null, name, host, port, null, zone));
             }
         }
         return addresses;
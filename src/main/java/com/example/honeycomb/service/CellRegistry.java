@@ -1,9 +1,11 @@
 package com.example.honeycomb.service;
 
 import com.example.honeycomb.annotations.Cell;
-import com.example.honeycomb.annotations.Sharedwall;
+import com.example.honeycomb.index.HoneycombIndex;
 import com.example.honeycomb.util.HoneycombConstants;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.type.ClassMetadata;
@@ -18,7 +20,6 @@ import reactor.core.publisher.Mono;
 
 import jakarta.annotation.PostConstruct;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -26,9 +27,21 @@ import java.util.concurrent.ConcurrentHashMap;
 public class CellRegistry implements ApplicationContextAware {
     private ApplicationContext context;
 
+    // provider: the shared-method registry itself depends on this registry's index
+    private final ObjectProvider<SharedwallMethodCache> sharedMethods;
+
+    @Value(HoneycombConstants.ConfigKeys.INDEX_ENABLED)
+    private boolean indexEnabled = true;
+
+    private HoneycombIndex index = HoneycombIndex.empty();
+
     // map: exposedName -> Class
     private final Map<String, Class<?>> cells = new ConcurrentHashMap<>();
 
+    public CellRegistry(ObjectProvider<SharedwallMethodCache> sharedMethods) {
+        this.sharedMethods = sharedMethods;
+    }
+
     @Override
     public void setApplicationContext(@NonNull ApplicationContext applicationContext) throws BeansException {
         this.context = applicationContext;
@@ -46,7 +59,23 @@ public class CellRegistry implements ApplicationContextAware {
         }
 
 
-        // 2) classpath scan for classes annotated with @Cell under base package
+        // 2) compile-time index written by HoneycombIndexProcessor; spares scanning the roots that ship one
+        ClassLoader classLoader = context.getClassLoader();
+        index = indexEnabled ? HoneycombIndex.load(classLoader) : HoneycombIndex.empty();
+        if (index.isPresent()) {
+            for (HoneycombIndex.CellEntry entry : index.getCells()) {
+                try {
+                    Class<?> cls = ClassUtils.forName(entry.className(), classLoader);
+                    if (cls.isAnnotationPresent(Cell.class)) {
+                        cells.putIfAbsent(entry.name(), cls);
+                    }
+                } catch (Throwable ignored) {
+                }
+            }
+        }
+
+        // 3) classpath scan for classes annotated with @Cell under base package, skipping the
+        // jars and directories an index already covers; without any index that is all of them
         // default to application main package
         String base = ClassUtils.getPackageName(context.getApplicationName() == null
             ? HoneycombConstants.Defaults.BASE_PACKAGE
@@ -58,7 +87,9 @@ public class CellRegistry implements ApplicationContextAware {
         String pattern = PathMatchingResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
             + ClassUtils.convertClassNameToResourcePath(base)
             + HoneycombConstants.Patterns.CLASS_RESOURCE_SUFFIX;
-        org.springframework.core.io.Resource[] resources = resolver.getResources(pattern);
+        org.springframework.core.io.Resource[] resources = index.isPresent()
+            ? unindexedResources(resolver, base)
+            : resolver.getResources(pattern);
         for (org.springframework.core.io.Resource r : resources) {
             if (!r.isReadable()) continue;
             MetadataReader mr = readerFactory.getMetadataReader(r);
@@ -76,6 +107,26 @@ public class CellRegistry implements ApplicationContextAware {
         }
     }
 
+    /**
+     * Class files under {@code base} from the classpath roots without an index. Roots are
+     * resolved first so indexed jars and directories are not even listed.
+     */
+    private org.springframework.core.io.Resource[] unindexedResources(PathMatchingResourcePatternResolver resolver,
+                                                                      String base) throws java.io.IOException {
+        List<org.springframework.core.io.Resource> out = new ArrayList<>();
+        String packagePath = ClassUtils.convertClassNameToResourcePath(base);
+        for (org.springframework.core.io.Resource root : resolver.getResources(
+                PathMatchingResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + packagePath)) {
+            String rootUrl = root.getURL().toString();
+            if (index.covers(rootUrl)) continue;
+            if (rootUrl.endsWith(HoneycombConstants.Names.SEPARATOR_SLASH)) {
+                rootUrl = rootUrl.substring(0, rootUrl.length() - 1);
+            }
+            Collections.addAll(out, resolver.getResources(rootUrl + HoneycombConstants.Patterns.CLASS_RESOURCE_SUFFIX));
+        }
+        return out.toArray(new org.springframework.core.io.Resource[0]);
+    }
+
     private String cellName(Class<?> cls, Cell ann) {
         if (ann != null && ann.value() != null && !ann.value().isBlank()) return ann.value();
         return cls.getSimpleName();
@@ -99,8 +150,9 @@ public class CellRegistry implements ApplicationContextAware {
             fields.add(fm);
         }
         mapping.put(HoneycombConstants.JsonKeys.FIELDS, fields);
-        // list shared methods annotated with @Sharedwall (method or interface/type-level)
-        List<String> shared = listSharedMethods(cls);
+        // shared aliases come from the one shared-method registry the dispatcher uses
+        SharedwallMethodCache methods = sharedMethods.getIfAvailable();
+        List<String> shared = methods == null ? List.of() : methods.aliasesFor(cls);
         if (!shared.isEmpty()) mapping.put(HoneycombConstants.JsonKeys.SHARED_METHODS, shared);
         // include optional cell metadata such as configured port
         Cell ann = cls.getAnnotation(Cell.class);
@@ -119,41 +171,11 @@ public class CellRegistry implements ApplicationContextAware {
         return d.isEmpty() ? Mono.empty() : Mono.just(d);
     }
 
-    private List<String> listSharedMethods(Class<?> cls) {
-        List<String> shared = new ArrayList<>();
-
-        // method-level on class
-        for (Method m : cls.getDeclaredMethods()) {
-            if (m.isAnnotationPresent(Sharedwall.class)) {
-                Sharedwall s = m.getAnnotation(Sharedwall.class);
-                String methodName = (s != null && s.value() != null && !s.value().isBlank()) ? s.value() : m.getName();
-                shared.add(methodName);
-            }
-        }
-
-        // class-level
-        Sharedwall classShared = cls.getAnnotation(Sharedwall.class);
-        if (classShared != null) {
-            for (Method m : cls.getDeclaredMethods()) {
-                if (m.isAnnotationPresent(Sharedwall.class)) continue;
-                shared.add(m.getName());
-            }
-        }
-
-        // interface-level
-        for (Class<?> iface : cls.getInterfaces()) {
-            Sharedwall ifaceShared = iface.getAnnotation(Sharedwall.class);
-            for (Method im : iface.getMethods()) {
-                Sharedwall imShared = im.getAnnotation(Sharedwall.class);
-                Sharedwall use = imShared != null ? imShared : ifaceShared;
-                if (use == null) continue;
-                String methodName = (imShared != null && imShared.value() != null && !imShared.value().isBlank())
-                    ? imShared.value()
-                    : im.getName();
-                if (!shared.contains(methodName)) shared.add(methodName);
-            }
-        }
-
-        return shared;
+    /**
+     * Compile-time metadata index; {@link HoneycombIndex#isPresent()} is false when the
+     * index is disabled or was not generated.
+     */
+    public HoneycombIndex getIndex() {
+        return index;
     }
 }
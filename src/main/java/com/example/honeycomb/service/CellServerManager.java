@@ -1,10 +1,17 @@
 package com.example.honeycomb.service;
 
 import com.example.honeycomb.annotations.Cell;
+import com.example.honeycomb.config.HoneycombRSocketProperties;
 import com.example.honeycomb.dto.CellRuntimeStatus;
+import com.example.honeycomb.model.CellInstanceStartedEvent;
+import com.example.honeycomb.security.RSocketSetupAuthenticator;
+import io.rsocket.core.RSocketServer;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
 import com.example.honeycomb.util.HoneycombConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -14,6 +21,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
 import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
 import org.springframework.lang.NonNull;
 import reactor.netty.http.server.HttpServer;
 import reactor.netty.DisposableServer;
@@ -38,13 +46,28 @@ public class CellServerManager implements ApplicationContextAware {
     private final CellRegistry cellRegistry;
     private final Environment env;
 
+    private final HoneycombRSocketProperties rsocketProperties;
+    private final ObjectProvider<RSocketMessageHandler> rsocketHandler;
+    private final ObjectProvider<RSocketSetupAuthenticator> rsocketAuthenticator;
+    private final InterCellCompression compression;
+
     private final Map<String, DisposableServer> servers = new ConcurrentHashMap<>();
+    private final Map<String, CloseableChannel> rsocketServers = new ConcurrentHashMap<>();
     private final Map<Integer, String> portToCell = new ConcurrentHashMap<>();
 
     @Autowired
-    public CellServerManager(CellRegistry cellRegistry, Environment env) {
+    public CellServerManager(CellRegistry cellRegistry,
+                             Environment env,
+                             HoneycombRSocketProperties rsocketProperties,
+                             ObjectProvider<RSocketMessageHandler> rsocketHandler,
+                             ObjectProvider<RSocketSetupAuthenticator> rsocketAuthenticator,
+                             InterCellCompression compression) {
         this.cellRegistry = cellRegistry;
         this.env = env;
+        this.rsocketProperties = rsocketProperties;
+        this.rsocketHandler = rsocketHandler;
+        this.rsocketAuthenticator = rsocketAuthenticator;
+        this.compression = compression;
     }
 
     @Override
@@ -89,7 +112,7 @@ public class CellServerManager implements ApplicationContextAware {
             };
             var adapter = new ReactorHttpHandlerAdapter(filtered);
 
-            return HttpServer.create().port(configuredPort).handle(adapter).bind()
+            return compression.apply(HttpServer.create().port(configuredPort)).handle(adapter).bind()
                     .flatMap(server -> {
                         DisposableServer prev = servers.putIfAbsent(name, server);
                         if (prev != null) {
@@ -103,6 +126,7 @@ public class CellServerManager implements ApplicationContextAware {
                         }
                         portToCell.put(configuredPort, name);
                         log.info(HoneycombConstants.Messages.SERVER_STARTED, name, configuredPort);
+                        publishStarted(name, configuredPort);
 
                         String mgmtKey = HoneycombConstants.ConfigKeys.CELL_MGMT_PORT_PREFIX + name;
                         int mgmtPort = env.getProperty(mgmtKey, Integer.class, -1);
@@ -145,10 +169,63 @@ public class CellServerManager implements ApplicationContextAware {
                     .onErrorResume(e -> {
                         log.warn(HoneycombConstants.Messages.SERVER_START_FAILED, name, e.getMessage());
                         return Mono.just(false);
+                    })
+                    .flatMap(started -> started ? startRSocketServerReactive(name).thenReturn(true) : Mono.just(false));
+        });
+    }
+
+    /**
+     * RSocket listener for the cell's shared methods, when {@code honeycomb.rsocket.enabled} and
+     * {@code cell.rsocket-ports.<cell>} are set. It shares the application's message handler, so
+     * the same {@code @MessageMapping} endpoints serve every cell.
+     */
+    private Mono<Boolean> startRSocketServerReactive(String name) {
+        return Mono.defer(() -> {
+            if (!rsocketProperties.isEnabled() || rsocketServers.containsKey(name)) {
+                return Mono.just(false);
+            }
+            int port = resolvePort(HoneycombConstants.ConfigKeys.CELL_RSOCKET_PORTS_PREFIX + name, -1);
+            RSocketMessageHandler handler = rsocketHandler.getIfAvailable();
+            RSocketSetupAuthenticator authenticator = rsocketAuthenticator.getIfAvailable();
+            if (port <= 0 || handler == null || authenticator == null) {
+                return Mono.just(false);
+            }
+            if (!authenticator.hasCredentials()) {
+                log.warn(HoneycombConstants.Messages.SERVER_RSOCKET_NO_CREDENTIALS, name);
+                return Mono.just(false);
+            }
+            return RSocketServer.create(handler.responder())
+                    .interceptors(registry -> registry.forSocketAcceptor(authenticator.forCell(name)))
+                    .bind(TcpServerTransport.create(port))
+                    .map(channel -> {
+                        CloseableChannel prev = rsocketServers.putIfAbsent(name, channel);
+                        if (prev != null) {
+                            channel.dispose();
+                            return true;
+                        }
+                        log.info(HoneycombConstants.Messages.SERVER_RSOCKET_STARTED, name, port);
+                        return true;
+                    })
+                    .onErrorResume(e -> {
+                        log.warn(HoneycombConstants.Messages.SERVER_RSOCKET_FAILED, name, e.getMessage());
+                        return Mono.just(false);
                     });
         });
     }
 
+    private boolean stopRSocketServer(String name) {
+        CloseableChannel channel = rsocketServers.remove(name);
+        if (channel == null) {
+            return false;
+        }
+        try {
+            channel.dispose();
+        } catch (Exception ex) {
+            log.warn(HoneycombConstants.Messages.SERVER_SHUTDOWN_ERROR, name + HoneycombConstants.Names.RSOCKET_SUFFIX, ex.getMessage());
+        }
+        return true;
+    }
+
     public Mono<Boolean> stopCellServerReactive(String name) {
         return Mono.fromSupplier(() -> {
             boolean stopped = false;
@@ -170,6 +247,7 @@ public class CellServerManager implements ApplicationContextAware {
                     log.warn(HoneycombConstants.Messages.SERVER_MGMT_SHUTDOWN_ERROR, name, ex.getMessage());
                 }
             }
+            stopped |= stopRSocketServer(name);
             if (stopped) {
                 portToCell.entrySet().removeIf(e -> e.getValue().equals(name));
             }
@@ -209,6 +287,21 @@ public class CellServerManager implements ApplicationContextAware {
         });
     }
 
+    /**
+     * Whether one of the per-cell application servers started here listens on {@code port}.
+     * Management servers do not count: they serve only the actuator.
+     */
+    public boolean servesPort(int port) {
+        for (Map.Entry<String, DisposableServer> entry : servers.entrySet()) {
+            DisposableServer server = entry.getValue();
+            if (!entry.getKey().endsWith(HoneycombConstants.Names.MGMT_SUFFIX)
+                    && !server.isDisposed() && server.port() == port) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public List<CellRuntimeStatus> listCellStatuses() {
         List<CellRuntimeStatus> out = new ArrayList<>();
         for (String name : cellRegistry.getCellNames()) {
@@ -244,7 +337,7 @@ public class CellServerManager implements ApplicationContextAware {
                 return resp.setComplete();
             };
             var adapter = new ReactorHttpHandlerAdapter(filtered);
-            DisposableServer server = HttpServer.create().port(configuredPort).handle(adapter).bindNow();
+            DisposableServer server = compression.apply(HttpServer.create().port(configuredPort)).handle(adapter).bindNow();
             DisposableServer prev = servers.putIfAbsent(name, server);
             if (prev != null) {
                 try {
@@ -288,6 +381,8 @@ public class CellServerManager implements ApplicationContextAware {
 
             portToCell.put(configuredPort, name);
             log.info(HoneycombConstants.Messages.SERVER_STARTED, name, configuredPort);
+            publishStarted(name, configuredPort);
+            startRSocketServerReactive(name).block();
             return true;
         } catch (Exception e) {
             log.warn(HoneycombConstants.Messages.SERVER_START_FAILED, name, e.getMessage());
@@ -295,6 +390,16 @@ public class CellServerManager implements ApplicationContextAware {
         }
     }
 
+    /**
+     * Lets callers on this node ramp traffic to the fresh server instead of sending it a full
+     * share while it is cold.
+     */
+    private void publishStarted(String name, int port) {
+        if (applicationContext != null) {
+            applicationContext.publishEvent(new CellInstanceStartedEvent(name, null, port));
+        }
+    }
+
     public boolean stopCellServer(String name) {
         boolean stopped = false;
         DisposableServer server = servers.remove(name);
@@ -315,6 +420,7 @@ public class CellServerManager implements ApplicationContextAware {
                 log.warn(HoneycombConstants.Messages.SERVER_MGMT_SHUTDOWN_ERROR, name, ex.getMessage());
             }
         }
+        stopped |= stopRSocketServer(name);
         if (stopped) {
             portToCell.entrySet().removeIf(e -> e.getValue().equals(name));
         }
@@ -338,6 +444,9 @@ public class CellServerManager implements ApplicationContextAware {
             }
         }
         servers.clear();
+        for (String name : List.copyOf(rsocketServers.keySet())) {
+            stopRSocketServer(name);
+        }
     }
 
     /**
@@ -17,17 +17,21 @@ import java.util.Optional;
 public class CellSwaggerService {
     private final CellRegistry cellRegistry;
     private final HoneycombProperties properties;
+    private final SharedwallMethodCache sharedMethods;
 
-    public CellSwaggerService(CellRegistry cellRegistry, HoneycombProperties properties) {
+    public CellSwaggerService(CellRegistry cellRegistry, HoneycombProperties properties,
+                              SharedwallMethodCache sharedMethods) {
         this.cellRegistry = cellRegistry;
         this.properties = properties;
+        this.sharedMethods = sharedMethods;
     }
 
     public Optional<OpenAPI> buildForCell(String cellName) {
         if (cellName == null || cellName.isBlank()) {
             return Optional.empty();
         }
-        if (cellRegistry.getCellClass(cellName).isEmpty()) {
+        Optional<Class<?>> cellClass = cellRegistry.getCellClass(cellName);
+        if (cellClass.isEmpty()) {
             return Optional.empty();
         }
 
@@ -121,6 +125,22 @@ public class CellSwaggerService {
             paths.addPathItem(itemById, item);
         }
 
+        // Shared methods, from the same registry the dispatcher resolves against
+        for (String alias : sharedMethods.aliasesFor(cellClass.get())) {
+            String sharedPath = HoneycombConstants.Paths.HONEYCOMB_SHARED
+                    + HoneycombConstants.Names.SEPARATOR_SLASH
+                    + alias;
+            paths.addPathItem(sharedPath, new PathItem().post(new Operation()
+                    .summary(HoneycombConstants.Swagger.SUMMARY_INVOKE_SHARED + alias)
+                    .addTagsItem(HoneycombConstants.Swagger.TAG_SHARED)
+                    .responses(new io.swagger.v3.oas.models.responses.ApiResponses()
+                            .addApiResponse(HoneycombConstants.Swagger.RESP_200,
+                                    new ApiResponse().description(HoneycombConstants.Swagger.DESC_SHARED_RESULT))
+                            .addApiResponse(HoneycombConstants.Swagger.RESP_403,
+                                    new ApiResponse().description(HoneycombConstants.Swagger.DESC_SHARED_FORBIDDEN))
+                    )));
+        }
+
         OpenAPI openAPI = new OpenAPI()
                 .info(new Info()
                         .title(HoneycombConstants.Swagger.INFO_TITLE_PREFIX + cellName)
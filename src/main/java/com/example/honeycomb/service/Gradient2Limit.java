@@ -0,0 +1,77 @@
+package com.example.honeycomb.service;
+
+/**
+ * Gradient limit comparing a short-term RTT average with a long-term one, both exponential.
+ * The short average spans {@code shortWindow} samples, so a single slow or fast request does
+ * not swing the gradient.
+ * When the short RTT rises above {@code rttTolerance * longRtt} the gradient drops
+ * below 1 and the limit shrinks; otherwise it grows by {@code sqrt(limit)} headroom.
+ * New estimates are smoothed to avoid oscillation.
+ */
+public class Gradient2Limit implements AdaptiveLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private final int shortWindow;
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRtt;
+    private double shortRtt;
+    private long samples;
+
+    public Gradient2Limit(int initialLimit, int minLimit, int maxLimit,
+                          double rttTolerance, double smoothing, int longWindow) {
+        this(initialLimit, minLimit, maxLimit, rttTolerance, smoothing, longWindow, 10);
+    }
+
+    public Gradient2Limit(int initialLimit, int minLimit, int maxLimit,
+                          double rttTolerance, double smoothing, int longWindow, int shortWindow) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.rttTolerance = Math.max(1.0, rttTolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        this.longWindow = Math.max(1, longWindow);
+        this.shortWindow = Math.max(1, Math.min(shortWindow, this.longWindow));
+        this.limit = clamp(initialLimit);
+        this.estimatedLimit = limit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (rttNanos <= 0) return;
+        double rtt = rttNanos;
+        samples++;
+        // both averages start as a plain mean until they have a window's worth of samples
+        shortRtt = shortRtt + (rtt - shortRtt) / Math.min(samples, shortWindow);
+        if (samples <= 10) {
+            longRtt = longRtt + (rtt - longRtt) / samples;
+        } else {
+            longRtt = longRtt + (rtt - longRtt) / longWindow;
+        }
+        // if latency dropped for good, let the long average catch up quickly
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (!dropped && inFlight < estimatedLimit / 2) {
+            // app-limited
+            return;
+        }
+        double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = clamp((int) estimatedLimit);
+    }
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.Zstd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.compression.BrotliOption;
+import reactor.netty.http.server.compression.DeflateOption;
+import reactor.netty.http.server.compression.GzipOption;
+import reactor.netty.http.server.compression.HttpCompressionOption;
+import reactor.netty.http.server.compression.ZstdOption;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content coding of inter-cell traffic ({@code honeycomb.interaction.compression}).
+ * <p>
+ * The same codings and thresholds are applied to the main server (as a {@link NettyServerCustomizer}),
+ * to every cell server started by {@link CellServerManager}, and to the shared inter-cell
+ * {@link HttpClient}, which then advertises them in {@code Accept-Encoding} and decodes the answers.
+ * A server picks the coding from the caller's {@code Accept-Encoding}, so the preference order is
+ * sent as descending q-values.
+ */
+@Component
+public class InterCellCompression implements NettyServerCustomizer {
+    private static final Logger log = LoggerFactory.getLogger(InterCellCompression.class);
+
+    private final HoneycombInteractionProperties.Compression props;
+    private final List<String> encodings;
+    private final String acceptEncoding;
+
+    public InterCellCompression(HoneycombInteractionProperties properties) {
+        this.props = properties.getCompression();
+        this.encodings = availableEncodings(props.getEncodings());
+        this.acceptEncoding = acceptEncoding(encodings);
+        if (props.isEnabled()) {
+            log.info(HoneycombConstants.Messages.COMPRESSION_ENABLED, encodings, props.getMinResponseSize());
+        }
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled() && !encodings.isEmpty();
+    }
+
+    /**
+     * The codings in use, most preferred first; empty if none of the configured ones is available.
+     */
+    public List<String> encodings() {
+        return encodings;
+    }
+
+    /**
+     * What the inter-cell clients send as {@code Accept-Encoding}, e.g. {@code zstd, br;q=0.9, gzip;q=0.8}.
+     */
+    public String acceptEncoding() {
+        return acceptEncoding;
+    }
+
+    @Override
+    public HttpServer apply(HttpServer server) {
+        if (!isEnabled()) {
+            return server;
+        }
+        return server.compress(Math.max(0, props.getMinResponseSize()))
+                .compressOptions(serverOptions().toArray(new HttpCompressionOption[0]));
+    }
+
+    /**
+     * Decode compressed responses; the {@code Accept-Encoding} itself is set per request.
+     */
+    public HttpClient apply(HttpClient client) {
+        return isEnabled() ? client.compress(true) : client;
+    }
+
+    /**
+     * Whether a request body of this size should go out gzipped.
+     */
+    public boolean compressesRequest(int size) {
+        return isEnabled() && props.isCompressRequests() && size >= props.getMinRequestSize();
+    }
+
+    public byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new LevelledGzipOutputStream(out, props.getGzipLevel())) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private List<HttpCompressionOption> serverOptions() {
+        List<HttpCompressionOption> options = new ArrayList<>();
+        for (String encoding : encodings) {
+            switch (encoding) {
+                case HoneycombConstants.ContentEncodings.GZIP ->
+                    options.add(GzipOption.builder().compressionLevel(props.getGzipLevel()).build());
+                case HoneycombConstants.ContentEncodings.DEFLATE ->
+                    options.add(DeflateOption.builder().compressionLevel(props.getGzipLevel()).build());
+                case HoneycombConstants.ContentEncodings.BROTLI ->
+                    options.add(BrotliOption.builder().quality(props.getBrotliQuality()).build());
+                case HoneycombConstants.ContentEncodings.ZSTD ->
+                    options.add(ZstdOption.builder().compressionLevel(props.getZstdLevel()).build());
+                default -> {
+                }
+            }
+        }
+        return options;
+    }
+
+    private static List<String> availableEncodings(List<String> configured) {
+        List<String> available = new ArrayList<>();
+        if (configured == null) {
+            return available;
+        }
+        for (String raw : configured) {
+            if (raw == null || raw.isBlank()) continue;
+            String encoding = raw.trim().toLowerCase(Locale.ROOT);
+            if (available.contains(encoding)) continue;
+            if (isAvailable(encoding)) {
+                available.add(encoding);
+            } else {
+                log.warn(HoneycombConstants.Messages.COMPRESSION_UNAVAILABLE, encoding);
+            }
+        }
+        return List.copyOf(available);
+    }
+
+    /**
+     * Brotli and zstd are JNI codecs Netty loads only when brotli4j / zstd-jni are present; the
+     * option builders must not be touched without them.
+     */
+    static boolean isAvailable(String encoding) {
+        return switch (encoding) {
+            case HoneycombConstants.ContentEncodings.GZIP, HoneycombConstants.ContentEncodings.DEFLATE -> true;
+            case HoneycombConstants.ContentEncodings.BROTLI -> Brotli.isAvailable();
+            case HoneycombConstants.ContentEncodings.ZSTD -> Zstd.isAvailable();
+            default -> false;
+        };
+    }
+
+    private static String acceptEncoding(List<String> encodings) {
+        StringBuilder header = new StringBuilder();
+        for (int i = 0; i < encodings.size(); i++) {
+            if (i > 0) header.append(HoneycombConstants.Names.SEPARATOR_COMMA).append(HoneycombConstants.Messages.SPACE);
+            header.append(encodings.get(i));
+            if (i > 0) {
+                // 1.0 for the first, then 0.9, 0.8, ... never reaching 0 (which would mean "refuse")
+                double q = Math.max(1, 10 - i) / 10.0;
+                header.append(HoneycombConstants.ContentEncodings.QUALITY_PREFIX).append(q);
+            }
+        }
+        return header.toString();
+    }
+
+    /**
+     * {@link GZIPOutputStream} does not take a level; its deflater is protected.
+     */
+    private static final class LevelledGzipOutputStream extends GZIPOutputStream {
+        LevelledGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION ? Deflater.DEFAULT_COMPRESSION : level);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombRSocketProperties;
+import com.example.honeycomb.config.RSocketConfig;
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.util.HoneycombConstants;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client side of the RSocket shared method transport. One multiplexed connection is kept per
+ * {@code host:port} and authenticated at setup with {@code honeycomb.rsocket.shared-secret};
+ * requests then only carry the route and the calling cell / request id metadata.
+ */
+@Component
+public class RSocketCellClient {
+    private final HoneycombRSocketProperties properties;
+    private final ObjectProvider<RSocketRequester.Builder> builders;
+    private final Map<String, RSocketRequester> requesters = new ConcurrentHashMap<>();
+
+    public RSocketCellClient(HoneycombRSocketProperties properties,
+                             ObjectProvider<RSocketRequester.Builder> builders) {
+        this.properties = properties;
+        this.builders = builders;
+    }
+
+    /**
+     * Whether shared method calls to {@code addr} should go over RSocket rather than HTTP.
+     */
+    public boolean isPreferredFor(CellAddress addr) {
+        return properties.isEnabled()
+            && properties.isPreferForInvoke()
+            && addr.getRsocketPort() != null
+            && (properties.isAllowAnonymous() || hasText(properties.getSharedSecret()))
+            && builders.getIfAvailable() != null;
+    }
+
+    /**
+     * Request-response call to {@code shared.{method}}; emits the target's JSON result map.
+     */
+    public Mono<byte[]> invoke(CellAddress addr, String method, byte[] body, String fromCell, String requestId) {
+        return route(addr, HoneycombConstants.RSocket.ROUTE_SHARED_PREFIX + method, body, fromCell, requestId)
+                .retrieveMono(byte[].class);
+    }
+
+    /**
+     * Request-stream call to {@code shared.stream.{method}}; emits one JSON value per element.
+     */
+    public Flux<byte[]> stream(CellAddress addr, String method, byte[] body, String fromCell, String requestId) {
+        return route(addr, HoneycombConstants.RSocket.ROUTE_SHARED_STREAM_PREFIX + method, body, fromCell, requestId)
+                .retrieveFlux(byte[].class);
+    }
+
+    private RSocketRequester.RetrieveSpec route(CellAddress addr, String route, byte[] body,
+                                                String fromCell, String requestId) {
+        RSocketRequester.RequestSpec spec = requester(addr).route(route);
+        if (fromCell != null) spec.metadata(fromCell, RSocketConfig.FROM_CELL_MIME_TYPE);
+        if (requestId != null) spec.metadata(requestId, RSocketConfig.REQUEST_ID_MIME_TYPE);
+        return body == null || body.length == 0 ? spec : spec.data(body);
+    }
+
+    private RSocketRequester requester(CellAddress addr) {
+        String key = addr.getHost() + HoneycombConstants.Names.SEPARATOR_COLON + addr.getRsocketPort();
+        return requesters.computeIfAbsent(key, k -> connect(addr.getHost(), addr.getRsocketPort()));
+    }
+
+    private RSocketRequester connect(String host, int port) {
+        RSocketRequester.Builder builder = builders.getObject()
+                .dataMimeType(MediaType.APPLICATION_JSON)
+                .rsocketConnector(connector -> connector
+                        .keepAlive(Duration.ofMillis(properties.getKeepAliveIntervalMs()),
+                                Duration.ofMillis(properties.getKeepAliveMaxLifetimeMs()))
+                        // the connection is shared, so a dropped one is re-established on next use
+                        .reconnect(Retry.backoff(3, Duration.ofMillis(100))
+                                .maxBackoff(Duration.ofSeconds(5))));
+        String secret = properties.getSharedSecret();
+        if (hasText(secret)) {
+            builder.setupData(secret.getBytes(StandardCharsets.UTF_8));
+        }
+        return builder.tcp(host, port);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        requesters.values().forEach(RSocketRequester::dispose);
+        requesters.clear();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for outbound inter-cell calls: while a call for a key is in flight, identical
+ * calls subscribe to it instead of opening their own exchange. The entry is dropped as soon as
+ * the call terminates, so nothing is cached beyond the lifetime of the original request.
+ */
+@Component
+public class RequestCoalescer {
+    private static final char KEY_SEPARATOR = '\n';
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(HoneycombConstants.Metrics.INTERACTION_COALESCE_RATIO, this, RequestCoalescer::getCoalesceRatio)
+                .register(meterRegistry);
+        Gauge.builder(HoneycombConstants.Metrics.INTERACTION_COALESCE_IN_FLIGHT, inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code call} unless an identical one is already in flight, in which case share its outcome.
+     *
+     * @param operation metrics tag, e.g. {@code invoke} or {@code forward}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> coalesce(String operation, String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            meterRegistry.counter(HoneycombConstants.Metrics.INTERACTION_COALESCE_CALLS,
+                    HoneycombConstants.Metrics.TAG_OPERATION, operation).increment();
+            Mono<T>[] created = new Mono[1];
+            Mono<T> shared = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                Mono<T>[] self = new Mono[1];
+                self[0] = Mono.defer(call)
+                        .doFinally(signal -> inFlight.remove(k, self[0]))
+                        .cache();
+                created[0] = self[0];
+                return self[0];
+            });
+            if (created[0] == null) {
+                joined.incrementAndGet();
+                meterRegistry.counter(HoneycombConstants.Metrics.INTERACTION_COALESCE_JOINED,
+                        HoneycombConstants.Metrics.TAG_OPERATION, operation).increment();
+            }
+            return shared;
+        });
+    }
+
+    /**
+     * Key from the parts that make two calls interchangeable, with the body reduced to a digest.
+     */
+    public static String key(byte[] body, String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            sb.append(part == null ? HoneycombConstants.Messages.EMPTY : part).append(KEY_SEPARATOR);
+        }
+        return sb.append(digest(body)).toString();
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getJoined() {
+        return joined.get();
+    }
+
+    /**
+     * Share of calls that rode on another call's exchange.
+     */
+    public double getCoalesceRatio() {
+        long total = calls.get();
+        return total == 0 ? 0.0 : (double) joined.get() / total;
+    }
+
+    private static String digest(byte[] body) {
+        if (body == null || body.length == 0) return HoneycombConstants.Messages.EMPTY;
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            // every JRE ships SHA-256; fall back to the raw bytes rather than risk a collision
+            return new String(body, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests for inter-cell reads: if the primary call has not answered after the target
+ * cell's recent latency percentile, the same call goes to a backup instance and the first answer
+ * wins; the other exchange is cancelled.
+ * <p>
+ * Hedges are paid for from a per-cell budget. Every eligible call deposits
+ * {@code budget-percent} of a hedge and every hedge withdraws a whole one, so a cell that is
+ * slow across the board is not hit with twice the traffic.
+ */
+@Component
+public class RequestHedger {
+    // budget is kept in thousandths of a hedge; at most this many hedges can be saved up
+    private static final long CREDIT_UNIT = 1000;
+    private static final long MAX_CREDITS = 10 * CREDIT_UNIT;
+
+    private final HoneycombInteractionProperties.Hedging props;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> credits = new ConcurrentHashMap<>();
+
+    public RequestHedger(HoneycombInteractionProperties properties, MeterRegistry meterRegistry) {
+        this.props = properties.getHedging();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Subscribe to {@code primary}; if it has not emitted after {@link #delayFor(String)}, and the
+     * budget allows, also subscribe to {@code backup} and return whichever emits first.
+     * {@code primary} is expected to signal failures as values, as the interaction exchanges do.
+     */
+    public <T> Mono<T> hedge(String cell, Mono<T> primary, Supplier<Mono<T>> backup) {
+        return Mono.defer(() -> {
+            meterRegistry.counter(HoneycombConstants.Metrics.INTERACTION_HEDGE_CALLS,
+                    HoneycombConstants.Metrics.TAG_CELL, cell).increment();
+            AtomicLong budget = credits.computeIfAbsent(cell, k -> new AtomicLong());
+            long deposit = Math.round(props.getBudgetPercent() * CREDIT_UNIT / 100.0);
+            budget.accumulateAndGet(deposit, (cur, add) -> Math.min(MAX_CREDITS, cur + add));
+
+            Mono<T> hedged = Mono.delay(delayFor(cell)).flatMap(tick -> {
+                if (!withdraw(budget)) {
+                    meterRegistry.counter(HoneycombConstants.Metrics.INTERACTION_HEDGE_BUDGET_EXHAUSTED,
+                            HoneycombConstants.Metrics.TAG_CELL, cell).increment();
+                    return Mono.empty();
+                }
+                meterRegistry.counter(HoneycombConstants.Metrics.INTERACTION_HEDGE_SENT,
+                        HoneycombConstants.Metrics.TAG_CELL, cell).increment();
+                return backup.get().doOnNext(v -> meterRegistry.counter(HoneycombConstants.Metrics.INTERACTION_HEDGE_WON,
+                        HoneycombConstants.Metrics.TAG_CELL, cell).increment());
+            });
+            return Mono.firstWithValue(primary, hedged);
+        });
+    }
+
+    /**
+     * Successful call latency for the cell; feeds the percentile used as the hedge delay.
+     */
+    public void recordLatency(String cell, long durationMs) {
+        latencies.computeIfAbsent(cell, k -> new LatencyWindow()).record(durationMs);
+    }
+
+    public Duration delayFor(String cell) {
+        LatencyWindow window = latencies.get(cell);
+        long percentileMs = props.getPercentile() > 0 && window != null ? window.percentileMs() : -1;
+        long delay = percentileMs < 0 ? props.getDelayMs() : Math.max(props.getMinDelayMs(), percentileMs);
+        return Duration.ofMillis(Math.max(0, delay));
+    }
+
+    private static boolean withdraw(AtomicLong budget) {
+        long cur;
+        do {
+            cur = budget.get();
+            if (cur < CREDIT_UNIT) return false;
+        } while (!budget.compareAndSet(cur, cur - CREDIT_UNIT));
+        return true;
+    }
+
+    /**
+     * Ring of recent latencies. The percentile is recomputed every few samples rather than on each
+     * read, which keeps the per-call cost to one array store.
+     */
+    private final class LatencyWindow {
+        private static final int SIZE = 128;
+        private static final int MIN_SAMPLES = 20;
+        private static final int REFRESH_EVERY = 16;
+
+        private final long[] samples = new long[SIZE];
+        private int count;
+        private int next;
+        private int sinceRefresh;
+        private volatile long percentileMs = -1;
+
+        synchronized void record(long durationMs) {
+            samples[next] = durationMs;
+            next = (next + 1) % SIZE;
+            if (count < SIZE) count++;
+            sinceRefresh++;
+            if (count >= MIN_SAMPLES && (percentileMs < 0 || sinceRefresh >= REFRESH_EVERY)) {
+                sinceRefresh = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int idx = (int) Math.ceil(props.getPercentile() * sorted.length) - 1;
+                percentileMs = sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+            }
+        }
+
+        long percentileMs() {
+            return percentileMs;
+        }
+    }
+}
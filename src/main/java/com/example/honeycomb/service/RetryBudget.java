@@ -0,0 +1,94 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per retry scope (a target cell, or a host for the generic WebClient filter)
+ * shared by every request to that scope. First attempts deposit {@code budget-ratio} tokens,
+ * time adds {@code budget-min-per-second}, and each retry spends one. When a target is failing
+ * across the board the bucket drains and retries stop, instead of multiplying the load.
+ */
+@Component
+public class RetryBudget {
+    private final HoneycombInteractionProperties.Retry props;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public RetryBudget(HoneycombInteractionProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RetryBudget(HoneycombInteractionProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.props = properties.getRetry();
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Record a first attempt against {@code scope}.
+     */
+    public void deposit(String scope) {
+        bucket(scope).deposit(props.getBudgetRatio());
+    }
+
+    /**
+     * Spend one token for a retry; {@code false} means the retry must not be sent.
+     */
+    public boolean tryAcquire(String scope) {
+        if (bucket(scope).tryAcquire()) {
+            meterRegistry.counter(HoneycombConstants.Metrics.INTERACTION_RETRY_ATTEMPTS,
+                    HoneycombConstants.Metrics.TAG_CELL, scope).increment();
+            return true;
+        }
+        meterRegistry.counter(HoneycombConstants.Metrics.INTERACTION_RETRY_BUDGET_EXHAUSTED,
+                HoneycombConstants.Metrics.TAG_CELL, scope).increment();
+        return false;
+    }
+
+    public double available(String scope) {
+        return bucket(scope).available();
+    }
+
+    private Bucket bucket(String scope) {
+        return buckets.computeIfAbsent(scope == null ? HoneycombConstants.ConfigKeys.GLOBAL_ALL : scope, k -> new Bucket());
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefillNs = clock.getAsLong();
+
+        synchronized void deposit(double amount) {
+            refill();
+            tokens = Math.min(props.getBudgetCapacity(), tokens + amount);
+        }
+
+        synchronized boolean tryAcquire() {
+            refill();
+            if (tokens < 1.0) return false;
+            tokens -= 1.0;
+            return true;
+        }
+
+        synchronized double available() {
+            refill();
+            return tokens;
+        }
+
+        private void refill() {
+            long now = clock.getAsLong();
+            double seconds = (now - lastRefillNs) / 1_000_000_000.0;
+            lastRefillNs = now;
+            if (seconds > 0) {
+                tokens = Math.min(props.getBudgetCapacity(), tokens + seconds * props.getBudgetMinPerSecond());
+            }
+        }
+    }
+}
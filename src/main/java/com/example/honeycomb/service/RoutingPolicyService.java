@@ -1,30 +1,46 @@
 package com.example.honeycomb.service;
 
 import com.example.honeycomb.config.HoneycombRoutingProperties;
+import com.example.honeycomb.model.AddressStats;
 import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.model.CellInstanceStartedEvent;
 import com.example.honeycomb.util.HoneycombConstants;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class RoutingPolicyService {
+    private static final Logger log = LoggerFactory.getLogger(RoutingPolicyService.class);
     private final HoneycombRoutingProperties props;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
     private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
-    // use ThreadLocalRandom for reduced contention
-    private final Map<String, LatencyStats> latencyStats = new ConcurrentHashMap<>();
+    // one entry per cell@host:port; the same instance is also cached on each CellAddress
+    private final Map<String, AddressStats> statsByKey = new ConcurrentHashMap<>();
+    // weighted pick per cell over its address snapshot, rebuilt only when the snapshot or weight map changes
+    private final Map<String, WeightedSampler> samplers = new ConcurrentHashMap<>();
+    // weights set through the admin API; they win over configuration until removed
+    private final Map<String, Map<String, Integer>> weightOverrides = new ConcurrentHashMap<>();
+    // ramp start of servers started here, per cell:port, for local addresses nobody has routed to yet
+    private final Map<String, Long> localWarmUps = new ConcurrentHashMap<>();
     private final MeterRegistry meterRegistry;
     private final io.micrometer.core.instrument.Counter routingSelects;
+    private volatile Set<String> localHosts;
 
     public RoutingPolicyService(HoneycombRoutingProperties props,
                                 CircuitBreakerRegistry circuitBreakerRegistry,
@@ -36,31 +52,215 @@ public class RoutingPolicyService {
     }
 
     public List<CellAddress> selectTargets(String cell, List<CellAddress> addresses, String policyOverride) {
+        return selectTargets(cell, addresses, policyOverride, null);
+    }
+
+    /**
+     * @param routingKey request attribute for {@code consistent-hash}; ignored by other policies,
+     *                   and {@code consistent-hash} falls back to round-robin without one
+     */
+    public List<CellAddress> selectTargets(String cell, List<CellAddress> addresses, String policyOverride,
+                                           String routingKey) {
+        return selectTargets(cell, addresses, addresses, policyOverride, routingKey);
+    }
+
+    /**
+     * @param snapshot the cell's full address list, which {@code addresses} is drawn from; the
+     *                 weighted table is built over it so narrower lists reuse the same table
+     */
+    private List<CellAddress> selectTargets(String cell, List<CellAddress> snapshot, List<CellAddress> addresses,
+                                            String policyOverride, String routingKey) {
         // increment a simple counter to observe routing selection rate
         if (routingSelects != null) routingSelects.increment();
         if (addresses == null || addresses.isEmpty()) return List.of();
+        String policy = resolvePolicy(cell, policyOverride);
+        if (HoneycombConstants.RoutingPolicies.WEIGHTED.equals(policy)
+                || (HoneycombConstants.RoutingPolicies.ZONE_AWARE.equals(policy)
+                    && HoneycombConstants.RoutingPolicies.WEIGHTED.equals(innerPolicy(props.getLocality().getPolicy())))) {
+            samplerFor(cell, snapshot);
+        }
+        // zone-aware weighs health per zone itself
+        List<CellAddress> candidates = HoneycombConstants.RoutingPolicies.ZONE_AWARE.equals(policy)
+            ? addresses
+            : healthy(cell, addresses);
+        if (!HoneycombConstants.RoutingPolicies.ALL.equals(policy)) {
+            candidates = warmedUp(cell, candidates,
+                HoneycombConstants.RoutingPolicies.CONSISTENT_HASH.equals(policy) ? routingKey : null);
+        }
+        return select(cell, candidates, policy, routingKey);
+    }
+
+    /**
+     * Lower-cased policy a call to {@code cell} will use.
+     */
+    public String resolvePolicy(String cell, String policyOverride) {
         String policy = policyOverride == null || policyOverride.isBlank() ? props.resolvePolicy(cell) : policyOverride;
-        String normalized = policy.toLowerCase();
+        return policy.toLowerCase();
+    }
+
+    public HoneycombRoutingProperties.HashKey hashKeyFor(String cell) {
+        return props.resolveHashKey(cell);
+    }
+
+    private List<CellAddress> select(String cell, List<CellAddress> addresses, String normalized) {
+        return select(cell, addresses, normalized, null);
+    }
+
+    private List<CellAddress> select(String cell, List<CellAddress> addresses, String normalized, String routingKey) {
         return switch (normalized) {
             case HoneycombConstants.RoutingPolicies.ONE, HoneycombConstants.RoutingPolicies.RANDOM
                 -> List.of(addresses.get(java.util.concurrent.ThreadLocalRandom.current().nextInt(addresses.size())));
             case HoneycombConstants.RoutingPolicies.ROUND_ROBIN -> List.of(roundRobin(cell, addresses));
             case HoneycombConstants.RoutingPolicies.WEIGHTED -> List.of(weighted(cell, addresses));
             case HoneycombConstants.RoutingPolicies.LEAST_LATENCY -> List.of(leastLatency(cell, addresses));
+            case HoneycombConstants.RoutingPolicies.P2C -> List.of(powerOfTwoChoices(cell, addresses));
             case HoneycombConstants.RoutingPolicies.CIRCUIT_AWARE -> selectCircuitAware(cell, addresses);
+            case HoneycombConstants.RoutingPolicies.ZONE_AWARE -> List.of(zoneAware(cell, addresses));
+            case HoneycombConstants.RoutingPolicies.CONSISTENT_HASH -> List.of(routingKey == null
+                ? roundRobin(cell, addresses)
+                : rendezvous(cell, addresses, routingKey));
             case HoneycombConstants.RoutingPolicies.ALL -> addresses;
             default -> addresses;
         };
     }
 
+    /**
+     * Pick an instance for a retry: the policy is applied to the addresses not yet tried, so a
+     * retry never lands on an instance that has already failed this call.
+     *
+     * @param tried {@code host:port} of instances already attempted
+     * @return the next instance, or {@code null} when none is left
+     */
+    public CellAddress selectRetryTarget(String cell, List<CellAddress> addresses, Set<String> tried, String policyOverride) {
+        return selectRetryTarget(cell, addresses, tried, policyOverride, null);
+    }
+
+    /**
+     * As {@link #selectRetryTarget(String, List, Set, String)}; under {@code consistent-hash} the
+     * retry goes to the key's next-ranked instance, so it lands on the same fallback every time.
+     */
+    public CellAddress selectRetryTarget(String cell, List<CellAddress> addresses, Set<String> tried,
+                                         String policyOverride, String routingKey) {
+        if (addresses == null || addresses.isEmpty()) return null;
+        List<CellAddress> remaining = addresses.stream()
+                .filter(a -> !tried.contains(a.getHost() + HoneycombConstants.Names.SEPARATOR_COLON + a.getPort()))
+                .toList();
+        if (remaining.isEmpty()) return null;
+        List<CellAddress> picked = selectTargets(cell, addresses, remaining, policyOverride, routingKey);
+        return picked.isEmpty() ? null : picked.get(0);
+    }
+
     public void recordLatency(String cell, CellAddress address, long durationMs, boolean success) {
         if (address == null) return;
-        String key = addressKey(cell, address);
-        latencyStats.compute(key, (k, prev) -> {
-            if (prev == null) return LatencyStats.from(durationMs, success);
-            prev.update(durationMs, success);
-            return prev;
-        });
+        AddressStats s = stats(cell, address);
+        s.record(durationMs, success);
+        HoneycombRoutingProperties.Outlier outlier = props.getOutlier();
+        if (!success && outlier.isEnabled() && outlier.getConsecutiveErrors() > 0
+                && s.getConsecutiveFailures() >= outlier.getConsecutiveErrors()) {
+            eject(s, HoneycombConstants.EjectionReasons.CONSECUTIVE_ERRORS);
+        }
+    }
+
+    /**
+     * Take an address out of rotation for its next back-off period.
+     *
+     * @return whether it was ejected now; {@code false} if it already was
+     */
+    public boolean eject(AddressStats stats, String reason) {
+        HoneycombRoutingProperties.Outlier outlier = props.getOutlier();
+        long ms = stats.eject(System.nanoTime(), outlier.getBaseEjectionMs(), outlier.getMaxEjectionMs());
+        if (ms <= 0) return false;
+        log.warn(HoneycombConstants.Messages.ADDRESS_EJECTED, stats.getKey(), ms, reason);
+        meterRegistry.counter(HoneycombConstants.Metrics.ROUTING_EJECTIONS,
+                HoneycombConstants.Metrics.TAG_CELL, stats.getCell(),
+                HoneycombConstants.Metrics.TAG_REASON, reason).increment();
+        return true;
+    }
+
+    /**
+     * Start the slow-start ramp of an instance that just came up. Without a host, every
+     * address of the cell on this node with that port is ramped, including the ones whose
+     * statistics are only created later in the window, when the port is first routed to.
+     */
+    @EventListener
+    public void onInstanceStarted(CellInstanceStartedEvent event) {
+        if (props.getSlowStart().getWindowMs() <= 0) return;
+        long now = System.nanoTime();
+        String cell = event.cellName();
+        long window = TimeUnit.MILLISECONDS.toNanos(props.getSlowStart().getWindowMs());
+        localWarmUps.values().removeIf(startedAt -> now - startedAt >= window);
+        if (event.host() != null) {
+            String key = cell + "@" + event.host() + ":" + event.port();
+            statsByKey.computeIfAbsent(key, k -> new AddressStats(cell, k, "cell@" + k)).startWarmUp(now);
+            log.info(HoneycombConstants.Messages.ADDRESS_WARM_UP, key, props.getSlowStart().getWindowMs());
+            return;
+        }
+        localWarmUps.put(localWarmUpKey(cell, event.port()), now);
+        String suffix = HoneycombConstants.Names.SEPARATOR_COLON + event.port();
+        for (AddressStats stats : statsByKey.values()) {
+            String key = stats.getKey();
+            if (!stats.getCell().equals(cell) || !key.endsWith(suffix)) continue;
+            String host = key.substring(cell.length() + 1, key.length() - suffix.length());
+            if (localHosts().contains(host)) {
+                stats.startWarmUp(now);
+                log.info(HoneycombConstants.Messages.ADDRESS_WARM_UP, key, props.getSlowStart().getWindowMs());
+            }
+        }
+    }
+
+    /**
+     * Circuit not open, health probe passing and not ejected.
+     */
+    public boolean isAvailable(String cell, CellAddress address) {
+        return stats(cell, address).isHealthy(System.nanoTime())
+            && circuitBreakerRegistry.circuitBreaker(circuitName(cell, address)).getState() != CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * Statistics of {@code address} as a target of {@code cell}. After the first call for a
+     * given address object this is a field read; a refreshed address snapshot resolves the same
+     * instance again from the shared map.
+     */
+    public AddressStats stats(String cell, CellAddress address) {
+        String c = (cell == null || cell.isBlank()) ? "__all__" : cell;
+        AddressStats cached = address.getStats();
+        if (cached != null && cached.getCell().equals(c)) return cached;
+        String key = addressKey(c, address);
+        AddressStats resolved = statsByKey.computeIfAbsent(key, k -> newStats(c, k, address));
+        address.setStats(resolved);
+        return resolved;
+    }
+
+    private AddressStats newStats(String cell, String key, CellAddress address) {
+        AddressStats created = new AddressStats(cell, key, "cell@" + key);
+        if (!localWarmUps.isEmpty() && isLocalHost(address.getHost())) {
+            Long startedAt = localWarmUps.get(localWarmUpKey(cell, address.getPort()));
+            // an expired start is harmless: the ramp ends on its first read
+            if (startedAt != null) created.startWarmUp(startedAt);
+        }
+        return created;
+    }
+
+    private static String localWarmUpKey(String cell, int port) {
+        return cell + HoneycombConstants.Names.SEPARATOR_COLON + port;
+    }
+
+    /**
+     * Marks a request to {@code address} as started; every call must be paired with
+     * {@link #endCall} however the request ends, including cancellation.
+     */
+    public void beginCall(String cell, CellAddress address) {
+        if (address == null) return;
+        stats(cell, address).begin();
+    }
+
+    public void endCall(String cell, CellAddress address) {
+        if (address == null) return;
+        stats(cell, address).end();
+    }
+
+    public int inFlight(String cell, CellAddress address) {
+        return stats(cell, address).getInFlight();
     }
 
     private CellAddress roundRobin(String cell, List<CellAddress> addresses) {
@@ -72,27 +272,53 @@ public class RoutingPolicyService {
         return addresses.get(idx);
     }
 
+    /**
+     * The cell's weighted table over {@code snapshot}, rebuilt only when the snapshot or the
+     * weights have been replaced.
+     */
+    private WeightedSampler samplerFor(String cell, List<CellAddress> snapshot) {
+        String c = cell == null ? HoneycombConstants.ConfigKeys.GLOBAL_ALL : cell;
+        Map<String, Integer> weights = weightsFor(cell);
+        WeightedSampler sampler = samplers.get(c);
+        if (sampler == null || !sampler.isFor(snapshot, weights)) {
+            sampler = WeightedSampler.of(snapshot, weights);
+            samplers.put(c, sampler);
+        }
+        return sampler;
+    }
+
     private CellAddress weighted(String cell, List<CellAddress> addresses) {
-        Map<String, Integer> weights = props.resolveWeights(cell);
-        // cumulative weight pick without list expansion
-        int total = 0;
-        int n = addresses.size();
-        int[] ws = new int[n];
-        for (int i = 0; i < n; i++) {
-            CellAddress addr = addresses.get(i);
-            String key = addr.getHost() + HoneycombConstants.Names.SEPARATOR_COLON + addr.getPort();
-            int w = Math.max(1, weights.getOrDefault(key, 1));
-            ws[i] = w;
-            total += w;
-        }
-        if (total <= 0) return addresses.get(0);
-        int r = java.util.concurrent.ThreadLocalRandom.current().nextInt(total);
-        int cum = 0;
-        for (int i = 0; i < n; i++) {
-            cum += ws[i];
-            if (r < cum) return addresses.get(i);
+        String c = cell == null ? HoneycombConstants.ConfigKeys.GLOBAL_ALL : cell;
+        WeightedSampler sampler = samplers.get(c);
+        // healthy, warmed-up, zone and retry subsets of the snapshot draw from its table
+        if (sampler != null && sampler.covers(addresses, weightsFor(cell))) {
+            return sampler.next(addresses);
         }
-        return addresses.get(0);
+        return samplerFor(cell, addresses).next();
+    }
+
+    /**
+     * Weights by {@code host:port} the {@code weighted} policy uses for {@code cell}: those set at
+     * runtime if any, else the configured ones.
+     */
+    public Map<String, Integer> weightsFor(String cell) {
+        Map<String, Integer> override = cell == null ? null : weightOverrides.get(cell);
+        return override != null ? override : props.resolveWeights(cell);
+    }
+
+    /**
+     * Replace the weights of {@code cell} until {@link #clearWeights} or a restart; the next
+     * weighted pick rebuilds its table.
+     */
+    public void setWeights(String cell, Map<String, Integer> weights) {
+        weightOverrides.put(cell, Map.copyOf(weights));
+    }
+
+    /**
+     * @return whether runtime weights were set
+     */
+    public boolean clearWeights(String cell) {
+        return weightOverrides.remove(cell) != null;
     }
 
     private CellAddress leastLatency(String cell, List<CellAddress> addresses) {
@@ -101,44 +327,237 @@ public class RoutingPolicyService {
                 .orElseGet(() -> roundRobin(cell, addresses));
     }
 
-    private List<CellAddress> selectCircuitAware(String cell, List<CellAddress> addresses) {
-        List<CellAddress> closed = new ArrayList<>();
+    /**
+     * Power of two choices: sample two distinct addresses and keep the cheaper, where cost is
+     * in-flight requests times average latency. Sampling instead of taking the global minimum
+     * keeps every caller from piling onto the one instance that looked fastest a moment ago.
+     */
+    private CellAddress powerOfTwoChoices(String cell, List<CellAddress> addresses) {
+        int n = addresses.size();
+        if (n == 1) return addresses.get(0);
+        java.util.concurrent.ThreadLocalRandom random = java.util.concurrent.ThreadLocalRandom.current();
+        int i = random.nextInt(n);
+        int j = random.nextInt(n - 1);
+        if (j >= i) j++;
+        CellAddress a = addresses.get(i);
+        CellAddress b = addresses.get(j);
+        return p2cCost(cell, a) <= p2cCost(cell, b) ? a : b;
+    }
+
+    private double p2cCost(String cell, CellAddress address) {
+        AddressStats s = stats(cell, address);
+        // an unmeasured address costs like a 1 ms one, so new instances get probed early
+        double latency = s.hasSamples() ? Math.max(1.0, s.getAvgMs()) : 1.0;
+        return (s.getInFlight() + 1) * latency;
+    }
+
+    /**
+     * Rendezvous (highest random weight) hashing: every address scores {@code mix(key, address)}
+     * and the highest wins. Adding or removing an address only moves the keys that address wins
+     * or held, about {@code 1/n} of them, and there is no ring to rebuild when the snapshot changes.
+     */
+    private CellAddress rendezvous(String cell, List<CellAddress> addresses, String routingKey) {
+        long keyHash = AddressStats.hash64(routingKey);
+        CellAddress best = null;
+        long bestScore = 0;
         for (CellAddress addr : addresses) {
-            CircuitBreaker cb = circuitBreakerRegistry.circuitBreaker(circuitName(cell, addr));
-            if (cb.getState() != CircuitBreaker.State.OPEN) {
-                closed.add(addr);
+            long score = AddressStats.mix64(keyHash ^ stats(cell, addr).getKeyHash());
+            if (best == null || Long.compareUnsigned(score, bestScore) > 0) {
+                best = addr;
+                bestScore = score;
             }
         }
+        return best;
+    }
+
+    private List<CellAddress> selectCircuitAware(String cell, List<CellAddress> addresses) {
+        List<CellAddress> closed = available(cell, addresses);
         if (closed.isEmpty()) return addresses;
         return List.of(roundRobin(cell, closed));
     }
 
-    private double latencyAvgMs(String cell, CellAddress address) {
-        LatencyStats stats = latencyStats.get(addressKey(cell, address));
-        return stats == null ? Double.MAX_VALUE : stats.avgMs;
+    /**
+     * Same-zone instances first. Other zones take a share of the traffic only when fewer than
+     * {@code min-healthy-percent} of the local instances are available (in proportion to the
+     * shortfall), or when local instances average {@code max-in-flight-per-instance} requests,
+     * in which case local and remote instances are pooled.
+     */
+    private CellAddress zoneAware(String cell, List<CellAddress> addresses) {
+        HoneycombRoutingProperties.Locality locality = props.getLocality();
+        String inner = innerPolicy(locality.getPolicy());
+        String zone = locality.getZone();
+        if (zone == null || zone.isBlank()) return select(cell, healthy(cell, addresses), inner).get(0);
+
+        List<CellAddress> local = new ArrayList<>();
+        List<CellAddress> remote = new ArrayList<>();
+        for (CellAddress addr : addresses) {
+            (addr.getZone() == null || addr.getZone().equalsIgnoreCase(zone) ? local : remote).add(addr);
+        }
+        if (local.isEmpty()) return select(cell, healthy(cell, remote), inner).get(0);
+        List<CellAddress> healthyRemote = available(cell, remote);
+        List<CellAddress> healthyLocal = available(cell, local);
+        if (healthyRemote.isEmpty()) {
+            return select(cell, healthyLocal.isEmpty() ? local : healthyLocal, inner).get(0);
+        }
+        if (healthyLocal.isEmpty()) return spill(cell, select(cell, healthyRemote, inner).get(0));
+
+        int maxInFlight = locality.getMaxInFlightPerInstance();
+        if (maxInFlight > 0 && averageInFlight(cell, healthyLocal) >= maxInFlight) {
+            List<CellAddress> pooled = new ArrayList<>(healthyLocal);
+            pooled.addAll(healthyRemote);
+            CellAddress picked = select(cell, pooled, inner).get(0);
+            return healthyLocal.contains(picked) ? picked : spill(cell, picked);
+        }
+        double healthyPercent = 100.0 * healthyLocal.size() / local.size();
+        double localShare = healthyPercent / Math.max(1e-9, locality.getMinHealthyPercent());
+        if (localShare >= 1.0 || java.util.concurrent.ThreadLocalRandom.current().nextDouble() < localShare) {
+            return select(cell, healthyLocal, inner).get(0);
+        }
+        return spill(cell, select(cell, healthyRemote, inner).get(0));
     }
 
-    private String addressKey(String cell, CellAddress address) {
-        String c = (cell == null || cell.isBlank()) ? "__all__" : cell;
-        return c + "@" + address.getHost() + ":" + address.getPort();
+    private static String innerPolicy(String policy) {
+        String normalized = policy == null ? HoneycombConstants.RoutingPolicies.ROUND_ROBIN : policy.toLowerCase();
+        // the zone choice must end in exactly one instance
+        return switch (normalized) {
+            case HoneycombConstants.RoutingPolicies.ZONE_AWARE, HoneycombConstants.RoutingPolicies.ALL,
+                 HoneycombConstants.RoutingPolicies.CIRCUIT_AWARE -> HoneycombConstants.RoutingPolicies.ROUND_ROBIN;
+            default -> normalized;
+        };
     }
 
-    public String circuitName(String cell, CellAddress address) {
-        return "cell@" + addressKey(cell, address);
+    private CellAddress spill(String cell, CellAddress picked) {
+        meterRegistry.counter(HoneycombConstants.Metrics.ROUTING_ZONE_SPILLOVER,
+                HoneycombConstants.Metrics.TAG_CELL, cell == null ? HoneycombConstants.ConfigKeys.GLOBAL_ALL : cell).increment();
+        return picked;
     }
 
-    private static class LatencyStats {
-        private static final double ALPHA = 0.2;
-        private double avgMs;
+    private double averageInFlight(String cell, List<CellAddress> addresses) {
+        long total = 0;
+        for (CellAddress addr : addresses) total += stats(cell, addr).getInFlight();
+        return (double) total / addresses.size();
+    }
 
-        static LatencyStats from(long durationMs, boolean success) {
-            LatencyStats s = new LatencyStats();
-            s.avgMs = durationMs;
-            return s;
+    /**
+     * Addresses that are {@link #isAvailable available}.
+     */
+    private List<CellAddress> available(String cell, List<CellAddress> addresses) {
+        List<CellAddress> closed = new ArrayList<>(addresses.size());
+        for (CellAddress addr : addresses) {
+            if (isAvailable(cell, addr)) {
+                closed.add(addr);
+            }
         }
+        return closed;
+    }
 
-        void update(long durationMs, boolean success) {
-            avgMs = (ALPHA * durationMs) + ((1 - ALPHA) * avgMs);
+    /**
+     * Addresses passing their health probe and not ejected; the same list when all are, which is
+     * the common case and allocates nothing. When fewer than {@code 100 - max-ejection-percent}
+     * percent are left, health is ignored (panic routing) rather than overloading the rest.
+     */
+    private List<CellAddress> healthy(String cell, List<CellAddress> addresses) {
+        long now = System.nanoTime();
+        int n = addresses.size();
+        int firstBad = -1;
+        for (int i = 0; i < n; i++) {
+            if (!stats(cell, addresses.get(i)).isHealthy(now)) {
+                firstBad = i;
+                break;
+            }
         }
+        if (firstBad < 0) return addresses;
+        List<CellAddress> healthy = new ArrayList<>(n - 1);
+        for (int i = 0; i < n; i++) {
+            CellAddress addr = addresses.get(i);
+            if (i != firstBad && (i < firstBad || stats(cell, addr).isHealthy(now))) {
+                healthy.add(addr);
+            }
+        }
+        double minHealthy = n * (100.0 - props.getOutlier().getMaxEjectionPercent()) / 100.0;
+        if (healthy.isEmpty() || healthy.size() < minHealthy) {
+            meterRegistry.counter(HoneycombConstants.Metrics.ROUTING_PANIC,
+                    HoneycombConstants.Metrics.TAG_CELL, cell == null ? HoneycombConstants.ConfigKeys.GLOBAL_ALL : cell).increment();
+            return addresses;
+        }
+        return healthy;
+    }
+
+    /**
+     * Addresses admitted under slow start: one still ramping takes part in a selection with
+     * probability equal to its ramp factor, so every policy, weights included, sends it that
+     * share of its usual traffic. Under {@code consistent-hash} admission is decided by the
+     * routing key instead of a coin flip, so a key does not bounce between instances while the
+     * share of keys moving to the new instance grows. Returns the same list, without
+     * allocating, when nothing is ramping.
+     */
+    private List<CellAddress> warmedUp(String cell, List<CellAddress> addresses, String routingKey) {
+        HoneycombRoutingProperties.SlowStart slowStart = props.getSlowStart();
+        if (slowStart.getWindowMs() <= 0) return addresses;
+        long now = System.nanoTime();
+        long window = TimeUnit.MILLISECONDS.toNanos(slowStart.getWindowMs());
+        double min = slowStart.getMinWeightPercent() / 100.0;
+        int n = addresses.size();
+        int firstRamping = -1;
+        for (int i = 0; i < n; i++) {
+            if (stats(cell, addresses.get(i)).warmUpFactor(now, window, min) < 1.0) {
+                firstRamping = i;
+                break;
+            }
+        }
+        if (firstRamping < 0) return addresses;
+        long keyHash = routingKey == null ? 0 : AddressStats.hash64(routingKey);
+        java.util.concurrent.ThreadLocalRandom random = java.util.concurrent.ThreadLocalRandom.current();
+        List<CellAddress> admitted = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            CellAddress addr = addresses.get(i);
+            if (i < firstRamping) {
+                admitted.add(addr);
+                continue;
+            }
+            AddressStats s = stats(cell, addr);
+            double factor = s.warmUpFactor(now, window, min);
+            double draw = routingKey == null
+                ? random.nextDouble()
+                : (AddressStats.mix64(keyHash + s.getKeyHash()) >>> 11) * 0x1.0p-53;
+            if (factor >= 1.0 || draw < factor) admitted.add(addr);
+        }
+        return admitted.isEmpty() ? addresses : admitted;
+    }
+
+    /**
+     * Whether {@code host} names this node: a loopback name or one of the local host's names.
+     */
+    public boolean isLocalHost(String host) {
+        return host != null && localHosts().contains(host);
+    }
+
+    private Set<String> localHosts() {
+        Set<String> hosts = localHosts;
+        if (hosts != null) return hosts;
+        Set<String> found = new java.util.HashSet<>(Set.of(HoneycombConstants.Hosts.LOCALHOST,
+                HoneycombConstants.Hosts.LOOPBACK_V4, HoneycombConstants.Hosts.LOOPBACK_V6));
+        try {
+            InetAddress local = InetAddress.getLocalHost();
+            found.add(local.getHostName());
+            found.add(local.getHostAddress());
+            found.add(local.getCanonicalHostName());
+        } catch (java.io.IOException ignored) {
+        }
+        localHosts = Set.copyOf(found);
+        return localHosts;
+    }
+
+    private double latencyAvgMs(String cell, CellAddress address) {
+        AddressStats s = stats(cell, address);
+        return s.hasSamples() ? s.getAvgMs() : Double.MAX_VALUE;
+    }
+
+    private static String addressKey(String cell, CellAddress address) {
+        return cell + "@" + address.getHost() + ":" + address.getPort();
+    }
+
+    public String circuitName(String cell, CellAddress address) {
+        return stats(cell, address).getCircuitName();
     }
 }
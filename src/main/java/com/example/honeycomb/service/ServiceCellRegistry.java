@@ -3,6 +3,7 @@ package com.example.honeycomb.service;
 import com.example.honeycomb.annotations.Cell;
 import com.example.honeycomb.annotations.MethodOp;
 import com.example.honeycomb.annotations.MethodType;
+import com.example.honeycomb.index.HoneycombIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.support.AopUtils;
@@ -12,7 +13,9 @@ import org.springframework.stereotype.Component;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
@@ -40,14 +43,25 @@ public class ServiceCellRegistry {
 
     private final Map<String, Map<String, ServiceMethod>> registry = new ConcurrentHashMap<>();
 
-    public ServiceCellRegistry(ApplicationContext ctx) {
+    public ServiceCellRegistry(ApplicationContext ctx, CellRegistry cellRegistry) {
+        HoneycombIndex index = cellRegistry.getIndex();
         Map<String, Object> cellBeans = ctx.getBeansWithAnnotation(Cell.class);
         for (Object bean : cellBeans.values()) {
             Class<?> cls = AopUtils.getTargetClass(bean);
             String cellName = resolveCellName(cls);
             Map<String, ServiceMethod> methods = new HashMap<>();
+            // with an index only the recorded @MethodType method names need annotation lookups
+            Set<String> indexedNames = null;
+            if (index.isIndexed(cls.getName())) {
+                indexedNames = new HashSet<>();
+                for (HoneycombIndex.ServiceEntry e : index.getServiceMethods(cls.getName())) {
+                    indexedNames.add(e.methodName());
+                }
+                if (indexedNames.isEmpty()) continue;
+            }
 
             for (Method m : cls.getMethods()) {
+                if (indexedNames != null && !indexedNames.contains(m.getName())) continue;
                 MethodType mt = m.getAnnotation(MethodType.class);
                 if (mt == null) {
                     mt = findInterfaceMethodType(cls, m);
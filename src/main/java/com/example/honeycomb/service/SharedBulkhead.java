@@ -0,0 +1,92 @@
+package com.example.honeycomb.service;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking semaphore with a bounded FIFO wait queue. Waiters hold a one-shot sink
+ * ticket instead of a thread; a finishing call hands its permit straight to the head
+ * of the queue, so the in-flight count never exceeds the limit.
+ */
+public class SharedBulkhead {
+    private final String alias;
+    private final int maxConcurrentCalls;
+    private final int maxQueuedCalls;
+    private final Duration maxWait;
+    private final ArrayDeque<Sinks.One<Boolean>> waiters = new ArrayDeque<>();
+    private int inFlight;
+
+    public SharedBulkhead(String alias, int maxConcurrentCalls, int maxQueuedCalls, Duration maxWait) {
+        this.alias = alias;
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+        this.maxQueuedCalls = Math.max(0, maxQueuedCalls);
+        this.maxWait = maxWait;
+    }
+
+    public <T> Mono<T> execute(Mono<T> call) {
+        return Mono.defer(() -> {
+            Sinks.One<Boolean> ticket;
+            synchronized (this) {
+                if (inFlight < maxConcurrentCalls) {
+                    inFlight++;
+                    ticket = null;
+                } else if (waiters.size() < maxQueuedCalls) {
+                    ticket = Sinks.one();
+                    waiters.addLast(ticket);
+                } else {
+                    return Mono.error(new SharedBulkheadFullException(alias));
+                }
+            }
+            if (ticket == null) {
+                return call.doFinally(signal -> release());
+            }
+            Mono<Boolean> permit = ticket.asMono();
+            if (maxWait != null && !maxWait.isZero() && !maxWait.isNegative()) {
+                permit = permit.timeout(maxWait);
+            }
+            return permit
+                    .onErrorResume(TimeoutException.class, ex -> {
+                        abandon(ticket);
+                        return Mono.error(new SharedBulkheadFullException(alias));
+                    })
+                    .doOnCancel(() -> abandon(ticket))
+                    .then(Mono.defer(() -> call.doFinally(signal -> release())));
+        });
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+
+    private void release() {
+        Sinks.One<Boolean> next;
+        synchronized (this) {
+            next = waiters.pollFirst();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        // permit is transferred to the waiter; inFlight stays unchanged
+        next.tryEmitValue(Boolean.TRUE);
+    }
+
+    private void abandon(Sinks.One<Boolean> ticket) {
+        boolean handedOff;
+        synchronized (this) {
+            handedOff = !waiters.remove(ticket);
+        }
+        if (handedOff) {
+            // the permit arrived while we were giving up; pass it on
+            release();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.honeycomb.service;
+
+/**
+ * Raised when a shared method alias has no free permit and its wait queue is full
+ * (or the caller waited longer than the configured max wait).
+ */
+public class SharedBulkheadFullException extends RuntimeException {
+    private final String alias;
+
+    public SharedBulkheadFullException(String alias) {
+        super(alias);
+        this.alias = alias;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.annotations.Sharedwall;
+import com.example.honeycomb.config.HoneycombSharedBulkheadProperties;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link SharedBulkhead} per shared method alias so a slow alias can only
+ * exhaust its own permits, and exports in-flight / queued gauges per alias.
+ */
+@Component
+public class SharedBulkheadRegistry {
+    private final HoneycombSharedBulkheadProperties props;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SharedBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public SharedBulkheadRegistry(HoneycombSharedBulkheadProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> execute(String alias, Sharedwall annotation, Mono<T> call) {
+        if (!props.isEnabled() || alias == null) {
+            return call;
+        }
+        SharedBulkhead bulkhead = bulkheads.computeIfAbsent(alias, a -> create(a, annotation));
+        return bulkhead.execute(call)
+                .doOnError(SharedBulkheadFullException.class, ex -> meterRegistry.counter(
+                        HoneycombConstants.Metrics.SHARED_BULKHEAD_REJECTED,
+                        HoneycombConstants.Metrics.TAG_METHOD, alias).increment());
+    }
+
+    public SharedBulkhead get(String alias) {
+        return bulkheads.get(alias);
+    }
+
+    private SharedBulkhead create(String alias, Sharedwall annotation) {
+        HoneycombSharedBulkheadProperties.BulkheadConfig cfg = props.resolve(alias, annotation);
+        SharedBulkhead bulkhead = new SharedBulkhead(alias,
+                cfg.getMaxConcurrentCalls(), cfg.getMaxQueuedCalls(), cfg.getMaxWait());
+        Gauge.builder(HoneycombConstants.Metrics.SHARED_BULKHEAD_IN_FLIGHT, bulkhead, SharedBulkhead::getInFlight)
+                .tag(HoneycombConstants.Metrics.TAG_METHOD, alias)
+                .register(meterRegistry);
+        Gauge.builder(HoneycombConstants.Metrics.SHARED_BULKHEAD_QUEUED, bulkhead, SharedBulkhead::getQueued)
+                .tag(HoneycombConstants.Metrics.TAG_METHOD, alias)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.annotations.Sharedwall;
+import com.example.honeycomb.config.HoneycombSharedResultsProperties;
+import com.example.honeycomb.util.HoneycombConstants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded LRU cache for results of pure {@link Sharedwall} methods.
+ * <p>
+ * Keys are alias + target class + a SHA-256 of the canonicalized arguments (JSON objects
+ * with their fields sorted, so {@code {"a":1,"b":2}} and {@code {"b":2,"a":1}} share an entry).
+ * A miss stores the in-flight {@code Mono} immediately, so concurrent identical calls join
+ * one invocation. Errors and values rejected by the caller are never kept.
+ */
+@Component
+public class SharedResultCache {
+    private final HoneycombSharedResultsProperties props;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Entry> entries;
+    private final Map<PolicyKey, Policy> policies = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SharedResultCache(HoneycombSharedResultsProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        int maxEntries = Math.max(1, props.getMaxEntries());
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        Gauge.builder(HoneycombConstants.Metrics.SHARED_RESULTS_HIT_RATIO, this, SharedResultCache::getHitRatio)
+                .register(meterRegistry);
+        Gauge.builder(HoneycombConstants.Metrics.SHARED_RESULTS_SIZE, this, SharedResultCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * TTL for this alias/method, or {@code null} when results must not be cached.
+     */
+    public Duration cacheTtl(String alias, Method method, Sharedwall annotation) {
+        if (!props.isEnabled()) return null;
+        return policies.computeIfAbsent(new PolicyKey(alias, method), k -> resolvePolicy(alias, annotation)).ttl();
+    }
+
+    public <T> Mono<T> getOrLoad(String alias, Class<?> target, String argHash, Duration ttl,
+                                 Mono<T> loader, Predicate<T> storable) {
+        Key key = new Key(alias, target.getName(), argHash);
+        long now = System.nanoTime();
+        Mono<T> shared;
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.expiresAtNanos - now > 0) {
+                hits.incrementAndGet();
+                meterRegistry.counter(HoneycombConstants.Metrics.SHARED_RESULTS_HITS,
+                        HoneycombConstants.Metrics.TAG_METHOD, alias).increment();
+                @SuppressWarnings("unchecked")
+                Mono<T> cached = (Mono<T>) existing.value;
+                return cached;
+            }
+            Entry entry = new Entry(now + ttl.toNanos());
+            // assembling the cached Mono does not subscribe, so it is safe under the lock
+            shared = loader
+                    .doOnNext(v -> {
+                        if (!storable.test(v)) remove(key, entry);
+                    })
+                    .doOnError(ex -> remove(key, entry))
+                    .doOnCancel(() -> remove(key, entry))
+                    .cache();
+            entry.value = shared;
+            entries.put(key, entry);
+        }
+        misses.incrementAndGet();
+        meterRegistry.counter(HoneycombConstants.Metrics.SHARED_RESULTS_MISSES,
+                HoneycombConstants.Metrics.TAG_METHOD, alias).increment();
+        return shared;
+    }
+
+    /**
+     * Stable hash of the call arguments: canonical JSON when a JSON body was parsed,
+     * raw bytes otherwise.
+     */
+    public String hashArguments(JsonNode rootNode, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (rootNode != null && !rootNode.isNull() && !rootNode.isMissingNode()) {
+                digest.update(objectMapper.writeValueAsBytes(canonicalize(rootNode)));
+            } else if (body != null) {
+                digest.update(body);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | com.fasterxml.jackson.core.JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Drop cached results for one alias, or for every alias when {@code alias} is null.
+     */
+    public int purge(String alias) {
+        synchronized (entries) {
+            int before = entries.size();
+            if (alias == null || alias.isBlank()) {
+                entries.clear();
+            } else {
+                entries.keySet().removeIf(k -> k.alias().equals(alias));
+            }
+            return before - entries.size();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private void remove(Key key, Entry owner) {
+        synchronized (entries) {
+            if (entries.get(key) == owner) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    private Policy resolvePolicy(String alias, Sharedwall annotation) {
+        boolean cacheable = annotation != null && annotation.cacheable();
+        Duration ttl = null;
+        if (annotation != null && !annotation.ttl().isBlank()) {
+            ttl = DurationStyle.detectAndParse(annotation.ttl());
+        }
+        HoneycombSharedResultsProperties.MethodConfig cfg = props.resolve(alias);
+        if (cfg != null) {
+            if (cfg.getCacheable() != null) cacheable = cfg.getCacheable();
+            if (cfg.getTtl() != null) ttl = cfg.getTtl();
+        }
+        if (ttl == null) ttl = props.getDefaultTtl();
+        if (!cacheable || ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return new Policy(null);
+        }
+        return new Policy(ttl);
+    }
+
+    private static JsonNode canonicalize(JsonNode node) {
+        if (node.isObject()) {
+            TreeMap<String, JsonNode> sorted = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> f = fields.next();
+                sorted.put(f.getKey(), canonicalize(f.getValue()));
+            }
+            ObjectNode out = JsonNodeFactory.instance.objectNode();
+            sorted.forEach(out::set);
+            return out;
+        }
+        if (node.isArray()) {
+            com.fasterxml.jackson.databind.node.ArrayNode out = JsonNodeFactory.instance.arrayNode(node.size());
+            for (JsonNode el : node) {
+                out.add(canonicalize(el));
+            }
+            return out;
+        }
+        return node;
+    }
+
+    private record Key(String alias, String target, String argHash) {}
+
+    private record PolicyKey(String alias, Method method) {}
+
+    private record Policy(Duration ttl) {}
+
+    private static final class Entry {
+        private final long expiresAtNanos;
+        private Mono<?> value;
+
+        private Entry(long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
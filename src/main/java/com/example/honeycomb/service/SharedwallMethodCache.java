@@ -2,7 +2,7 @@ package com.example.honeycomb.service;
 
 import com.example.honeycomb.annotations.Cell;
 import com.example.honeycomb.annotations.Sharedwall;
-import jakarta.annotation.PostConstruct;
+import com.example.honeycomb.index.HoneycombIndex;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -14,28 +14,49 @@ import java.lang.invoke.MethodType;
 import java.lang.reflect.Modifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.context.ApplicationContext;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * The single alias -> candidates registry for every {@link Sharedwall} method on {@link Cell} beans.
+ * <p>
+ * Built once when the context is refreshed (or on first lookup when warmup is disabled),
+ * then kept current by {@link SharedwallMethodCacheUpdater}: beans created or destroyed
+ * after startup are added or removed one at a time, so reflection and invoker spin-up
+ * only happen when the set of cells actually changes.
+ * <p>
+ * Each build is frozen into an {@link AliasTable} (a minimal perfect hash), swapped in
+ * copy-on-write, so the dispatcher's per-request lookup never takes a lock. The same
+ * placement rules ({@link #placements(Class)}) back the dispatcher, cell descriptions,
+ * metrics and the per-cell OpenAPI document.
+ */
 @Component
 @SuppressWarnings("null")
 public class SharedwallMethodCache {
     private static final Logger log = LoggerFactory.getLogger(SharedwallMethodCache.class);
 
     private final ApplicationContext context;
+    private final CellRegistry cellRegistry;
     private final ObjectMapper objectMapper;
-    private final AtomicReference<Map<String, List<MethodCandidate>>> cacheRef = new AtomicReference<>(Map.of());
+    private final AtomicReference<Snapshot> snapshotRef = new AtomicReference<>(Snapshot.EMPTY);
+    private final Map<Class<?>, List<String>> aliasesByType = new ConcurrentHashMap<>();
     private final AtomicLong lastRefreshMs = new AtomicLong(0);
+    private volatile boolean built;
 
     private final boolean cacheEnabled;
     private final boolean warmupEnabled;
@@ -44,11 +65,13 @@ public class SharedwallMethodCache {
     private final io.micrometer.core.instrument.Counter cacheHitCounter;
     private final io.micrometer.core.instrument.Counter cacheMissCounter;
     public SharedwallMethodCache(ApplicationContext context,
+                                 CellRegistry cellRegistry,
                                  ObjectMapper objectMapper,
                                  @org.springframework.beans.factory.annotation.Value("${honeycomb.shared.cache.enabled:true}") boolean cacheEnabled,
                                  MeterRegistry meterRegistry,
                                  @org.springframework.beans.factory.annotation.Value("${honeycomb.shared.cache.warmup-enabled:true}") boolean warmupEnabled) {
         this.context = context;
+        this.cellRegistry = cellRegistry;
         this.objectMapper = objectMapper;
         this.cacheEnabled = cacheEnabled;
         this.meterRegistry = meterRegistry;
@@ -57,45 +80,74 @@ public class SharedwallMethodCache {
         this.cacheMissCounter = meterRegistry.counter("honeycomb.shared.cache.misses");
     }
 
-    @PostConstruct
-    public void warmup() {
-        if (!cacheEnabled) return;
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        if (!cacheEnabled || event.getApplicationContext() != context) return;
         if (warmupEnabled) {
             refresh();
         }
     }
 
-    @Scheduled(fixedDelayString = "${honeycomb.shared.cache.cache-refresh-ms:60000}")
-    public void refresh() {
+    /**
+     * Full rebuild from every bean in the context. Runs at startup and on explicit
+     * {@link #rebuild()}; later changes arrive through {@link #register} / {@link #unregister}.
+     */
+    public synchronized void refresh() {
         if (!cacheEnabled) return;
         long started = System.currentTimeMillis();
         Map<String, List<MethodCandidate>> next = new HashMap<>();
-        for (String beanName : context.getBeanDefinitionNames()) {
+        for (String beanName : candidateBeanNames()) {
             try {
                 Object bean = context.getBean(beanName);
-                Class<?> cls = bean.getClass();
-                if (!cls.isAnnotationPresent(Cell.class)) continue;
-                for (Method m : cls.getDeclaredMethods()) {
-                    Sharedwall s = m.getAnnotation(Sharedwall.class);
-                    if (s == null) continue;
-                    String alias = (s.value() != null && !s.value().isBlank()) ? s.value() : m.getName();
-                    m.setAccessible(true);
-                    next.computeIfAbsent(alias, k -> new ArrayList<>()).add(new MethodCandidate(bean, m, s, objectMapper));
-                }
+                collect(bean, next);
             } catch (Throwable ignored) {
             }
         }
-        cacheRef.set(Collections.unmodifiableMap(next));
+        snapshotRef.set(Snapshot.freeze(next));
+        built = true;
         lastRefreshMs.set(System.currentTimeMillis() - started);
         log.debug("Sharedwall cache refreshed. methods={}, ms={}", next.size(), lastRefreshMs.get());
     }
 
+    /**
+     * Add the shared methods of a bean created after the initial build.
+     */
+    public synchronized void register(Object bean) {
+        if (!cacheEnabled || !built || !isCell(AopUtils.getTargetClass(bean))) return;
+        Map<String, List<MethodCandidate>> next = snapshotRef.get().mutableCopy();
+        // drop stale candidates first in case the same instance is re-registered
+        next.values().forEach(list -> list.removeIf(c -> c.getBean() == bean));
+        collect(bean, next);
+        snapshotRef.set(Snapshot.freeze(next));
+        log.debug("Sharedwall cache registered {}. methods={}", bean.getClass().getSimpleName(), next.size());
+    }
+
+    /**
+     * Remove the shared methods of a bean that is being destroyed.
+     */
+    public synchronized void unregister(Object bean) {
+        if (!cacheEnabled || !built) return;
+        Map<String, List<MethodCandidate>> next = snapshotRef.get().mutableCopy();
+        boolean changed = false;
+        for (List<MethodCandidate> list : next.values()) {
+            changed |= list.removeIf(c -> c.getBean() == bean);
+        }
+        if (!changed) return;
+        snapshotRef.set(Snapshot.freeze(next));
+        log.debug("Sharedwall cache unregistered {}. methods={}", bean.getClass().getSimpleName(), next.size());
+    }
+
     public List<MethodCandidate> getCandidates(String methodName) {
         if (!cacheEnabled) {
             return discoverOnDemand(methodName);
         }
-        Map<String, List<MethodCandidate>> cache = cacheRef.get();
-        List<MethodCandidate> list = cache.get(methodName);
+        if (!built) {
+            // warmup disabled: pay for the build on first use instead of at startup
+            synchronized (this) {
+                if (!built) refresh();
+            }
+        }
+        List<MethodCandidate> list = snapshotRef.get().table().get(methodName);
         if (list == null) {
             cacheMissCounter.increment();
             return List.of();
@@ -104,6 +156,15 @@ public class SharedwallMethodCache {
         return list;
     }
 
+    /**
+     * Shared aliases exposed by a cell type, in declaration order. Works for cell classes
+     * without a live bean too, so descriptions and OpenAPI docs match what the dispatcher serves.
+     */
+    public List<String> aliasesFor(Class<?> cellClass) {
+        if (cellClass == null) return List.of();
+        return aliasesByType.computeIfAbsent(cellClass, this::resolveAliases);
+    }
+
     public long getLastRefreshMs() {
         return lastRefreshMs.get();
     }
@@ -113,7 +174,15 @@ public class SharedwallMethodCache {
     }
 
     public int getMethodCount() {
-        return cacheRef.get().size();
+        return snapshotRef.get().table().size();
+    }
+
+    /**
+     * False only when two aliases share a {@code String.hashCode()} and the table fell back
+     * to a regular map.
+     */
+    public boolean isPerfectHash() {
+        return snapshotRef.get().table().isPerfect();
     }
 
     public long rebuild() {
@@ -121,20 +190,135 @@ public class SharedwallMethodCache {
         return lastRefreshMs.get();
     }
 
+    /**
+     * Every shared method of a cell type with its effective annotation and alias:
+     * <ul>
+     *   <li>method-level {@code @Sharedwall} on the class, aliased by its {@code value};</li>
+     *   <li>class-level {@code @Sharedwall}, applied to the remaining public instance methods the
+     *       class declares, aliased by name (private helpers, statics and compiler-generated
+     *       methods stay unexposed);</li>
+     *   <li>{@code @Sharedwall} on an implemented interface (type or method), resolved to the
+     *       implementation and aliased only by a method-level {@code value}.</li>
+     * </ul>
+     */
+    public static List<Placement> placements(Class<?> cls) {
+        List<Placement> out = new ArrayList<>();
+        Set<Method> seen = new HashSet<>();
+
+        for (Method m : cls.getDeclaredMethods()) {
+            if (m.isSynthetic() || m.isBridge()) continue;
+            Sharedwall s = m.getAnnotation(Sharedwall.class);
+            if (s == null) continue;
+            add(out, seen, m, s, true);
+        }
+
+        Sharedwall classShared = cls.getAnnotation(Sharedwall.class);
+        if (classShared != null) {
+            for (Method m : cls.getDeclaredMethods()) {
+                if (!isClassSharedCandidate(m) || m.isAnnotationPresent(Sharedwall.class)) continue;
+                add(out, seen, m, classShared, false);
+            }
+        }
+
+        for (Class<?> iface : cls.getInterfaces()) {
+            Sharedwall ifaceShared = iface.getAnnotation(Sharedwall.class);
+            for (Method im : iface.getMethods()) {
+                Sharedwall imShared = im.getAnnotation(Sharedwall.class);
+                Sharedwall use = imShared != null ? imShared : ifaceShared;
+                if (use == null) continue;
+                try {
+                    Method impl = cls.getMethod(im.getName(), im.getParameterTypes());
+                    if (impl.isAnnotationPresent(Sharedwall.class)) continue;
+                    add(out, seen, impl, use, imShared != null);
+                } catch (NoSuchMethodException ignored) {
+                }
+            }
+        }
+        return out;
+    }
+
+    private static boolean isClassSharedCandidate(Method m) {
+        int mod = m.getModifiers();
+        return Modifier.isPublic(mod) && !Modifier.isStatic(mod) && !m.isSynthetic() && !m.isBridge();
+    }
+
+    private static void add(List<Placement> out, Set<Method> seen, Method method, Sharedwall sharedwall, boolean allowAlias) {
+        if (!seen.add(method)) return;
+        String alias = allowAlias && sharedwall.value() != null && !sharedwall.value().isBlank()
+                ? sharedwall.value()
+                : method.getName();
+        out.add(new Placement(method, sharedwall, alias));
+    }
+
+    /**
+     * One shared method of a cell type: the implementation method, the annotation that
+     * exposes it and the alias callers use.
+     */
+    public record Placement(Method method, Sharedwall sharedwall, String alias) {}
+
+    private List<String> resolveAliases(Class<?> cellClass) {
+        HoneycombIndex index = cellRegistry.getIndex();
+        List<String> aliases = new ArrayList<>();
+        if (index.isIndexed(cellClass.getName())) {
+            for (HoneycombIndex.SharedEntry e : index.getShared(cellClass.getName())) {
+                if (!aliases.contains(e.alias())) aliases.add(e.alias());
+            }
+        } else {
+            for (Placement p : placements(cellClass)) {
+                if (!aliases.contains(p.alias())) aliases.add(p.alias());
+            }
+        }
+        return List.copyOf(aliases);
+    }
+
+    /**
+     * With a compile-time index only beans of indexed cell types are fetched; without one
+     * every bean definition is inspected.
+     */
+    private String[] candidateBeanNames() {
+        HoneycombIndex index = cellRegistry.getIndex();
+        if (!index.isPresent()) {
+            return context.getBeanDefinitionNames();
+        }
+        java.util.Set<String> names = new java.util.LinkedHashSet<>();
+        for (HoneycombIndex.CellEntry entry : index.getCells()) {
+            if (index.getShared(entry.className()).isEmpty()) continue;
+            try {
+                Class<?> cls = org.springframework.util.ClassUtils.forName(entry.className(), context.getClassLoader());
+                Collections.addAll(names, context.getBeanNamesForType(cls, false, false));
+            } catch (Throwable ignored) {
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private void collect(Object bean, Map<String, List<MethodCandidate>> into) {
+        Class<?> cls = AopUtils.getTargetClass(bean);
+        if (!isCell(cls)) return;
+        for (Placement p : placements(cls)) {
+            Method invocable = AopUtils.selectInvocableMethod(p.method(), bean.getClass());
+            invocable.setAccessible(true);
+            into.computeIfAbsent(p.alias(), k -> new ArrayList<>())
+                    .add(new MethodCandidate(bean, invocable, p.sharedwall(), objectMapper));
+        }
+    }
+
+    private static boolean isCell(Class<?> cls) {
+        return cls != null && cls.isAnnotationPresent(Cell.class);
+    }
+
     private List<MethodCandidate> discoverOnDemand(String methodName) {
         List<MethodCandidate> candidates = new ArrayList<>();
-        for (String beanName : context.getBeanDefinitionNames()) {
+        for (String beanName : candidateBeanNames()) {
             try {
                 Object bean = context.getBean(beanName);
-                Class<?> cls = bean.getClass();
-                if (!cls.isAnnotationPresent(Cell.class)) continue;
-                for (Method m : cls.getDeclaredMethods()) {
-                    Sharedwall s = m.getAnnotation(Sharedwall.class);
-                    if (s == null) continue;
-                    String alias = (s.value() != null && !s.value().isBlank()) ? s.value() : m.getName();
-                    if (!alias.equals(methodName)) continue;
-                    m.setAccessible(true);
-                    candidates.add(new MethodCandidate(bean, m, s, objectMapper));
+                Class<?> cls = AopUtils.getTargetClass(bean);
+                if (!isCell(cls)) continue;
+                for (Placement p : placements(cls)) {
+                    if (!p.alias().equals(methodName)) continue;
+                    Method invocable = AopUtils.selectInvocableMethod(p.method(), bean.getClass());
+                    invocable.setAccessible(true);
+                    candidates.add(new MethodCandidate(bean, invocable, p.sharedwall(), objectMapper));
                 }
             } catch (Throwable ignored) {
             }
@@ -142,6 +326,27 @@ public class SharedwallMethodCache {
         return candidates;
     }
 
+    /**
+     * Immutable build: the mutable-friendly alias map kept for copy-on-write updates and
+     * the perfect-hash table the hot path reads.
+     */
+    private record Snapshot(Map<String, List<MethodCandidate>> byAlias, AliasTable<List<MethodCandidate>> table) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), AliasTable.empty());
+
+        static Snapshot freeze(Map<String, List<MethodCandidate>> next) {
+            next.values().removeIf(List::isEmpty);
+            Map<String, List<MethodCandidate>> frozen = new HashMap<>();
+            next.forEach((alias, list) -> frozen.put(alias, List.copyOf(list)));
+            return new Snapshot(Collections.unmodifiableMap(frozen), AliasTable.of(frozen));
+        }
+
+        Map<String, List<MethodCandidate>> mutableCopy() {
+            Map<String, List<MethodCandidate>> copy = new HashMap<>();
+            byAlias.forEach((alias, list) -> copy.put(alias, new ArrayList<>(list)));
+            return copy;
+        }
+    }
+
     public static class MethodCandidate {
         private final Object bean;
         private final Method method;
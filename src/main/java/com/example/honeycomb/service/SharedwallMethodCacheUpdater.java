@@ -0,0 +1,84 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.annotations.Cell;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds bean lifecycle changes into {@link SharedwallMethodCache} after startup.
+ * <p>
+ * Until the context is refreshed the full build covers every bean, so callbacks are
+ * ignored; the cache itself is resolved lazily so this post-processor does not force
+ * early initialization of its dependencies. Only singletons are registered: Spring never
+ * destroys prototype instances, and request- or session-scoped ones come and go per call, so
+ * their instances would pile up as candidates and each dispatch would fan out to all of them.
+ */
+@Component
+public class SharedwallMethodCacheUpdater implements DestructionAwareBeanPostProcessor,
+        ApplicationListener<ApplicationContextEvent>, ApplicationContextAware {
+    private final ObjectProvider<SharedwallMethodCache> cacheProvider;
+    private ApplicationContext context;
+    private volatile boolean active;
+
+    public SharedwallMethodCacheUpdater(ObjectProvider<SharedwallMethodCache> cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    @Override
+    public void setApplicationContext(@NonNull ApplicationContext applicationContext) {
+        this.context = applicationContext;
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationContextEvent event) {
+        if (event.getApplicationContext() != context) {
+            return;
+        }
+        if (event instanceof ContextRefreshedEvent) {
+            active = true;
+        } else if (event instanceof ContextClosedEvent) {
+            // shutdown destroys every bean; no point rebuilding the cache for each one
+            active = false;
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) throws BeansException {
+        if (active && AopUtils.getTargetClass(bean).isAnnotationPresent(Cell.class) && isSingleton(beanName)) {
+            cacheProvider.ifAvailable(cache -> cache.register(bean));
+        }
+        return bean;
+    }
+
+    @Override
+    public void postProcessBeforeDestruction(@NonNull Object bean, @NonNull String beanName) throws BeansException {
+        if (active) {
+            cacheProvider.ifAvailable(cache -> cache.unregister(bean));
+        }
+    }
+
+    private boolean isSingleton(String beanName) {
+        try {
+            return context.isSingleton(beanName);
+        } catch (NoSuchBeanDefinitionException ex) {
+            // created through the factory without being registered under this name
+            return false;
+        }
+    }
+
+    @Override
+    public boolean requiresDestruction(@NonNull Object bean) {
+        return AopUtils.getTargetClass(bean).isAnnotationPresent(Cell.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.honeycomb.service;
+
+/**
+ * TCP-Vegas style limit. The no-load RTT is the smallest RTT seen; the estimated queue
+ * is {@code limit * (1 - rttNoLoad / rtt)}. A small queue grows the limit, a large one
+ * shrinks it, and a drop always shrinks it. The no-load RTT is re-probed periodically
+ * so a permanent latency shift is not mistaken for queueing.
+ */
+public class VegasLimit implements AdaptiveLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeInterval;
+    private volatile int limit;
+    private long rttNoLoad;
+    private long samples;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, int probeInterval) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.probeInterval = probeInterval;
+        this.limit = clamp(initialLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (rttNanos <= 0) return;
+        samples++;
+        if (probeInterval > 0 && samples % probeInterval == 0) {
+            rttNoLoad = 0;
+        }
+        if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+            rttNoLoad = rttNanos;
+            return;
+        }
+        int current = limit;
+        double log = Math.max(1.0, Math.log10(current));
+        double next;
+        if (dropped) {
+            next = current - log;
+        } else if (inFlight * 2 < current) {
+            // app-limited: not enough load to learn anything
+            return;
+        } else {
+            double queue = current * (1.0 - (double) rttNoLoad / rttNanos);
+            double alpha = 3 * log;
+            double beta = 6 * log;
+            if (queue <= log) {
+                next = current + beta;
+            } else if (queue < alpha) {
+                next = current + log;
+            } else if (queue > beta) {
+                next = current - log;
+            } else {
+                return;
+            }
+        }
+        limit = clamp((int) next);
+    }
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
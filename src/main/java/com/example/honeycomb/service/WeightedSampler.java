@@ -0,0 +1,160 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.util.HoneycombConstants;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable weighted pick over one address list, built with Vose's alias method.
+ * <p>
+ * Each of the {@code n} columns holds a probability and an alias: a pick draws a column
+ * uniformly and keeps it with that probability, otherwise takes its alias. That is O(1) and
+ * allocation-free whatever the weights; building is O(n) and happens only when the address
+ * list or the weight map changes. Both are compared by identity, since address snapshots and
+ * weight maps are replaced whole rather than mutated.
+ * <p>
+ * The table is built over a cell's whole snapshot. Health, slow start, zones and retries narrow
+ * that to a subset per call; {@link #next(List)} draws from the same table and draws again when
+ * the pick is not in the subset, which keeps each survivor's share proportional to its weight
+ * without a table per subset. If the subset holds little of the total weight, a few misses in a
+ * row end in a linear pick over the subset instead.
+ */
+final class WeightedSampler {
+    // draws before giving up on the table; a subset holding a quarter of the weight misses 8 in a row 10% of the time
+    private static final int MAX_REDRAWS = 8;
+
+    private final List<CellAddress> addresses;
+    private final Map<String, Integer> weights;
+    private final double[] probability;
+    private final int[] alias;
+
+    private WeightedSampler(List<CellAddress> addresses, Map<String, Integer> weights,
+                            double[] probability, int[] alias) {
+        this.addresses = addresses;
+        this.weights = weights;
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * Weights are looked up by {@code host:port}; a missing weight, or one below 1, counts as 1.
+     */
+    static WeightedSampler of(List<CellAddress> addresses, Map<String, Integer> weights) {
+        int n = addresses.size();
+        double[] scaled = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weightOf(addresses.get(i), weights);
+            total += scaled[i];
+        }
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        // work lists of columns below and above the mean, kept as stacks in one array
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = scaled[i] * n / total;
+            if (scaled[i] < 1.0) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            probability[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) small[smallCount++] = l;
+            else large[largeCount++] = l;
+        }
+        // whatever is left is 1 up to rounding
+        while (largeCount > 0) {
+            int l = large[--largeCount];
+            probability[l] = 1.0;
+            alias[l] = l;
+        }
+        while (smallCount > 0) {
+            int s = small[--smallCount];
+            probability[s] = 1.0;
+            alias[s] = s;
+        }
+        return new WeightedSampler(addresses, weights, probability, alias);
+    }
+
+    private static int weightOf(CellAddress addr, Map<String, Integer> weights) {
+        Integer w = weights.get(addr.getHost() + HoneycombConstants.Names.SEPARATOR_COLON + addr.getPort());
+        return Math.max(1, w == null ? 1 : w);
+    }
+
+    boolean isFor(List<CellAddress> candidates, Map<String, Integer> currentWeights) {
+        if (weights != currentWeights) return false;
+        if (addresses == candidates) return true;
+        // filtered lists are new objects over the same addresses
+        int n = addresses.size();
+        if (candidates.size() != n) return false;
+        for (int i = 0; i < n; i++) {
+            if (addresses.get(i) != candidates.get(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether every candidate is one of this table's addresses (by identity). Filters keep the
+     * snapshot's order, so one pass over both lists decides it.
+     */
+    boolean covers(List<CellAddress> candidates, Map<String, Integer> currentWeights) {
+        if (weights != currentWeights) return false;
+        if (addresses == candidates) return true;
+        int i = 0;
+        int n = addresses.size();
+        for (CellAddress candidate : candidates) {
+            while (i < n && addresses.get(i) != candidate) i++;
+            if (i++ == n) return false;
+        }
+        return true;
+    }
+
+    CellAddress next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? addresses.get(column) : addresses.get(alias[column]);
+    }
+
+    /**
+     * Weighted pick restricted to {@code candidates}, which must be {@linkplain #covers covered}
+     * by this table.
+     */
+    CellAddress next(List<CellAddress> candidates) {
+        if (candidates == addresses || candidates.size() == addresses.size()) return next();
+        for (int attempt = 0; attempt < MAX_REDRAWS; attempt++) {
+            CellAddress picked = next();
+            for (int i = 0, m = candidates.size(); i < m; i++) {
+                if (candidates.get(i) == picked) return picked;
+            }
+        }
+        long total = 0;
+        for (CellAddress candidate : candidates) total += weightOf(candidate, weights);
+        long point = ThreadLocalRandom.current().nextLong(total);
+        for (CellAddress candidate : candidates) {
+            point -= weightOf(candidate, weights);
+            if (point < 0) return candidate;
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+
+    /**
+     * Probability of picking the address at {@code index}, for tests.
+     */
+    double probabilityOf(int index) {
+        int n = probability.length;
+        double p = probability[index];
+        for (int i = 0; i < n; i++) {
+            if (alias[i] == index && i != index) p += 1.0 - probability[i];
+        }
+        return p / n;
+    }
+}
@@ -10,6 +10,9 @@ public final class HoneycombConstants {
         public static final String API_KEY = "X-API-Key";
         public static final String AUTHORIZATION = "Authorization";
         public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+        public static final String KEEP_ALIVE = "Keep-Alive";
+        public static final String UPSTREAM_TARGET = "X-Honeycomb-Target";
+        public static final String DEADLINE_MS = "X-Honeycomb-Deadline-Ms";
     }
 
     public static final class Paths {
@@ -19,10 +22,14 @@ public final class HoneycombConstants {
         public static final String HONEYCOMB_METRICS = "/honeycomb/metrics";
         public static final String HONEYCOMB_AUDIT = "/honeycomb/audit";
         public static final String HONEYCOMB_ADMIN = "/honeycomb/admin";
+        public static final String HONEYCOMB_ROUTING = "/honeycomb/routing";
+        public static final String WEIGHTS_NAME = "/weights/{name}";
         public static final String HONEYCOMB_WS_EVENTS = "/honeycomb/ws/events";
         public static final String HONEYCOMB_SHARED = "/honeycomb/shared";
+        public static final String SHARED_BATCH = "/_batch";
         public static final String HONEYCOMB_ACTUATOR = "/honeycomb/actuator";
         public static final String ACTUATOR_BASE = "/actuator";
+        public static final String HEALTH = "/health";
         public static final String HONEYCOMB_SWAGGER_UI = "/honeycomb/swagger-ui";
         public static final String HONEYCOMB_API_DOCS = "/honeycomb/api-docs";
         public static final String HONEYCOMB_SWAGGER = "/honeycomb/swagger";
@@ -33,6 +40,7 @@ public final class HoneycombConstants {
         public static final String ADDRESSES_PATH = "/addresses";
         public static final String MODELS = "models";
         public static final String CELLS = "cells";
+        public static final String SHARED_RESULTS = "shared-results";
         public static final String ITEMS = "items";
         public static final String SHARED = "shared";
         public static final String INVOKE = "invoke";
@@ -53,6 +61,8 @@ public final class HoneycombConstants {
         public static final String METHOD = "method";
         public static final String PATH = "path";
         public static final String LIMIT = "limit";
+        public static final String MODE = "mode";
+        public static final String PROXY_MODE = MODE + "=proxy";
     }
 
     public static final class Schemes {
@@ -63,6 +73,8 @@ public final class HoneycombConstants {
     public static final class Hosts {
         private Hosts() {}
         public static final String LOCALHOST = "localhost";
+        public static final String LOOPBACK_V4 = "127.0.0.1";
+        public static final String LOOPBACK_V6 = "0:0:0:0:0:0:0:1";
     }
 
     public static final class Roles {
@@ -103,6 +115,14 @@ public final class HoneycombConstants {
         public static final String ACCESS_DENIED = "access-denied";
         public static final String JSON_DESERIALIZE_ERROR = "json-deserialize-error";
         public static final String INVOCATION_ERROR = "invocation-error";
+        public static final String DEADLINE_EXCEEDED = "deadline-exceeded";
+        public static final String RSOCKET_SETUP_REJECTED = "rsocket-setup-rejected";
+        public static final String INVALID_BATCH = "invalid-batch";
+        public static final String BATCH_TOO_LARGE = "batch-too-large";
+        public static final String INVALID_WEIGHT = "invalid-weight";
+        public static final String INVALID_CONTENT_ENCODING = "invalid-content-encoding";
+        public static final String INFLATED_BODY_TOO_LARGE = "inflated-body-too-large";
+        public static final String COMPRESSED_BODY_TOO_LARGE = "compressed-body-too-large";
     }
 
     public static final class JsonKeys {
@@ -114,6 +134,10 @@ public final class HoneycombConstants {
         public static final String BODY = "body";
         public static final String RESULT = "result";
         public static final String METHOD = "method";
+        public static final String ARGS = "args";
+        public static final String INDEX = "index";
+        public static final String RESULTS = "results";
+        public static final String TARGET = "target";
         public static final String TARGETS = "targets";
         public static final String PATH = "path";
         public static final String REASON = "reason";
@@ -142,6 +166,7 @@ public final class HoneycombConstants {
         public static final String ACTION_CELL_RESTART = "cell.restart";
         public static final String ACTION_CELL_INVOKE = "cell.invoke";
         public static final String ACTION_CELL_FORWARD = "cell.forward";
+        public static final String ACTION_ROUTING_WEIGHTS = "routing.weights";
     }
 
     public static final class Status {
@@ -178,6 +203,9 @@ public final class HoneycombConstants {
         public static final String SERVER_SHUTDOWN_ERROR = "Error shutting down server {}: {}";
         public static final String SERVER_MGMT_SHUTDOWN_ERROR = "Error shutting down mgmt server {}: {}";
         public static final String SERVER_SHUTDOWN = "Shutting down cell server '{}'";
+        public static final String SERVER_RSOCKET_STARTED = "Started RSocket server for cell '{}' on port {}";
+        public static final String SERVER_RSOCKET_FAILED = "Failed to start RSocket server for cell {}: {}";
+        public static final String SERVER_RSOCKET_NO_CREDENTIALS = "RSocket server for cell '{}' not started: set honeycomb.rsocket.shared-secret, enable api keys, or allow anonymous";
         public static final String SCHEMA_MISSING = "schema-missing: ";
         public static final String SCHEMA_VALIDATION_FAILED = "schema-validation-failed: ";
         public static final String CELL_DATASTORE_MISSING = "No CellDataStore configured for type: ";
@@ -202,13 +230,20 @@ public final class HoneycombConstants {
         public static final String LOG_CIRCUIT_OPEN = "Circuit breaker open: {}";
         public static final String LOG_RATE_LIMIT = "Rate limit exceeded: {}";
         public static final String LOG_TIMEOUT = "Request timeout: {}";
+        public static final String LOG_BULKHEAD_FULL = "Shared bulkhead full: {}";
         public static final String LOG_RESOURCE_NOT_FOUND = "Static resource not found: {}";
         public static final String LOG_UNHANDLED = "Unhandled error: {}";
+        public static final String ADDRESS_EJECTED = "Ejected {} for {} ms ({})";
+        public static final String ADDRESS_PROBE_STATE = "Health probe marked {} {}";
+        public static final String ADDRESS_WARM_UP = "Slow start for {} over {} ms";
+        public static final String COMPRESSION_UNAVAILABLE = "Inter-cell compression '{}' is not available on the classpath; skipping it";
+        public static final String COMPRESSION_ENABLED = "Inter-cell compression {} for bodies of {} bytes and more";
     }
 
     public static final class Names {
         private Names() {}
         public static final String MGMT_SUFFIX = "-mgmt";
+        public static final String RSOCKET_SUFFIX = "-rsocket";
         public static final String LIMITER_CELL_PREFIX = "cell-";
         public static final String LIMITER_GLOBAL = "global";
         public static final String STORE_MEMORY = "memory";
@@ -217,9 +252,24 @@ public final class HoneycombConstants {
         public static final String SEPARATOR_COLON = ":";
         public static final String SEPARATOR_SLASH = "/";
         public static final String SEPARATOR_COMMA = ",";
+        public static final String SEPARATOR_DOT = ".";
         public static final String OPEN_BRACE = "{";
         public static final String CLOSE_BRACE = "}";
         public static final String LIST_SEPARATOR = "; ";
+        public static final String INTER_CELL_POOL = "honeycomb-inter-cell";
+    }
+
+    public static final class RSocket {
+        private RSocket() {}
+        public static final String ROUTE_SHARED = "shared.{method}";
+        public static final String ROUTE_SHARED_STREAM = "shared.stream.{method}";
+        public static final String ROUTE_SHARED_PREFIX = "shared.";
+        public static final String ROUTE_SHARED_STREAM_PREFIX = "shared.stream.";
+        public static final String MIME_FROM_CELL = "message/x.honeycomb.from-cell";
+        public static final String MIME_REQUEST_ID = "message/x.honeycomb.request-id";
+        public static final String META_FROM_CELL = "fromCell";
+        public static final String META_REQUEST_ID = "requestId";
+        public static final String METHOD_VARIABLE = "method";
     }
 
     public static final class Prefixes {
@@ -260,6 +310,7 @@ public final class HoneycombConstants {
     public static final class Swagger {
         private Swagger() {}
         public static final String TAG_CELL = "Cell";
+        public static final String TAG_SHARED = "Shared";
         public static final String SUMMARY_DESCRIBE = "Describe cell model";
         public static final String SUMMARY_LIST_ITEMS = "List all items in cell";
         public static final String SUMMARY_GET_ITEM = "Get item by ID";
@@ -282,6 +333,9 @@ public final class HoneycombConstants {
         public static final String DESC_ITEM_CREATED = "Item created";
         public static final String DESC_ITEM_UPDATED = "Item updated";
         public static final String DESC_ITEM_DELETED = "Item deleted";
+        public static final String SUMMARY_INVOKE_SHARED = "Invoke shared method ";
+        public static final String DESC_SHARED_RESULT = "Per-candidate results keyed by cell";
+        public static final String DESC_SHARED_FORBIDDEN = "Caller not allowed";
         public static final String INFO_TITLE_PREFIX = "Honeycomb Cell API - ";
         public static final String INFO_TITLE_ALL = "Honeycomb Cell APIs";
         public static final String INFO_VERSION = "1.0";
@@ -291,6 +345,7 @@ public final class HoneycombConstants {
         private Health() {}
         public static final String LIVENESS_COMPONENT = "cellLiveness";
         public static final String STATUS_UP = "UP";
+        public static final String STATUS_DOWN = "DOWN";
         public static final String DETAIL_CELL_COUNT = "cellCount";
         public static final String DETAIL_CELLS = "cells";
     }
@@ -325,6 +380,13 @@ public final class HoneycombConstants {
         public static final String CELL_ADMIN_START = "Start a cell server";
         public static final String CELL_ADMIN_STOP = "Stop a cell server";
         public static final String CELL_ADMIN_RESTART = "Restart a cell server";
+        public static final String TAG_ROUTING_ADMIN = "Routing Administration";
+        public static final String TAG_ROUTING_ADMIN_DESC = "Inspect and change routing weights at runtime";
+        public static final String ROUTING_WEIGHTS_GET = "Get the routing weights of a cell";
+        public static final String ROUTING_WEIGHTS_PUT = "Replace the routing weights of a cell";
+        public static final String ROUTING_WEIGHTS_DELETE = "Drop runtime weights and return to configured ones";
+        public static final String ROUTING_WEIGHTS_DESC = "Weights by host:port";
+        public static final String ROUTING_WEIGHTS_INVALID_DESC = "A weight is missing or below 1";
         public static final String TAG_CELL_REGISTRY = "Cell Registry";
         public static final String TAG_CELL_REGISTRY_DESC = "CRUD operations for cell models and instances";
         public static final String REGISTRY_LIST_MODELS = "List all registered cell models";
@@ -346,6 +408,11 @@ public final class HoneycombConstants {
         public static final String SHARED_FORBIDDEN = "Access denied - caller not in allowedFrom list";
         public static final String SHARED_NOT_FOUND = "Method not found";
         public static final String SHARED_ERROR = "Invocation error";
+        public static final String SHARED_BATCH_SUMMARY = "Invoke several shared methods in one request";
+        public static final String SHARED_BATCH_DESC = "Accepts a JSON array of {method, args} entries and dispatches them concurrently. "
+                + "Returns one JSON array in request order, or one NDJSON line per entry as each completes when "
+                + "Accept is application/x-ndjson.";
+        public static final String SHARED_BATCH_INVALID = "Body is not an array of {method, args} or exceeds the batch limit";
         public static final String CELL_ADMIN_LIST_DESC = "List of cells";
         public static final String CELL_ADMIN_STATUS_DESC = "Cell status";
         public static final String CELL_ADMIN_NOT_FOUND_DESC = "Cell not found";
@@ -383,6 +450,7 @@ public final class HoneycombConstants {
         public static final String TIMEOUT = "timeout";
         public static final String FORWARD_FAILED = "forward-failed";
         public static final String JSON_PARSE_ERROR = "json-parse-error";
+        public static final String BULKHEAD_FULL = "bulkhead-full";
     }
 
     public static final class ErrorMessages {
@@ -401,6 +469,7 @@ public final class HoneycombConstants {
         public static final String TIMEOUT = "Request timed out";
         public static final String FORWARD_FAILED = "Failed to forward request to remote cell";
         public static final String JSON_PARSE_ERROR = "Failed to parse JSON payload";
+        public static final String BULKHEAD_FULL = "Shared method is at its concurrency limit";
     }
 
     public static final class Metrics {
@@ -410,6 +479,34 @@ public final class HoneycombConstants {
         public static final String TAG_CELL = "cell";
         public static final String TAG_ROUTE = "route";
         public static final String TAG_STATUS = "status";
+        public static final String TAG_METHOD = "method";
+        public static final String SHARED_BULKHEAD_IN_FLIGHT = "honeycomb.shared.bulkhead.in-flight";
+        public static final String SHARED_BULKHEAD_QUEUED = "honeycomb.shared.bulkhead.queued";
+        public static final String SHARED_BULKHEAD_REJECTED = "honeycomb.shared.bulkhead.rejected";
+        public static final String TAG_SCOPE = "scope";
+        public static final String SHARED_RESULTS_HITS = "honeycomb.shared.results.hits";
+        public static final String SHARED_RESULTS_MISSES = "honeycomb.shared.results.misses";
+        public static final String SHARED_RESULTS_HIT_RATIO = "honeycomb.shared.results.hit-ratio";
+        public static final String SHARED_RESULTS_SIZE = "honeycomb.shared.results.size";
+        public static final String CONCURRENCY_LIMIT = "honeycomb.concurrency.limit";
+        public static final String CONCURRENCY_IN_FLIGHT = "honeycomb.concurrency.in-flight";
+        public static final String CONCURRENCY_REJECTED = "honeycomb.concurrency.rejected";
+        public static final String TAG_OPERATION = "operation";
+        public static final String INTERACTION_COALESCE_CALLS = "honeycomb.interaction.coalesce.calls";
+        public static final String INTERACTION_COALESCE_JOINED = "honeycomb.interaction.coalesce.joined";
+        public static final String INTERACTION_COALESCE_RATIO = "honeycomb.interaction.coalesce.ratio";
+        public static final String INTERACTION_COALESCE_IN_FLIGHT = "honeycomb.interaction.coalesce.in-flight";
+        public static final String INTERACTION_HEDGE_CALLS = "honeycomb.interaction.hedge.calls";
+        public static final String INTERACTION_HEDGE_SENT = "honeycomb.interaction.hedge.sent";
+        public static final String INTERACTION_HEDGE_WON = "honeycomb.interaction.hedge.won";
+        public static final String INTERACTION_HEDGE_BUDGET_EXHAUSTED = "honeycomb.interaction.hedge.budget-exhausted";
+        public static final String INTERACTION_RETRY_ATTEMPTS = "honeycomb.interaction.retry.attempts";
+        public static final String INTERACTION_RETRY_BUDGET_EXHAUSTED = "honeycomb.interaction.retry.budget-exhausted";
+        public static final String ROUTING_ZONE_SPILLOVER = "honeycomb.routing.zone.spillover";
+        public static final String ROUTING_EJECTIONS = "honeycomb.routing.outlier.ejections";
+        public static final String ROUTING_PROBE_TRANSITIONS = "honeycomb.routing.health.transitions";
+        public static final String ROUTING_PANIC = "honeycomb.routing.health.panic";
+        public static final String TAG_REASON = "reason";
     }
 
     public static final class ConfigKeys {
@@ -419,9 +516,16 @@ public final class HoneycombConstants {
         public static final String GLOBAL_ALL_UPPER = "ALL";
         public static final String GLOBAL_ZERO = "0";
         public static final String MGMT_BASE_PATH = "management.endpoints.web.base-path";
+        public static final String CELL_PREFIX = "cell.";
         public static final String CELL_PORTS_PREFIX = "cell.ports.";
         public static final String CELL_MGMT_PORT_PREFIX = "cell.managementPort.";
         public static final String CELL_ADDRESSES_PREFIX = "cell.addresses.";
+        public static final String CELL_RSOCKET_PORTS_PREFIX = "cell.rsocket-ports.";
+        public static final String RSOCKET_PREFIX = "honeycomb.rsocket";
+        public static final String RSOCKET_PORT_METADATA = "rsocket-port";
+        public static final String ZONE_METADATA = "zone";
+        public static final String MANAGEMENT_PORT_METADATA = "management.port";
+        public static final String HEALTH_PROBE_INTERVAL = "${honeycomb.routing.health.interval-ms:5000}";
         public static final String SERVICE_DISCOVERY_BASE_URL = "service.discovery.base-url";
         public static final String JWT_ENABLED = "honeycomb.security.jwt.enabled";
         public static final String VALIDATION_PREFIX = "honeycomb.validation";
@@ -439,6 +543,11 @@ public final class HoneycombConstants {
         public static final String RATE_LIMITER_PREFIX = "honeycomb.rate-limiter";
         public static final String SECURITY_PREFIX = "honeycomb.security";
         public static final String IDEMPOTENCY_PREFIX = "honeycomb.idempotency";
+        public static final String SHARED_BULKHEAD_PREFIX = "honeycomb.shared.bulkhead";
+        public static final String CONCURRENCY_PREFIX = "honeycomb.concurrency";
+        public static final String SHARED_RESULTS_PREFIX = "honeycomb.shared.results";
+        public static final String INTERACTION_PREFIX = "honeycomb.interaction";
+        public static final String INDEX_ENABLED = "${honeycomb.index.enabled:true}";
     }
 
     public static final class Defaults {
@@ -502,12 +611,48 @@ public final class HoneycombConstants {
         public static final String WEIGHTED = "weighted";
         public static final String LEAST_LATENCY = "least-latency";
         public static final String CIRCUIT_AWARE = "circuit-aware";
+        public static final String P2C = "p2c";
+        public static final String ZONE_AWARE = "zone-aware";
+        public static final String CONSISTENT_HASH = "consistent-hash";
         public static final String ALL = "all";
     }
 
+    public static final class EjectionReasons {
+        private EjectionReasons() {}
+        public static final String CONSECUTIVE_ERRORS = "consecutive-errors";
+        public static final String LATENCY = "latency";
+    }
+
+    public static final class HashKeySources {
+        private HashKeySources() {}
+        public static final String HEADER = "header";
+        public static final String PATH_SEGMENT = "path-segment";
+        public static final String JSON_FIELD = "json-field";
+    }
+
+    public static final class ContentEncodings {
+        private ContentEncodings() {}
+        public static final String GZIP = "gzip";
+        public static final String X_GZIP = "x-gzip";
+        public static final String DEFLATE = "deflate";
+        public static final String BROTLI = "br";
+        public static final String ZSTD = "zstd";
+        public static final String IDENTITY = "identity";
+        public static final String QUALITY_PREFIX = ";q=";
+    }
+
+    public static final class ConcurrencyLimits {
+        private ConcurrencyLimits() {}
+        public static final String VEGAS = "vegas";
+        public static final String GRADIENT2 = "gradient2";
+        public static final String SCOPE_SHARED = "shared";
+        public static final String SCOPE_CELLS = "cells";
+    }
+
     public static final class PropertyValues {
         private PropertyValues() {}
         public static final String SERVICE_DISCOVERY_BASE_URL = "${service.discovery.base-url:http://localhost}";
+        public static final String ADDRESS_MAX_STALE_MS = "${cell.address-max-stale-ms:30000}";
         public static final String MGMT_BASE_PATH = "${management.endpoints.web.base-path:/actuator}";
         public static final String ACTUATOR_USER = "${actuator.user:admin}";
         public static final String ACTUATOR_PASSWORD = "${actuator.password:changeit}";
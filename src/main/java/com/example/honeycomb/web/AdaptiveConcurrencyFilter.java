@@ -0,0 +1,161 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.config.HoneycombConcurrencyProperties;
+import com.example.honeycomb.service.AdaptiveLimit;
+import com.example.honeycomb.service.Gradient2Limit;
+import com.example.honeycomb.service.VegasLimit;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Adaptive concurrency limit in front of shared dispatch and inter-cell calls.
+ * Each scope keeps its own in-flight counter and {@link AdaptiveLimit}; requests over
+ * the current limit are rejected with 503 and completed requests feed their RTT back
+ * into the limit.
+ */
+@Component
+@SuppressWarnings("null")
+@Order(Ordered.HIGHEST_PRECEDENCE + 25)
+public class AdaptiveConcurrencyFilter implements WebFilter {
+    private final HoneycombConcurrencyProperties props;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyFilter(HoneycombConcurrencyProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        if (!props.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        String scopeName = resolveScope(path);
+        if (scopeName == null) {
+            return chain.filter(exchange);
+        }
+        Scope scope = scopes.computeIfAbsent(scopeName, this::createScope);
+        int inFlight = admit(scopeName, scope);
+        if (inFlight < 0) {
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return exchange.getResponse().setComplete();
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> release(scope, start, inFlight, signal, exchange.getResponse().getStatusCode()));
+    }
+
+    /**
+     * The limit of {@code scopeName} around a request served without an HTTP exchange, such as an
+     * inter-cell call answered in-process: it counts against the same in-flight total as requests
+     * through this filter, is refused with a 503 and no body when over the limit, and its status
+     * feeds the limit the same way.
+     */
+    public Mono<ResponseEntity<String>> limit(String scopeName, Mono<ResponseEntity<String>> call) {
+        if (!props.isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            Scope scope = scopes.computeIfAbsent(scopeName, this::createScope);
+            int inFlight = admit(scopeName, scope);
+            if (inFlight < 0) {
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).<String>build());
+            }
+            long start = System.nanoTime();
+            AtomicReference<HttpStatusCode> status = new AtomicReference<>();
+            return call.doOnNext(response -> status.set(response.getStatusCode()))
+                    .doFinally(signal -> release(scope, start, inFlight, signal, status.get()));
+        });
+    }
+
+    /**
+     * @return the in-flight count including this request, or -1 when it is over the limit
+     */
+    private int admit(String scopeName, Scope scope) {
+        int inFlight = scope.inFlight.incrementAndGet();
+        if (inFlight > scope.limit.getLimit()) {
+            scope.inFlight.decrementAndGet();
+            meterRegistry.counter(HoneycombConstants.Metrics.CONCURRENCY_REJECTED,
+                    HoneycombConstants.Metrics.TAG_SCOPE, scopeName).increment();
+            return -1;
+        }
+        return inFlight;
+    }
+
+    private static void release(Scope scope, long start, int inFlight, SignalType signal, HttpStatusCode status) {
+        scope.inFlight.decrementAndGet();
+        if (signal == SignalType.CANCEL) {
+            return;
+        }
+        boolean dropped = signal == SignalType.ON_ERROR
+                || (status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status.value() == HttpStatus.GATEWAY_TIMEOUT.value()));
+        scope.limit.onSample(System.nanoTime() - start, inFlight, dropped);
+    }
+
+    public Integer getLimit(String scopeName) {
+        Scope scope = scopes.get(scopeName);
+        return scope == null ? null : scope.limit.getLimit();
+    }
+
+    private String resolveScope(String path) {
+        if (path.startsWith(HoneycombConstants.Paths.HONEYCOMB_SHARED)) {
+            return HoneycombConstants.ConcurrencyLimits.SCOPE_SHARED;
+        }
+        if (path.startsWith(HoneycombConstants.Paths.CELLS_BASE)
+            && !path.startsWith(HoneycombConstants.Paths.CELLS_ADDRESSES)) {
+            return HoneycombConstants.ConcurrencyLimits.SCOPE_CELLS;
+        }
+        return null;
+    }
+
+    private Scope createScope(String scopeName) {
+        Scope scope = new Scope(buildLimit());
+        Gauge.builder(HoneycombConstants.Metrics.CONCURRENCY_LIMIT, scope.limit, AdaptiveLimit::getLimit)
+                .tag(HoneycombConstants.Metrics.TAG_SCOPE, scopeName)
+                .register(meterRegistry);
+        Gauge.builder(HoneycombConstants.Metrics.CONCURRENCY_IN_FLIGHT, scope.inFlight, AtomicInteger::get)
+                .tag(HoneycombConstants.Metrics.TAG_SCOPE, scopeName)
+                .register(meterRegistry);
+        return scope;
+    }
+
+    private AdaptiveLimit buildLimit() {
+        if (HoneycombConstants.ConcurrencyLimits.VEGAS.equalsIgnoreCase(props.getAlgorithm())) {
+            return new VegasLimit(props.getInitialLimit(), props.getMinLimit(), props.getMaxLimit(),
+                    props.getProbeInterval());
+        }
+        return new Gradient2Limit(props.getInitialLimit(), props.getMinLimit(), props.getMaxLimit(),
+                props.getRttTolerance(), props.getSmoothing(), props.getLongWindow(), props.getShortWindow());
+    }
+
+    private static final class Scope {
+        private final AdaptiveLimit limit;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Scope(AdaptiveLimit limit) {
+            this.limit = limit;
+        }
+    }
+}
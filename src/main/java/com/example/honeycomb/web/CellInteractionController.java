@@ -1,52 +1,135 @@
 package com.example.honeycomb.web;
 
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import com.example.honeycomb.config.HoneycombRoutingProperties;
+import com.example.honeycomb.config.WebClientConfig;
+import com.example.honeycomb.model.CellAddress;
 import com.example.honeycomb.service.AuditLogService;
 import com.example.honeycomb.service.CellAddressService;
+import com.example.honeycomb.service.InterCellCompression;
+import com.example.honeycomb.service.RSocketCellClient;
+import com.example.honeycomb.service.RequestCoalescer;
+import com.example.honeycomb.service.RequestHedger;
+import com.example.honeycomb.service.RetryBudget;
 import com.example.honeycomb.service.RoutingPolicyService;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.rsocket.exceptions.ApplicationErrorException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.net.ConnectException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import com.example.honeycomb.util.HoneycombConstants;
 
+/**
+ * Calls from one cell to the instances of another.
+ * <p>
+ * Each endpoint has three response modes:
+ * <ul>
+ *   <li>default: every target's response is buffered and returned as one map of
+ *       {@code host:port -> {status, contentType, body}};</li>
+ *   <li>{@code Accept: application/x-ndjson}: one envelope line per target as each completes,
+ *       with JSON bodies embedded as JSON rather than as an escaped string;</li>
+ *   <li>{@code ?mode=proxy}: for a single target, the upstream status, headers and body
+ *       buffers are streamed straight through; fan-outs fall back to the NDJSON envelope.</li>
+ * </ul>
+ * Buffered and NDJSON shared method calls go over RSocket instead of HTTP when the target
+ * advertises an RSocket port, {@code honeycomb.rsocket.prefer-for-invoke} is on and the caller
+ * holds the roles the target's {@code /honeycomb/shared/**} would ask of it. When the
+ * selected target is this node, those calls and the target cell's item routes are served
+ * in-process by {@link LocalCellDispatcher} instead (see {@code honeycomb.interaction.local}).
+ * Over HTTP, responses and large request bodies may be compressed as configured in
+ * {@code honeycomb.interaction.compression}.
+ */
 @RestController
 @RequestMapping(HoneycombConstants.Paths.CELLS_BASE)
 @SuppressWarnings("null")
 public class CellInteractionController {
+    // connection-scoped headers must not be relayed by a proxy (RFC 9110 section 7.6.1)
+    private static final Set<String> HOP_BY_HOP_HEADERS = hopByHopHeaders();
+    // forwarded headers that differ per call without changing what the target answers
+    private static final Set<String> COALESCE_IGNORED_HEADERS = coalesceIgnoredHeaders();
+
     private final CellAddressService addressService;
     private final WebClient webClient;
     private final RoutingPolicyService routingPolicyService;
     private final AuditLogService auditLogService;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RequestCoalescer requestCoalescer;
+    private final RequestHedger requestHedger;
+    private final RetryBudget retryBudget;
+    private final RSocketCellClient rsocketClient;
+    private final LocalCellDispatcher localDispatcher;
+    private final InterCellCompression compression;
+    private final HoneycombInteractionProperties interactionProperties;
+    private final ObjectMapper objectMapper;
 
     public CellInteractionController(CellAddressService addressService,
-                                     WebClient.Builder webClientBuilder,
+                                     @Qualifier(WebClientConfig.INTER_CELL_WEB_CLIENT) WebClient webClient,
                                      RoutingPolicyService routingPolicyService,
                                      AuditLogService auditLogService,
-                                     CircuitBreakerRegistry circuitBreakerRegistry) {
+                                     CircuitBreakerRegistry circuitBreakerRegistry,
+                                     RequestCoalescer requestCoalescer,
+                                     RequestHedger requestHedger,
+                                     RetryBudget retryBudget,
+                                     RSocketCellClient rsocketClient,
+                                     LocalCellDispatcher localDispatcher,
+                                     InterCellCompression compression,
+                                     HoneycombInteractionProperties interactionProperties,
+                                     ObjectMapper objectMapper) {
         this.addressService = addressService;
-        this.webClient = webClientBuilder.build();
+        this.webClient = webClient;
         this.routingPolicyService = routingPolicyService;
         this.auditLogService = auditLogService;
         this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.requestCoalescer = requestCoalescer;
+        this.requestHedger = requestHedger;
+        this.retryBudget = retryBudget;
+        this.rsocketClient = rsocketClient;
+        this.localDispatcher = localDispatcher;
+        this.compression = compression;
+        this.interactionProperties = interactionProperties;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -64,65 +147,42 @@ public class CellInteractionController {
             @RequestBody(required = false) Mono<byte[]> bodyMono,
             ServerWebExchange exchange
     ) {
-        final String pathFinal = HoneycombConstants.Paths.HONEYCOMB_SHARED
-            + HoneycombConstants.Names.SEPARATOR_SLASH
-            + methodName;
+        Outbound call = invokeCall(from, to, methodName, headers, bodyMono, exchange, Mode.BUFFERED);
+        return buffered(call, fanOut(call, targets(call, policy)));
+    }
 
-        return addressService.findByCell(to).collectList().flatMapMany(list -> {
-            var selected = routingPolicyService.selectTargets(to, list, policy);
-            if (selected.isEmpty()) {
-                auditLogService.record(from, HoneycombConstants.Audit.ACTION_CELL_INVOKE, to, HoneycombConstants.Status.NO_TARGETS, Map.of(HoneycombConstants.JsonKeys.METHOD, methodName));
-            }
-            return Flux.fromIterable(selected);
-        }).flatMap(addr -> {
-            long startNs = System.nanoTime();
-            String base = HoneycombConstants.Schemes.HTTP
-                + addr.getHost()
-                + HoneycombConstants.Names.SEPARATOR_COLON
-                + addr.getPort();
-            URI uri = Objects.requireNonNull(URI.create(base + pathFinal));
-
-            WebClient.RequestBodySpec reqSpec = webClient.method(HttpMethod.POST).uri(uri)
-                    .headers(h -> {
-                        headers.forEach((k, v) -> {
-                            if (k.equalsIgnoreCase(HttpHeaders.HOST)) return;
-                            h.put(k, v);
-                        });
-                    });
+    /**
+     * NDJSON variant of {@link #invokeShared}: one envelope line per target as it completes.
+     */
+    @PostMapping(path = HoneycombConstants.Paths.CELLS_INVOKE_SHARED, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Map<String,Object>> invokeSharedStream(
+            @PathVariable String from,
+            @PathVariable String to,
+            @PathVariable String methodName,
+            @RequestParam(value = HoneycombConstants.Params.POLICY, required = false) String policy,
+            @RequestHeader MultiValueMap<String, String> headers,
+            @RequestBody(required = false) Mono<byte[]> bodyMono,
+            ServerWebExchange exchange
+    ) {
+        Outbound call = invokeCall(from, to, methodName, headers, bodyMono, exchange, Mode.ENVELOPE);
+        return envelope(call, fanOut(call, targets(call, policy)));
+    }
 
-            Mono<ClientResponse> respMono;
-            Mono<byte[]> body = bodyMono != null ? bodyMono : Mono.just(new byte[0]);
-                final MediaType contentType = exchange.getRequest().getHeaders().getContentType() == null
-                    ? MediaType.APPLICATION_JSON
-                    : exchange.getRequest().getHeaders().getContentType();
-            respMono = body.flatMap(b -> reqSpec.contentType(contentType)
-                    .bodyValue(b)
-                    .exchangeToMono(Mono::just));
-
-            CircuitBreaker cb = circuitBreakerRegistry.circuitBreaker(routingPolicyService.circuitName(to, addr));
-            return respMono.timeout(Duration.ofSeconds(10))
-                .transformDeferred(CircuitBreakerOperator.of(cb))
-                .flatMap(cr -> cr.bodyToMono(String.class).defaultIfEmpty(HoneycombConstants.Messages.EMPTY)
-                    .map(bodyStr -> new AbstractMap.SimpleEntry<>(addr.getHost()
-                        + HoneycombConstants.Names.SEPARATOR_COLON
-                        + addr.getPort(), Map.of(
-                            HoneycombConstants.JsonKeys.STATUS, cr.statusCode().value(),
-                            HoneycombConstants.JsonKeys.CONTENT_TYPE,
-                            cr.headers().contentType().map(MediaType::toString).orElse(HoneycombConstants.Messages.EMPTY),
-                            HoneycombConstants.JsonKeys.BODY, bodyStr
-                        ))))
-                .doOnSuccess(v -> routingPolicyService.recordLatency(to, addr, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs), true))
-                .onErrorResume(e -> {
-                    routingPolicyService.recordLatency(to, addr, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs), false);
-                    return Mono.just(new AbstractMap.SimpleEntry<>(addr.getHost()
-                        + HoneycombConstants.Names.SEPARATOR_COLON
-                        + addr.getPort(), Map.of(HoneycombConstants.JsonKeys.ERROR, e.getMessage())));
-                });
-        }).collectList().map(list -> {
-            Map<String,Object> aggregated = list.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                auditLogService.record(from, HoneycombConstants.Audit.ACTION_CELL_INVOKE, to, HoneycombConstants.Status.OK, Map.of(HoneycombConstants.JsonKeys.METHOD, methodName, HoneycombConstants.JsonKeys.TARGETS, aggregated.keySet()));
-            return ResponseEntity.ok(aggregated);
-        });
+    /**
+     * Transparent proxy variant of {@link #invokeShared} for single-target policies.
+     */
+    @PostMapping(path = HoneycombConstants.Paths.CELLS_INVOKE_SHARED, params = HoneycombConstants.Params.PROXY_MODE)
+    public Mono<Void> invokeSharedProxy(
+            @PathVariable String from,
+            @PathVariable String to,
+            @PathVariable String methodName,
+            @RequestParam(value = HoneycombConstants.Params.POLICY, required = false) String policy,
+            @RequestHeader MultiValueMap<String, String> headers,
+            @RequestBody(required = false) Mono<byte[]> bodyMono,
+            ServerWebExchange exchange
+    ) {
+        Outbound call = invokeCall(from, to, methodName, headers, bodyMono, exchange, Mode.PROXY);
+        return proxy(call, targets(call, policy), exchange.getResponse());
     }
 
     /**
@@ -143,6 +203,71 @@ public class CellInteractionController {
             @RequestBody(required = false) Mono<byte[]> bodyMono,
             ServerWebExchange exchange
     ) {
+        Outbound call = forwardCall(from, to, methodParam, pathParam, headers, bodyMono, exchange, Mode.BUFFERED);
+        return buffered(call, fanOut(call, targets(call, policy)));
+    }
+
+    /**
+     * NDJSON variant of {@link #forward}: one envelope line per target as it completes.
+     */
+    @RequestMapping(path = HoneycombConstants.Paths.CELLS_FORWARD, produces = MediaType.APPLICATION_NDJSON_VALUE,
+            method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.PATCH})
+    public Flux<Map<String,Object>> forwardStream(
+            @PathVariable String from,
+            @PathVariable String to,
+            @RequestParam(value = HoneycombConstants.Params.METHOD, required = false) String methodParam,
+            @RequestParam(value = HoneycombConstants.Params.PATH, required = false) String pathParam,
+            @RequestParam(value = HoneycombConstants.Params.POLICY, required = false) String policy,
+            @RequestHeader MultiValueMap<String, String> headers,
+            @RequestBody(required = false) Mono<byte[]> bodyMono,
+            ServerWebExchange exchange
+    ) {
+        Outbound call = forwardCall(from, to, methodParam, pathParam, headers, bodyMono, exchange, Mode.ENVELOPE);
+        return envelope(call, fanOut(call, targets(call, policy)));
+    }
+
+    /**
+     * Transparent proxy variant of {@link #forward} for single-target policies: the upstream
+     * response is relayed buffer by buffer instead of being read into a string.
+     */
+    @RequestMapping(path = HoneycombConstants.Paths.CELLS_FORWARD, params = HoneycombConstants.Params.PROXY_MODE,
+            method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.PATCH})
+    public Mono<Void> forwardProxy(
+            @PathVariable String from,
+            @PathVariable String to,
+            @RequestParam(value = HoneycombConstants.Params.METHOD, required = false) String methodParam,
+            @RequestParam(value = HoneycombConstants.Params.PATH, required = false) String pathParam,
+            @RequestParam(value = HoneycombConstants.Params.POLICY, required = false) String policy,
+            @RequestHeader MultiValueMap<String, String> headers,
+            @RequestBody(required = false) Mono<byte[]> bodyMono,
+            ServerWebExchange exchange
+    ) {
+        Outbound call = forwardCall(from, to, methodParam, pathParam, headers, bodyMono, exchange, Mode.PROXY);
+        return proxy(call, targets(call, policy), exchange.getResponse());
+    }
+
+    private Outbound invokeCall(String from, String to, String methodName, MultiValueMap<String, String> headers,
+                                Mono<byte[]> bodyMono, ServerWebExchange exchange, Mode mode) {
+        String path = HoneycombConstants.Paths.HONEYCOMB_SHARED
+            + HoneycombConstants.Names.SEPARATOR_SLASH
+            + methodName;
+        boolean coalesce = mode != Mode.PROXY
+            && interactionProperties.getCoalescing().isInvokeShared()
+            && interactionProperties.getCoalescing().isEnabledFor(to);
+        boolean hedge = mode != Mode.PROXY
+            && interactionProperties.getHedging().isInvokeShared()
+            && interactionProperties.getHedging().isEnabledFor(to);
+        long timeoutMs = interactionProperties.getTimeouts().resolveMs(to, path);
+        return new Outbound(from, to, HoneycombConstants.Audit.ACTION_CELL_INVOKE,
+            Map.of(HoneycombConstants.JsonKeys.METHOD, methodName),
+            HoneycombConstants.HttpMethods.POST, path, methodName, mode, coalesce, hedge,
+            interactionProperties.getRetry().isInvokeShared(), timeoutMs, deadlineNanos(timeoutMs, headers),
+            headers, requestContentType(exchange), readOnce(bodyMono), exchange);
+    }
+
+    private Outbound forwardCall(String from, String to, String methodParam, String pathParam,
+                                 MultiValueMap<String, String> headers, Mono<byte[]> bodyMono,
+                                 ServerWebExchange exchange, Mode mode) {
         HttpMethod incomingMethod = exchange.getRequest().getMethod();
         final String methodFinal = (methodParam != null ? methodParam.toUpperCase()
             : (incomingMethod == null ? HoneycombConstants.HttpMethods.POST : incomingMethod.name()));
@@ -151,65 +276,592 @@ public class CellInteractionController {
             + to
             + HoneycombConstants.Names.SEPARATOR_SLASH
             + HoneycombConstants.Paths.ITEMS);
+        // identical concurrent reads (e.g. a cache-miss storm) share one upstream GET
+        boolean coalesce = mode != Mode.PROXY
+            && methodFinal.equals(HoneycombConstants.HttpMethods.GET)
+            && interactionProperties.getCoalescing().isForwardReads()
+            && interactionProperties.getCoalescing().isEnabledFor(to);
+        // only reads are hedged: a duplicate write could be applied twice
+        boolean hedge = mode != Mode.PROXY
+            && methodFinal.equals(HoneycombConstants.HttpMethods.GET)
+            && interactionProperties.getHedging().isForwardReads()
+            && interactionProperties.getHedging().isEnabledFor(to);
+        boolean idempotent = methodFinal.equals(HoneycombConstants.HttpMethods.GET)
+            || methodFinal.equals(HoneycombConstants.HttpMethods.PUT)
+            || methodFinal.equals(HoneycombConstants.HttpMethods.DELETE);
+        long timeoutMs = interactionProperties.getTimeouts().resolveMs(to, pathFinal);
+        return new Outbound(from, to, HoneycombConstants.Audit.ACTION_CELL_FORWARD,
+            Map.of(HoneycombConstants.JsonKeys.PATH, pathFinal, HoneycombConstants.JsonKeys.METHOD, methodFinal),
+            methodFinal, pathFinal, null, mode, coalesce, hedge, idempotent, timeoutMs, deadlineNanos(timeoutMs, headers),
+            headers, requestContentType(exchange), readOnce(bodyMono), exchange);
+    }
 
-        return addressService.findByCell(to).collectList().flatMapMany(list -> {
-            var selected = routingPolicyService.selectTargets(to, list, policy);
+    private Mono<Selection> targets(Outbound call, String policy) {
+        HoneycombInteractionProperties.Local local = interactionProperties.getLocal();
+        if (local.isEnabled() && local.isPreferRegistered() && localDispatcher.isRegistered(call.to())) {
+            CellAddress self = localDispatcher.localAddress(call.to());
+            if (self != null) {
+                return Mono.just(new Selection(List.of(self), List.of(self), policy, null));
+            }
+        }
+        Mono<String> routingKey = HoneycombConstants.RoutingPolicies.CONSISTENT_HASH
+                .equals(routingPolicyService.resolvePolicy(call.to(), policy))
+            ? routingKey(call, routingPolicyService.hashKeyFor(call.to()))
+            : Mono.empty();
+        return addressService.addressesOf(call.to()).zipWith(routingKey.defaultIfEmpty(HoneycombConstants.Messages.EMPTY), (list, key) -> {
+            String k = key.isEmpty() ? null : key;
+            var selected = routingPolicyService.selectTargets(call.to(), list, policy, k);
             if (selected.isEmpty()) {
-                auditLogService.record(from, HoneycombConstants.Audit.ACTION_CELL_FORWARD, to, HoneycombConstants.Status.NO_TARGETS, Map.of(HoneycombConstants.JsonKeys.PATH, pathFinal, HoneycombConstants.JsonKeys.METHOD, methodFinal));
+                auditLogService.record(call.from(), call.auditAction(), call.to(), HoneycombConstants.Status.NO_TARGETS, call.auditDetails());
             }
-            return Flux.fromIterable(selected);
-        }).flatMap(addr -> {
-            long startNs = System.nanoTime();
-            String base = HoneycombConstants.Schemes.HTTP
-                + addr.getHost()
-                + HoneycombConstants.Names.SEPARATOR_COLON
-                + addr.getPort();
-            URI uri = Objects.requireNonNull(URI.create(base + pathFinal));
-
-            WebClient.RequestBodySpec reqSpec = webClient.method(HttpMethod.valueOf(methodFinal)).uri(uri)
-                    .headers(h -> {
-                        headers.forEach((k, v) -> {
-                            if (k.equalsIgnoreCase(HttpHeaders.HOST)) return;
-                            h.put(k, v);
+            return new Selection(selected, list, policy, k);
+        });
+    }
+
+    /**
+     * Value of the configured {@code consistent-hash} attribute for this call; empty when it is
+     * not configured or not present, which makes the policy fall back to round-robin.
+     */
+    private Mono<String> routingKey(Outbound call, HoneycombRoutingProperties.HashKey hashKey) {
+        if (hashKey == null) return Mono.empty();
+        String source = hashKey.getSource() == null ? HoneycombConstants.HashKeySources.HEADER : hashKey.getSource().toLowerCase();
+        return switch (source) {
+            case HoneycombConstants.HashKeySources.HEADER -> hashKey.getName() == null
+                ? Mono.empty()
+                : Mono.justOrEmpty(call.headers().getFirst(hashKey.getName()));
+            case HoneycombConstants.HashKeySources.PATH_SEGMENT -> Mono.justOrEmpty(pathSegment(call.path(), hashKey.getSegment()));
+            case HoneycombConstants.HashKeySources.JSON_FIELD -> hashKey.getName() == null || call.bodiless()
+                ? Mono.empty()
+                : call.body().flatMap(b -> Mono.justOrEmpty(jsonField(b, hashKey.getName())));
+            default -> Mono.empty();
+        };
+    }
+
+    private static String pathSegment(String path, int index) {
+        if (path == null || index < 0) return null;
+        int seen = 0;
+        for (String segment : path.split(HoneycombConstants.Names.SEPARATOR_SLASH)) {
+            if (segment.isEmpty()) continue;
+            if (seen++ == index) return segment;
+        }
+        return null;
+    }
+
+    private String jsonField(byte[] body, String field) {
+        if (body == null || body.length == 0) return null;
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            JsonPointer pointer = field.startsWith(HoneycombConstants.Names.SEPARATOR_SLASH)
+                ? JsonPointer.compile(field)
+                : JsonPointer.compile(HoneycombConstants.Names.SEPARATOR_SLASH
+                    + field.replace(HoneycombConstants.Names.SEPARATOR_DOT, HoneycombConstants.Names.SEPARATOR_SLASH));
+            JsonNode value = node.at(pointer);
+            return value.isMissingNode() || value.isNull() ? null : value.asText();
+        } catch (IOException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private Flux<AbstractMap.SimpleEntry<String, Map<String, Object>>> fanOut(Outbound call, Mono<Selection> targets) {
+        return targets.flatMapMany(selection -> {
+            // one deposit per logical call, however many instances it fans out to;
+            // retries and hedges spend from the budget, they do not add to it
+            retryBudget.deposit(call.to());
+            return Flux.fromIterable(selection.selected()).flatMap(addr -> call.body().flatMap(b -> {
+                Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> primary = send(call, selection, addr, b);
+                // hedging only makes sense when the policy picked one instance and another healthy one exists
+                CellAddress backup = call.hedge() && selection.selected().size() == 1
+                    ? backupFor(call.to(), addr, selection)
+                    : null;
+                return backup == null ? primary : requestHedger.hedge(call.to(), primary, () -> send(call, selection, backup, b));
+            }));
+        });
+    }
+
+    private Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> send(Outbound call, Selection selection,
+                                                                           CellAddress addr, byte[] b) {
+        return Mono.defer(() -> {
+            Set<String> tried = new HashSet<>();
+            tried.add(targetKey(addr));
+            return attempt(call, selection, addr, b, tried, 1);
+        });
+    }
+
+    private Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> attempt(Outbound call, Selection selection,
+                                                                              CellAddress addr, byte[] b,
+                                                                              Set<String> tried, int attemptNo) {
+        Supplier<Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>>> exchange =
+            () -> exchangeEntry(call, addr, b);
+        // a joiner runs under the deadline of the call it joined, so it is also held to its own
+        Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> result = call.coalesce()
+            ? requestCoalescer.coalesce(call.auditAction(),
+                    coalesceKey(addr, call.method(), call.path(), call.headers(), call.bodiless() ? null : b), exchange)
+                .timeout(Duration.ofMillis(call.remainingMs()))
+            : exchange.get();
+        return result
+            .flatMap(entry -> call.retryAfterSend() && isRetryableStatus(entry.getValue())
+                ? retry(call, selection, b, tried, attemptNo).defaultIfEmpty(entry)
+                : Mono.just(entry))
+            .onErrorResume(e -> {
+                Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> failed = Mono.just(errorEntry(addr, e));
+                return isRetryable(call, e) ? retry(call, selection, b, tried, attemptNo).switchIfEmpty(failed) : failed;
+            });
+    }
+
+    /**
+     * Next attempt on an instance chosen by the routing policy among those not yet tried, if the
+     * attempt limit, the caller's deadline and the target's retry budget all allow it.
+     */
+    private Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> retry(Outbound call, Selection selection, byte[] b,
+                                                                            Set<String> tried, int attemptNo) {
+        // a fan-out already calls every instance; there is no other instance to retry on
+        if (attemptNo >= interactionProperties.getRetry().getMaxAttempts()
+                || selection.selected().size() != 1
+                || call.remainingMs() <= 0) {
+            return Mono.empty();
+        }
+        CellAddress next = routingPolicyService.selectRetryTarget(call.to(), selection.all(), tried, selection.policy(),
+            selection.routingKey());
+        if (next == null || !retryBudget.tryAcquire(call.to())) {
+            return Mono.empty();
+        }
+        tried.add(targetKey(next));
+        return attempt(call, selection, next, b, tried, attemptNo + 1);
+    }
+
+    private static boolean isServerError(Map<String, Object> result) {
+        return result.get(HoneycombConstants.JsonKeys.STATUS) instanceof Integer code && code >= 500;
+    }
+
+    private static boolean isRetryableStatus(Map<String, Object> result) {
+        Object status = result.get(HoneycombConstants.JsonKeys.STATUS);
+        return status instanceof Integer code
+            && (code == HttpStatus.BAD_GATEWAY.value()
+                || code == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || code == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    private static boolean isRetryable(Outbound call, Throwable e) {
+        // an open circuit or a refused connection means the request never reached the target
+        if (e instanceof CallNotPermittedException) return true;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException) return true;
+        }
+        return call.retryAfterSend()
+            && (e instanceof TimeoutException || e instanceof WebClientRequestException || e instanceof IOException);
+    }
+
+    /**
+     * Second instance for a hedge, chosen by the routing policy like a retry would be, so it keeps
+     * the policy's hash stickiness, weights, zone preference and slow-start ramp. A pick whose
+     * circuit is open would only fail fast, so there is no hedge then.
+     */
+    private CellAddress backupFor(String to, CellAddress primary, Selection selection) {
+        CellAddress backup = routingPolicyService.selectRetryTarget(to, selection.all(), Set.of(targetKey(primary)),
+            selection.policy(), selection.routingKey());
+        return backup != null && routingPolicyService.isAvailable(to, backup) ? backup : null;
+    }
+
+    private Mono<ResponseEntity<Map<String,Object>>> buffered(Outbound call,
+                                                             Flux<AbstractMap.SimpleEntry<String, Map<String, Object>>> entries) {
+        return entries.collectList().map(list -> {
+            Map<String,Object> aggregated = list.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            auditOk(call, aggregated.keySet());
+            return ResponseEntity.ok(aggregated);
+        });
+    }
+
+    private Flux<Map<String,Object>> envelope(Outbound call,
+                                              Flux<AbstractMap.SimpleEntry<String, Map<String, Object>>> entries) {
+        Set<String> seen = new TreeSet<>();
+        return entries
+            .doOnNext(entry -> {
+                synchronized (seen) {
+                    seen.add(entry.getKey());
+                }
+            })
+            .map(this::envelopeLine)
+            .doOnComplete(() -> auditOk(call, seen));
+    }
+
+    /**
+     * Relay a single upstream response as-is. Status and headers are copied when the upstream
+     * answers and the body buffers are written as they arrive, so nothing is parsed, re-escaped
+     * or held in memory. More than one target cannot be proxied and is sent as an NDJSON envelope.
+     */
+    private Mono<Void> proxy(Outbound call, Mono<Selection> targets, ServerHttpResponse response) {
+        return targets.flatMap(selection -> {
+            List<CellAddress> selected = selection.selected();
+            if (selected.isEmpty()) {
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                return writeJson(response, Map.of(HoneycombConstants.JsonKeys.ERROR, HoneycombConstants.Status.NO_TARGETS));
+            }
+            if (selected.size() > 1) {
+                response.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+                return response.writeWith(envelope(call, fanOut(call.withMode(Mode.ENVELOPE), Mono.just(selection)))
+                    .map(line -> response.bufferFactory().wrap(ndjsonLine(line))));
+            }
+            CellAddress addr = selected.get(0);
+            String target = targetKey(addr);
+            CircuitBreaker cb = circuitBreakerRegistry.circuitBreaker(routingPolicyService.circuitName(call.to(), addr));
+            Flux<DataBuffer> upstream = call.body().flatMapMany(b -> Flux.defer(() -> {
+                long startNs = System.nanoTime();
+                routingPolicyService.beginCall(call.to(), addr);
+                return request(addr, call, b)
+                    .exchangeToFlux(cr -> {
+                        response.setStatusCode(cr.statusCode());
+                        cr.headers().asHttpHeaders().forEach((name, values) -> {
+                            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                                response.getHeaders().put(name, values);
+                            }
                         });
+                        response.getHeaders().set(HoneycombConstants.Headers.UPSTREAM_TARGET, target);
+                        return cr.bodyToFlux(DataBuffer.class);
+                    })
+                    // the first buffer must arrive within the deadline; after that the route timeout is a
+                    // per-buffer idle timeout, so a long stream is fine as long as it keeps moving
+                    .timeout(Mono.delay(Duration.ofMillis(call.remainingMs())),
+                        buffer -> Mono.delay(Duration.ofMillis(call.timeoutMs())))
+                    .transformDeferred(CircuitBreakerOperator.of(cb))
+                    .doOnComplete(() -> {
+                        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+                        HttpStatusCode status = response.getStatusCode();
+                        routingPolicyService.recordLatency(call.to(), addr, elapsedMs,
+                            status == null || !status.is5xxServerError());
+                        requestHedger.recordLatency(call.to(), elapsedMs);
+                    })
+                    .doOnError(e -> routingPolicyService.recordLatency(call.to(), addr, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs), false))
+                    .doFinally(signal -> routingPolicyService.endCall(call.to(), addr));
+            }));
+            return response.writeWith(upstream)
+                .doOnSuccess(v -> auditOk(call, Set.of(target)))
+                .onErrorResume(e -> {
+                    if (response.isCommitted()) {
+                        return Mono.error(e);
+                    }
+                    response.getHeaders().clear();
+                    response.setStatusCode(HttpStatus.BAD_GATEWAY);
+                    return writeJson(response, Map.of(HoneycombConstants.JsonKeys.ERROR, String.valueOf(e.getMessage())));
+                });
+        });
+    }
+
+    private WebClient.RequestHeadersSpec<?> request(CellAddress addr, Outbound call, byte[] body) {
+        String base = HoneycombConstants.Schemes.HTTP
+            + addr.getHost()
+            + HoneycombConstants.Names.SEPARATOR_COLON
+            + addr.getPort();
+        URI uri = Objects.requireNonNull(URI.create(base + call.path()));
+
+        boolean gzipBody = !call.bodiless() && body != null && compression.compressesRequest(body.length);
+        WebClient.RequestBodySpec reqSpec = webClient.method(HttpMethod.valueOf(call.method())).uri(uri)
+                .headers(h -> {
+                    call.headers().forEach((k, v) -> {
+                        if (k.equalsIgnoreCase(HttpHeaders.HOST)) return;
+                        h.put(k, v);
                     });
+                    if (interactionProperties.getTimeouts().isPropagateDeadline()) {
+                        // the target sees what is left of our budget, not the budget we were given
+                        h.set(HoneycombConstants.Headers.DEADLINE_MS, Long.toString(call.remainingMs()));
+                    }
+                    if (compression.isEnabled()) {
+                        // the client decodes whatever comes back, so the caller's own list does not apply
+                        h.set(HttpHeaders.ACCEPT_ENCODING, compression.acceptEncoding());
+                    } else if (call.mode() != Mode.PROXY) {
+                        // buffered and NDJSON modes read the body as text and cannot take an encoded one
+                        h.remove(HttpHeaders.ACCEPT_ENCODING);
+                    }
+                    if (gzipBody) {
+                        h.set(HttpHeaders.CONTENT_ENCODING, HoneycombConstants.ContentEncodings.GZIP);
+                    }
+                });
+        if (call.mode() == Mode.ENVELOPE) {
+            // the caller asked us for NDJSON; the upstream should answer in its own format
+            reqSpec.accept(MediaType.APPLICATION_JSON, MediaType.ALL);
+        }
+        if (call.bodiless()) {
+            return call.mode() == Mode.PROXY ? reqSpec : reqSpec.accept(MediaType.APPLICATION_JSON, MediaType.ALL);
+        }
+        return reqSpec.contentType(call.contentType()).bodyValue(gzipBody ? compression.gzip(body) : body);
+    }
 
-            Mono<ClientResponse> respMono;
-            if (methodFinal.equals(HoneycombConstants.HttpMethods.GET) || methodFinal.equals(HoneycombConstants.HttpMethods.DELETE)) {
-                respMono = reqSpec.accept(MediaType.APPLICATION_JSON, MediaType.ALL).exchangeToMono(Mono::just);
-            } else {
-                Mono<byte[]> body = bodyMono != null ? bodyMono : Mono.just(new byte[0]);
-                final MediaType contentType = exchange.getRequest().getHeaders().getContentType() == null
-                    ? MediaType.APPLICATION_JSON
-                    : exchange.getRequest().getHeaders().getContentType();
-                respMono = body.flatMap(b -> reqSpec.contentType(contentType)
-                        .bodyValue(b)
-                        .exchangeToMono(Mono::just));
+    /**
+     * One upstream exchange, guarded by the target's circuit breaker and reduced to a
+     * status / content type / body entry keyed by {@code host:port}. The attempt may use whatever
+     * is left of the call's deadline; failures are signalled as errors so the caller can retry.
+     */
+    private Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> exchangeEntry(Outbound call,
+                                                                                     CellAddress addr,
+                                                                                     byte[] b) {
+        String to = call.to();
+        String target = targetKey(addr);
+        CircuitBreaker cb = circuitBreakerRegistry.circuitBreaker(routingPolicyService.circuitName(to, addr));
+        return Mono.defer(() -> {
+            long remainingMs = call.remainingMs();
+            if (remainingMs <= 0) {
+                return Mono.error(new TimeoutException(HoneycombConstants.ErrorKeys.DEADLINE_EXCEEDED));
             }
-
-            CircuitBreaker cb = circuitBreakerRegistry.circuitBreaker(routingPolicyService.circuitName(to, addr));
-            return respMono.timeout(Duration.ofSeconds(10))
+            long startNs = System.nanoTime();
+            routingPolicyService.beginCall(to, addr);
+            Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> exchange = useLocal(call, addr, b)
+                ? localEntry(call, b, target)
+                : useRSocket(call, addr)
+                // the connection acts with the shared invoker role for everyone; a caller without
+                // it goes over HTTP, where the target checks the credentials it forwarded
+                ? localDispatcher.authorizesShared(call.sharedMethod()).flatMap(allowed -> allowed
+                    ? rsocketEntry(call, addr, b, target)
+                    : httpEntry(call, addr, b, target))
+                : httpEntry(call, addr, b, target);
+            return exchange
+                .timeout(Duration.ofMillis(remainingMs))
                 .transformDeferred(CircuitBreakerOperator.of(cb))
-                .flatMap(cr -> cr.bodyToMono(String.class).defaultIfEmpty(HoneycombConstants.Messages.EMPTY)
-                    .map(bodyStr -> new AbstractMap.SimpleEntry<>(addr.getHost()
-                        + HoneycombConstants.Names.SEPARATOR_COLON
-                        + addr.getPort(), Map.of(
-                            HoneycombConstants.JsonKeys.STATUS, cr.statusCode().value(),
-                            HoneycombConstants.JsonKeys.CONTENT_TYPE,
-                            cr.headers().contentType().map(MediaType::toString).orElse(HoneycombConstants.Messages.EMPTY),
-                            HoneycombConstants.JsonKeys.BODY, bodyStr
-                        ))))
-                .doOnSuccess(v -> routingPolicyService.recordLatency(to, addr, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs), true))
-                .onErrorResume(e -> {
-                    routingPolicyService.recordLatency(to, addr, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs), false);
-                    return Mono.just(new AbstractMap.SimpleEntry<>(addr.getHost()
-                        + HoneycombConstants.Names.SEPARATOR_COLON
-                        + addr.getPort(), Map.of(HoneycombConstants.JsonKeys.ERROR, e.getMessage())));
-                });
-        }).collectList().map(list -> {
-            Map<String,Object> aggregated = list.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                auditLogService.record(from, HoneycombConstants.Audit.ACTION_CELL_FORWARD, to, HoneycombConstants.Status.OK, Map.of(HoneycombConstants.JsonKeys.PATH, pathFinal, HoneycombConstants.JsonKeys.METHOD, methodFinal, HoneycombConstants.JsonKeys.TARGETS, aggregated.keySet()));
-            return ResponseEntity.ok(aggregated);
+                .doOnSuccess(v -> {
+                    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+                    // a 5xx answer is a failure for outlier ejection, though not for the circuit breaker
+                    routingPolicyService.recordLatency(to, addr, elapsedMs, v == null || !isServerError(v.getValue()));
+                    requestHedger.recordLatency(to, elapsedMs);
+                })
+                .doOnError(e -> routingPolicyService.recordLatency(to, addr, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs), false))
+                // a cancelled hedge loser is no longer in flight either
+                .doFinally(signal -> routingPolicyService.endCall(to, addr));
+        });
+    }
+
+    private Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> httpEntry(Outbound call, CellAddress addr,
+                                                                                 byte[] b, String target) {
+        // the body is read inside exchangeToMono; it is released once that callback completes
+        return request(addr, call, b).exchangeToMono(cr -> cr.bodyToMono(String.class).defaultIfEmpty(HoneycombConstants.Messages.EMPTY)
+            .map(bodyStr -> resultEntry(target, cr.statusCode().value(),
+                cr.headers().contentType().map(MediaType::toString).orElse(HoneycombConstants.Messages.EMPTY),
+                bodyStr)));
+    }
+
+    private boolean useLocal(Outbound call, CellAddress addr, byte[] b) {
+        if (!interactionProperties.getLocal().isEnabled() || call.mode() == Mode.PROXY || !localDispatcher.isLocal(addr)) {
+            return false;
+        }
+        return call.sharedMethod() != null
+            ? localDispatcher.handlesShared(b, call.contentType())
+            : localDispatcher.handlesStore(call.to(), call.method(), call.path(), call.contentType());
+    }
+
+    /**
+     * The call served by this process without a loopback request. The entry has the same
+     * status, content type and body the HTTP exchange would have produced.
+     */
+    private Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> localEntry(Outbound call, byte[] b,
+                                                                                  String target) {
+        Mono<ResponseEntity<String>> response = call.sharedMethod() != null
+            ? localDispatcher.invokeShared(call.sharedMethod(), call.headers(), b)
+            : localDispatcher.store(call.to(), call.method(), call.path(), call.headers(), b, call.exchange());
+        return response.map(entity -> resultEntry(target, entity.getStatusCode().value(),
+            Optional.ofNullable(entity.getHeaders().getContentType()).map(MediaType::toString).orElse(HoneycombConstants.Messages.EMPTY),
+            Objects.requireNonNullElse(entity.getBody(), HoneycombConstants.Messages.EMPTY)));
+    }
+
+    private boolean useRSocket(Outbound call, CellAddress addr) {
+        return call.sharedMethod() != null && call.mode() != Mode.PROXY && rsocketClient.isPreferredFor(addr);
+    }
+
+    /**
+     * Shared method call over the target's RSocket connection, for a caller that passed
+     * {@link LocalCellDispatcher#authorizesShared}. A rejection by the target's
+     * dispatcher (unknown method, caller not allowed) is an answer, not a transport failure, so it
+     * becomes a 400 entry rather than counting against the circuit breaker.
+     */
+    private Mono<AbstractMap.SimpleEntry<String, Map<String, Object>>> rsocketEntry(Outbound call, CellAddress addr,
+                                                                                    byte[] b, String target) {
+        return rsocketClient.invoke(addr, call.sharedMethod(), b, call.from(),
+                call.headers().getFirst(HoneycombConstants.Headers.REQUEST_ID))
+            .map(bytes -> resultEntry(target, HttpStatus.OK.value(), MediaType.APPLICATION_JSON_VALUE,
+                new String(bytes, StandardCharsets.UTF_8)))
+            .onErrorResume(ApplicationErrorException.class, e -> Mono.just(resultEntry(target,
+                HttpStatus.BAD_REQUEST.value(), MediaType.APPLICATION_JSON_VALUE,
+                jsonText(Map.of(HoneycombConstants.JsonKeys.ERROR, String.valueOf(e.getMessage()))))));
+    }
+
+    private static AbstractMap.SimpleEntry<String, Map<String, Object>> resultEntry(String target, int status,
+                                                                                    String contentType, String body) {
+        return new AbstractMap.SimpleEntry<>(target, Map.of(
+            HoneycombConstants.JsonKeys.STATUS, status,
+            HoneycombConstants.JsonKeys.CONTENT_TYPE, contentType,
+            HoneycombConstants.JsonKeys.BODY, body));
+    }
+
+    private static AbstractMap.SimpleEntry<String, Map<String, Object>> errorEntry(CellAddress addr, Throwable e) {
+        return new AbstractMap.SimpleEntry<>(targetKey(addr),
+            Map.of(HoneycombConstants.JsonKeys.ERROR, String.valueOf(e.getMessage())));
+    }
+
+    /**
+     * Envelope line for one target. JSON bodies are embedded as JSON so the caller parses once.
+     */
+    private Map<String, Object> envelopeLine(AbstractMap.SimpleEntry<String, Map<String, Object>> entry) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put(HoneycombConstants.JsonKeys.TARGET, entry.getKey());
+        Map<String, Object> result = entry.getValue();
+        result.forEach(line::put);
+        Object body = result.get(HoneycombConstants.JsonKeys.BODY);
+        Object contentType = result.get(HoneycombConstants.JsonKeys.CONTENT_TYPE);
+        if (body instanceof String text && !text.isEmpty() && isJson(contentType)) {
+            try {
+                line.put(HoneycombConstants.JsonKeys.BODY, objectMapper.readTree(text));
+            } catch (JsonProcessingException ignored) {
+                // not valid JSON after all; keep the raw text
+            }
+        }
+        return line;
+    }
+
+    private static boolean isJson(Object contentType) {
+        if (!(contentType instanceof String value) || value.isEmpty()) return false;
+        try {
+            MediaType type = MediaType.parseMediaType(value);
+            return MediaType.APPLICATION_JSON.isCompatibleWith(type) || type.getSubtype().endsWith("+json");
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    private byte[] ndjsonLine(Map<String, Object> line) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(line);
+            byte[] out = new byte[json.length + 1];
+            System.arraycopy(json, 0, out, 0, json.length);
+            out[json.length] = '\n';
+            return out;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String jsonText(Map<String, Object> value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private Mono<Void> writeJson(ServerHttpResponse response, Map<String, Object> body) {
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(objectMapper.writeValueAsBytes(body))));
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+    }
+
+    private void auditOk(Outbound call, Set<String> targets) {
+        Map<String, Object> details = new LinkedHashMap<>(call.auditDetails());
+        details.put(HoneycombConstants.JsonKeys.TARGETS, targets);
+        auditLogService.record(call.from(), call.auditAction(), call.to(), HoneycombConstants.Status.OK, details);
+    }
+
+    /**
+     * Two calls are interchangeable only if they hit the same instance with the same request.
+     * Every header {@link #request} forwards may carry the caller's identity (cookies, API keys
+     * under any configured name, custom auth headers), so all of them are part of the key except
+     * those that differ per call by design.
+     */
+    private static String coalesceKey(CellAddress addr, String method, String path,
+                                      MultiValueMap<String, String> headers, byte[] body) {
+        Map<String, String> forwarded = new TreeMap<>();
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!COALESCE_IGNORED_HEADERS.contains(lower)) {
+                forwarded.merge(lower, String.join(HoneycombConstants.Names.SEPARATOR_COMMA, values),
+                    (a, c) -> a + HoneycombConstants.Names.SEPARATOR_COMMA + c);
+            }
         });
+        List<String> parts = new ArrayList<>(forwarded.size() + 3);
+        parts.add(targetKey(addr));
+        parts.add(method);
+        parts.add(path);
+        forwarded.forEach((name, value) -> parts.add(name + HoneycombConstants.Names.SEPARATOR_COLON + value));
+        return RequestCoalescer.key(body, parts.toArray(String[]::new));
+    }
+
+    private static String targetKey(CellAddress addr) {
+        return addr.getHost() + HoneycombConstants.Names.SEPARATOR_COLON + addr.getPort();
+    }
+
+    private static MediaType requestContentType(ServerWebExchange exchange) {
+        MediaType contentType = exchange.getRequest().getHeaders().getContentType();
+        return contentType == null ? MediaType.APPLICATION_JSON : contentType;
+    }
+
+    /**
+     * Absolute deadline for the call: the route timeout, or less if the caller sent a smaller budget.
+     */
+    private long deadlineNanos(long timeoutMs, MultiValueMap<String, String> headers) {
+        long budgetMs = timeoutMs;
+        String inbound = interactionProperties.getTimeouts().isPropagateDeadline()
+            ? headers.getFirst(HoneycombConstants.Headers.DEADLINE_MS)
+            : null;
+        if (inbound != null) {
+            try {
+                budgetMs = Math.min(budgetMs, Math.max(0, Long.parseLong(inbound.trim())));
+            } catch (NumberFormatException ignored) {
+                // a malformed budget is ignored rather than failing the call
+            }
+        }
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+    }
+
+    // the request body can only be read once; every target and the coalescing key share it
+    private static Mono<byte[]> readOnce(Mono<byte[]> bodyMono) {
+        return (bodyMono != null ? bodyMono : Mono.<byte[]>empty())
+            .defaultIfEmpty(new byte[0])
+            .cache();
     }
+
+    private static Set<String> hopByHopHeaders() {
+        return Set.copyOf(List.of(
+            HttpHeaders.CONNECTION,
+            HoneycombConstants.Headers.KEEP_ALIVE,
+            HttpHeaders.PROXY_AUTHENTICATE,
+            HttpHeaders.PROXY_AUTHORIZATION,
+            HttpHeaders.TE,
+            HttpHeaders.TRAILER,
+            HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.UPGRADE
+        ).stream().map(String::toLowerCase).collect(Collectors.toSet()));
+    }
+
+    private static Set<String> coalesceIgnoredHeaders() {
+        Set<String> ignored = new HashSet<>(HOP_BY_HOP_HEADERS);
+        Set.of(HttpHeaders.HOST,
+            HttpHeaders.CONTENT_LENGTH,
+            HoneycombConstants.Headers.REQUEST_ID,
+            HoneycombConstants.Headers.DEADLINE_MS
+        ).forEach(name -> ignored.add(name.toLowerCase(Locale.ROOT)));
+        return Set.copyOf(ignored);
+    }
+
+    private enum Mode { BUFFERED, ENVELOPE, PROXY }
+
+    /**
+     * Everything about one inbound request that the per-target calls need.
+     */
+    private record Outbound(String from, String to, String auditAction, Map<String, Object> auditDetails,
+                            String method, String path, String sharedMethod, Mode mode, boolean coalesce, boolean hedge,
+                            boolean retryAfterSend, long timeoutMs, long deadlineNanos,
+                            MultiValueMap<String, String> headers, MediaType contentType, Mono<byte[]> body,
+                            ServerWebExchange exchange) {
+        boolean bodiless() {
+            return HoneycombConstants.HttpMethods.GET.equals(method) || HoneycombConstants.HttpMethods.DELETE.equals(method);
+        }
+
+        Outbound withMode(Mode next) {
+            return new Outbound(from, to, auditAction, auditDetails, method, path, sharedMethod, next, coalesce, hedge,
+                retryAfterSend, timeoutMs, deadlineNanos, headers, contentType, body, exchange);
+        }
+
+        long remainingMs() {
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+        }
+    }
+
+    private record Selection(List<CellAddress> selected, List<CellAddress> all, String policy, String routingKey) {}
 }
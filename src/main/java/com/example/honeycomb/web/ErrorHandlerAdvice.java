@@ -2,6 +2,7 @@ package com.example.honeycomb.web;
 
 import com.example.honeycomb.dto.ErrorCode;
 import com.example.honeycomb.dto.ErrorResponse;
+import com.example.honeycomb.service.SharedBulkheadFullException;
 import com.example.honeycomb.util.HoneycombConstants;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
@@ -71,6 +72,13 @@ public class ErrorHandlerAdvice {
                 .body(ErrorCode.RATE_LIMITED.toResponse());
     }
 
+    @ExceptionHandler(SharedBulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFull(@NonNull SharedBulkheadFullException ex) {
+        log.warn(HoneycombConstants.Messages.LOG_BULKHEAD_FULL, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorCode.BULKHEAD_FULL.toResponse());
+    }
+
     @ExceptionHandler(TimeoutException.class)
     public ResponseEntity<ErrorResponse> handleTimeout(@NonNull TimeoutException ex) {
         log.warn(HoneycombConstants.Messages.LOG_TIMEOUT, ex.getMessage());
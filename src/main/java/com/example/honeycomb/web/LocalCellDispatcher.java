@@ -0,0 +1,404 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.config.HoneycombSecurityProperties;
+import com.example.honeycomb.dto.CellRuntimeStatus;
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.service.CellRegistry;
+import com.example.honeycomb.service.CellServerManager;
+import com.example.honeycomb.service.RoutingPolicyService;
+import com.example.honeycomb.service.SharedBulkheadFullException;
+import com.example.honeycomb.service.SharedwallMethodCache;
+import com.example.honeycomb.util.HoneycombConstants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Serves an inter-cell call in this JVM when its target is this node, instead of a loopback
+ * HTTP request to ourselves.
+ * <p>
+ * Only calls with a direct equivalent are served here: shared methods, and the item routes of
+ * {@code /honeycomb/models/{cell}/items} for the target cell itself. The checks the loopback
+ * request would meet on the way in are applied in the same order and with the same outcomes:
+ * API keys, the limits of {@link RateLimitFilter} and {@link AdaptiveConcurrencyFilter} (sharing
+ * their permits and in-flight counts), the {@code /honeycomb/shared/**} role and
+ * {@code require-auth}, then the JWT per-cell and per-method roles. The handlers are the same controller methods, so the target
+ * side still audits item writes, and errors become the statuses {@link ErrorHandlerAdvice} gives them.
+ */
+@Component
+@SuppressWarnings("null")
+public class LocalCellDispatcher {
+    private static final TypeReference<Map<String, Object>> ITEM_TYPE = new TypeReference<>() {};
+
+    private final SharedwallDispatcherController sharedDispatcher;
+    private final SharedwallMethodCache methodCache;
+    private final HoneycombController storeController;
+    private final ErrorHandlerAdvice errorHandler;
+    private final CellRegistry registry;
+    private final CellServerManager serverManager;
+    private final RoutingPolicyService routingPolicyService;
+    private final HoneycombSecurityProperties securityProperties;
+    private final RateLimitFilter rateLimitFilter;
+    private final AdaptiveConcurrencyFilter concurrencyFilter;
+    private final ObjectMapper objectMapper;
+
+    private volatile int serverPort = -1;
+
+    public LocalCellDispatcher(SharedwallDispatcherController sharedDispatcher,
+                               SharedwallMethodCache methodCache,
+                               HoneycombController storeController,
+                               ErrorHandlerAdvice errorHandler,
+                               CellRegistry registry,
+                               CellServerManager serverManager,
+                               RoutingPolicyService routingPolicyService,
+                               HoneycombSecurityProperties securityProperties,
+                               RateLimitFilter rateLimitFilter,
+                               AdaptiveConcurrencyFilter concurrencyFilter,
+                               ObjectMapper objectMapper) {
+        this.sharedDispatcher = sharedDispatcher;
+        this.methodCache = methodCache;
+        this.storeController = storeController;
+        this.errorHandler = errorHandler;
+        this.registry = registry;
+        this.serverManager = serverManager;
+        this.routingPolicyService = routingPolicyService;
+        this.securityProperties = securityProperties;
+        this.rateLimitFilter = rateLimitFilter;
+        this.concurrencyFilter = concurrencyFilter;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onServerStarted(ReactiveWebServerInitializedEvent event) {
+        // the management server, when it has its own port, has a namespace and no shared routes
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            serverPort = event.getWebServer().getPort();
+        }
+    }
+
+    /**
+     * True when {@code addr} is this process: a local host name on the main server port or
+     * on the port of one of the per-cell servers started here.
+     */
+    public boolean isLocal(CellAddress addr) {
+        if (addr == null || addr.getHost() == null) return false;
+        int port = addr.getPort();
+        return (port == serverPort || serverManager.servesPort(port))
+            && routingPolicyService.isLocalHost(addr.getHost());
+    }
+
+    public boolean isRegistered(String cell) {
+        return cell != null && registry.getCellClass(cell).isPresent();
+    }
+
+    /**
+     * This node as an address of {@code cell}: its own server when one is running, otherwise
+     * the main server. Null until the main server has started.
+     */
+    public CellAddress localAddress(String cell) {
+        Integer running = serverManager.getCellStatus(cell)
+            .filter(CellRuntimeStatus::running)
+            .map(CellRuntimeStatus::runningPort)
+            .orElse(null);
+        int port = running != null ? running : serverPort;
+        return port > 0 ? new CellAddress(null, cell, HoneycombConstants.Hosts.LOCALHOST, port) : null;
+    }
+
+    /**
+     * Whether {@link #invokeShared} can answer this call exactly as the HTTP endpoint would; the
+     * endpoint reads a body with another content type as raw text, which only HTTP does.
+     */
+    public boolean handlesShared(byte[] body, MediaType contentType) {
+        return body == null || body.length == 0 || isJson(contentType);
+    }
+
+    /**
+     * Whether {@code method} and {@code path} name one of the item routes of {@code cell}.
+     */
+    public boolean handlesStore(String cell, String method, String path, MediaType contentType) {
+        String[] route = itemRoute(cell, path);
+        if (route == null) return false;
+        boolean hasId = route.length == 3;
+        return switch (method) {
+            case HoneycombConstants.HttpMethods.GET -> true;
+            case HoneycombConstants.HttpMethods.POST -> !hasId && isJson(contentType);
+            case HoneycombConstants.HttpMethods.PUT -> hasId && isJson(contentType);
+            case HoneycombConstants.HttpMethods.DELETE -> hasId;
+            default -> false;
+        };
+    }
+
+    /**
+     * {@code POST /honeycomb/shared/{method}} without leaving the process. The body of the
+     * returned entity is the JSON text the endpoint would have written.
+     */
+    public Mono<ResponseEntity<String>> invokeShared(String methodName, MultiValueMap<String, String> headers,
+                                                     byte[] body) {
+        ResponseEntity<String> keyDenied = checkApiKey(null, headers);
+        if (keyDenied != null) return Mono.just(keyDenied);
+        // RateLimitFilter finds no cell in /honeycomb/shared/**, so only the concurrency limit applies
+        return concurrencyFilter.limit(HoneycombConstants.ConcurrencyLimits.SCOPE_SHARED,
+            authorizeShared(methodName).flatMap(denied -> denied.isPresent()
+                ? Mono.just(denied.get())
+                : sharedCall(methodName, headers, body)));
+    }
+
+    /**
+     * One of the item routes accepted by {@link #handlesStore}, through the same controller
+     * methods as the HTTP route.
+     */
+    public Mono<ResponseEntity<String>> store(String cell, String method, String path,
+                                              MultiValueMap<String, String> headers, byte[] body,
+                                              ServerWebExchange exchange) {
+        String operation = switch (method) {
+            case HoneycombConstants.HttpMethods.POST -> HoneycombConstants.Ops.CREATE;
+            case HoneycombConstants.HttpMethods.PUT -> HoneycombConstants.Ops.UPDATE;
+            case HoneycombConstants.HttpMethods.DELETE -> HoneycombConstants.Ops.DELETE;
+            default -> HoneycombConstants.Ops.READ;
+        };
+        ResponseEntity<String> keyDenied = checkApiKey(cell, headers);
+        if (keyDenied != null) return Mono.just(keyDenied);
+        // AdaptiveConcurrencyFilter has no scope for /honeycomb/models/**, so only the cell's rate limit applies
+        return rateLimitFilter.limit(cell,
+            authorizeStore(cell, operation, headers).flatMap(denied -> denied.isPresent()
+                ? Mono.just(denied.get())
+                : storeCall(cell, method, itemRoute(cell, path), body, exchange)));
+    }
+
+    /**
+     * Whether the current caller would get past {@code /honeycomb/shared/**} for
+     * {@code methodName}: the shared invoker role and the method's JWT roles. A transport that
+     * does not carry the caller's credentials to the target may only be used when this holds.
+     */
+    public Mono<Boolean> authorizesShared(String methodName) {
+        return authorizeShared(methodName).map(Optional::isEmpty);
+    }
+
+    private Mono<ResponseEntity<String>> sharedCall(String methodName, MultiValueMap<String, String> headers,
+                                                    byte[] body) {
+        if (methodCache.getCandidates(methodName).isEmpty()) {
+            return Mono.just(json(HttpStatus.NOT_FOUND, Map.of(HoneycombConstants.JsonKeys.ERROR,
+                HoneycombConstants.ErrorKeys.NO_SHARED_METHOD
+                    + HoneycombConstants.Names.SEPARATOR_COLON
+                    + HoneycombConstants.Messages.SPACE
+                    + methodName)));
+        }
+        return sharedDispatcher.invokeShared(methodName, headers, body)
+            .map(result -> json(HttpStatus.OK, result))
+            .onErrorResume(e -> Mono.just(error(e)));
+    }
+
+    private Mono<ResponseEntity<String>> storeCall(String cell, String method, String[] route, byte[] body,
+                                                   ServerWebExchange exchange) {
+        String id = route.length == 3 ? route[2] : null;
+        Mono<? extends ResponseEntity<?>> result;
+        try {
+            result = switch (method) {
+                case HoneycombConstants.HttpMethods.POST -> storeController.createItem(cell, item(body), exchange);
+                case HoneycombConstants.HttpMethods.PUT -> storeController.updateItem(cell, id, item(body), exchange);
+                case HoneycombConstants.HttpMethods.DELETE -> storeController.deleteItem(cell, id);
+                default -> id != null
+                    ? storeController.getItem(cell, id)
+                    : storeController.listItems(cell).collectList().<ResponseEntity<?>>map(ResponseEntity::ok);
+            };
+        } catch (IOException ex) {
+            return Mono.just(entity(errorHandler.handleBadRequest(new IllegalArgumentException(ex.getMessage(), ex))));
+        }
+        return result.map(this::entity).onErrorResume(e -> Mono.just(error(e)));
+    }
+
+    /**
+     * What Spring Security and the JWT filter would reject on {@code /honeycomb/shared/**}, once
+     * the API key has passed: a caller without the shared invoker role, and the method's JWT roles.
+     */
+    private Mono<Optional<ResponseEntity<String>>> authorizeShared(String methodName) {
+        return currentAuthentication().map(current -> {
+            Authentication auth = current.orElse(null);
+            if (!isAuthenticated(auth)) {
+                return Optional.of(ResponseEntity.status(HttpStatus.UNAUTHORIZED).<String>build());
+            }
+            if (!hasAnyAuthority(auth, List.of(HoneycombConstants.SecurityDefaults.ROLE_PREFIX
+                    + HoneycombConstants.Roles.SHARED_INVOKER))) {
+                return Optional.of(ResponseEntity.status(HttpStatus.FORBIDDEN).<String>build());
+            }
+            var jwt = securityProperties.getJwt();
+            List<String> required = jwt == null || !jwt.isEnabled() ? null : jwt.resolveSharedMethodRoles(methodName);
+            return rolesDenied(auth, required);
+        });
+    }
+
+    /**
+     * Same as {@link #authorizeShared} for the item routes, once the API key has passed for the
+     * cell: {@code require-auth} applies, and the JWT roles of the cell and operation.
+     */
+    private Mono<Optional<ResponseEntity<String>>> authorizeStore(String cell, String operation,
+                                                                  MultiValueMap<String, String> headers) {
+        Optional<Authentication> byKey = apiKeyAuthentication(headers);
+        Mono<Optional<Authentication>> auth = byKey.isPresent() ? Mono.just(byKey) : currentAuthentication();
+        return auth.map(current -> {
+            Authentication a = current.orElse(null);
+            if (securityProperties.isRequireAuth() && !isAuthenticated(a)) {
+                return Optional.of(ResponseEntity.status(HttpStatus.UNAUTHORIZED).<String>build());
+            }
+            var jwt = securityProperties.getJwt();
+            List<String> required = jwt == null || !jwt.isEnabled() ? null : jwt.resolveRequiredRoles(cell, operation);
+            return rolesDenied(a, required);
+        });
+    }
+
+    /**
+     * {@link ApiKeyAuthFilter}: requests with an {@code Authorization} header are left to Spring
+     * Security; otherwise the key must be known and, for a cell route, allowed for that cell.
+     */
+    private ResponseEntity<String> checkApiKey(String cell, MultiValueMap<String, String> headers) {
+        var apiKeys = securityProperties.getApiKeys();
+        if (!apiKeys.isEnabled() || hasAuthorization(headers)) return null;
+        String key = headers.getFirst(Objects.requireNonNullElse(apiKeys.getHeader(), HoneycombConstants.Headers.API_KEY));
+        if (key == null || key.isBlank()) {
+            return json(HttpStatus.UNAUTHORIZED, Map.of(HoneycombConstants.JsonKeys.ERROR, HoneycombConstants.ErrorKeys.MISSING_API_KEY));
+        }
+        if (!apiKeys.isKnownKey(key)) {
+            return json(HttpStatus.UNAUTHORIZED, Map.of(HoneycombConstants.JsonKeys.ERROR, HoneycombConstants.ErrorKeys.INVALID_API_KEY));
+        }
+        if (cell == null) return null;
+        List<String> allowed = apiKeys.resolveAllowedKeys(cell);
+        if (!allowed.isEmpty() && allowed.stream().noneMatch(k -> k.equals(key))) {
+            return json(HttpStatus.UNAUTHORIZED, Map.of(HoneycombConstants.JsonKeys.ERROR, HoneycombConstants.ErrorKeys.CELL_ACCESS_DENIED));
+        }
+        return null;
+    }
+
+    /**
+     * The authentication {@link ApiKeyAuthFilter} would install for a cell route authorized by key.
+     */
+    private Optional<Authentication> apiKeyAuthentication(MultiValueMap<String, String> headers) {
+        var apiKeys = securityProperties.getApiKeys();
+        if (!apiKeys.isEnabled() || hasAuthorization(headers)) return Optional.empty();
+        String key = headers.getFirst(Objects.requireNonNullElse(apiKeys.getHeader(), HoneycombConstants.Headers.API_KEY));
+        return Optional.of(new UsernamePasswordAuthenticationToken("api-key", key,
+            List.of(new SimpleGrantedAuthority(HoneycombConstants.Roles.API_KEY))));
+    }
+
+    /**
+     * {@link com.example.honeycomb.security.JwtCellAccessFilter#filter}: an unauthenticated
+     * caller is left alone, anyone else needs one of the required roles.
+     */
+    private static Optional<ResponseEntity<String>> rolesDenied(Authentication auth, List<String> required) {
+        if (required == null || required.isEmpty() || auth == null || !auth.isAuthenticated()
+                || hasAnyAuthority(auth, required)) {
+            return Optional.empty();
+        }
+        return Optional.of(ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"" + HoneycombConstants.JsonKeys.ERROR + "\":\"" + HoneycombConstants.ErrorKeys.INSUFFICIENT_ROLES + "\"}"));
+    }
+
+    // the caller's headers travel with the call, so its authentication is what a loopback would resolve
+    private Mono<Optional<Authentication>> currentAuthentication() {
+        return ReactiveSecurityContextHolder.getContext()
+            .mapNotNull(SecurityContext::getAuthentication)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty());
+    }
+
+    private static boolean isAuthenticated(Authentication auth) {
+        return auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken);
+    }
+
+    private static boolean hasAnyAuthority(Authentication auth, List<String> required) {
+        return auth.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .anyMatch(required::contains);
+    }
+
+    private static boolean hasAuthorization(MultiValueMap<String, String> headers) {
+        String authorization = headers.getFirst(HoneycombConstants.Headers.AUTHORIZATION);
+        return authorization != null && !authorization.isBlank();
+    }
+
+    /**
+     * {@code [cell, items]} or {@code [cell, items, id]} for an item route of {@code cell}, else null.
+     */
+    private static String[] itemRoute(String cell, String path) {
+        String prefix = HoneycombConstants.Paths.HONEYCOMB_MODELS + HoneycombConstants.Names.SEPARATOR_SLASH;
+        if (cell == null || path == null || !path.startsWith(prefix) || path.indexOf('?') >= 0) return null;
+        String[] route = path.substring(prefix.length()).split(HoneycombConstants.Names.SEPARATOR_SLASH, -1);
+        if (route.length < 2 || route.length > 3
+                || !route[0].equals(cell)
+                || !HoneycombConstants.Paths.ITEMS.equals(route[1])
+                || (route.length == 3 && route[2].isBlank())) {
+            return null;
+        }
+        return route;
+    }
+
+    private Map<String, Object> item(byte[] body) throws IOException {
+        Map<String, Object> item = objectMapper.readValue(body, ITEM_TYPE);
+        if (item == null) throw new IOException(HoneycombConstants.ErrorKeys.JSON_DESERIALIZE_ERROR);
+        return item;
+    }
+
+    private static boolean isJson(MediaType contentType) {
+        return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+    }
+
+    /**
+     * The status and body {@link ErrorHandlerAdvice} would produce for a failed handler.
+     */
+    private ResponseEntity<String> error(Throwable e) {
+        if (e instanceof IllegalArgumentException ex) return entity(errorHandler.handleBadRequest(ex));
+        if (e instanceof ConstraintViolationException ex) return entity(errorHandler.handleValidation(ex));
+        if (e instanceof CallNotPermittedException ex) return entity(errorHandler.handleCircuitOpen(ex));
+        if (e instanceof RequestNotPermitted ex) return entity(errorHandler.handleRateLimited(ex));
+        if (e instanceof SharedBulkheadFullException ex) return entity(errorHandler.handleBulkheadFull(ex));
+        if (e instanceof TimeoutException ex) return entity(errorHandler.handleTimeout(ex));
+        return entity(errorHandler.handleGeneric(e instanceof Exception ex ? ex : new IllegalStateException(e)));
+    }
+
+    private ResponseEntity<String> entity(ResponseEntity<?> response) {
+        if (!response.hasBody()) {
+            return ResponseEntity.status(response.getStatusCode()).build();
+        }
+        return ResponseEntity.status(response.getStatusCode())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(text(response.getBody()));
+    }
+
+    private ResponseEntity<String> json(HttpStatus status, Object body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(text(body));
+    }
+
+    private String text(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.example.honeycomb.service.RequestMetricsService;
 import com.example.honeycomb.util.HoneycombConstants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
@@ -16,10 +18,14 @@ import java.util.Map;
 public class MetricsController {
     private final RequestMetricsService metricsService;
     private final com.example.honeycomb.service.SharedwallMethodCache sharedwallMethodCache;
+    private final com.example.honeycomb.service.SharedResultCache sharedResultCache;
 
-    public MetricsController(RequestMetricsService metricsService, com.example.honeycomb.service.SharedwallMethodCache sharedwallMethodCache) {
+    public MetricsController(RequestMetricsService metricsService,
+                             com.example.honeycomb.service.SharedwallMethodCache sharedwallMethodCache,
+                             com.example.honeycomb.service.SharedResultCache sharedResultCache) {
         this.metricsService = metricsService;
         this.sharedwallMethodCache = sharedwallMethodCache;
+        this.sharedResultCache = sharedResultCache;
     }
 
     @Operation(summary = HoneycombConstants.Docs.METRICS_CELL_COUNTS)
@@ -32,7 +38,28 @@ public class MetricsController {
     public Map<String, Object> sharedCacheStats() {
         return Map.of(
             "methodCount", sharedwallMethodCache.getMethodCount(),
-            "buildDurationMs", sharedwallMethodCache.getBuildDurationMs()
+            "buildDurationMs", sharedwallMethodCache.getBuildDurationMs(),
+            "perfectHash", sharedwallMethodCache.isPerfectHash()
         );
     }
+
+    @GetMapping(HoneycombConstants.Names.SEPARATOR_SLASH + HoneycombConstants.Paths.SHARED_RESULTS)
+    public Map<String, Object> sharedResultStats() {
+        return Map.of(
+            "entries", sharedResultCache.size(),
+            "hits", sharedResultCache.getHits(),
+            "misses", sharedResultCache.getMisses(),
+            "hitRatio", sharedResultCache.getHitRatio()
+        );
+    }
+
+    /**
+     * Purge cached shared results for one alias, or all of them when no method is given.
+     * Emptying the cache turns it off until it refills, so this needs the actuator role
+     * (see {@link com.example.honeycomb.security.SecurityConfig}).
+     */
+    @DeleteMapping(HoneycombConstants.Names.SEPARATOR_SLASH + HoneycombConstants.Paths.SHARED_RESULTS)
+    public Map<String, Object> purgeSharedResults(@RequestParam(name = "method", required = false) String method) {
+        return Map.of("purged", sharedResultCache.purge(method));
+    }
 }
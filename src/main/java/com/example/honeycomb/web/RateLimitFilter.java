@@ -4,10 +4,12 @@ import com.example.honeycomb.config.HoneycombRateLimiterProperties;
 import com.example.honeycomb.util.HoneycombConstants;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -45,8 +47,7 @@ public class RateLimitFilter implements WebFilter {
         if (cell == null || cell.isBlank()) {
             return chain.filter(exchange);
         }
-        String key = cell;
-        RateLimiter limiter = limiters.computeIfAbsent(key, k -> buildLimiter(cell));
+        RateLimiter limiter = limiter(cell);
         return chain.filter(exchange)
                 .transformDeferred(RateLimiterOperator.of(limiter))
                 .onErrorResume(ex -> {
@@ -55,6 +56,24 @@ public class RateLimitFilter implements WebFilter {
                 });
     }
 
+    /**
+     * The limiter of {@code cell} around a request served without an HTTP exchange, such as an
+     * inter-cell call answered in-process. It shares permits with requests through this filter,
+     * and a refused call is a 429 with no body, as here.
+     */
+    public Mono<ResponseEntity<String>> limit(String cell, Mono<ResponseEntity<String>> call) {
+        if (!props.isEnabled() || cell == null || cell.isBlank()) {
+            return call;
+        }
+        return call.transformDeferred(RateLimiterOperator.of(limiter(cell)))
+                .onErrorResume(RequestNotPermitted.class,
+                        ex -> Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build()));
+    }
+
+    private RateLimiter limiter(String cell) {
+        return limiters.computeIfAbsent(cell, k -> buildLimiter(cell));
+    }
+
     private RateLimiter buildLimiter(String cell) {
         HoneycombRateLimiterProperties.RateLimitConfig cfg = props.resolve(cell);
         RateLimiterConfig config = RateLimiterConfig.custom()
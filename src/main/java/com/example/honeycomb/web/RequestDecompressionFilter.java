@@ -0,0 +1,127 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import com.example.honeycomb.util.HoneycombConstants;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Accepts {@code gzip} and {@code deflate} request bodies, which other cells send when
+ * {@code honeycomb.interaction.compression.compress-requests} is on. The body is inflated when the
+ * handler reads it, and {@code Content-Encoding} / {@code Content-Length} are dropped so everything
+ * downstream sees a plain request. Other codings are refused with 415. This runs regardless of
+ * {@code compression.enabled}, so senders can be switched on after every node is upgraded.
+ * <p>
+ * The compressed body is buffered before it is inflated, so it is capped as well: a body that
+ * inflates to {@code max-inflated-request-size} is never larger than that plus deflate's overhead
+ * for stored blocks, and anything past that is rejected with 413 before it is held in memory.
+ */
+@Component
+@SuppressWarnings("null")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestDecompressionFilter implements WebFilter {
+    private final HoneycombInteractionProperties.Compression props;
+
+    public RequestDecompressionFilter(HoneycombInteractionProperties properties) {
+        this.props = properties.getCompression();
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (header == null || header.isBlank()) {
+            return chain.filter(exchange);
+        }
+        String coding = header.trim().toLowerCase(Locale.ROOT);
+        if (coding.equals(HoneycombConstants.ContentEncodings.IDENTITY)) {
+            return chain.filter(exchange);
+        }
+        if (!isSupported(coding)) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+            exchange.getResponse().getHeaders().set(HttpHeaders.ACCEPT_ENCODING,
+                HoneycombConstants.ContentEncodings.GZIP + HoneycombConstants.Names.SEPARATOR_COMMA
+                    + HoneycombConstants.ContentEncodings.DEFLATE);
+            return exchange.getResponse().setComplete();
+        }
+        ServerHttpRequest plain = exchange.getRequest().mutate()
+            .headers(h -> {
+                h.remove(HttpHeaders.CONTENT_ENCODING);
+                h.remove(HttpHeaders.CONTENT_LENGTH);
+            })
+            .build();
+        int limit = Math.max(0, Math.min(props.getMaxInflatedRequestSize(), Integer.MAX_VALUE - 1));
+        int compressedLimit = compressedLimit(limit);
+        ServerHttpRequest inflating = new ServerHttpRequestDecorator(plain) {
+            @Override
+            @NonNull
+            public Flux<DataBuffer> getBody() {
+                return DataBufferUtils.join(super.getBody(), compressedLimit)
+                    .onErrorMap(DataBufferLimitException.class, ex -> new ResponseStatusException(
+                        HttpStatus.PAYLOAD_TOO_LARGE, HoneycombConstants.ErrorKeys.COMPRESSED_BODY_TOO_LARGE, ex))
+                    .map(buffer -> {
+                        try {
+                            return exchange.getResponse().bufferFactory().wrap(inflate(buffer, coding, limit));
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .flux();
+            }
+        };
+        return chain.filter(exchange.mutate().request(inflating).build());
+    }
+
+    private static boolean isSupported(String coding) {
+        return coding.equals(HoneycombConstants.ContentEncodings.GZIP)
+            || coding.equals(HoneycombConstants.ContentEncodings.X_GZIP)
+            || coding.equals(HoneycombConstants.ContentEncodings.DEFLATE);
+    }
+
+    /**
+     * Largest compressed form of a body of {@code limit} bytes: incompressible data is sent in
+     * stored blocks of at most 64 KiB with 5 bytes of framing each, plus the gzip header and trailer.
+     */
+    static int compressedLimit(int limit) {
+        long overhead = (limit >> 12) + 64;
+        return (int) Math.min(Integer.MAX_VALUE, limit + overhead);
+    }
+
+    static byte[] inflate(DataBuffer buffer, String coding, int limit) {
+        try (InputStream in = coding.equals(HoneycombConstants.ContentEncodings.DEFLATE)
+                ? new InflaterInputStream(buffer.asInputStream())
+                : new GZIPInputStream(buffer.asInputStream())) {
+            // read one byte past the limit to tell "exactly at the limit" from "over it"
+            byte[] body = in.readNBytes(limit + 1);
+            if (body.length > limit) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    HoneycombConstants.ErrorKeys.INFLATED_BODY_TOO_LARGE);
+            }
+            return body;
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                HoneycombConstants.ErrorKeys.INVALID_CONTENT_ENCODING, ex);
+        }
+    }
+}
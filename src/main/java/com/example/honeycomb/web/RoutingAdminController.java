@@ -0,0 +1,91 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.service.AuditLogService;
+import com.example.honeycomb.service.CellRegistry;
+import com.example.honeycomb.service.RoutingPolicyService;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping(HoneycombConstants.Paths.HONEYCOMB_ROUTING)
+@Tag(name = HoneycombConstants.Docs.TAG_ROUTING_ADMIN,
+    description = HoneycombConstants.Docs.TAG_ROUTING_ADMIN_DESC)
+@Validated
+public class RoutingAdminController {
+    private final CellRegistry registry;
+    private final RoutingPolicyService routingPolicyService;
+    private final AuditLogService auditLogService;
+
+    public RoutingAdminController(CellRegistry registry, RoutingPolicyService routingPolicyService,
+                                  AuditLogService auditLogService) {
+        this.registry = registry;
+        this.routingPolicyService = routingPolicyService;
+        this.auditLogService = auditLogService;
+    }
+
+    @Operation(summary = HoneycombConstants.Docs.ROUTING_WEIGHTS_GET)
+    @ApiResponses({
+            @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_200,
+                description = HoneycombConstants.Docs.ROUTING_WEIGHTS_DESC),
+            @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_404,
+                description = HoneycombConstants.Docs.CELL_ADMIN_NOT_FOUND_DESC)
+    })
+    @GetMapping(HoneycombConstants.Paths.WEIGHTS_NAME)
+    public Mono<ResponseEntity<Map<String, Integer>>> getWeights(@PathVariable String name) {
+        if (registry.getCellClass(name).isEmpty()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        return Mono.just(ResponseEntity.ok(routingPolicyService.weightsFor(name)));
+    }
+
+    @Operation(summary = HoneycombConstants.Docs.ROUTING_WEIGHTS_PUT)
+    @ApiResponses({
+            @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_200,
+                description = HoneycombConstants.Docs.ROUTING_WEIGHTS_DESC),
+            @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_400,
+                description = HoneycombConstants.Docs.ROUTING_WEIGHTS_INVALID_DESC),
+            @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_404,
+                description = HoneycombConstants.Docs.CELL_ADMIN_NOT_FOUND_DESC)
+    })
+    @PutMapping(HoneycombConstants.Paths.WEIGHTS_NAME)
+    public Mono<ResponseEntity<Map<String, Object>>> putWeights(@PathVariable String name,
+                                                                @RequestBody Map<String, Integer> weights) {
+        if (registry.getCellClass(name).isEmpty()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        boolean valid = weights.values().stream().allMatch(w -> w != null && w >= 1);
+        if (!valid) {
+            auditLogService.record(HoneycombConstants.Audit.ACTOR_SYSTEM, HoneycombConstants.Audit.ACTION_ROUTING_WEIGHTS, name, HoneycombConstants.Status.ERROR, Map.of(HoneycombConstants.JsonKeys.REASON, HoneycombConstants.ErrorKeys.INVALID_WEIGHT));
+            return Mono.just(ResponseEntity.badRequest().body(Map.of(HoneycombConstants.JsonKeys.ERROR, HoneycombConstants.ErrorKeys.INVALID_WEIGHT)));
+        }
+        routingPolicyService.setWeights(name, weights);
+        auditLogService.record(HoneycombConstants.Audit.ACTOR_SYSTEM, HoneycombConstants.Audit.ACTION_ROUTING_WEIGHTS, name, HoneycombConstants.Status.OK, Map.<String, Object>copyOf(weights));
+        return Mono.just(ResponseEntity.ok(Map.<String, Object>copyOf(routingPolicyService.weightsFor(name))));
+    }
+
+    @Operation(summary = HoneycombConstants.Docs.ROUTING_WEIGHTS_DELETE)
+    @ApiResponses({
+            @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_200,
+                description = HoneycombConstants.Docs.ROUTING_WEIGHTS_DESC),
+            @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_404,
+                description = HoneycombConstants.Docs.CELL_ADMIN_NOT_FOUND_DESC)
+    })
+    @DeleteMapping(HoneycombConstants.Paths.WEIGHTS_NAME)
+    public Mono<ResponseEntity<Map<String, Integer>>> deleteWeights(@PathVariable String name) {
+        if (registry.getCellClass(name).isEmpty()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        boolean cleared = routingPolicyService.clearWeights(name);
+        auditLogService.record(HoneycombConstants.Audit.ACTOR_SYSTEM, HoneycombConstants.Audit.ACTION_ROUTING_WEIGHTS, name, cleared ? HoneycombConstants.Status.OK : HoneycombConstants.Status.NOOP, Map.of());
+        return Mono.just(ResponseEntity.ok(routingPolicyService.weightsFor(name)));
+    }
+}
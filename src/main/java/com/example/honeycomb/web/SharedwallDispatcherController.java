@@ -1,16 +1,23 @@
 package com.example.honeycomb.web;
 
+import com.example.honeycomb.annotations.SharedExecution;
 import com.example.honeycomb.annotations.Sharedwall;
+import jakarta.annotation.PreDestroy;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import org.springframework.http.MediaType;
@@ -19,13 +26,26 @@ import reactor.core.scheduler.Schedulers;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
 import com.example.honeycomb.util.HoneycombConstants;
 
@@ -36,26 +56,57 @@ import com.example.honeycomb.util.HoneycombConstants;
 @SuppressWarnings("null")
 public class SharedwallDispatcherController {
     private static final Logger log = LoggerFactory.getLogger(SharedwallDispatcherController.class);
+    private static final int INITIAL_RESPONSE_BUFFER_SIZE = 512;
     private final ObjectMapper objectMapper;
     private final com.example.honeycomb.service.SharedwallMethodCache methodCache;
+    private final com.example.honeycomb.service.SharedBulkheadRegistry bulkheads;
+    private final com.example.honeycomb.service.SharedResultCache resultCache;
     private final Scheduler sharedScheduler;
+    private final Scheduler blockingScheduler;
+    private final boolean ownsScheduler;
     private final double logSampleRate;
+    private final int maxBatchEntries;
+    private final com.example.honeycomb.config.HoneycombSecurityProperties securityProperties;
 
     public SharedwallDispatcherController(ObjectMapper objectMapper,
                                           com.example.honeycomb.service.SharedwallMethodCache methodCache,
+                                          com.example.honeycomb.service.SharedBulkheadRegistry bulkheads,
+                                          com.example.honeycomb.service.SharedResultCache resultCache,
+                                          com.example.honeycomb.config.HoneycombSecurityProperties securityProperties,
                                           @Value("${honeycomb.shared.scheduler:boundedElastic}") String schedulerType,
                                           @Value("${honeycomb.shared.log-sample-rate:0.1}") double logSampleRate,
+                                          @Value("${honeycomb.shared.batch.max-entries:50}") int maxBatchEntries,
                                           io.micrometer.core.instrument.MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
         this.methodCache = methodCache;
-        this.sharedScheduler = "parallel".equalsIgnoreCase(schedulerType) ? Schedulers.parallel() : Schedulers.boundedElastic();
+        this.bulkheads = bulkheads;
+        this.resultCache = resultCache;
+        if ("virtual".equalsIgnoreCase(schedulerType)) {
+            // one virtual thread per invocation: blocking shared methods park cheaply instead of queueing
+            this.sharedScheduler = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "honeycomb-shared-virtual");
+            this.ownsScheduler = true;
+        } else {
+            this.sharedScheduler = "parallel".equalsIgnoreCase(schedulerType) ? Schedulers.parallel() : Schedulers.boundedElastic();
+            this.ownsScheduler = false;
+        }
+        // parallel workers must never block, so BLOCKING methods fall back to boundedElastic there
+        this.blockingScheduler = "parallel".equalsIgnoreCase(schedulerType) ? Schedulers.boundedElastic() : sharedScheduler;
         this.logSampleRate = logSampleRate;
+        this.securityProperties = securityProperties;
+        this.maxBatchEntries = maxBatchEntries;
         this.meterRegistry = meterRegistry;
         this.invocationTimer = meterRegistry.timer("honeycomb.shared.invocation.latency");
     }
     private final io.micrometer.core.instrument.Timer invocationTimer;
     private final io.micrometer.core.instrument.MeterRegistry meterRegistry;
 
+    @PreDestroy
+    public void shutdown() {
+        if (ownsScheduler) {
+            sharedScheduler.dispose();
+        }
+    }
+
         /**
          * Generic entrypoint that invokes local methods marked with `@Sharedwall`.
          * Supported method signatures: () , (String) , (byte[]).
@@ -72,22 +123,23 @@ public class SharedwallDispatcherController {
             @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_500, description = HoneycombConstants.Docs.SHARED_ERROR)
     })
     @PostMapping("/{methodName}")
-    public Mono<ResponseEntity<Map<String,Object>>> dispatch(
+    public Mono<ResponseEntity<DataBuffer>> dispatch(
             @Parameter(description = HoneycombConstants.Docs.SHARED_METHOD_PARAM)
             @PathVariable String methodName,
             @RequestHeader MultiValueMap<String, String> headers,
-            @RequestBody(required = false) Mono<byte[]> bodyMono
+            @RequestBody(required = false) Mono<byte[]> bodyMono,
+            ServerWebExchange exchange
     ) {
         logSampledDebug(HoneycombConstants.Messages.DISPATCH_SHARED_DEBUG, methodName, headers, bodyMono);
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+        // the lookup is a map read; it runs on the subscribing thread
         return Mono.fromCallable(() -> methodCache.getCandidates(methodName))
-                .subscribeOn(sharedScheduler)
                 .flatMap(candidates -> {
                     logSampledDebug("Found {} shared candidates for method {}", candidates.size(), methodName);
                     if (candidates.isEmpty()) {
                     logSampledInfo(HoneycombConstants.Messages.SHARED_METHOD_NOT_FOUND, methodName);
-                    return Mono.just(ResponseEntity.status(404)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(Map.of(HoneycombConstants.JsonKeys.ERROR,
+                    return Mono.fromCallable(() -> encodeResponse(bufferFactory, HttpStatus.NOT_FOUND, methodName,
+                        Map.of(HoneycombConstants.JsonKeys.ERROR,
                             HoneycombConstants.ErrorKeys.NO_SHARED_METHOD
                                 + HoneycombConstants.Names.SEPARATOR_COLON
                                 + HoneycombConstants.Messages.SPACE
@@ -96,8 +148,10 @@ public class SharedwallDispatcherController {
 
                     String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
                     boolean expectsJson = contentType != null && contentType.toLowerCase().contains(MediaType.APPLICATION_JSON_VALUE);
-                    return bodyMono.defaultIfEmpty(new byte[0]).flatMap(body ->
-                            Mono.fromCallable(() -> {
+                    Scheduler parseScheduler = dispatchScheduler(candidates);
+                    // one bulkhead permit per request for this alias; a full bulkhead fails fast with 503
+                    return bulkheads.execute(methodName, bulkheadAnnotation(candidates), bodyMono.defaultIfEmpty(new byte[0]).flatMap(body ->
+                            onScheduler(Mono.fromCallable(() -> {
                                         try {
                                             logSampledDebug("parsing body for {} (len={})", methodName, body == null ? 0 : body.length);
                                             if (!expectsJson) {
@@ -109,8 +163,7 @@ public class SharedwallDispatcherController {
                                             logSampledDebug("parse error for {}: {}", methodName, message);
                                             return com.fasterxml.jackson.databind.node.TextNode.valueOf("__PARSE_ERROR__:" + message);
                                         }
-                                    })
-                                    .subscribeOn(sharedScheduler)
+                                    }), parseScheduler)
                                     .flatMap(rootNode -> {
                                         logSampledDebug("rootNode for {}: {}", methodName, rootNode);
                                         // if parsing failed, short-circuit and return a JSON-deserialize error per-candidate
@@ -124,36 +177,301 @@ public class SharedwallDispatcherController {
                                                             + HoneycombConstants.Messages.SPACE
                                                             + emsg
                                             ));
-                                            return Mono.just(ResponseEntity.ok()
-                                                    .contentType(MediaType.APPLICATION_JSON)
-                                                    .body(bodyMap));
+                                            return Mono.fromCallable(() -> encodeResponse(bufferFactory, HttpStatus.OK, methodName, bodyMap));
                                         }
-                                        List<Mono<AbstractMap.SimpleEntry<String, Object>>> calls = candidates.stream()
-                                                .map(c -> {
-                                                    logSampledDebug("scheduling invocation for {}.{}", c.getBean().getClass().getSimpleName(), c.getMethod().getName());
-                                                    return invokeCandidate(c, headers, body, rootNode);
-                                                })
-                                                .collect(Collectors.toList());
-
-                                        return Flux.mergeSequential(calls).collectList().flatMap(list -> {
-                                            Map<String,Object> aggregated = list.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                                            logSampledDebug("Shared dispatch aggregated result for {}: {}", methodName, aggregated);
-                                            return Mono.fromCallable(() -> objectMapper.writeValueAsString(aggregated))
-                                                .subscribeOn(sharedScheduler)
-                                                .doOnNext(s -> logSampledDebug("Serialized response for {}: {}", methodName, s))
-                                                    .thenReturn(ResponseEntity.ok()
-                                                            .contentType(MediaType.APPLICATION_JSON)
-                                                            .body(aggregated));
-                                        });
-                                    }));
+                                        // encode once on the thread that completed aggregation; no extra scheduler hop
+                                        return invokeAll(methodName, candidates, headers, body, rootNode)
+                                                .map(aggregated -> encodeResponse(bufferFactory, HttpStatus.OK, methodName, aggregated));
+                                    })));
+                });
+    }
+
+    /**
+     * Several shared calls in one request: auth, rate limiting and request-ID handling are
+     * paid once, and entries run concurrently through the same candidate, bulkhead and
+     * result-cache path as {@link #dispatch}. Each entry binds {@code args} exactly like a
+     * single call's JSON body.
+     */
+    @Operation(
+            summary = HoneycombConstants.Docs.SHARED_BATCH_SUMMARY,
+            description = HoneycombConstants.Docs.SHARED_BATCH_DESC
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_200, description = HoneycombConstants.Docs.SHARED_OK),
+            @ApiResponse(responseCode = HoneycombConstants.Swagger.RESP_400, description = HoneycombConstants.Docs.SHARED_BATCH_INVALID)
+    })
+    @PostMapping(HoneycombConstants.Paths.SHARED_BATCH)
+    public Mono<ResponseEntity<DataBuffer>> batch(
+            @RequestHeader MultiValueMap<String, String> headers,
+            @RequestBody(required = false) Mono<byte[]> bodyMono,
+            ServerWebExchange exchange
+    ) {
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+        return parseBatch(bodyMono).flatMap(entries -> {
+            if (entries.isInvalid()) {
+                return Mono.fromCallable(() -> encodeResponse(bufferFactory, HttpStatus.BAD_REQUEST,
+                        HoneycombConstants.Paths.SHARED_BATCH, batchError(entries)));
+            }
+            // request order is kept; entries still run concurrently
+            return Flux.fromIterable(entries.get())
+                    .flatMapSequential(entry -> invokeBatchEntry(entry, headers), entries.get().size())
+                    .collectList()
+                    .map(results -> encodeResponse(bufferFactory, HttpStatus.OK, HoneycombConstants.Paths.SHARED_BATCH,
+                            Map.of(HoneycombConstants.JsonKeys.RESULTS, results)));
+        });
+    }
+
+    /**
+     * Streaming variant of {@link #batch}: one NDJSON line per entry, written as soon as that
+     * entry completes, so a slow method does not hold back the others.
+     */
+    @Operation(
+            summary = HoneycombConstants.Docs.SHARED_BATCH_SUMMARY,
+            description = HoneycombConstants.Docs.SHARED_BATCH_DESC
+    )
+    @PostMapping(value = HoneycombConstants.Paths.SHARED_BATCH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Map<String, Object>>>> batchStream(
+            @RequestHeader MultiValueMap<String, String> headers,
+            @RequestBody(required = false) Mono<byte[]> bodyMono
+    ) {
+        return parseBatch(bodyMono).map(entries -> {
+            if (entries.isInvalid()) {
+                return ResponseEntity.badRequest()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(Flux.just(batchError(entries)));
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(Flux.fromIterable(entries.get())
+                            .flatMap(entry -> invokeBatchEntry(entry, headers), entries.get().size()));
+        });
+    }
+
+    private Mono<BatchRequest> parseBatch(Mono<byte[]> bodyMono) {
+        return bodyMono.defaultIfEmpty(new byte[0])
+                .map(body -> {
+                    JsonNode root;
+                    try {
+                        root = body.length == 0 ? null : objectMapper.readTree(body);
+                    } catch (IOException ex) {
+                        return BatchRequest.invalid(HoneycombConstants.ErrorKeys.INVALID_BATCH);
+                    }
+                    if (root == null || !root.isArray() || root.isEmpty()) {
+                        return BatchRequest.invalid(HoneycombConstants.ErrorKeys.INVALID_BATCH);
+                    }
+                    if (root.size() > maxBatchEntries) {
+                        return BatchRequest.invalid(HoneycombConstants.ErrorKeys.BATCH_TOO_LARGE);
+                    }
+                    List<BatchEntry> entries = new ArrayList<>(root.size());
+                    for (int i = 0; i < root.size(); i++) {
+                        JsonNode node = root.get(i);
+                        JsonNode method = node == null ? null : node.get(HoneycombConstants.JsonKeys.METHOD);
+                        JsonNode args = node == null ? null : node.get(HoneycombConstants.JsonKeys.ARGS);
+                        entries.add(new BatchEntry(i,
+                                method != null && method.isTextual() ? method.asText() : null,
+                                args == null ? NullNode.getInstance() : args));
+                    }
+                    return BatchRequest.of(entries);
                 });
     }
 
-    private Mono<AbstractMap.SimpleEntry<String, Object>> invokeCandidate(com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate c,
+    private Mono<Map<String, Object>> invokeBatchEntry(BatchEntry entry, MultiValueMap<String, String> headers) {
+        if (entry.method() == null || entry.method().isBlank()) {
+            return Mono.just(batchResult(entry, HoneycombConstants.JsonKeys.ERROR, HoneycombConstants.ErrorKeys.INVALID_BATCH));
+        }
+        String methodName = entry.method();
+        return hasSharedRoles(methodName).flatMap(allowed -> {
+            if (!allowed) {
+                return Mono.just(batchResult(entry, HoneycombConstants.JsonKeys.ERROR, HoneycombConstants.ErrorKeys.INSUFFICIENT_ROLES));
+            }
+            List<com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate> candidates = methodCache.getCandidates(methodName);
+            if (candidates.isEmpty()) {
+                return Mono.just(batchResult(entry, HoneycombConstants.JsonKeys.ERROR,
+                        HoneycombConstants.ErrorKeys.NO_SHARED_METHOD
+                                + HoneycombConstants.Names.SEPARATOR_COLON
+                                + HoneycombConstants.Messages.SPACE
+                                + methodName));
+            }
+            JsonNode args = entry.args();
+            // String and byte[] parameters see the raw text, everything else binds from the JSON tree
+            byte[] body = args.isNull() ? new byte[0]
+                    : args.isTextual() ? args.asText().getBytes(StandardCharsets.UTF_8)
+                    : args.toString().getBytes(StandardCharsets.UTF_8);
+            return bulkheads.execute(methodName, bulkheadAnnotation(candidates),
+                            invokeAll(methodName, candidates, headers, body, args))
+                    .map(results -> batchResult(entry, HoneycombConstants.JsonKeys.RESULTS, results))
+                    .onErrorResume(com.example.honeycomb.service.SharedBulkheadFullException.class, ex ->
+                            Mono.just(batchResult(entry, HoneycombConstants.JsonKeys.ERROR, HoneycombConstants.ErrorCodes.BULKHEAD_FULL)));
+        });
+    }
+
+    /**
+     * The JWT filter only sees the {@code _batch} path, so per-method role requirements are
+     * checked here for each entry, with the same rules the filter applies to single calls.
+     */
+    private Mono<Boolean> hasSharedRoles(String methodName) {
+        var jwt = securityProperties.getJwt();
+        if (jwt == null || !jwt.isEnabled()) {
+            return Mono.just(true);
+        }
+        List<String> required = jwt.resolveSharedMethodRoles(methodName);
+        if (required == null || required.isEmpty()) {
+            return Mono.just(true);
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(SecurityContext::getAuthentication)
+                .map(auth -> !auth.isAuthenticated() || auth.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .anyMatch(required::contains))
+                .defaultIfEmpty(true);
+    }
+
+    private static Map<String, Object> batchResult(BatchEntry entry, String key, Object value) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put(HoneycombConstants.JsonKeys.INDEX, entry.index());
+        result.put(HoneycombConstants.JsonKeys.METHOD, entry.method());
+        result.put(key, value);
+        return result;
+    }
+
+    private static Map<String, Object> batchError(BatchRequest request) {
+        return Map.of(HoneycombConstants.JsonKeys.ERROR, request.error());
+    }
+
+    private record BatchEntry(int index, String method, JsonNode args) {}
+
+    private record BatchRequest(List<BatchEntry> entries, String error) {
+        static BatchRequest of(List<BatchEntry> entries) { return new BatchRequest(entries, null); }
+        static BatchRequest invalid(String error) { return new BatchRequest(null, error); }
+        boolean isInvalid() { return entries == null; }
+        List<BatchEntry> get() { return entries; }
+    }
+
+    /**
+     * Transport-neutral request-response call used by the RSocket endpoint: same candidates,
+     * bulkhead, result cache and aggregated shape as {@link #dispatch}. The body is JSON or empty.
+     */
+    public Mono<Map<String, Object>> invokeShared(String methodName, MultiValueMap<String, String> headers, byte[] body) {
+        return Mono.defer(() -> {
+            List<com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate> candidates = methodCache.getCandidates(methodName);
+            if (candidates.isEmpty()) {
+                return Mono.error(new IllegalArgumentException(noSharedMethod(methodName)));
+            }
+            return onScheduler(Mono.defer(() -> {
+                JsonNode rootNode;
+                try {
+                    rootNode = body == null || body.length == 0 ? NullNode.getInstance() : objectMapper.readTree(body);
+                } catch (IOException ex) {
+                    return Mono.just(Map.<String, Object>of(HoneycombConstants.JsonKeys.ERROR,
+                            HoneycombConstants.ErrorKeys.JSON_DESERIALIZE_ERROR
+                                    + HoneycombConstants.Names.SEPARATOR_COLON
+                                    + HoneycombConstants.Messages.SPACE
+                                    + ex.getMessage()));
+                }
+                byte[] raw = body == null ? new byte[0] : body;
+                return bulkheads.execute(methodName, bulkheadAnnotation(candidates),
+                        invokeAll(methodName, candidates, headers, raw, rootNode));
+            }), dispatchScheduler(candidates));
+        });
+    }
+
+    /**
+     * Request-stream call: elements of a {@code Flux} (or any publisher) result are emitted as
+     * they are produced instead of being collected. Results of all candidates are merged; a
+     * plain return value is a single element. Streams hold no bulkhead permit.
+     */
+    public Flux<Object> streamShared(String methodName, MultiValueMap<String, String> headers, byte[] body) {
+        return Flux.defer(() -> {
+            List<com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate> candidates = methodCache.getCandidates(methodName);
+            if (candidates.isEmpty()) {
+                return Flux.error(new IllegalArgumentException(noSharedMethod(methodName)));
+            }
+            JsonNode rootNode;
+            try {
+                rootNode = body == null || body.length == 0 ? NullNode.getInstance() : objectMapper.readTree(body);
+            } catch (IOException ex) {
+                return Flux.error(new IllegalArgumentException(HoneycombConstants.ErrorKeys.JSON_DESERIALIZE_ERROR
+                        + HoneycombConstants.Names.SEPARATOR_COLON
+                        + HoneycombConstants.Messages.SPACE
+                        + ex.getMessage()));
+            }
+            byte[] raw = body == null ? new byte[0] : body;
+            String caller = headers.getFirst(HoneycombConstants.Headers.FROM_CELL);
+            return Flux.fromIterable(candidates).flatMap(c -> {
+                if (!isCallerAllowed(c.getSharedwall(), caller)) {
+                    return Flux.error(new SecurityException(accessDenied(caller)));
+                }
+                Flux<Object> elements = Mono.fromCallable(() -> invokeReflective(c, raw, rootNode))
+                        .flatMapMany(res -> res instanceof Publisher<?> publisher
+                                ? Flux.<Object>from(publisher)
+                                : Mono.justOrEmpty(res));
+                Scheduler scheduler = schedulerFor(c.getSharedwall());
+                return scheduler == null ? elements : elements.subscribeOn(scheduler);
+            });
+        });
+    }
+
+    private static String noSharedMethod(String methodName) {
+        return HoneycombConstants.ErrorKeys.NO_SHARED_METHOD
+                + HoneycombConstants.Names.SEPARATOR_COLON
+                + HoneycombConstants.Messages.SPACE
+                + methodName;
+    }
+
+    /**
+     * Invoke every candidate for one alias concurrently and aggregate per-cell results.
+     */
+    private Mono<Map<String, Object>> invokeAll(String methodName,
+                                                List<com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate> candidates,
+                                                MultiValueMap<String, String> headers,
+                                                byte[] body,
+                                                JsonNode rootNode) {
+        List<Mono<AbstractMap.SimpleEntry<String, Object>>> calls = candidates.stream()
+                .map(c -> {
+                    logSampledDebug("scheduling invocation for {}.{}", c.getBean().getClass().getSimpleName(), c.getMethod().getName());
+                    return invokeCandidate(methodName, c, headers, body, rootNode);
+                })
+                .collect(Collectors.toList());
+        return Flux.mergeSequential(calls).collectList()
+                .map(list -> list.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    }
+
+    /**
+     * Serialize the response body exactly once, straight into a buffer allocated from the
+     * response's own factory. WebFlux writes the returned buffer as-is, and sampled debug
+     * logging reads the same bytes instead of serializing the map a second time.
+     */
+    private ResponseEntity<DataBuffer> encodeResponse(DataBufferFactory bufferFactory,
+                                                      HttpStatus status,
+                                                      String methodName,
+                                                      Map<String,Object> body) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_RESPONSE_BUFFER_SIZE);
+        boolean encoded = false;
+        try (OutputStream out = buffer.asOutputStream()) {
+            objectMapper.writeValue(out, body);
+            encoded = true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            if (!encoded) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+        if (log.isDebugEnabled() && shouldSample()) {
+            log.debug("Serialized response for {}: {}", methodName,
+                    buffer.toString(buffer.readPosition(), buffer.readableByteCount(), StandardCharsets.UTF_8));
+        }
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(buffer);
+    }
+
+    private Mono<AbstractMap.SimpleEntry<String, Object>> invokeCandidate(String alias,
+                                                                          com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate c,
                                                                           MultiValueMap<String, String> headers,
                                                                           byte[] body,
                                                                           com.fasterxml.jackson.databind.JsonNode rootNode) {
-        return Mono.defer(() -> {
+        Mono<AbstractMap.SimpleEntry<String, Object>> invocation = Mono.defer(() -> {
             try {
                 String cellName = c.getBean().getClass().getSimpleName();
                 String targetMethod = c.getMethod().getName();
@@ -161,91 +479,26 @@ public class SharedwallDispatcherController {
                 Method m = c.getMethod();
                 final String caller = headers.getFirst(HoneycombConstants.Headers.FROM_CELL);
                 // enforce allowed-from restrictions if declared on the method or interface
-                Sharedwall allowedAnnTop = c.getSharedwall();
-                if (allowedAnnTop != null) {
-                    String[] allowedTop = allowedAnnTop.allowedFrom();
-                    if (allowedTop != null && allowedTop.length > 0) {
-                        boolean okTop = false;
-                        if (caller != null) {
-                            for (String a : allowedTop) {
-                                if (HoneycombConstants.ConfigKeys.GLOBAL_WILDCARD.equals(a) || a.equalsIgnoreCase(caller)) {
-                                    okTop = true;
-                                    break;
-                                }
-                            }
-                        }
-                        if (!okTop) {
-                            log.warn(HoneycombConstants.Messages.ACCESS_DENIED_INVOKE, cellName, targetMethod, caller);
-                            return Mono.just(new AbstractMap.SimpleEntry<String, Object>(cellName, (Object) Map.of(
-                                    HoneycombConstants.JsonKeys.ERROR,
-                                        HoneycombConstants.ErrorKeys.ACCESS_DENIED
-                                            + HoneycombConstants.Names.SEPARATOR_COLON
-                                            + HoneycombConstants.Messages.SPACE
-                                            + HoneycombConstants.Messages.CALLER_PREFIX
-                                            + caller
-                                            + HoneycombConstants.Messages.CALLER_NOT_ALLOWED_SUFFIX
-                            )));
-                        }
-                    }
+                if (!isCallerAllowed(c.getSharedwall(), caller)) {
+                    log.warn(HoneycombConstants.Messages.ACCESS_DENIED_INVOKE, cellName, targetMethod, caller);
+                    return Mono.just(new AbstractMap.SimpleEntry<String, Object>(cellName, (Object) Map.of(
+                            HoneycombConstants.JsonKeys.ERROR, accessDenied(caller))));
                 }
-                Object res;
-                int paramCount = m.getParameterCount();
-                if (paramCount == 0) {
-                    res = m.invoke(c.getBean());
-                } else if (paramCount == 1) {
-                    java.lang.reflect.Parameter param = m.getParameters()[0];
-                    Class<?> p = param.getType();
-                    Object arg;
-                    if (p.equals(String.class)) arg = new String(body);
-                    else if (p.equals(byte[].class)) arg = body;
-                    else {
-                        try {
-                            com.fasterxml.jackson.databind.JavaType jt = objectMapper.getTypeFactory().constructType(param.getParameterizedType());
-                            if (rootNode != null) arg = objectMapper.convertValue(rootNode, jt);
-                            else arg = objectMapper.readValue(body, jt);
-                        } catch (Exception ex) {
-                            log.warn(HoneycombConstants.Messages.JSON_DESERIALIZE_ERROR, cellName, targetMethod, ex.getMessage());
-                            return Mono.just(new AbstractMap.SimpleEntry<String, Object>(cellName, (Object) Map.of(
-                                    HoneycombConstants.JsonKeys.ERROR,
-                                        HoneycombConstants.ErrorKeys.JSON_DESERIALIZE_ERROR
-                                            + HoneycombConstants.Names.SEPARATOR_COLON
-                                            + HoneycombConstants.Messages.SPACE
-                                            + ex.getMessage()
-                            )));
-                        }
-                    }
-                    res = m.invoke(c.getBean(), arg);
-                } else {
-                    // multi-arg: map using JSON array by index or JSON object by parameter names
-                    Object[] args = new Object[paramCount];
-                    // top-level check already performed; proceed with arg mapping
-                    java.lang.reflect.Parameter[] params = m.getParameters();
-                    if (rootNode != null && rootNode.isArray()) {
-                        for (int i = 0; i < paramCount; i++) {
-                            com.fasterxml.jackson.databind.JavaType jt = objectMapper.getTypeFactory().constructType(params[i].getParameterizedType());
-                            com.fasterxml.jackson.databind.JsonNode el = rootNode.size() > i ? rootNode.get(i) : null;
-                            if (el == null || el.isNull()) args[i] = null;
-                            else args[i] = objectMapper.convertValue(el, jt);
-                        }
-                    } else if (rootNode != null && rootNode.isObject()) {
-                        for (int i = 0; i < paramCount; i++) {
-                            String pname = params[i].getName();
-                            com.fasterxml.jackson.databind.JavaType jt = objectMapper.getTypeFactory().constructType(params[i].getParameterizedType());
-                            com.fasterxml.jackson.databind.JsonNode el = rootNode.get(pname);
-                            if (el == null || el.isNull()) args[i] = null;
-                            else args[i] = objectMapper.convertValue(el, jt);
-                        }
-                    } else {
-                        // fallback: treat whole body as first string param
-                        args[0] = new String(body);
-                        for (int i = 1; i < paramCount; i++) args[i] = null;
-                    }
-                    res = m.invoke(c.getBean(), args);
+                Duration ttl = resultCache.cacheTtl(alias, m, c.getSharedwall());
+                if (ttl == null) {
+                    return invokeTarget(c, body, rootNode);
                 }
-                log.debug(HoneycombConstants.Messages.INVOCATION_SUCCESS, cellName, m.getName());
-                return adaptResult(cellName, res)
-                    .doOnNext(entry -> log.debug("adaptResult emitted for {}: {}", cellName, entry))
-                    .doOnError(err -> log.error("adaptResult error for {}", cellName, err));
+                // pure method: identical arguments share one invocation and its cached result
+                return resultCache.getOrLoad(alias, c.getBean().getClass(),
+                        resultCache.hashArguments(rootNode, body), ttl,
+                        Mono.defer(() -> {
+                            try {
+                                return invokeTarget(c, body, rootNode);
+                            } catch (Throwable e) {
+                                return Mono.error(e);
+                            }
+                        }),
+                        entry -> !isErrorEntry(entry));
             } catch (Throwable e) {
                 return Mono.error(e);
             }
@@ -259,13 +512,159 @@ public class SharedwallDispatcherController {
             }
             log.error(HoneycombConstants.Messages.INVOCATION_ERROR, cellName, targetMethod, emsg, e);
             return Mono.just(new AbstractMap.SimpleEntry<String, Object>(cellName, (Object) Map.of(HoneycombConstants.JsonKeys.ERROR, emsg)));
-        }).subscribeOn(sharedScheduler);
-        // schedule reflective invocation and result adaptation on shared scheduler to avoid blocking reactor threads
-        // note: using subscribeOn so the deferred callable and subsequent map operations run on the provided scheduler
-        // keep the onErrorResume behavior attached
-        // The caller expects a Mono<AbstractMap.SimpleEntry<String,Object>>
-        // (subscribeOn applies to the source Mono returned above)
-        //.subscribeOn(sharedScheduler) is applied by returning the wrapped Mono from above
+        });
+        // schedule reflective invocation and result adaptation off the reactor threads unless the
+        // method declares itself non-blocking, in which case it is subscribed inline
+        Scheduler scheduler = schedulerFor(c.getSharedwall());
+        return scheduler == null ? invocation : invocation.subscribeOn(scheduler);
+    }
+
+    private Mono<AbstractMap.SimpleEntry<String, Object>> invokeTarget(com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate c,
+                                                                       byte[] body,
+                                                                       com.fasterxml.jackson.databind.JsonNode rootNode) throws Exception {
+        String cellName = c.getBean().getClass().getSimpleName();
+        Object res;
+        try {
+            res = invokeReflective(c, body, rootNode);
+        } catch (ArgumentBindingException ex) {
+            return Mono.just(new AbstractMap.SimpleEntry<String, Object>(cellName, (Object) Map.of(
+                    HoneycombConstants.JsonKeys.ERROR, ex.getMessage())));
+        }
+        return adaptResult(cellName, res)
+            .doOnNext(entry -> log.debug("adaptResult emitted for {}: {}", cellName, entry))
+            .doOnError(err -> log.error("adaptResult error for {}", cellName, err));
+    }
+
+    /**
+     * Bind arguments and call the method; the raw return value is not adapted.
+     */
+    private Object invokeReflective(com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate c,
+                                    byte[] body,
+                                    com.fasterxml.jackson.databind.JsonNode rootNode) throws Exception {
+        String cellName = c.getBean().getClass().getSimpleName();
+        String targetMethod = c.getMethod().getName();
+        Method m = c.getMethod();
+        Object res;
+        int paramCount = m.getParameterCount();
+        if (paramCount == 0) {
+            res = m.invoke(c.getBean());
+        } else if (paramCount == 1) {
+            java.lang.reflect.Parameter param = m.getParameters()[0];
+            Class<?> p = param.getType();
+            Object arg;
+            if (p.equals(String.class)) arg = new String(body);
+            else if (p.equals(byte[].class)) arg = body;
+            else {
+                try {
+                    com.fasterxml.jackson.databind.JavaType jt = objectMapper.getTypeFactory().constructType(param.getParameterizedType());
+                    if (rootNode != null) arg = objectMapper.convertValue(rootNode, jt);
+                    else arg = objectMapper.readValue(body, jt);
+                } catch (Exception ex) {
+                    log.warn(HoneycombConstants.Messages.JSON_DESERIALIZE_ERROR, cellName, targetMethod, ex.getMessage());
+                    throw new ArgumentBindingException(HoneycombConstants.ErrorKeys.JSON_DESERIALIZE_ERROR
+                            + HoneycombConstants.Names.SEPARATOR_COLON
+                            + HoneycombConstants.Messages.SPACE
+                            + ex.getMessage());
+                }
+            }
+            res = m.invoke(c.getBean(), arg);
+        } else {
+            // multi-arg: map using JSON array by index or JSON object by parameter names
+            Object[] args = new Object[paramCount];
+            // top-level check already performed; proceed with arg mapping
+            java.lang.reflect.Parameter[] params = m.getParameters();
+            if (rootNode != null && rootNode.isArray()) {
+                for (int i = 0; i < paramCount; i++) {
+                    com.fasterxml.jackson.databind.JavaType jt = objectMapper.getTypeFactory().constructType(params[i].getParameterizedType());
+                    com.fasterxml.jackson.databind.JsonNode el = rootNode.size() > i ? rootNode.get(i) : null;
+                    if (el == null || el.isNull()) args[i] = null;
+                    else args[i] = objectMapper.convertValue(el, jt);
+                }
+            } else if (rootNode != null && rootNode.isObject()) {
+                for (int i = 0; i < paramCount; i++) {
+                    String pname = params[i].getName();
+                    com.fasterxml.jackson.databind.JavaType jt = objectMapper.getTypeFactory().constructType(params[i].getParameterizedType());
+                    com.fasterxml.jackson.databind.JsonNode el = rootNode.get(pname);
+                    if (el == null || el.isNull()) args[i] = null;
+                    else args[i] = objectMapper.convertValue(el, jt);
+                }
+            } else {
+                // fallback: treat whole body as first string param
+                args[0] = new String(body);
+                for (int i = 1; i < paramCount; i++) args[i] = null;
+            }
+            res = m.invoke(c.getBean(), args);
+        }
+        log.debug(HoneycombConstants.Messages.INVOCATION_SUCCESS, cellName, m.getName());
+        return res;
+    }
+
+    private static boolean isCallerAllowed(Sharedwall sharedwall, String caller) {
+        String[] allowed = sharedwall == null ? null : sharedwall.allowedFrom();
+        if (allowed == null || allowed.length == 0) return true;
+        if (caller == null) return false;
+        for (String a : allowed) {
+            if (HoneycombConstants.ConfigKeys.GLOBAL_WILDCARD.equals(a) || a.equalsIgnoreCase(caller)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String accessDenied(String caller) {
+        return HoneycombConstants.ErrorKeys.ACCESS_DENIED
+                + HoneycombConstants.Names.SEPARATOR_COLON
+                + HoneycombConstants.Messages.SPACE
+                + HoneycombConstants.Messages.CALLER_PREFIX
+                + caller
+                + HoneycombConstants.Messages.CALLER_NOT_ALLOWED_SUFFIX;
+    }
+
+    private static final class ArgumentBindingException extends Exception {
+        ArgumentBindingException(String message) {
+            super(message);
+        }
+    }
+
+    private static boolean isErrorEntry(AbstractMap.SimpleEntry<String, Object> entry) {
+        return entry.getValue() instanceof Map<?, ?> map && map.containsKey(HoneycombConstants.JsonKeys.ERROR);
+    }
+
+    private Sharedwall bulkheadAnnotation(List<com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate> candidates) {
+        Sharedwall first = null;
+        for (com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate c : candidates) {
+            Sharedwall sw = c.getSharedwall();
+            if (sw == null) continue;
+            if (sw.maxConcurrentCalls() >= 0 || sw.maxQueuedCalls() >= 0) return sw;
+            if (first == null) first = sw;
+        }
+        return first;
+    }
+
+    private Scheduler schedulerFor(Sharedwall sharedwall) {
+        SharedExecution execution = sharedwall == null ? SharedExecution.DEFAULT : sharedwall.execution();
+        return switch (execution) {
+            case NON_BLOCKING -> null;
+            case BLOCKING -> blockingScheduler;
+            case DEFAULT -> sharedScheduler;
+        };
+    }
+
+    /**
+     * Where the body of a call to these candidates is parsed: nowhere but the subscribing thread
+     * when all of them are {@link SharedExecution#NON_BLOCKING}, otherwise the scheduler the first
+     * candidate that needs one will run on.
+     */
+    private Scheduler dispatchScheduler(List<com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate> candidates) {
+        for (com.example.honeycomb.service.SharedwallMethodCache.MethodCandidate c : candidates) {
+            Scheduler scheduler = schedulerFor(c.getSharedwall());
+            if (scheduler != null) return scheduler;
+        }
+        return null;
+    }
+
+    private static <T> Mono<T> onScheduler(Mono<T> mono, Scheduler scheduler) {
+        return scheduler == null ? mono : mono.subscribeOn(scheduler);
     }
 
     private Mono<AbstractMap.SimpleEntry<String, Object>> adaptResult(String cellName, Object res) {
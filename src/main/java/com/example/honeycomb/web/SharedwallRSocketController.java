@@ -0,0 +1,78 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.security.RSocketSetupAuthenticator;
+import com.example.honeycomb.util.HoneycombConstants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * RSocket side of {@code /honeycomb/shared/{method}}. Payloads are JSON bytes in both directions;
+ * connections are authenticated once at setup (see {@link RSocketSetupAuthenticator}), per-method
+ * roles are checked on every request, and the calling cell and request id travel as per-request metadata.
+ * <ul>
+ *   <li>{@code shared.{method}} (request-response): the same aggregated result map as HTTP;</li>
+ *   <li>{@code shared.stream.{method}} (request-stream): one payload per emitted element.</li>
+ * </ul>
+ */
+@Controller
+public class SharedwallRSocketController {
+    private final SharedwallDispatcherController dispatcher;
+    private final RSocketSetupAuthenticator authenticator;
+    private final ObjectMapper objectMapper;
+
+    public SharedwallRSocketController(SharedwallDispatcherController dispatcher,
+                                       RSocketSetupAuthenticator authenticator,
+                                       ObjectMapper objectMapper) {
+        this.dispatcher = dispatcher;
+        this.authenticator = authenticator;
+        this.objectMapper = objectMapper;
+    }
+
+    @MessageMapping(HoneycombConstants.RSocket.ROUTE_SHARED)
+    public Mono<byte[]> invoke(@DestinationVariable(HoneycombConstants.RSocket.METHOD_VARIABLE) String method,
+                               @Payload(required = false) byte[] body,
+                               @Header(name = HoneycombConstants.RSocket.META_FROM_CELL, required = false) String fromCell,
+                               @Header(name = HoneycombConstants.RSocket.META_REQUEST_ID, required = false) String requestId) {
+        if (!authenticator.mayInvoke(method)) {
+            return Mono.error(new SecurityException(HoneycombConstants.ErrorKeys.INSUFFICIENT_ROLES));
+        }
+        return dispatcher.invokeShared(method, headers(fromCell, requestId), body)
+                .map(this::encode);
+    }
+
+    @MessageMapping(HoneycombConstants.RSocket.ROUTE_SHARED_STREAM)
+    public Flux<byte[]> stream(@DestinationVariable(HoneycombConstants.RSocket.METHOD_VARIABLE) String method,
+                               @Payload(required = false) byte[] body,
+                               @Header(name = HoneycombConstants.RSocket.META_FROM_CELL, required = false) String fromCell,
+                               @Header(name = HoneycombConstants.RSocket.META_REQUEST_ID, required = false) String requestId) {
+        if (!authenticator.mayInvoke(method)) {
+            return Flux.error(new SecurityException(HoneycombConstants.ErrorKeys.INSUFFICIENT_ROLES));
+        }
+        return dispatcher.streamShared(method, headers(fromCell, requestId), body)
+                .map(this::encode);
+    }
+
+    private static MultiValueMap<String, String> headers(String fromCell, String requestId) {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        if (fromCell != null) headers.add(HoneycombConstants.Headers.FROM_CELL, fromCell);
+        if (requestId != null) headers.add(HoneycombConstants.Headers.REQUEST_ID, requestId);
+        return headers;
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
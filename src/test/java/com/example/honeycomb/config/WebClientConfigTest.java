@@ -0,0 +1,182 @@
+package com.example.honeycomb.config;
+
+import com.example.honeycomb.service.AddressHealthService;
+import com.example.honeycomb.service.InterCellCompression;
+import com.example.honeycomb.util.HoneycombConstants;
+import com.example.honeycomb.web.CellInteractionController;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The inter-cell pool is one {@link ConnectionProvider} shared by every inter-cell client, and the
+ * connector built on it follows {@code honeycomb.interaction.pool}.
+ */
+@SpringBootTest(properties = {
+        "honeycomb.interaction.pool.http2=prior-knowledge",
+        "honeycomb.interaction.pool.metrics=true"
+})
+class WebClientConfigTest {
+    private static final String POOL_GAUGE = "reactor.netty.connection.provider.total.connections";
+    private static final String NAME_TAG = "name";
+    private static final String REMOTE_ADDRESS_TAG = "remote.address";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static DisposableServer upstream;
+
+    @Autowired
+    private ConnectionProvider interCellConnectionProvider;
+
+    @Autowired
+    private ClientHttpConnector interCellConnector;
+
+    @Autowired
+    @Qualifier(WebClientConfig.INTER_CELL_WEB_CLIENT)
+    private WebClient interCellWebClient;
+
+    @Autowired
+    private CellInteractionController cellInteractionController;
+
+    @Autowired
+    private AddressHealthService addressHealthService;
+
+    @BeforeAll
+    static void startUpstream() {
+        upstream = server(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        if (upstream != null) upstream.disposeNow();
+    }
+
+    private static DisposableServer server(HttpProtocol... protocols) {
+        return HttpServer.create().host("127.0.0.1").port(0)
+                .protocol(protocols)
+                .handle((req, res) -> res.sendString(Mono.just("ok")))
+                .bindNow();
+    }
+
+    private static HttpClient httpClient(ClientHttpConnector connector) {
+        return (HttpClient) ReflectionTestUtils.getField(connector, "httpClient");
+    }
+
+    private static boolean poolGaugeFor(DisposableServer server) {
+        return Metrics.globalRegistry.find(POOL_GAUGE)
+                .tag(NAME_TAG, HoneycombConstants.Names.INTER_CELL_POOL)
+                .gauges().stream()
+                .map(Gauge::getId)
+                .map(id -> id.getTag(REMOTE_ADDRESS_TAG))
+                .anyMatch(address -> address != null && address.endsWith(":" + server.port()));
+    }
+
+    private static String get(WebClient client, DisposableServer server) {
+        return client.get().uri("http://127.0.0.1:" + server.port() + "/")
+                .retrieve().bodyToMono(String.class).block(TIMEOUT);
+    }
+
+    private static WebClientConfig config() {
+        WebClientConfig config = new WebClientConfig();
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 1000);
+        ReflectionTestUtils.setField(config, "responseTimeoutMs", 5000);
+        return config;
+    }
+
+    private static HoneycombInteractionProperties properties(HoneycombInteractionProperties.Pool.Http2 http2,
+                                                             boolean metrics) {
+        HoneycombInteractionProperties properties = new HoneycombInteractionProperties();
+        properties.getPool().setHttp2(http2);
+        properties.getPool().setMetrics(metrics);
+        return properties;
+    }
+
+    @Test
+    void interCellClientsShareOnePool() {
+        Object controllerClient = ReflectionTestUtils.getField(cellInteractionController, "webClient");
+        Object healthClient = ReflectionTestUtils.getField(addressHealthService, "webClient");
+
+        assertThat(controllerClient).isSameAs(interCellWebClient);
+        assertThat(healthClient).isSameAs(interCellWebClient);
+        assertThat(httpClient(interCellConnector).configuration().connectionProvider())
+                .isSameAs(interCellConnectionProvider);
+    }
+
+    @Test
+    void configuredPoolSpeaksH2cWithMetrics() {
+        assertThat(httpClient(interCellConnector).configuration().protocols())
+                .containsExactly(HttpProtocol.H2C);
+
+        assertThat(get(interCellWebClient, upstream)).isEqualTo("ok");
+        assertThat(poolGaugeFor(upstream)).isTrue();
+    }
+
+    @Test
+    void http2ModesPickTheClientProtocols() {
+        WebClientConfig config = config();
+        for (HoneycombInteractionProperties.Pool.Http2 http2 : HoneycombInteractionProperties.Pool.Http2.values()) {
+            HoneycombInteractionProperties properties = properties(http2, false);
+            ConnectionProvider provider = config.interCellConnectionProvider(properties);
+            try {
+                HttpProtocol[] protocols = httpClient(config.interCellConnector(provider, properties,
+                        new InterCellCompression(properties))).configuration().protocols();
+                switch (http2) {
+                    case OFF -> assertThat(protocols).containsExactly(HttpProtocol.HTTP11);
+                    case UPGRADE -> assertThat(protocols).containsExactlyInAnyOrder(HttpProtocol.HTTP11, HttpProtocol.H2C);
+                    case PRIOR_KNOWLEDGE -> assertThat(protocols).containsExactly(HttpProtocol.H2C);
+                }
+            } finally {
+                provider.disposeLater().block(TIMEOUT);
+            }
+        }
+    }
+
+    @Test
+    void poolMetricsFollowTheProperty() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        DisposableServer quiet = server(HttpProtocol.HTTP11);
+        DisposableServer metered = server(HttpProtocol.HTTP11);
+        WebClientConfig config = config();
+        try {
+            assertThat(poolGaugeFor(quiet, config, false)).isFalse();
+            assertThat(poolGaugeFor(metered, config, true)).isTrue();
+        } finally {
+            quiet.disposeNow();
+            metered.disposeNow();
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    private static boolean poolGaugeFor(DisposableServer server, WebClientConfig config, boolean metrics) {
+        HoneycombInteractionProperties properties = properties(HoneycombInteractionProperties.Pool.Http2.OFF, metrics);
+        ConnectionProvider provider = config.interCellConnectionProvider(properties);
+        try {
+            WebClient client = WebClient.builder()
+                    .clientConnector(config.interCellConnector(provider, properties, new InterCellCompression(properties)))
+                    .build();
+            assertThat(get(client, server)).isEqualTo("ok");
+            return poolGaugeFor(server);
+        } finally {
+            provider.disposeLater().block(TIMEOUT);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.honeycomb.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HoneycombIndexProcessorTest {
+    private static final String PACKAGE = "indexed.cells";
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void inheritedEndpointsAreIndexedAndOnlyIndexedRootsAreCovered() throws IOException {
+        Path src = Files.createDirectories(workDir.resolve("src").resolve("indexed").resolve("cells"));
+        Path out = Files.createDirectories(workDir.resolve("classes"));
+        Path base = src.resolve("BaseCell.java");
+        Path child = src.resolve("ChildCell.java");
+        Files.writeString(base, """
+                package %s;
+
+                import com.example.honeycomb.annotations.*;
+
+                public abstract class BaseCell {
+                    @MethodType(MethodOp.READ)
+                    public String status() { return "ok"; }
+                }
+                """.formatted(PACKAGE));
+        Files.writeString(child, """
+                package %s;
+
+                import com.example.honeycomb.annotations.*;
+
+                @Cell(port = 0)
+                public class ChildCell extends BaseCell {
+                    @MethodType(value = MethodOp.CREATE, path = "make")
+                    public String create(String s) { return s; }
+                }
+                """.formatted(PACKAGE));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int rc = compiler.run(null, null, null,
+                "-d", out.toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-processor", HoneycombIndexProcessor.class.getName(),
+                base.toString(), child.toString());
+        assertEquals(0, rc);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader())) {
+            HoneycombIndex index = HoneycombIndex.load(loader);
+            String childClass = PACKAGE + ".ChildCell";
+
+            assertTrue(index.isIndexed(childClass));
+            assertEquals(2, index.getServiceMethods(childClass).size());
+            assertTrue(index.getServiceMethods(childClass).stream().anyMatch(e -> e.methodName().equals("status")));
+            assertTrue(index.covers(loader.getResource("indexed/cells/ChildCell.class").toString()));
+            assertFalse(index.covers(workDir.resolve("src").toUri().toURL().toString()));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.honeycomb.index;
+
+import com.example.honeycomb.annotations.Cell;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cell discovery cost on a project with 500 generated cells: the classpath scan that
+ * {@code CellRegistry} falls back to versus reading the compile-time index.
+ * Each invocation uses a fresh class loader so class loading is part of the measurement.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@State(Scope.Benchmark)
+public class HoneycombIndexStartupJmhBenchmark {
+    private static final int CELLS = 500;
+    private static final String PACKAGE = "bench.cells";
+
+    private Path workDir;
+    private URL classesUrl;
+    private URLClassLoader loader;
+
+    @Setup(Level.Trial)
+    public void generateAndCompile() throws IOException {
+        workDir = Files.createTempDirectory("honeycomb-index-bench");
+        Path src = workDir.resolve("src").resolve(PACKAGE.replace('.', File.separatorChar));
+        Path out = workDir.resolve("classes");
+        Files.createDirectories(src);
+        Files.createDirectories(out);
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < CELLS; i++) {
+            Path file = src.resolve("Cell" + i + ".java");
+            Files.writeString(file, """
+                    package %s;
+
+                    import com.example.honeycomb.annotations.*;
+
+                    @Cell(port = %d)
+                    public class Cell%d {
+                        private String id;
+                        private double price;
+
+                        @Sharedwall("price%d")
+                        public String price(String sku) { return sku; }
+
+                        @MethodType(MethodOp.READ)
+                        public String status() { return "ok"; }
+                    }
+                    """.formatted(PACKAGE, 20000 + i, i, i));
+            files.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> args = new ArrayList<>(List.of(
+                "-d", out.toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-processor", HoneycombIndexProcessor.class.getName()));
+        args.addAll(files);
+        int rc = compiler.run(null, null, null, args.toArray(new String[0]));
+        if (rc != 0) {
+            throw new IllegalStateException("Generated cells failed to compile: " + rc);
+        }
+        classesUrl = out.toUri().toURL();
+    }
+
+    @Setup(Level.Invocation)
+    public void freshLoader() {
+        loader = new URLClassLoader(new URL[]{classesUrl}, getClass().getClassLoader());
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeLoader() throws IOException {
+        loader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int classpathScan() throws Exception {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(loader);
+        CachingMetadataReaderFactory readerFactory = new CachingMetadataReaderFactory(resolver);
+        Resource[] resources = resolver.getResources(PathMatchingResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+                + PACKAGE.replace('.', '/') + "/**/*.class");
+        int found = 0;
+        for (Resource r : resources) {
+            MetadataReader mr = readerFactory.getMetadataReader(r);
+            Class<?> cls = Class.forName(mr.getClassMetadata().getClassName(), true, loader);
+            if (cls.isAnnotationPresent(Cell.class)) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int compileTimeIndex() throws Exception {
+        HoneycombIndex index = HoneycombIndex.load(loader);
+        int found = 0;
+        for (HoneycombIndex.CellEntry entry : index.getCells()) {
+            if (!entry.className().startsWith(PACKAGE)) continue;
+            Class<?> cls = Class.forName(entry.className(), true, loader);
+            if (cls.isAnnotationPresent(Cell.class)) found++;
+        }
+        return found;
+    }
+}
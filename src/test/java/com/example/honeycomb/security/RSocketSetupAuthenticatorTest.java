@@ -0,0 +1,65 @@
+package com.example.honeycomb.security;
+
+import com.example.honeycomb.config.HoneycombRSocketProperties;
+import com.example.honeycomb.config.HoneycombSecurityProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RSocketSetupAuthenticatorTest {
+    private static final String CELL = "SampleModel";
+    private static final String SECRET = "cell-secret";
+    private static final String API_KEY = "key-123";
+
+    private final HoneycombRSocketProperties rsocket = new HoneycombRSocketProperties();
+    private final HoneycombSecurityProperties security = new HoneycombSecurityProperties();
+    private final RSocketSetupAuthenticator authenticator = new RSocketSetupAuthenticator(rsocket, security);
+
+    @Test
+    void onlyTheSharedSecretOpensAConnection() {
+        rsocket.setSharedSecret(SECRET);
+        security.getApiKeys().setEnabled(true);
+        security.getApiKeys().setKeys(Map.of("client", API_KEY));
+
+        assertThat(authenticator.isAuthorized(CELL, SECRET)).isTrue();
+        // an API key does not carry the shared invoker role over HTTP, so it does not here either
+        assertThat(authenticator.isAuthorized(CELL, API_KEY)).isFalse();
+        assertThat(authenticator.isAuthorized(CELL, "")).isFalse();
+        assertThat(authenticator.isAuthorized(CELL, null)).isFalse();
+    }
+
+    @Test
+    void apiKeysAloneAreNoCredentialForTheListener() {
+        security.getApiKeys().setEnabled(true);
+        security.getApiKeys().setKeys(Map.of("client", API_KEY));
+
+        assertThat(authenticator.hasCredentials()).isFalse();
+        rsocket.setSharedSecret(SECRET);
+        assertThat(authenticator.hasCredentials()).isTrue();
+    }
+
+    @Test
+    void anonymousConnectionsNeedExplicitOptIn() {
+        assertThat(authenticator.isAuthorized(CELL, null)).isFalse();
+        rsocket.setAllowAnonymous(true);
+        assertThat(authenticator.isAuthorized(CELL, null)).isTrue();
+    }
+
+    @Test
+    void methodRolesOtherThanSharedInvokerAreRefused() {
+        security.getJwt().setEnabled(true);
+        security.getJwt().setSharedMethodRoles(Map.of(
+                "adminOnly", List.of("ROLE_ADMIN"),
+                "invokers", List.of("ROLE_ADMIN", "ROLE_SHARED_INVOCER")));
+
+        assertThat(authenticator.mayInvoke("echo")).isTrue();
+        assertThat(authenticator.mayInvoke("invokers")).isTrue();
+        assertThat(authenticator.mayInvoke("adminOnly")).isFalse();
+
+        security.getJwt().setEnabled(false);
+        assertThat(authenticator.mayInvoke("adminOnly")).isTrue();
+    }
+}
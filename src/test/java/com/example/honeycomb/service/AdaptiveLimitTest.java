@@ -0,0 +1,53 @@
+package com.example.honeycomb.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveLimitTest {
+    private static final long BASE_RTT = 10_000_000L;
+
+    @Test
+    void gradientGrowsAtBaselineAndShrinksWhenLatencyRises() {
+        Gradient2Limit limit = new Gradient2Limit(20, 4, 1000, 1.5, 0.2, 600);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(BASE_RTT, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 20);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(BASE_RTT * 5, limit.getLimit(), false);
+        }
+        assertTrue(limit.getLimit() < grown);
+    }
+
+    @Test
+    void gradientAveragesTheShortRttSoOneSlowRequestDoesNotHalveTheLimit() {
+        Gradient2Limit smoothed = new Gradient2Limit(20, 4, 1000, 1.5, 1.0, 600, 10);
+        Gradient2Limit singleSample = new Gradient2Limit(20, 4, 1000, 1.5, 1.0, 600, 1);
+        for (int i = 0; i < 200; i++) {
+            smoothed.onSample(BASE_RTT, smoothed.getLimit(), false);
+            singleSample.onSample(BASE_RTT, singleSample.getLimit(), false);
+        }
+        int before = smoothed.getLimit();
+        smoothed.onSample(BASE_RTT * 10, smoothed.getLimit(), false);
+        singleSample.onSample(BASE_RTT * 10, singleSample.getLimit(), false);
+
+        assertTrue(smoothed.getLimit() > singleSample.getLimit());
+        assertTrue(smoothed.getLimit() > before / 2 + Math.sqrt(before));
+    }
+
+    @Test
+    void vegasGrowsWithoutQueueingAndBacksOffOnDrops() {
+        VegasLimit limit = new VegasLimit(20, 4, 1000, 0);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(BASE_RTT, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 20);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(BASE_RTT, limit.getLimit(), true);
+        }
+        assertTrue(limit.getLimit() < grown);
+    }
+}
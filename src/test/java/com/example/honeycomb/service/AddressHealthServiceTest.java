@@ -0,0 +1,97 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombRoutingProperties;
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AddressHealthServiceTest {
+    private static final String CELL = "SampleCell";
+
+    private final HoneycombRoutingProperties props = new HoneycombRoutingProperties();
+    private final RoutingPolicyService routing = new RoutingPolicyService(props,
+            CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+    private final AddressHealthService health = new AddressHealthService(props, null, routing, null,
+            new SimpleMeterRegistry());
+
+    private List<CellAddress> addresses(int n) {
+        List<CellAddress> list = new ArrayList<>();
+        for (int i = 0; i < n; i++) list.add(new CellAddress(null, CELL, "svc-" + i, 9000 + i));
+        return list;
+    }
+
+    @Test
+    void probeFlipsStateOnlyAfterThreshold() {
+        CellAddress addr = addresses(1).get(0);
+
+        health.applyProbe(CELL, addr, false);
+        assertThat(routing.isAvailable(CELL, addr)).isTrue();
+        health.applyProbe(CELL, addr, false);
+        assertThat(routing.isAvailable(CELL, addr)).isFalse();
+
+        health.applyProbe(CELL, addr, true);
+        health.applyProbe(CELL, addr, false);
+        health.applyProbe(CELL, addr, true);
+        assertThat(routing.isAvailable(CELL, addr)).isFalse();
+        health.applyProbe(CELL, addr, true);
+        assertThat(routing.isAvailable(CELL, addr)).isTrue();
+    }
+
+    @Test
+    void probeFailureTakesAddressOutOfRotation() {
+        List<CellAddress> list = addresses(3);
+        health.applyProbe(CELL, list.get(1), false);
+        health.applyProbe(CELL, list.get(1), false);
+
+        for (int i = 0; i < 12; i++) {
+            assertThat(routing.selectTargets(CELL, list, HoneycombConstants.RoutingPolicies.ROUND_ROBIN))
+                    .doesNotContain(list.get(1));
+        }
+    }
+
+    @Test
+    void latencyOutlierIsEjected() {
+        List<CellAddress> list = addresses(4);
+        for (int i = 0; i < 3; i++) routing.recordLatency(CELL, list.get(i), 20, true);
+        routing.recordLatency(CELL, list.get(3), 400, true);
+
+        health.sweepOutliers(CELL, list);
+
+        assertThat(routing.isAvailable(CELL, list.get(3))).isFalse();
+        assertThat(list.subList(0, 3)).allSatisfy(a -> assertThat(routing.isAvailable(CELL, a)).isTrue());
+    }
+
+    @Test
+    void latencyBelowFloorIsNeverAnOutlier() {
+        List<CellAddress> list = addresses(3);
+        routing.recordLatency(CELL, list.get(0), 1, true);
+        routing.recordLatency(CELL, list.get(1), 1, true);
+        routing.recordLatency(CELL, list.get(2), 30, true);
+
+        health.sweepOutliers(CELL, list);
+
+        assertThat(routing.isAvailable(CELL, list.get(2))).isTrue();
+    }
+
+    @Test
+    void latencySweepRespectsMaxEjectionPercent() {
+        List<CellAddress> list = addresses(6);
+        for (int i = 0; i < 5; i++) routing.recordLatency(CELL, list.get(i), 20, true);
+        routing.recordLatency(CELL, list.get(5), 500, true);
+        for (int i = 0; i < 3; i++) {
+            routing.eject(routing.stats(CELL, list.get(i)), HoneycombConstants.EjectionReasons.CONSECUTIVE_ERRORS);
+        }
+
+        health.sweepOutliers(CELL, list);
+
+        // three of six are already out, which is the 50% limit
+        assertThat(routing.isAvailable(CELL, list.get(5))).isTrue();
+    }
+}
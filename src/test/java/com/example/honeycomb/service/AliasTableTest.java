@@ -0,0 +1,46 @@
+package com.example.honeycomb.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AliasTableTest {
+
+    @Test
+    void findsEveryKeyAndRejectsUnknownOnes() {
+        Map<String, Integer> entries = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            entries.put("alias" + i, i);
+        }
+        AliasTable<Integer> table = AliasTable.of(entries);
+
+        assertTrue(table.isPerfect());
+        assertEquals(entries.size(), table.size());
+        entries.forEach((k, v) -> assertEquals(v, table.get(k)));
+        assertNull(table.get("missing"));
+        assertNull(table.get(null));
+    }
+
+    @Test
+    void fallsBackToMapWhenHashCodesCollide() {
+        // "Aa" and "BB" share a String.hashCode(), so no seed can separate them
+        AliasTable<Integer> table = AliasTable.of(Map.of("Aa", 1, "BB", 2));
+
+        assertFalse(table.isPerfect());
+        assertEquals(1, table.get("Aa"));
+        assertEquals(2, table.get("BB"));
+    }
+
+    @Test
+    void emptyTableReturnsNothing() {
+        AliasTable<Integer> table = AliasTable.of(Map.of());
+        assertEquals(0, table.size());
+        assertNull(table.get("echo"));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.honeycomb.service;
 
 import com.example.honeycomb.annotations.Cell;
 import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.model.CellInstanceStartedEvent;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.cloud.client.DefaultServiceInstance;
@@ -15,6 +16,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class CellAddressServiceTest {
@@ -89,4 +92,87 @@ public class CellAddressServiceTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    void servesCachedSnapshotUntilHeartbeat() {
+        CellRegistry registry = Mockito.mock(CellRegistry.class);
+        ReactiveDiscoveryClient discoveryClient = Mockito.mock(ReactiveDiscoveryClient.class);
+        DefaultServiceInstance first = new DefaultServiceInstance("id-1", "SampleCell", "svc-a", 9001, false);
+        DefaultServiceInstance second = new DefaultServiceInstance("id-2", "SampleCell", "svc-b", 9002, false);
+        when(discoveryClient.getInstances("SampleCell"))
+                .thenReturn(Flux.just(first))
+                .thenReturn(Flux.just(first, second));
+
+        CellAddressService s = new CellAddressService(registry, new MockEnvironment(), discoveryClient);
+
+        List<CellAddress> initial = s.addressesOf("SampleCell").block();
+        org.assertj.core.api.Assertions.assertThat(initial).hasSize(1);
+        org.assertj.core.api.Assertions.assertThat(s.addressesOf("SampleCell").block()).isSameAs(initial);
+        verify(discoveryClient, times(1)).getInstances("SampleCell");
+
+        s.onHeartbeat();
+
+        org.assertj.core.api.Assertions.assertThat(s.addressesOf("SampleCell").block())
+                .extracting(CellAddress::getHost)
+                .containsExactly("svc-a", "svc-b");
+    }
+
+    @Test
+    void keepsLastSnapshotWhenDiscoveryFails() {
+        CellRegistry registry = Mockito.mock(CellRegistry.class);
+        ReactiveDiscoveryClient discoveryClient = Mockito.mock(ReactiveDiscoveryClient.class);
+        DefaultServiceInstance instance = new DefaultServiceInstance("id-1", "SampleCell", "svc-a", 9001, false);
+        when(discoveryClient.getInstances("SampleCell"))
+                .thenReturn(Flux.just(instance))
+                .thenReturn(Flux.error(new IllegalStateException("registry down")));
+
+        CellAddressService s = new CellAddressService(registry, new MockEnvironment(), discoveryClient);
+        s.addressesOf("SampleCell").block();
+        s.onHeartbeat();
+
+        org.assertj.core.api.Assertions.assertThat(s.addressesOf("SampleCell").block())
+                .extracting(CellAddress::getHost)
+                .containsExactly("svc-a");
+    }
+
+    @Test
+    void readsZoneSuffixFromStaticAddresses() {
+        CellRegistry registry = Mockito.mock(CellRegistry.class);
+        ReactiveDiscoveryClient discoveryClient = Mockito.mock(ReactiveDiscoveryClient.class);
+        when(registry.getCellClass("SampleCell")).thenReturn(Optional.of(SampleCell.class));
+        when(discoveryClient.getInstances("SampleCell")).thenReturn(Flux.empty());
+
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("cell.addresses.SampleCell", "svc-a:9001@zone-a, svc-b:9002");
+        CellAddressService s = new CellAddressService(registry, env, discoveryClient);
+
+        List<CellAddress> addresses = s.addressesOf("SampleCell").block();
+        org.assertj.core.api.Assertions.assertThat(addresses)
+                .extracting(CellAddress::getHost, CellAddress::getPort, CellAddress::getZone)
+                .containsExactly(
+                        org.assertj.core.groups.Tuple.tuple("svc-a", 9001, "zone-a"),
+                        org.assertj.core.groups.Tuple.tuple("svc-b", 9002, null));
+    }
+
+    @Test
+    void announcesInstancesThatAppearOnRefresh() {
+        CellRegistry registry = Mockito.mock(CellRegistry.class);
+        ReactiveDiscoveryClient discoveryClient = Mockito.mock(ReactiveDiscoveryClient.class);
+        DefaultServiceInstance first = new DefaultServiceInstance("id-1", "SampleCell", "svc-a", 9001, false);
+        DefaultServiceInstance second = new DefaultServiceInstance("id-2", "SampleCell", "svc-b", 9002, false);
+        when(discoveryClient.getInstances("SampleCell"))
+                .thenReturn(Flux.just(first))
+                .thenReturn(Flux.just(first, second));
+
+        CellAddressService s = new CellAddressService(registry, new MockEnvironment(), discoveryClient);
+        List<Object> events = new java.util.ArrayList<>();
+        s.setApplicationEventPublisher(events::add);
+        s.addressesOf("SampleCell").block();
+        org.assertj.core.api.Assertions.assertThat(events).isEmpty();
+
+        s.onHeartbeat();
+
+        org.assertj.core.api.Assertions.assertThat(events)
+                .containsExactly(new CellInstanceStartedEvent("SampleCell", "svc-b", 9002));
+    }
 }
@@ -0,0 +1,73 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InterCellCompressionTest {
+
+    private static HoneycombInteractionProperties props(String... encodings) {
+        HoneycombInteractionProperties props = new HoneycombInteractionProperties();
+        props.getCompression().setEnabled(true);
+        props.getCompression().setEncodings(List.of(encodings));
+        props.getCompression().setCompressRequests(true);
+        props.getCompression().setMinRequestSize(1024);
+        return props;
+    }
+
+    @Test
+    void unknownCodingsAreSkippedAndPreferenceBecomesQValues() {
+        InterCellCompression compression = new InterCellCompression(props("GZIP", "snappy", "deflate", "gzip"));
+
+        assertEquals(List.of("gzip", "deflate"), compression.encodings());
+        assertEquals("gzip, deflate;q=0.9", compression.acceptEncoding());
+        assertTrue(compression.isEnabled());
+    }
+
+    @Test
+    void nothingAvailableMeansDisabled() {
+        InterCellCompression compression = new InterCellCompression(props("snappy"));
+
+        assertFalse(compression.isEnabled());
+        assertFalse(compression.compressesRequest(1 << 20));
+    }
+
+    @Test
+    void requestsAreCompressedFromTheThresholdOn() {
+        InterCellCompression compression = new InterCellCompression(props("gzip"));
+
+        assertFalse(compression.compressesRequest(1023));
+        assertTrue(compression.compressesRequest(1024));
+    }
+
+    @Test
+    void requestCompressionIsOptIn() {
+        HoneycombInteractionProperties props = props("gzip");
+        props.getCompression().setCompressRequests(false);
+
+        assertFalse(new InterCellCompression(props).compressesRequest(1 << 20));
+    }
+
+    @Test
+    void gzipRoundTrips() throws IOException {
+        InterCellCompression compression = new InterCellCompression(props("gzip"));
+        byte[] body = "{\"name\":\"item\",\"value\":1}".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+        byte[] packed = compression.gzip(body);
+
+        assertTrue(packed.length < body.length / 4);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(packed))) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.honeycomb.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class RequestCoalescerTest {
+
+    @Test
+    void concurrentDuplicatesShareOneCall() {
+        RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+        AtomicInteger upstream = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+        String key = RequestCoalescer.key(new byte[0], "host:8080", "GET", "/items");
+
+        Mono<String> first = coalescer.coalesce("forward", key, () -> {
+            upstream.incrementAndGet();
+            return response.asMono();
+        });
+        Mono<String> second = coalescer.coalesce("forward", key, () -> {
+            upstream.incrementAndGet();
+            return response.asMono();
+        });
+        StringBuilder seen = new StringBuilder();
+        first.subscribe(seen::append);
+        second.subscribe(seen::append);
+        response.tryEmitValue("x");
+
+        assertEquals(1, upstream.get());
+        assertEquals("xx", seen.toString());
+        assertEquals(1, coalescer.getJoined());
+        assertEquals(0.5, coalescer.getCoalesceRatio());
+    }
+
+    @Test
+    void completedCallIsNotReused() {
+        RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+        AtomicInteger upstream = new AtomicInteger();
+        String key = RequestCoalescer.key("{}".getBytes(), "host:8080", "POST", "/honeycomb/shared/echo");
+
+        coalescer.coalesce("invoke", key, () -> Mono.fromCallable(upstream::incrementAndGet)).block();
+        coalescer.coalesce("invoke", key, () -> Mono.fromCallable(upstream::incrementAndGet)).block();
+
+        assertEquals(2, upstream.get());
+        assertEquals(0, coalescer.getJoined());
+    }
+
+    @Test
+    void keyDependsOnBodyAndCaller() {
+        String a = RequestCoalescer.key("1".getBytes(), "host:8080", "POST", "/p", "Bearer a");
+        String b = RequestCoalescer.key("2".getBytes(), "host:8080", "POST", "/p", "Bearer a");
+        String c = RequestCoalescer.key("1".getBytes(), "host:8080", "POST", "/p", "Bearer c");
+        assertNotEquals(a, b);
+        assertNotEquals(a, c);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestHedgerTest {
+
+    private static HoneycombInteractionProperties props(double budgetPercent) {
+        HoneycombInteractionProperties props = new HoneycombInteractionProperties();
+        props.getHedging().setEnabled(true);
+        props.getHedging().setDelayMs(50);
+        props.getHedging().setBudgetPercent(budgetPercent);
+        return props;
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndCancelled() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestHedger hedger = new RequestHedger(props(100), registry);
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+
+        StepVerifier.withVirtualTime(() -> hedger.hedge("SampleModel",
+                        Mono.delay(Duration.ofSeconds(1)).thenReturn("primary").doOnCancel(() -> primaryCancelled.set(true)),
+                        () -> Mono.just("backup")))
+                .thenAwait(Duration.ofMillis(50))
+                .expectNext("backup")
+                .verifyComplete();
+
+        assertTrue(primaryCancelled.get());
+        assertEquals(1.0, registry.counter(HoneycombConstants.Metrics.INTERACTION_HEDGE_SENT,
+                HoneycombConstants.Metrics.TAG_CELL, "SampleModel").count());
+        assertEquals(1.0, registry.counter(HoneycombConstants.Metrics.INTERACTION_HEDGE_WON,
+                HoneycombConstants.Metrics.TAG_CELL, "SampleModel").count());
+    }
+
+    @Test
+    void fastPrimaryNeverHedges() {
+        RequestHedger hedger = new RequestHedger(props(100), new SimpleMeterRegistry());
+        AtomicInteger backups = new AtomicInteger();
+
+        StepVerifier.create(hedger.hedge("SampleModel", Mono.just("primary"), () -> {
+                    backups.incrementAndGet();
+                    return Mono.just("backup");
+                }))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(0, backups.get());
+    }
+
+    @Test
+    void exhaustedBudgetWaitsForPrimary() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestHedger hedger = new RequestHedger(props(0), registry);
+        AtomicInteger backups = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedger.hedge("SampleModel",
+                        Mono.delay(Duration.ofSeconds(1)).thenReturn("primary"),
+                        () -> {
+                            backups.incrementAndGet();
+                            return Mono.just("backup");
+                        }))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(0, backups.get());
+        assertEquals(1.0, registry.counter(HoneycombConstants.Metrics.INTERACTION_HEDGE_BUDGET_EXHAUSTED,
+                HoneycombConstants.Metrics.TAG_CELL, "SampleModel").count());
+    }
+
+    @Test
+    void delayFollowsObservedPercentile() {
+        HoneycombInteractionProperties props = props(10);
+        RequestHedger hedger = new RequestHedger(props, new SimpleMeterRegistry());
+        assertEquals(Duration.ofMillis(50), hedger.delayFor("SampleModel"));
+
+        for (int i = 1; i <= 100; i++) {
+            hedger.recordLatency("SampleModel", i);
+        }
+        assertEquals(Duration.ofMillis(95), hedger.delayFor("SampleModel"));
+    }
+}
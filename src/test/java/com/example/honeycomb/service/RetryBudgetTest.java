@@ -0,0 +1,58 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryBudgetTest {
+
+    private static HoneycombInteractionProperties props() {
+        HoneycombInteractionProperties props = new HoneycombInteractionProperties();
+        props.getRetry().setBudgetRatio(0.5);
+        props.getRetry().setBudgetMinPerSecond(1.0);
+        props.getRetry().setBudgetCapacity(2);
+        return props;
+    }
+
+    @Test
+    void retriesAreBoundedByDeposits() {
+        AtomicLong now = new AtomicLong();
+        RetryBudget budget = new RetryBudget(props(), new SimpleMeterRegistry(), now::get);
+
+        assertFalse(budget.tryAcquire("SampleModel"));
+        budget.deposit("SampleModel");
+        assertFalse(budget.tryAcquire("SampleModel"));
+        budget.deposit("SampleModel");
+        assertTrue(budget.tryAcquire("SampleModel"));
+        assertFalse(budget.tryAcquire("SampleModel"));
+    }
+
+    @Test
+    void bucketRefillsOverTimeUpToCapacity() {
+        AtomicLong now = new AtomicLong();
+        RetryBudget budget = new RetryBudget(props(), new SimpleMeterRegistry(), now::get);
+
+        budget.available("SampleModel");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(budget.tryAcquire("SampleModel"));
+        assertTrue(budget.tryAcquire("SampleModel"));
+        assertFalse(budget.tryAcquire("SampleModel"));
+    }
+
+    @Test
+    void scopesDoNotShareTokens() {
+        AtomicLong now = new AtomicLong();
+        RetryBudget budget = new RetryBudget(props(), new SimpleMeterRegistry(), now::get);
+
+        budget.deposit("a");
+        budget.deposit("a");
+        assertFalse(budget.tryAcquire("b"));
+        assertTrue(budget.tryAcquire("a"));
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombRoutingProperties;
+import com.example.honeycomb.model.AddressStats;
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.model.CellInstanceStartedEvent;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutingPolicyServiceTest {
+    private static final String CELL = "SampleCell";
+
+    private final CellAddress busy = new CellAddress(null, CELL, "svc-a", 9001);
+    private final CellAddress idle = new CellAddress(null, CELL, "svc-b", 9002);
+
+    private RoutingPolicyService service() {
+        return new RoutingPolicyService(new HoneycombRoutingProperties(),
+                CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void p2cPrefersAddressWithFewerInFlightRequests() {
+        RoutingPolicyService routing = service();
+        for (int i = 0; i < 5; i++) routing.beginCall(CELL, busy);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(routing.selectTargets(CELL, List.of(busy, idle), HoneycombConstants.RoutingPolicies.P2C))
+                    .containsExactly(idle);
+        }
+    }
+
+    @Test
+    void p2cWeighsInFlightByLatency() {
+        RoutingPolicyService routing = service();
+        routing.recordLatency(CELL, busy, 2, true);
+        routing.recordLatency(CELL, idle, 100, true);
+        // (3 + 1) * 2 ms is still cheaper than (0 + 1) * 100 ms
+        for (int i = 0; i < 3; i++) routing.beginCall(CELL, busy);
+
+        assertThat(routing.selectTargets(CELL, List.of(busy, idle), HoneycombConstants.RoutingPolicies.P2C))
+                .containsExactly(busy);
+    }
+
+    @Test
+    void endCallReleasesInFlightSlot() {
+        RoutingPolicyService routing = service();
+        routing.beginCall(CELL, busy);
+        routing.beginCall(CELL, busy);
+        routing.endCall(CELL, busy);
+
+        assertThat(routing.inFlight(CELL, busy)).isEqualTo(1);
+        assertThat(routing.inFlight(CELL, idle)).isZero();
+    }
+
+    @Test
+    void statsAreResolvedOnceAndCachedOnTheAddress() {
+        RoutingPolicyService routing = service();
+        AddressStats first = routing.stats(CELL, busy);
+
+        assertThat(busy.getStats()).isSameAs(first);
+        // a refreshed snapshot carries a new address object for the same instance
+        CellAddress refreshed = new CellAddress(null, CELL, "svc-a", 9001);
+        assertThat(routing.stats(CELL, refreshed)).isSameAs(first);
+        assertThat(routing.circuitName(CELL, busy)).isEqualTo("cell@SampleCell@svc-a:9001");
+    }
+
+    @Test
+    void statsTrackLatencyErrorsAndQuantiles() {
+        RoutingPolicyService routing = service();
+        for (int i = 0; i < 98; i++) routing.recordLatency(CELL, busy, 3, true);
+        routing.recordLatency(CELL, busy, 500, false);
+        routing.recordLatency(CELL, busy, 500, false);
+
+        AddressStats stats = routing.stats(CELL, busy);
+        assertThat(stats.getErrorRate()).isGreaterThan(0.0).isLessThan(1.0);
+        assertThat(stats.latencyQuantileMs(0.5)).isEqualTo(3);
+        assertThat(stats.latencyQuantileMs(0.99)).isEqualTo(511);
+    }
+
+    @Test
+    void zoneAwareKeepsTrafficInLocalZone() {
+        HoneycombRoutingProperties props = new HoneycombRoutingProperties();
+        props.getLocality().setZone("zone-a");
+        RoutingPolicyService routing = new RoutingPolicyService(props,
+                CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+        CellAddress local = new CellAddress(null, CELL, "svc-a", 9001, null, "zone-a");
+        CellAddress remote = new CellAddress(null, CELL, "svc-b", 9002, null, "zone-b");
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(routing.selectTargets(CELL, List.of(local, remote), HoneycombConstants.RoutingPolicies.ZONE_AWARE))
+                    .containsExactly(local);
+        }
+    }
+
+    @Test
+    void zoneAwareSpillsOverWhenLocalInstancesAreUnhealthy() {
+        HoneycombRoutingProperties props = new HoneycombRoutingProperties();
+        props.getLocality().setZone("zone-a");
+        CircuitBreakerRegistry breakers = CircuitBreakerRegistry.ofDefaults();
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        RoutingPolicyService routing = new RoutingPolicyService(props, breakers, meters);
+        CellAddress local = new CellAddress(null, CELL, "svc-a", 9001, null, "zone-a");
+        CellAddress remote = new CellAddress(null, CELL, "svc-b", 9002, null, "zone-b");
+        breakers.circuitBreaker(routing.circuitName(CELL, local)).transitionToOpenState();
+
+        assertThat(routing.selectTargets(CELL, List.of(local, remote), HoneycombConstants.RoutingPolicies.ZONE_AWARE))
+                .containsExactly(remote);
+        assertThat(meters.counter(HoneycombConstants.Metrics.ROUTING_ZONE_SPILLOVER,
+                HoneycombConstants.Metrics.TAG_CELL, CELL).count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void consistentHashIsStickyAndMovesOnlyKeysOfRemovedAddress() {
+        RoutingPolicyService routing = service();
+        List<CellAddress> four = List.of(
+                new CellAddress(null, CELL, "svc-a", 9001),
+                new CellAddress(null, CELL, "svc-b", 9002),
+                new CellAddress(null, CELL, "svc-c", 9003),
+                new CellAddress(null, CELL, "svc-d", 9004));
+        List<CellAddress> three = four.subList(0, 3);
+        String policy = HoneycombConstants.RoutingPolicies.CONSISTENT_HASH;
+
+        int moved = 0;
+        int onRemoved = 0;
+        java.util.Map<CellAddress, Integer> load = new java.util.HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            String key = "customer-" + i;
+            CellAddress before = routing.selectTargets(CELL, four, policy, key).get(0);
+            assertThat(routing.selectTargets(CELL, four, policy, key)).containsExactly(before);
+            load.merge(before, 1, Integer::sum);
+            CellAddress after = routing.selectTargets(CELL, three, policy, key).get(0);
+            if (before.equals(four.get(3))) onRemoved++;
+            else if (!before.equals(after)) moved++;
+        }
+        assertThat(moved).isZero();
+        assertThat(onRemoved).isBetween(350, 650);
+        assertThat(load.values()).allSatisfy(n -> assertThat(n).isBetween(350, 650));
+    }
+
+    @Test
+    void consistentHashRetryGoesToNextRankedAddress() {
+        RoutingPolicyService routing = service();
+        List<CellAddress> addresses = List.of(busy, idle, new CellAddress(null, CELL, "svc-c", 9003));
+        String policy = HoneycombConstants.RoutingPolicies.CONSISTENT_HASH;
+        CellAddress first = routing.selectTargets(CELL, addresses, policy, "tenant-7").get(0);
+        String firstKey = first.getHost() + ":" + first.getPort();
+
+        CellAddress retry = routing.selectRetryTarget(CELL, addresses, java.util.Set.of(firstKey), policy, "tenant-7");
+        assertThat(retry).isNotEqualTo(first);
+        assertThat(routing.selectRetryTarget(CELL, addresses, java.util.Set.of(firstKey), policy, "tenant-7"))
+                .isEqualTo(retry);
+    }
+
+    @Test
+    void consecutiveErrorsEjectAddressForEveryPolicy() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        RoutingPolicyService routing = new RoutingPolicyService(new HoneycombRoutingProperties(),
+                CircuitBreakerRegistry.ofDefaults(), meters);
+        for (int i = 0; i < 5; i++) routing.recordLatency(CELL, busy, 10, false);
+
+        for (String policy : List.of(HoneycombConstants.RoutingPolicies.ROUND_ROBIN,
+                HoneycombConstants.RoutingPolicies.P2C, HoneycombConstants.RoutingPolicies.CONSISTENT_HASH)) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(routing.selectTargets(CELL, List.of(busy, idle), policy, "key-" + i)).containsExactly(idle);
+            }
+        }
+        assertThat(routing.isAvailable(CELL, busy)).isFalse();
+        assertThat(meters.counter(HoneycombConstants.Metrics.ROUTING_EJECTIONS,
+                HoneycombConstants.Metrics.TAG_CELL, CELL,
+                HoneycombConstants.Metrics.TAG_REASON, HoneycombConstants.EjectionReasons.CONSECUTIVE_ERRORS).count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void successResetsConsecutiveErrors() {
+        RoutingPolicyService routing = service();
+        for (int i = 0; i < 4; i++) routing.recordLatency(CELL, busy, 10, false);
+        routing.recordLatency(CELL, busy, 10, true);
+        for (int i = 0; i < 4; i++) routing.recordLatency(CELL, busy, 10, false);
+
+        assertThat(routing.isAvailable(CELL, busy)).isTrue();
+    }
+
+    @Test
+    void panicRoutingUsesAllAddressesWhenTooManyAreEjected() {
+        RoutingPolicyService routing = service();
+        CellAddress third = new CellAddress(null, CELL, "svc-c", 9003);
+        List<CellAddress> addresses = List.of(busy, idle, third);
+        routing.eject(routing.stats(CELL, busy), HoneycombConstants.EjectionReasons.LATENCY);
+        routing.eject(routing.stats(CELL, idle), HoneycombConstants.EjectionReasons.LATENCY);
+
+        // two of three out is beyond the default 50%, so health is ignored
+        assertThat(routing.selectTargets(CELL, addresses, HoneycombConstants.RoutingPolicies.ALL))
+                .containsExactlyElementsOf(addresses);
+    }
+
+    @Test
+    void ejectionBacksOffExponentially() {
+        AddressStats stats = service().stats(CELL, busy);
+        long now = System.nanoTime();
+
+        assertThat(stats.eject(now, 30_000, 300_000)).isEqualTo(30_000);
+        assertThat(stats.eject(now, 30_000, 300_000)).isZero();
+        long later = now + java.util.concurrent.TimeUnit.SECONDS.toNanos(31);
+        assertThat(stats.isHealthy(later)).isTrue();
+        assertThat(stats.eject(later, 30_000, 300_000)).isEqualTo(60_000);
+        long muchLater = later + java.util.concurrent.TimeUnit.MINUTES.toNanos(60);
+        assertThat(stats.eject(muchLater, 30_000, 300_000)).isEqualTo(120_000);
+    }
+
+    @Test
+    void slowStartSendsNewInstanceASmallShare() {
+        RoutingPolicyService routing = service();
+        routing.onInstanceStarted(new CellInstanceStartedEvent(CELL, "svc-b", 9002));
+
+        int toNew = 0;
+        for (int i = 0; i < 2000; i++) {
+            if (routing.selectTargets(CELL, List.of(busy, idle), HoneycombConstants.RoutingPolicies.P2C).get(0) == idle) {
+                toNew++;
+            }
+        }
+        // 10% admission, then half of those picks: about 100 of 2000 instead of 1000
+        assertThat(toNew).isBetween(20, 300);
+    }
+
+    @Test
+    void slowStartRampsALocalServerFirstRoutedToAfterItStarted() {
+        RoutingPolicyService routing = service();
+        CellAddress started = new CellAddress(null, CELL, HoneycombConstants.Hosts.LOCALHOST, 9100);
+        // a server started here has no host in the event, and nobody has routed to its port yet
+        routing.onInstanceStarted(new CellInstanceStartedEvent(CELL, null, 9100));
+
+        int toNew = 0;
+        for (int i = 0; i < 2000; i++) {
+            if (routing.selectTargets(CELL, List.of(busy, started), HoneycombConstants.RoutingPolicies.P2C).get(0) == started) {
+                toNew++;
+            }
+        }
+        assertThat(toNew).isBetween(20, 300);
+        // the same port on another host is a different instance
+        long window = java.util.concurrent.TimeUnit.SECONDS.toNanos(30);
+        assertThat(routing.stats(CELL, new CellAddress(null, CELL, "svc-z", 9100))
+                .warmUpFactor(System.nanoTime(), window, 0.1)).isEqualTo(1.0);
+    }
+
+    @Test
+    void slowStartKeepsConsistentHashKeysSticky() {
+        RoutingPolicyService routing = service();
+        routing.onInstanceStarted(new CellInstanceStartedEvent(CELL, "svc-b", 9002));
+        String policy = HoneycombConstants.RoutingPolicies.CONSISTENT_HASH;
+
+        for (int i = 0; i < 200; i++) {
+            String key = "tenant-" + i;
+            CellAddress first = routing.selectTargets(CELL, List.of(busy, idle), policy, key).get(0);
+            for (int j = 0; j < 5; j++) {
+                assertThat(routing.selectTargets(CELL, List.of(busy, idle), policy, key)).containsExactly(first);
+            }
+        }
+    }
+
+    @Test
+    void slowStartRampsLinearlyFromMinimumWeight() {
+        AddressStats stats = service().stats(CELL, idle);
+        long window = java.util.concurrent.TimeUnit.SECONDS.toNanos(30);
+        long start = System.nanoTime();
+
+        assertThat(stats.warmUpFactor(start, window, 0.1)).isEqualTo(1.0);
+        stats.startWarmUp(start);
+        assertThat(stats.warmUpFactor(start, window, 0.1)).isEqualTo(0.1);
+        assertThat(stats.warmUpFactor(start + window / 2, window, 0.1)).isEqualTo(0.5);
+        assertThat(stats.warmUpFactor(start + window, window, 0.1)).isEqualTo(1.0);
+        // the ramp is over for good once it has completed
+        assertThat(stats.warmUpFactor(start, window, 0.1)).isEqualTo(1.0);
+    }
+
+    @Test
+    void allPolicyIgnoresSlowStart() {
+        RoutingPolicyService routing = service();
+        routing.onInstanceStarted(new CellInstanceStartedEvent(CELL, "svc-b", 9002));
+
+        assertThat(routing.selectTargets(CELL, List.of(busy, idle), HoneycombConstants.RoutingPolicies.ALL))
+                .containsExactly(busy, idle);
+    }
+
+    @Test
+    void runtimeWeightsReplaceConfiguredOnesUntilCleared() {
+        HoneycombRoutingProperties props = new HoneycombRoutingProperties();
+        props.getWeights().put(CELL, java.util.Map.of("svc-a:9001", 1, "svc-b:9002", 1));
+        RoutingPolicyService routing = new RoutingPolicyService(props,
+                CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+        List<CellAddress> addresses = List.of(busy, idle);
+        String policy = HoneycombConstants.RoutingPolicies.WEIGHTED;
+
+        routing.setWeights(CELL, java.util.Map.of("svc-a:9001", 9, "svc-b:9002", 1));
+        int toA = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (routing.selectTargets(CELL, addresses, policy).get(0) == busy) toA++;
+        }
+        assertThat(toA).isBetween(8_700, 9_300);
+
+        assertThat(routing.clearWeights(CELL)).isTrue();
+        assertThat(routing.weightsFor(CELL)).containsEntry("svc-a:9001", 1);
+        toA = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (routing.selectTargets(CELL, addresses, policy).get(0) == busy) toA++;
+        }
+        assertThat(toA).isBetween(4_500, 5_500);
+    }
+
+    @Test
+    void weightedRetryDrawsFromTheSnapshotTableWithoutTheTriedInstance() {
+        RoutingPolicyService routing = service();
+        CellAddress heavy = new CellAddress(null, CELL, "svc-c", 9003);
+        List<CellAddress> addresses = List.of(busy, idle, heavy);
+        String policy = HoneycombConstants.RoutingPolicies.WEIGHTED;
+        routing.setWeights(CELL, java.util.Map.of("svc-a:9001", 6, "svc-c:9003", 3));
+
+        int toHeavy = 0;
+        for (int i = 0; i < 10_000; i++) {
+            CellAddress retry = routing.selectRetryTarget(CELL, addresses, java.util.Set.of("svc-a:9001"), policy);
+            assertThat(retry).isNotSameAs(busy);
+            if (retry == heavy) toHeavy++;
+        }
+        assertThat(toHeavy).isBetween(7_200, 7_800);
+    }
+}
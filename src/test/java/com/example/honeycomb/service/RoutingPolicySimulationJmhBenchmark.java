@@ -0,0 +1,117 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombRoutingProperties;
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discrete-event simulation of one caller routing to five instances of unequal speed (three
+ * fast, one slow, one very slow, four workers each) at about 70% of total capacity. Each
+ * invocation replays the same seeded arrival stream through one policy and prints the latency
+ * percentiles it produced; JMH's own score is only the simulation cost.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile jmh:benchmark -Djmh.benchmarks=RoutingPolicySimulationJmhBenchmark}
+ * and compare the {@code p99}/{@code p999} lines per policy.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+public class RoutingPolicySimulationJmhBenchmark {
+    private static final String CELL = "sim";
+    private static final double[] SERVICE_MS = {5, 5, 5, 20, 80};
+    private static final int WORKERS = 4;
+    private static final int REQUESTS = 200_000;
+
+    @Param({
+        HoneycombConstants.RoutingPolicies.ROUND_ROBIN,
+        HoneycombConstants.RoutingPolicies.RANDOM,
+        HoneycombConstants.RoutingPolicies.LEAST_LATENCY,
+        HoneycombConstants.RoutingPolicies.P2C
+    })
+    public String policy;
+
+    private double meanInterArrivalMs;
+    private double[] lastLatencies;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        double capacityPerMs = 0;
+        for (double serviceMs : SERVICE_MS) {
+            capacityPerMs += WORKERS / serviceMs;
+        }
+        meanInterArrivalMs = 1.0 / (capacityPerMs * 0.7);
+    }
+
+    @Benchmark
+    public double simulate() {
+        RoutingPolicyService routing = new RoutingPolicyService(new HoneycombRoutingProperties(),
+            CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+        // fresh addresses too: each one caches the stats of the service that first routed to it
+        List<CellAddress> addresses = new ArrayList<>();
+        for (int i = 0; i < SERVICE_MS.length; i++) {
+            addresses.add(new CellAddress((long) i, CELL, "backend-" + i, 8080 + i));
+        }
+        Random random = new Random(42);
+        double[][] workerFreeAt = new double[SERVICE_MS.length][WORKERS];
+        PriorityQueue<Completion> pending = new PriorityQueue<>();
+        double[] latencies = new double[REQUESTS];
+        double now = 0;
+        for (int r = 0; r < REQUESTS; r++) {
+            now += -Math.log(1 - random.nextDouble()) * meanInterArrivalMs;
+            while (!pending.isEmpty() && pending.peek().at <= now) {
+                Completion done = pending.poll();
+                routing.recordLatency(CELL, done.address, Math.round(done.latencyMs), true);
+                routing.endCall(CELL, done.address);
+            }
+            CellAddress target = routing.selectTargets(CELL, addresses, policy).get(0);
+            int backend = target.getId().intValue();
+            double[] workers = workerFreeAt[backend];
+            int worker = 0;
+            for (int w = 1; w < WORKERS; w++) {
+                if (workers[w] < workers[worker]) worker = w;
+            }
+            // exponential service time around the backend's mean
+            double service = -Math.log(1 - random.nextDouble()) * SERVICE_MS[backend];
+            double finish = Math.max(now, workers[worker]) + service;
+            workers[worker] = finish;
+            latencies[r] = finish - now;
+            routing.beginCall(CELL, target);
+            pending.add(new Completion(finish, finish - now, target));
+        }
+        Arrays.sort(latencies);
+        lastLatencies = latencies;
+        return percentile(latencies, 0.99);
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (lastLatencies == null) return;
+        System.out.printf("%n%s: p50=%.1fms p99=%.1fms p999=%.1fms max=%.1fms%n", policy,
+            percentile(lastLatencies, 0.50), percentile(lastLatencies, 0.99),
+            percentile(lastLatencies, 0.999), lastLatencies[lastLatencies.length - 1]);
+    }
+
+    private static double percentile(double[] sorted, double q) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(q * sorted.length) - 1)];
+    }
+
+    private record Completion(double at, double latencyMs, CellAddress address) implements Comparable<Completion> {
+        @Override
+        public int compareTo(Completion other) {
+            return Double.compare(at, other.at);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombRoutingProperties;
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency bookkeeping under contention: 32 threads recording samples for, and routing across,
+ * four addresses of one cell.
+ * <p>
+ * {@code legacyCompute} reproduces the old path (a {@code cell@host:port} string per call and
+ * {@code ConcurrentHashMap.compute}, which locks the bin while a plain double is mutated);
+ * {@code lockFree} is the current {@code recordLatency}. The {@code *Select} pair adds a
+ * {@code least-latency} pick per sample, which used to read that double without synchronization.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Threads(32)
+@State(Scope.Benchmark)
+public class RoutingStatsContentionJmhBenchmark {
+    private static final String CELL = "bench";
+
+    private RoutingPolicyService routing;
+    private List<CellAddress> addresses;
+    private final Map<String, LegacyStats> legacy = new ConcurrentHashMap<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        routing = new RoutingPolicyService(new HoneycombRoutingProperties(),
+            CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+        addresses = List.of(
+            new CellAddress(null, CELL, "svc-a", 9001),
+            new CellAddress(null, CELL, "svc-b", 9002),
+            new CellAddress(null, CELL, "svc-c", 9003),
+            new CellAddress(null, CELL, "svc-d", 9004));
+    }
+
+    @Benchmark
+    public void legacyCompute() {
+        CellAddress address = pick();
+        legacyRecord(address, sample());
+    }
+
+    @Benchmark
+    public void lockFree() {
+        routing.recordLatency(CELL, pick(), sample(), true);
+    }
+
+    @Benchmark
+    public CellAddress legacySelect() {
+        legacyRecord(pick(), sample());
+        CellAddress best = addresses.get(0);
+        double bestAvg = Double.MAX_VALUE;
+        for (CellAddress a : addresses) {
+            LegacyStats s = legacy.get(CELL + "@" + a.getHost() + ":" + a.getPort());
+            double avg = s == null ? Double.MAX_VALUE : s.avgMs;
+            if (avg < bestAvg) {
+                bestAvg = avg;
+                best = a;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public List<CellAddress> lockFreeSelect() {
+        routing.recordLatency(CELL, pick(), sample(), true);
+        return routing.selectTargets(CELL, addresses, HoneycombConstants.RoutingPolicies.LEAST_LATENCY);
+    }
+
+    private void legacyRecord(CellAddress address, long durationMs) {
+        String key = CELL + "@" + address.getHost() + ":" + address.getPort();
+        legacy.compute(key, (k, prev) -> {
+            if (prev == null) {
+                LegacyStats s = new LegacyStats();
+                s.avgMs = durationMs;
+                return s;
+            }
+            prev.avgMs = 0.2 * durationMs + 0.8 * prev.avgMs;
+            return prev;
+        });
+    }
+
+    private CellAddress pick() {
+        return addresses.get(ThreadLocalRandom.current().nextInt(addresses.size()));
+    }
+
+    private static long sample() {
+        return 1 + ThreadLocalRandom.current().nextInt(50);
+    }
+
+    private static final class LegacyStats {
+        private double avgMs;
+    }
+}
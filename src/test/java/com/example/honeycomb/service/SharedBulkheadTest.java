@@ -0,0 +1,50 @@
+package com.example.honeycomb.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SharedBulkheadTest {
+
+    @Test
+    void rejectsWhenPermitsAndQueueAreFull() {
+        SharedBulkhead bulkhead = new SharedBulkhead("slow", 1, 1, Duration.ofSeconds(5));
+        Sinks.One<String> running = Sinks.one();
+        Sinks.One<String> queued = Sinks.one();
+
+        bulkhead.execute(running.asMono()).subscribe();
+        bulkhead.execute(queued.asMono()).subscribe();
+        assertEquals(1, bulkhead.getInFlight());
+        assertEquals(1, bulkhead.getQueued());
+
+        StepVerifier.create(bulkhead.execute(Mono.just("x")))
+                .expectError(SharedBulkheadFullException.class)
+                .verify();
+
+        running.tryEmitValue("done");
+        assertEquals(1, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getQueued());
+        queued.tryEmitValue("done");
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    void queuedCallTimesOutAndFreesItsSlot() {
+        SharedBulkhead bulkhead = new SharedBulkhead("slow", 1, 1, Duration.ofMillis(50));
+        Sinks.One<String> running = Sinks.one();
+        bulkhead.execute(running.asMono()).subscribe();
+
+        StepVerifier.create(bulkhead.execute(Mono.just("late")))
+                .expectError(SharedBulkheadFullException.class)
+                .verify(Duration.ofSeconds(2));
+        assertEquals(0, bulkhead.getQueued());
+
+        running.tryEmitValue("done");
+        assertEquals(0, bulkhead.getInFlight());
+    }
+}
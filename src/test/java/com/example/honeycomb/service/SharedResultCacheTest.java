@@ -0,0 +1,66 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombSharedResultsProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SharedResultCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SharedResultCache cache = new SharedResultCache(
+            new HoneycombSharedResultsProperties(), objectMapper, new SimpleMeterRegistry());
+
+    @Test
+    void fieldOrderDoesNotChangeTheKey() throws Exception {
+        String a = cache.hashArguments(objectMapper.readTree("{\"a\":1,\"b\":{\"x\":1,\"y\":2}}"), null);
+        String b = cache.hashArguments(objectMapper.readTree("{\"b\":{\"y\":2,\"x\":1},\"a\":1}"), null);
+        assertEquals(a, b);
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneInvocation() {
+        AtomicInteger invocations = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+        Mono<String> loader = Mono.defer(() -> {
+            invocations.incrementAndGet();
+            return result.asMono();
+        });
+
+        Mono<String> first = cache.getOrLoad("price", String.class, "h", Duration.ofMinutes(1), loader, v -> true);
+        Mono<String> second = cache.getOrLoad("price", String.class, "h", Duration.ofMinutes(1), loader, v -> true);
+        first.subscribe();
+        second.subscribe();
+        result.tryEmitValue("42");
+
+        StepVerifier.create(cache.getOrLoad("price", String.class, "h", Duration.ofMinutes(1), loader, v -> true))
+                .expectNext("42")
+                .verifyComplete();
+        assertEquals(1, invocations.get());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    void errorsAreNotCached() {
+        AtomicInteger invocations = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            invocations.incrementAndGet();
+            return Mono.error(new IllegalStateException("down"));
+        });
+        StepVerifier.create(cache.getOrLoad("price", String.class, "h", Duration.ofMinutes(1), failing, v -> true))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(cache.getOrLoad("price", String.class, "h", Duration.ofMinutes(1), failing, v -> true))
+                .expectError(IllegalStateException.class)
+                .verify();
+        assertEquals(2, invocations.get());
+        assertEquals(0, cache.size());
+    }
+}
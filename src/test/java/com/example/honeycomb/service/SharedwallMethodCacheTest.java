@@ -0,0 +1,41 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.annotations.Cell;
+import com.example.honeycomb.annotations.Sharedwall;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SharedwallMethodCacheTest {
+
+    @Cell("WholeClass")
+    @Sharedwall
+    static class WholeClassShared {
+        public String greet(String name) { return decorate(name); }
+
+        @Sharedwall("shout")
+        public String loud(String name) { return name.toUpperCase(); }
+
+        public static String version() { return "1"; }
+
+        String packageHelper() { return "pkg"; }
+
+        private String decorate(String name) {
+            Function<String, String> wrap = n -> "<" + n + ">";
+            return wrap.apply(name);
+        }
+    }
+
+    @Test
+    void classLevelSharedwallExposesOnlyPublicInstanceMethods() {
+        List<String> aliases = SharedwallMethodCache.placements(WholeClassShared.class).stream()
+                .map(SharedwallMethodCache.Placement::alias)
+                .sorted()
+                .toList();
+
+        assertEquals(List.of("greet", "shout"), aliases);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.annotations.Cell;
+import com.example.honeycomb.annotations.Sharedwall;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class SharedwallMethodCacheUpdaterTest {
+    private static final String BEAN_NAME = "lateCell";
+    private static final String ALIAS = "lateProbe";
+
+    @Autowired
+    private GenericApplicationContext context;
+
+    @Autowired
+    private SharedwallMethodCache cache;
+
+    // not a @Component: it only exists while the test registers it
+    @Cell("LateCell")
+    static class LateCell {
+        @Sharedwall(ALIAS)
+        public String probe(String s) { return "late:" + s; }
+    }
+
+    @Test
+    void beansCreatedAndDestroyedAfterStartupUpdateTheCache() {
+        assertTrue(cache.getCandidates(ALIAS).isEmpty());
+        // aliases describe the type, so they are there with or without a live bean
+        assertEquals(List.of(ALIAS), cache.aliasesFor(LateCell.class));
+
+        context.registerBean(BEAN_NAME, LateCell.class);
+        Object bean = context.getBean(BEAN_NAME);
+
+        assertEquals(1, cache.getCandidates(ALIAS).size());
+        assertSame(bean, cache.getCandidates(ALIAS).get(0).getBean());
+
+        ((DefaultListableBeanFactory) context.getBeanFactory()).destroySingleton(BEAN_NAME);
+        context.removeBeanDefinition(BEAN_NAME);
+
+        assertTrue(cache.getCandidates(ALIAS).isEmpty());
+    }
+
+    @Test
+    void prototypeInstancesAreNotRegistered() {
+        context.registerBean(BEAN_NAME, LateCell.class,
+                bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+        try {
+            // Spring never destroys these, so registering them would leak one candidate per lookup
+            context.getBean(BEAN_NAME);
+            context.getBean(BEAN_NAME);
+
+            assertTrue(cache.getCandidates(ALIAS).isEmpty());
+        } finally {
+            context.removeBeanDefinition(BEAN_NAME);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.config.HoneycombRoutingProperties;
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code weighted} pick over a cell of {@code size} instances with uneven weights.
+ * <p>
+ * {@code legacyLinearScan} reproduces the old path (a {@code host:port} string and a weight
+ * lookup per address, an {@code int[]} and a cumulative scan on every call); {@code aliasTable}
+ * is the current {@code selectTargets}, which reuses the cell's Vose table. Run with
+ * {@code -prof gc} to see the allocation difference as well; what is left on the new path is
+ * the one-element result list.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Threads(8)
+@State(Scope.Benchmark)
+public class WeightedRoutingJmhBenchmark {
+    private static final String CELL = "bench";
+
+    @Param({"4", "16", "64"})
+    public int size;
+
+    private RoutingPolicyService routing;
+    private List<CellAddress> addresses;
+    private Map<String, Integer> weights;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HoneycombRoutingProperties props = new HoneycombRoutingProperties();
+        weights = new HashMap<>();
+        List<CellAddress> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(new CellAddress(null, CELL, "svc-" + i, 9000 + i));
+            weights.put("svc-" + i + ":" + (9000 + i), 1 + i % 5);
+        }
+        addresses = List.copyOf(list);
+        props.getWeights().put(CELL, weights);
+        routing = new RoutingPolicyService(props, CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public CellAddress legacyLinearScan() {
+        int total = 0;
+        int n = addresses.size();
+        int[] ws = new int[n];
+        for (int i = 0; i < n; i++) {
+            CellAddress addr = addresses.get(i);
+            String key = addr.getHost() + HoneycombConstants.Names.SEPARATOR_COLON + addr.getPort();
+            int w = Math.max(1, weights.getOrDefault(key, 1));
+            ws[i] = w;
+            total += w;
+        }
+        int r = ThreadLocalRandom.current().nextInt(total);
+        int cum = 0;
+        for (int i = 0; i < n; i++) {
+            cum += ws[i];
+            if (r < cum) return addresses.get(i);
+        }
+        return addresses.get(0);
+    }
+
+    @Benchmark
+    public List<CellAddress> aliasTable() {
+        return routing.selectTargets(CELL, addresses, HoneycombConstants.RoutingPolicies.WEIGHTED);
+    }
+}
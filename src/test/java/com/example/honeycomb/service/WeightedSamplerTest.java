@@ -0,0 +1,85 @@
+package com.example.honeycomb.service;
+
+import com.example.honeycomb.model.CellAddress;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WeightedSamplerTest {
+    private final List<CellAddress> addresses = List.of(
+            new CellAddress(null, "SampleCell", "svc-a", 9001),
+            new CellAddress(null, "SampleCell", "svc-b", 9002),
+            new CellAddress(null, "SampleCell", "svc-c", 9003),
+            new CellAddress(null, "SampleCell", "svc-d", 9004));
+
+    @Test
+    void aliasTableReproducesWeightsExactly() {
+        WeightedSampler sampler = WeightedSampler.of(addresses, Map.of("svc-a:9001", 5, "svc-c:9003", 3));
+
+        // svc-b and svc-d have no weight and count as 1
+        assertThat(sampler.probabilityOf(0)).isCloseTo(0.5, within(1e-9));
+        assertThat(sampler.probabilityOf(1)).isCloseTo(0.1, within(1e-9));
+        assertThat(sampler.probabilityOf(2)).isCloseTo(0.3, within(1e-9));
+        assertThat(sampler.probabilityOf(3)).isCloseTo(0.1, within(1e-9));
+    }
+
+    @Test
+    void picksFollowWeights() {
+        WeightedSampler sampler = WeightedSampler.of(addresses, Map.of("svc-a:9001", 5, "svc-c:9003", 3));
+        int[] counts = new int[addresses.size()];
+        for (int i = 0; i < 100_000; i++) counts[addresses.indexOf(sampler.next())]++;
+
+        assertThat(counts[0]).isBetween(48_000, 52_000);
+        assertThat(counts[1]).isBetween(9_000, 11_000);
+        assertThat(counts[2]).isBetween(28_500, 31_500);
+        assertThat(counts[3]).isBetween(9_000, 11_000);
+    }
+
+    @Test
+    void matchesSameAddressesAndWeightsOnly() {
+        Map<String, Integer> weights = Map.of("svc-a:9001", 2);
+        WeightedSampler sampler = WeightedSampler.of(addresses, weights);
+
+        assertThat(sampler.isFor(addresses, weights)).isTrue();
+        assertThat(sampler.isFor(new ArrayList<>(addresses), weights)).isTrue();
+        assertThat(sampler.isFor(addresses.subList(0, 3), weights)).isFalse();
+        assertThat(sampler.isFor(addresses, Map.of("svc-a:9001", 2))).isFalse();
+    }
+
+    @Test
+    void coversOrderedSubsetsOfTheSameAddressesOnly() {
+        Map<String, Integer> weights = Map.of("svc-a:9001", 2);
+        WeightedSampler sampler = WeightedSampler.of(addresses, weights);
+
+        assertThat(sampler.covers(List.of(addresses.get(1), addresses.get(3)), weights)).isTrue();
+        assertThat(sampler.covers(List.of(new CellAddress(null, "SampleCell", "svc-b", 9002)), weights)).isFalse();
+        assertThat(sampler.covers(List.of(addresses.get(1)), Map.of("svc-a:9001", 2))).isFalse();
+    }
+
+    @Test
+    void subsetPicksKeepRelativeWeights() {
+        WeightedSampler sampler = WeightedSampler.of(addresses, Map.of("svc-a:9001", 5, "svc-c:9003", 3));
+        // svc-a excluded, as by an ejection: svc-c keeps 3 parts to 1 each for svc-b and svc-d
+        List<CellAddress> subset = addresses.subList(1, 4);
+        int[] counts = new int[addresses.size()];
+        for (int i = 0; i < 100_000; i++) counts[addresses.indexOf(sampler.next(subset))]++;
+
+        assertThat(counts[0]).isZero();
+        assertThat(counts[1]).isBetween(19_000, 21_000);
+        assertThat(counts[2]).isBetween(58_500, 61_500);
+        assertThat(counts[3]).isBetween(19_000, 21_000);
+    }
+
+    @Test
+    void lightSubsetFallsBackToLinearPick() {
+        WeightedSampler sampler = WeightedSampler.of(addresses, Map.of("svc-a:9001", 1000));
+        List<CellAddress> subset = List.of(addresses.get(3));
+
+        for (int i = 0; i < 100; i++) assertThat(sampler.next(subset)).isSameAs(addresses.get(3));
+    }
+}
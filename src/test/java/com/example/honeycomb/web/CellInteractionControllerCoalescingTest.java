@@ -0,0 +1,93 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Coalescing at the controller: concurrent GET forwards share an upstream exchange only when
+ * everything they forward, credentials included, is the same.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "honeycomb.interaction.coalescing.enabled=true")
+class CellInteractionControllerCoalescingTest {
+    private static final String TARGET = "OtherModel";
+    // long enough for the second call to arrive while the first is in flight
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(300);
+    private static final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private static DisposableServer upstream;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        upstream = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes.get("/upstream/slow", (req, res) -> {
+                    upstreamCalls.incrementAndGet();
+                    return res.sendString(Mono.just("{}").delayElement(UPSTREAM_DELAY));
+                }))
+                .bindNow();
+        registry.add("cell.addresses." + TARGET, () -> "127.0.0.1:" + upstream.port());
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        if (upstream != null) upstream.disposeNow();
+    }
+
+    @BeforeEach
+    void resetCount() {
+        upstreamCalls.set(0);
+    }
+
+    private Mono<String> forward(String header, String value, String requestId) {
+        return WebClient.create("http://127.0.0.1:" + port).get()
+                .uri(HoneycombConstants.Paths.CELLS_BASE + "/SampleModel/forward/" + TARGET
+                        + "?method=GET&path=/upstream/slow")
+                .header(header, value)
+                .header(HoneycombConstants.Headers.REQUEST_ID, requestId)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    @Test
+    void identicalCallsShareOneExchangeWhateverTheirRequestIds() {
+        Mono.zip(forward(HttpHeaders.COOKIE, "session=a", "r-1"),
+                forward(HttpHeaders.COOKIE, "session=a", "r-2")).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void differentCookiesDoNotShareAnExchange() {
+        Mono.zip(forward(HttpHeaders.COOKIE, "session=a", "r-1"),
+                forward(HttpHeaders.COOKIE, "session=b", "r-2")).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void differentCustomAuthHeadersDoNotShareAnExchange() {
+        Mono.zip(forward("X-Tenant-Token", "tenant-a", "r-1"),
+                forward("X-Tenant-Token", "tenant-b", "r-2")).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code mode=proxy} against a real upstream: header copying, streaming, the per-buffer idle
+ * timeout and the 502 written when nothing has been sent yet.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class CellInteractionControllerProxyTest {
+    private static final String TARGET = "OtherModel";
+    private static final String UNREACHABLE = "SampleModel";
+    private static final long ROUTE_TIMEOUT_MS = 400;
+    private static final Duration CHUNK_GAP = Duration.ofMillis(200);
+    private static final int CHUNKS = 6;
+
+    private static DisposableServer upstream;
+
+    @Autowired
+    private WebTestClient webClient;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        upstream = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes
+                        .get("/upstream/headers", (req, res) -> res.status(201)
+                                .header("X-Upstream-Custom", "yes")
+                                .header(HoneycombConstants.Headers.KEEP_ALIVE, "timeout=5")
+                                .header(HttpHeaders.PROXY_AUTHENTICATE, "Basic")
+                                .sendString(Mono.just("created")))
+                        // slower than the route timeout in total, but never idle for that long;
+                        // one line per chunk so the test client decodes them one by one
+                        .get("/upstream/stream", (req, res) -> res.sendString(
+                                Flux.concat(Mono.just("chunk0\n"),
+                                        Flux.interval(CHUNK_GAP).take(CHUNKS - 1).map(i -> "chunk" + (i + 1) + "\n"))))
+                        .get("/upstream/stall", (req, res) -> res.sendString(
+                                Flux.concat(Mono.just("first\n"), Mono.never()))))
+                .bindNow();
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        registry.add("cell.addresses." + TARGET, () -> "127.0.0.1:" + upstream.port());
+        registry.add("cell.addresses." + UNREACHABLE, () -> "127.0.0.1:" + closedPort);
+        registry.add("honeycomb.interaction.timeouts.per-cell." + TARGET, () -> ROUTE_TIMEOUT_MS);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        if (upstream != null) upstream.disposeNow();
+    }
+
+    private static String proxyUri(String to, String path) {
+        return HoneycombConstants.Paths.CELLS_BASE + "/SampleModel/forward/" + to
+                + "?mode=proxy&method=GET&path=" + path;
+    }
+
+    @Test
+    void statusAndEndToEndHeadersAreCopiedWithoutHopByHopOnes() {
+        webClient.get().uri(proxyUri(TARGET, "/upstream/headers"))
+                .exchange()
+                .expectStatus().isEqualTo(201)
+                .expectHeader().valueEquals("X-Upstream-Custom", "yes")
+                .expectHeader().valueEquals(HoneycombConstants.Headers.UPSTREAM_TARGET, "127.0.0.1:" + upstream.port())
+                .expectHeader().doesNotExist(HoneycombConstants.Headers.KEEP_ALIVE)
+                .expectHeader().doesNotExist(HttpHeaders.PROXY_AUTHENTICATE)
+                .expectBody(String.class).isEqualTo("created");
+    }
+
+    @Test
+    void bodyIsStreamedAndTheTimeoutOnlyLimitsGapsBetweenBuffers() {
+        long start = System.nanoTime();
+        AtomicLong firstAt = new AtomicLong();
+        StringBuilder body = new StringBuilder();
+
+        Flux<String> chunks = webClient.get().uri(proxyUri(TARGET, "/upstream/stream"))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        StepVerifier.create(chunks.doOnNext(chunk -> firstAt.compareAndSet(0, System.nanoTime())))
+                .thenConsumeWhile(chunk -> body.append(chunk) != null)
+                .verifyComplete();
+        long totalMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        long firstMs = Duration.ofNanos(firstAt.get() - start).toMillis();
+
+        assertThat(body.toString()).isEqualTo("chunk0chunk1chunk2chunk3chunk4chunk5");
+        // the whole stream takes longer than the timeout, yet it completed
+        assertThat(totalMs).isGreaterThan(ROUTE_TIMEOUT_MS);
+        // and the first chunk was relayed before the upstream had finished
+        assertThat(firstMs).isLessThan(totalMs - CHUNK_GAP.toMillis());
+    }
+
+    @Test
+    void stalledStreamIsCutAfterItHasStarted() {
+        Flux<String> chunks = webClient.get().uri(proxyUri(TARGET, "/upstream/stall"))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        // the status line is out, so the only way to report the timeout is to abort the response
+        StepVerifier.create(chunks)
+                .expectNext("first")
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void failureBeforeAnythingIsWrittenIsA502() {
+        webClient.get().uri(proxyUri(UNREACHABLE, "/upstream/headers"))
+                .exchange()
+                .expectStatus().isEqualTo(502)
+                .expectHeader().doesNotExist(HoneycombConstants.Headers.UPSTREAM_TARGET)
+                .expectBody()
+                .jsonPath("$." + HoneycombConstants.JsonKeys.ERROR).exists();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.service.RSocketCellClient;
+import com.example.honeycomb.util.HoneycombConstants;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The RSocket connection acts with the shared invoker role for every request, so only callers
+ * that hold it themselves may be sent that way; everyone else goes over HTTP and meets the
+ * target's own checks.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class CellInteractionControllerRSocketTest {
+    private static final String SHARED_USER = "shared";
+    private static final String SHARED_PASSWORD = "changeit";
+    private static final String TARGET = "OtherModel";
+    private static final String ECHO_BODY = "\"hi\"";
+
+    private static DisposableServer upstream;
+
+    @Autowired
+    private WebTestClient webClient;
+
+    @MockitoBean
+    private RSocketCellClient rsocketClient;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        // stands in for the target's /honeycomb/shared/** over HTTP: no credentials, no call
+        upstream = HttpServer.create().host("127.0.0.1").port(0)
+                .route(routes -> routes.post(HoneycombConstants.Paths.HONEYCOMB_SHARED + "/{method}", (req, res) ->
+                        req.requestHeaders().contains(HttpHeaders.AUTHORIZATION)
+                                ? res.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                        .sendString(Mono.just("{\"via\":\"http\"}"))
+                                : res.status(401).send()))
+                .bindNow();
+        registry.add("cell.addresses." + TARGET, () -> "127.0.0.1:" + upstream.port());
+        registry.add(HoneycombConstants.ConfigKeys.CELL_RSOCKET_PORTS_PREFIX + TARGET, () -> "7000");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        if (upstream != null) upstream.disposeNow();
+    }
+
+    @BeforeEach
+    void preferRSocket() {
+        when(rsocketClient.isPreferredFor(any())).thenReturn(true);
+        when(rsocketClient.invoke(any(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just("{\"via\":\"rsocket\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String invokeUri() {
+        return HoneycombConstants.Paths.CELLS_BASE + "/SampleModel/invoke/" + TARGET
+                + "/shared/" + HoneycombConstants.Examples.SHARED_ECHO;
+    }
+
+    private String entry() {
+        return "$['127.0.0.1:" + upstream.port() + "']";
+    }
+
+    @Test
+    void unauthenticatedCallerIsNotCarriedByTheConnection() {
+        webClient.post().uri(invokeUri())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ECHO_BODY)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(entry() + "." + HoneycombConstants.JsonKeys.STATUS).isEqualTo(401);
+
+        verify(rsocketClient, never()).invoke(any(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void callerWithTheSharedRoleGoesOverRSocket() {
+        webClient.post().uri(invokeUri())
+                .headers(h -> h.setBasicAuth(SHARED_USER, SHARED_PASSWORD))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ECHO_BODY)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(entry() + "." + HoneycombConstants.JsonKeys.STATUS).isEqualTo(200)
+                .jsonPath(entry() + "." + HoneycombConstants.JsonKeys.BODY).isEqualTo("{\"via\":\"rsocket\"}");
+
+        verify(rsocketClient).invoke(any(), eq(HoneycombConstants.Examples.SHARED_ECHO), any(), any(), any());
+    }
+}
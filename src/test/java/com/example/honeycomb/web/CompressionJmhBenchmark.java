@@ -0,0 +1,174 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.netty.handler.codec.compression.Zstd;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU against bandwidth for the inter-cell codings, per response of {@code payloadBytes} of
+ * item JSON (a {@code list} answer with ids, names and numbers, so not trivially repetitive).
+ * <p>
+ * {@code compress} runs a response through the same Netty {@link HttpContentCompressor} a server
+ * with {@code honeycomb.interaction.compression.enabled} uses, at the default levels of
+ * {@link HoneycombInteractionProperties.Compression}; {@code decompress} is the client's
+ * {@link HttpContentDecompressor}. {@code identity} is the cost of the handlers alone. The
+ * {@code rawBytes} / {@code wireBytes} counters give the bytes before and after, so the ratio is
+ * the bandwidth saved for the time reported. {@code br} and {@code zstd} fail at setup unless
+ * brotli4j / zstd-jni are on the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class CompressionJmhBenchmark {
+    private static final int ZSTD_BLOCK_SIZE = 1 << 16;
+    private static final int ZSTD_MAX_ENCODE_SIZE = 1 << 25;
+
+    @Param({HoneycombConstants.ContentEncodings.IDENTITY,
+        HoneycombConstants.ContentEncodings.GZIP,
+        HoneycombConstants.ContentEncodings.BROTLI,
+        HoneycombConstants.ContentEncodings.ZSTD})
+    public String coding;
+
+    @Param({"512", "4096", "65536", "1048576"})
+    public int payloadBytes;
+
+    private byte[] payload;
+    private byte[] encoded;
+    private CompressionOptions options;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Wire {
+        public long rawBytes;
+        public long wireBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HoneycombInteractionProperties.Compression defaults = new HoneycombInteractionProperties.Compression();
+        options = switch (coding) {
+            case HoneycombConstants.ContentEncodings.IDENTITY,
+                 HoneycombConstants.ContentEncodings.GZIP ->
+                StandardCompressionOptions.gzip(defaults.getGzipLevel(), 15, 8);
+            case HoneycombConstants.ContentEncodings.BROTLI -> {
+                if (!Brotli.isAvailable()) throw new IllegalStateException(coding + " needs brotli4j on the classpath");
+                // quality 4 is Netty's default and ours
+                yield StandardCompressionOptions.brotli();
+            }
+            case HoneycombConstants.ContentEncodings.ZSTD -> {
+                if (!Zstd.isAvailable()) throw new IllegalStateException(coding + " needs zstd-jni on the classpath");
+                yield StandardCompressionOptions.zstd(defaults.getZstdLevel(), ZSTD_BLOCK_SIZE, ZSTD_MAX_ENCODE_SIZE);
+            }
+            default -> throw new IllegalArgumentException(coding);
+        };
+        payload = itemsJson(payloadBytes);
+        encoded = encode(payload);
+    }
+
+    @Benchmark
+    public long compress(Wire wire) {
+        long bytes = encode(payload).length;
+        wire.rawBytes += payload.length;
+        wire.wireBytes += bytes;
+        return bytes;
+    }
+
+    @Benchmark
+    public long decompress(Wire wire) {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpContentDecompressor());
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+            Unpooled.wrappedBuffer(encoded));
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, encoded.length);
+        if (!coding.equals(HoneycombConstants.ContentEncodings.IDENTITY)) {
+            response.headers().set(HttpHeaderNames.CONTENT_ENCODING, coding);
+        }
+        channel.writeInbound(response);
+        long bytes = drainInbound(channel);
+        channel.finishAndReleaseAll();
+        wire.rawBytes += bytes;
+        wire.wireBytes += encoded.length;
+        return bytes;
+    }
+
+    private byte[] encode(byte[] body) {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpContentCompressor(0, options));
+        DefaultFullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET,
+            HoneycombConstants.Paths.HONEYCOMB_MODELS);
+        request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, coding);
+        channel.writeInbound(request);
+        ReferenceCountUtil.release(channel.readInbound());
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+            Unpooled.wrappedBuffer(body));
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, body.length);
+        channel.writeOutbound(response);
+        byte[] out = collect(channel);
+        channel.finishAndReleaseAll();
+        return out;
+    }
+
+    private static byte[] collect(EmbeddedChannel channel) {
+        ByteBuf all = Unpooled.buffer();
+        Object msg;
+        while ((msg = channel.readOutbound()) != null) {
+            if (msg instanceof HttpContent content) {
+                all.writeBytes(content.content());
+            }
+            ReferenceCountUtil.release(msg);
+        }
+        byte[] bytes = new byte[all.readableBytes()];
+        all.readBytes(bytes);
+        all.release();
+        return bytes;
+    }
+
+    private static long drainInbound(EmbeddedChannel channel) {
+        long bytes = 0;
+        Object msg;
+        while ((msg = channel.readInbound()) != null) {
+            if (msg instanceof HttpContent content) {
+                bytes += content.content().readableBytes();
+            }
+            ReferenceCountUtil.release(msg);
+        }
+        return bytes;
+    }
+
+    private static byte[] itemsJson(int size) {
+        StringBuilder json = new StringBuilder(size + 256).append('[');
+        for (int i = 0; json.length() < size; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":\"").append(UUID.randomUUID())
+                .append("\",\"name\":\"item-").append(i)
+                .append("\",\"value\":").append(i * 31L % 10_007)
+                .append(",\"active\":").append(i % 3 != 0)
+                .append(",\"updatedAt\":").append(1_700_000_000_000L + i * 997L)
+                .append('}');
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
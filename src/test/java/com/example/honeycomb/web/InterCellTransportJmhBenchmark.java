@@ -0,0 +1,97 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.HoneycombApplication;
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.service.RSocketCellClient;
+import com.example.honeycomb.util.HoneycombConstants;
+import io.rsocket.core.RSocketServer;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP vs RSocket for one cell-to-cell shared method call ({@code echo}) against a local
+ * instance, measured as throughput and as a latency distribution (read p99 off the
+ * {@code SampleTime} percentiles). Both clients keep their connections warm, so the difference
+ * is per-request framing and header handling rather than connection setup.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Threads(8)
+@State(Scope.Benchmark)
+public class InterCellTransportJmhBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CloseableChannel rsocketServer;
+    private WebClient httpClient;
+    private RSocketCellClient rsocketClient;
+    private CellAddress target;
+    private byte[] echoBody;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(HoneycombApplication.class)
+            .web(WebApplicationType.REACTIVE)
+            .properties("server.port=0",
+                "honeycomb.rsocket.enabled=true",
+                "honeycomb.rsocket.shared-secret=benchmark-secret")
+            .run();
+        int httpPort = ((WebServerApplicationContext) context).getWebServer().getPort();
+        RSocketMessageHandler handler = context.getBean(RSocketMessageHandler.class);
+        rsocketServer = RSocketServer.create(handler.responder())
+            .bind(TcpServerTransport.create("localhost", 0))
+            .block();
+
+        target = new CellAddress(1L, "bench", "localhost", httpPort, rsocketServer.address().getPort());
+        httpClient = WebClient.builder()
+            .baseUrl(HoneycombConstants.Schemes.HTTP + "localhost:" + httpPort)
+            .build();
+        rsocketClient = context.getBean(RSocketCellClient.class);
+        echoBody = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (rsocketServer != null) {
+            rsocketServer.dispose();
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int http() {
+        byte[] body = httpClient.post()
+            .uri(HoneycombConstants.Paths.HONEYCOMB_SHARED + "/" + HoneycombConstants.Examples.SHARED_ECHO)
+            .header(HoneycombConstants.Headers.FROM_CELL, HoneycombConstants.Examples.SHARED_TEST_CLIENT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(echoBody)
+            .retrieve()
+            .bodyToMono(byte[].class)
+            .block();
+        return body.length;
+    }
+
+    @Benchmark
+    public int rsocket() {
+        byte[] body = rsocketClient
+            .invoke(target, HoneycombConstants.Examples.SHARED_ECHO, echoBody,
+                HoneycombConstants.Examples.SHARED_TEST_CLIENT, null)
+            .block();
+        return body.length;
+    }
+}
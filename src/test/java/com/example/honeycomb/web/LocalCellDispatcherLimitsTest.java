@@ -0,0 +1,81 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "honeycomb.rate-limiter.per-cell.OtherModel.limit-for-period=1",
+        "honeycomb.rate-limiter.per-cell.OtherModel.refresh-period=1h",
+        "honeycomb.concurrency.enabled=true",
+        "honeycomb.concurrency.initial-limit=1",
+        "honeycomb.concurrency.min-limit=1"
+})
+class LocalCellDispatcherLimitsTest {
+    private static final String CELL = "OtherModel";
+
+    @Autowired
+    private LocalCellDispatcher dispatcher;
+
+    @Autowired
+    private AdaptiveConcurrencyFilter concurrencyFilter;
+
+    private static MultiValueMap<String, String> headers() {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        headers.add(HoneycombConstants.Headers.FROM_CELL, HoneycombConstants.Examples.SHARED_TEST_CLIENT);
+        return headers;
+    }
+
+    private static ResponseEntity<String> asInvoker(Mono<ResponseEntity<String>> call) {
+        var auth = UsernamePasswordAuthenticationToken.authenticated("shared", null, List.of(new SimpleGrantedAuthority(
+                HoneycombConstants.SecurityDefaults.ROLE_PREFIX + HoneycombConstants.Roles.SHARED_INVOKER)));
+        return call.contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)).block();
+    }
+
+    @Test
+    void itemRoutesSpendTheCellsRateLimit() {
+        String items = HoneycombConstants.Paths.HONEYCOMB_MODELS + "/" + CELL + "/" + HoneycombConstants.Paths.ITEMS;
+
+        ResponseEntity<String> first = asInvoker(
+                dispatcher.store(CELL, HoneycombConstants.HttpMethods.GET, items, headers(), new byte[0], null));
+        ResponseEntity<String> second = asInvoker(
+                dispatcher.store(CELL, HoneycombConstants.HttpMethods.GET, items, headers(), new byte[0], null));
+
+        assertThat(first.getStatusCode().value()).isEqualTo(200);
+        assertThat(second.getStatusCode().value()).isEqualTo(429);
+    }
+
+    @Test
+    void sharedCallsCountAgainstTheSharedConcurrencyScope() {
+        byte[] body = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+        Sinks.One<ResponseEntity<String>> held = Sinks.one();
+        // stands in for a request through the filter that is still running
+        Disposable inFlight = concurrencyFilter.limit(HoneycombConstants.ConcurrencyLimits.SCOPE_SHARED, held.asMono())
+                .subscribe();
+
+        ResponseEntity<String> refused = asInvoker(
+                dispatcher.invokeShared(HoneycombConstants.Examples.SHARED_ECHO, headers(), body));
+        held.tryEmitValue(ResponseEntity.ok().build());
+        ResponseEntity<String> served = asInvoker(
+                dispatcher.invokeShared(HoneycombConstants.Examples.SHARED_ECHO, headers(), body));
+        inFlight.dispose();
+
+        assertThat(refused.getStatusCode().value()).isEqualTo(503);
+        assertThat(served.getStatusCode().value()).isEqualTo(200);
+    }
+}
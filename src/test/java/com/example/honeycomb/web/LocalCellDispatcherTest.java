@@ -0,0 +1,183 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.model.CellAddress;
+import com.example.honeycomb.util.HoneycombConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class LocalCellDispatcherTest {
+    private static final String SHARED_USER = "shared";
+    private static final String SHARED_PASSWORD = "changeit";
+    // same default password as the shared user
+    private static final String ACTUATOR_USER = "admin";
+    private static final String CELL = "SampleModel";
+    private static final String ECHO_BODY = "\"hello\"";
+
+    @Autowired
+    private LocalCellDispatcher dispatcher;
+
+    @Autowired
+    private WebTestClient webClient;
+
+    @Autowired
+    private MapReactiveUserDetailsService users;
+
+    private static MultiValueMap<String, String> headers() {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        headers.add(HoneycombConstants.Headers.FROM_CELL, HoneycombConstants.Examples.SHARED_TEST_CLIENT);
+        return headers;
+    }
+
+    private static Authentication caller(String... roles) {
+        return UsernamePasswordAuthenticationToken.authenticated(SHARED_USER, null,
+                Arrays.stream(roles).map(SimpleGrantedAuthority::new).toList());
+    }
+
+    private static ResponseEntity<String> as(Authentication auth, Mono<ResponseEntity<String>> call) {
+        return call.contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)).block();
+    }
+
+    private static String sharedRole() {
+        return HoneycombConstants.SecurityDefaults.ROLE_PREFIX + HoneycombConstants.Roles.SHARED_INVOKER;
+    }
+
+    @Test
+    void sharedCallAnswersLikeTheHttpEndpoint() {
+        byte[] body = ECHO_BODY.getBytes(StandardCharsets.UTF_8);
+        String overHttp = webClient.post().uri(HoneycombConstants.Paths.HONEYCOMB_SHARED + "/" + HoneycombConstants.Examples.SHARED_ECHO)
+                .headers(h -> {
+                    h.setBasicAuth(SHARED_USER, SHARED_PASSWORD);
+                    h.add(HoneycombConstants.Headers.FROM_CELL, HoneycombConstants.Examples.SHARED_TEST_CLIENT);
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        ResponseEntity<String> local = as(caller(sharedRole()),
+                dispatcher.invokeShared(HoneycombConstants.Examples.SHARED_ECHO, headers(), body));
+
+        assertThat(local.getStatusCode().value()).isEqualTo(200);
+        assertThat(local.getBody()).isEqualTo(overHttp);
+    }
+
+    @Test
+    void sharedCallKeepsTheInvokerRoleRequirement() {
+        byte[] body = ECHO_BODY.getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<String> anonymous = dispatcher.invokeShared(HoneycombConstants.Examples.SHARED_ECHO, headers(), body).block();
+        ResponseEntity<String> withoutRole = as(caller(HoneycombConstants.Roles.API_KEY),
+                dispatcher.invokeShared(HoneycombConstants.Examples.SHARED_ECHO, headers(), body));
+
+        assertThat(anonymous.getStatusCode().value()).isEqualTo(401);
+        assertThat(withoutRole.getStatusCode().value()).isEqualTo(403);
+    }
+
+    @Test
+    void sharedRoleIsTheOneTheHttpChainRequires() {
+        byte[] body = ECHO_BODY.getBytes(StandardCharsets.UTF_8);
+        String path = HoneycombConstants.Paths.HONEYCOMB_SHARED + "/" + HoneycombConstants.Examples.SHARED_ECHO;
+
+        // if SecurityConfig starts asking for another role on /honeycomb/shared/**, these two disagree
+        for (String user : List.of(SHARED_USER, ACTUATOR_USER)) {
+            int overHttp = webClient.post().uri(path)
+                    .headers(h -> {
+                        h.setBasicAuth(user, SHARED_PASSWORD);
+                        h.add(HoneycombConstants.Headers.FROM_CELL, HoneycombConstants.Examples.SHARED_TEST_CLIENT);
+                    })
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(body)
+                    .exchange()
+                    .returnResult(String.class)
+                    .getStatus()
+                    .value();
+            UserDetails details = users.findByUsername(user).block();
+            ResponseEntity<String> local = as(
+                    UsernamePasswordAuthenticationToken.authenticated(user, null, details.getAuthorities()),
+                    dispatcher.invokeShared(HoneycombConstants.Examples.SHARED_ECHO, headers(), body));
+
+            assertThat(local.getStatusCode().value()).as(user).isEqualTo(overHttp);
+        }
+    }
+
+    @Test
+    void unknownSharedMethodIsNotFound() {
+        ResponseEntity<String> local = as(caller(sharedRole()),
+                dispatcher.invokeShared("missing", headers(), new byte[0]));
+
+        assertThat(local.getStatusCode().value()).isEqualTo(404);
+        assertThat(local.getBody()).contains(HoneycombConstants.ErrorKeys.NO_SHARED_METHOD);
+    }
+
+    @Test
+    void onlyTheTargetCellsItemRoutesAreServedLocally() {
+        String items = HoneycombConstants.Paths.HONEYCOMB_MODELS + "/" + CELL + "/" + HoneycombConstants.Paths.ITEMS;
+
+        assertThat(dispatcher.handlesStore(CELL, HoneycombConstants.HttpMethods.GET, items, null)).isTrue();
+        assertThat(dispatcher.handlesStore(CELL, HoneycombConstants.HttpMethods.POST, items, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(dispatcher.handlesStore(CELL, HoneycombConstants.HttpMethods.PUT, items + "/1", MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(dispatcher.handlesStore(CELL, HoneycombConstants.HttpMethods.POST, items, MediaType.TEXT_PLAIN)).isFalse();
+        assertThat(dispatcher.handlesStore(CELL, HoneycombConstants.HttpMethods.DELETE, items, null)).isFalse();
+        assertThat(dispatcher.handlesStore("OtherCell", HoneycombConstants.HttpMethods.GET, items, null)).isFalse();
+        assertThat(dispatcher.handlesStore(CELL, HoneycombConstants.HttpMethods.GET, items + "?limit=1", null)).isFalse();
+    }
+
+    @Test
+    void itemWritesGoThroughTheController() {
+        String other = "OtherModel";
+        String items = HoneycombConstants.Paths.HONEYCOMB_MODELS + "/" + other + "/" + HoneycombConstants.Paths.ITEMS;
+        byte[] item = "{\"name\":\"local\",\"value\":1}".getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<String> created = as(caller(sharedRole()),
+                dispatcher.store(other, HoneycombConstants.HttpMethods.POST, items, headers(), item, null));
+        ResponseEntity<String> listed = as(caller(sharedRole()),
+                dispatcher.store(other, HoneycombConstants.HttpMethods.GET, items, headers(), new byte[0], null));
+
+        assertThat(created.getStatusCode().value()).isEqualTo(201);
+        assertThat(listed.getBody()).contains("local");
+    }
+
+    @Test
+    void disabledOperationIsStillRefused() {
+        String items = HoneycombConstants.Paths.HONEYCOMB_MODELS + "/" + CELL + "/" + HoneycombConstants.Paths.ITEMS;
+        byte[] item = "{\"name\":\"x\"}".getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<String> created = as(caller(sharedRole()),
+                dispatcher.store(CELL, HoneycombConstants.HttpMethods.POST, items, headers(), item, null));
+
+        assertThat(created.getStatusCode().value()).isEqualTo(405);
+    }
+
+    @Test
+    void addressesOfOtherHostsAreNotLocal() {
+        assertThat(dispatcher.isLocal(new CellAddress(null, CELL, "10.255.255.1", 8081)))
+                .isFalse();
+        assertThat(dispatcher.localAddress(CELL)).isNotNull();
+        assertThat(dispatcher.isLocal(dispatcher.localAddress(CELL))).isTrue();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.HoneycombApplication;
+import com.example.honeycomb.util.HoneycombConstants;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a call to a cell on the same node costs over a loopback connection versus in-process.
+ * <p>
+ * {@code loopback*} is the request {@code CellInteractionController} used to send to itself
+ * (pooled connection, HTTP codec, the whole filter chain and JSON on both sides); {@code inProcess*}
+ * is {@link LocalCellDispatcher} with the same caller authentication, including its security
+ * checks. Both read the complete response. Read the latency delta off the {@code SampleTime}
+ * percentiles.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LocalDispatchJmhBenchmark {
+    private static final String USER = "bench";
+    private static final String PASSWORD = "bench-secret";
+    private static final String CELL = "SampleModel";
+
+    private ConfigurableApplicationContext context;
+    private WebClient httpClient;
+    private LocalCellDispatcher dispatcher;
+    private MultiValueMap<String, String> headers;
+    private Authentication caller;
+    private String itemsPath;
+    private byte[] echoBody;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(HoneycombApplication.class)
+            .web(WebApplicationType.REACTIVE)
+            .properties("server.port=0",
+                "shared.user=" + USER,
+                "shared.password=" + PASSWORD)
+            .run();
+        int httpPort = ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = WebClient.builder()
+            .baseUrl(HoneycombConstants.Schemes.HTTP + "localhost:" + httpPort)
+            .defaultHeaders(h -> {
+                h.setBasicAuth(USER, PASSWORD);
+                h.set(HoneycombConstants.Headers.FROM_CELL, HoneycombConstants.Examples.SHARED_TEST_CLIENT);
+            })
+            .build();
+        dispatcher = context.getBean(LocalCellDispatcher.class);
+        headers = new LinkedMultiValueMap<>();
+        headers.add(HoneycombConstants.Headers.FROM_CELL, HoneycombConstants.Examples.SHARED_TEST_CLIENT);
+        caller = UsernamePasswordAuthenticationToken.authenticated(USER, null, List.of(new SimpleGrantedAuthority(
+            HoneycombConstants.SecurityDefaults.ROLE_PREFIX + HoneycombConstants.Roles.SHARED_INVOKER)));
+        itemsPath = HoneycombConstants.Paths.HONEYCOMB_MODELS + "/" + CELL + "/" + HoneycombConstants.Paths.ITEMS;
+        echoBody = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int loopbackShared() {
+        return httpClient.post()
+            .uri(HoneycombConstants.Paths.HONEYCOMB_SHARED + "/" + HoneycombConstants.Examples.SHARED_ECHO)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(echoBody)
+            .retrieve()
+            .bodyToMono(String.class)
+            .block()
+            .length();
+    }
+
+    @Benchmark
+    public int inProcessShared() {
+        return dispatcher.invokeShared(HoneycombConstants.Examples.SHARED_ECHO, headers, echoBody)
+            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(caller))
+            .block()
+            .getBody()
+            .length();
+    }
+
+    @Benchmark
+    public int loopbackList() {
+        return httpClient.get()
+            .uri(itemsPath)
+            .accept(MediaType.APPLICATION_JSON)
+            .retrieve()
+            .bodyToMono(String.class)
+            .defaultIfEmpty("")
+            .block()
+            .length();
+    }
+
+    @Benchmark
+    public int inProcessList() {
+        return dispatcher.store(CELL, HoneycombConstants.HttpMethods.GET, itemsPath, headers, new byte[0], null)
+            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(caller))
+            .block()
+            .getBody()
+            .length();
+    }
+}
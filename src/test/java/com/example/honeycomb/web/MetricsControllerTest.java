@@ -0,0 +1,49 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.util.HoneycombConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class MetricsControllerTest {
+    private static final String ACTUATOR_USER = "admin";
+    private static final String SHARED_USER = "shared";
+    private static final String PASSWORD = "changeit";
+    private static final String SHARED_RESULTS = HoneycombConstants.Paths.HONEYCOMB_METRICS
+            + "/" + HoneycombConstants.Paths.SHARED_RESULTS;
+
+    @Autowired
+    private WebTestClient webClient;
+
+    @Test
+    void sharedResultStatsStayOpen() {
+        webClient.get().uri(SHARED_RESULTS)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.entries").exists();
+    }
+
+    @Test
+    void purgeNeedsTheActuatorRole() {
+        webClient.delete().uri(SHARED_RESULTS)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        webClient.delete().uri(SHARED_RESULTS)
+                .headers(h -> h.setBasicAuth(SHARED_USER, PASSWORD))
+                .exchange()
+                .expectStatus().isForbidden();
+
+        webClient.delete().uri(SHARED_RESULTS)
+                .headers(h -> h.setBasicAuth(ACTUATOR_USER, PASSWORD))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.purged").exists();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.config.HoneycombInteractionProperties;
+import com.example.honeycomb.service.InterCellCompression;
+import com.example.honeycomb.util.HoneycombConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestDecompressionFilterTest {
+    private static final String BODY = "{\"name\":\"item\",\"value\":1}".repeat(100);
+
+    private static HoneycombInteractionProperties props() {
+        HoneycombInteractionProperties props = new HoneycombInteractionProperties();
+        props.getCompression().setEnabled(true);
+        return props;
+    }
+
+    private static byte[] gzip(String body) {
+        return new InterCellCompression(props()).gzip(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readBody(ServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getRequest().getBody())
+            .map(buffer -> {
+                String text = buffer.toString(StandardCharsets.UTF_8);
+                DataBufferUtils.release(buffer);
+                return text;
+            })
+            .block();
+    }
+
+    private static ServerWebExchange filter(RequestDecompressionFilter filter, MockServerWebExchange exchange) {
+        AtomicReference<ServerWebExchange> seen = new AtomicReference<>();
+        filter.filter(exchange, e -> {
+            seen.set(e);
+            return Mono.empty();
+        }).block();
+        return seen.get();
+    }
+
+    @Test
+    void gzipBodyIsInflatedAndHeadersDropped() {
+        byte[] packed = gzip(BODY);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/honeycomb/shared/echo")
+            .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .contentLength(packed.length)
+            .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(packed))));
+
+        ServerWebExchange seen = filter(new RequestDecompressionFilter(props()), exchange);
+
+        assertThat(seen.getRequest().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(seen.getRequest().getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)).isFalse();
+        assertThat(readBody(seen)).isEqualTo(BODY);
+    }
+
+    @Test
+    void plainBodyPassesThroughUntouched() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/honeycomb/shared/echo")
+            .body(BODY));
+
+        ServerWebExchange seen = filter(new RequestDecompressionFilter(props()), exchange);
+
+        assertThat(seen).isSameAs(exchange);
+    }
+
+    @Test
+    void unsupportedCodingIsRefused() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/honeycomb/shared/echo")
+            .header(HttpHeaders.CONTENT_ENCODING, "br")
+            .body(BODY));
+
+        ServerWebExchange seen = filter(new RequestDecompressionFilter(props()), exchange);
+
+        assertThat(seen).isNull();
+        assertThat(exchange.getResponse().getStatusCode().value()).isEqualTo(415);
+    }
+
+    @Test
+    void inflatedSizeIsCapped() {
+        HoneycombInteractionProperties props = props();
+        props.getCompression().setMaxInflatedRequestSize(BODY.length() - 1);
+        byte[] packed = gzip(BODY);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/honeycomb/shared/echo")
+            .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(packed))));
+
+        ServerWebExchange seen = filter(new RequestDecompressionFilter(props), exchange);
+
+        assertThatThrownBy(() -> readBody(seen))
+            .isInstanceOf(ResponseStatusException.class)
+            .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode().value()).isEqualTo(413));
+    }
+
+    @Test
+    void compressedSizeIsCappedBeforeInflating() {
+        HoneycombInteractionProperties props = props();
+        props.getCompression().setMaxInflatedRequestSize(100);
+        // not even valid gzip: it must be refused for its size, without being buffered or inflated
+        byte[] oversized = new byte[RequestDecompressionFilter.compressedLimit(100) + 1];
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/honeycomb/shared/echo")
+            .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(oversized))));
+
+        ServerWebExchange seen = filter(new RequestDecompressionFilter(props), exchange);
+
+        assertThatThrownBy(() -> readBody(seen))
+            .isInstanceOf(ResponseStatusException.class)
+            .satisfies(ex -> assertThat(((ResponseStatusException) ex).getStatusCode().value()).isEqualTo(413))
+            .hasMessageContaining(HoneycombConstants.ErrorKeys.COMPRESSED_BODY_TOO_LARGE);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.HoneycombApplication;
+import com.example.honeycomb.util.HoneycombConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Mono;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the shared dispatch response path.
+ * <p>
+ * {@code legacyDoubleEncode} reproduces the old behaviour (serialize to a String for logging,
+ * then let WebFlux serialize the Map again); {@code singleEncodeIntoBuffer} is the current
+ * single pass into a response buffer. {@code dispatchEcho} drives the real controller end to end.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class SharedwallDispatchJmhBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private SharedwallDispatcherController controller;
+    private ObjectMapper objectMapper;
+    private Map<String, Object> aggregated;
+    private MultiValueMap<String, String> headers;
+    private byte[] echoBody;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(HoneycombApplication.class)
+            .web(WebApplicationType.NONE)
+            .run();
+        controller = context.getBean(SharedwallDispatcherController.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        aggregated = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            aggregated.put("Cell" + i, Map.of(HoneycombConstants.JsonKeys.RESULT,
+                Map.of("sku", "sku-" + i, "price", 10.5 * i, "tags", List.of("a", "b", "c"))));
+        }
+
+        headers = new LinkedMultiValueMap<>();
+        headers.add(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE);
+        headers.add(HoneycombConstants.Headers.FROM_CELL, HoneycombConstants.Examples.SHARED_TEST_CLIENT);
+        echoBody = "hello".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int legacyDoubleEncode() throws Exception {
+        String logged = objectMapper.writeValueAsString(aggregated);
+        byte[] written = objectMapper.writeValueAsBytes(aggregated);
+        return logged.length() + written.length;
+    }
+
+    @Benchmark
+    public int singleEncodeIntoBuffer() throws Exception {
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(512);
+        try (OutputStream out = buffer.asOutputStream()) {
+            objectMapper.writeValue(out, aggregated);
+        }
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+
+    @Benchmark
+    public int dispatchEcho() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.post(HoneycombConstants.Paths.HONEYCOMB_SHARED + "/echo").build());
+        ResponseEntity<DataBuffer> response = controller
+            .dispatch(HoneycombConstants.Examples.SHARED_ECHO, headers, Mono.just(echoBody), exchange)
+            .block();
+        DataBuffer body = response.getBody();
+        int size = body.readableByteCount();
+        DataBufferUtils.release(body);
+        return size;
+    }
+}
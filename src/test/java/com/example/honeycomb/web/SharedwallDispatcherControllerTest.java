@@ -21,6 +21,9 @@ public class SharedwallDispatcherControllerTest {
     private static final String JSON_EMPTY = "{}";
     private static final String JSON_MALFORMED = "{notjson";
     private static final String VALUE_BOOM = "boom";
+    private static final String JSON_BATCH = "[{\"method\":\"concat\",\"args\":[\"foo\",\"bar\"]},"
+            + "{\"method\":\"sumList\",\"args\":[1,2,3]},"
+            + "{\"method\":\"missing\"}]";
 
     @Autowired
     private WebTestClient webClient;
@@ -131,4 +134,48 @@ public class SharedwallDispatcherControllerTest {
                     assert v.toString().contains(HoneycombConstants.Examples.BOOM_EXCEPTION);
                 });
     }
+
+    @Test
+    void batchReturnsEntriesInRequestOrder() {
+        webClient.post().uri("/honeycomb/shared/_batch")
+                .headers(h -> h.setBasicAuth("shared", "changeit"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(JSON_BATCH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results[0].results.ExampleSharedService.result").isEqualTo("foo"
+                        + HoneycombConstants.Names.SEPARATOR_COLON
+                        + "bar")
+                .jsonPath("$.results[1].results.ExampleSharedService.result").isEqualTo(6)
+                .jsonPath("$.results[2].error").value(v -> {
+                    assert v.toString().contains(HoneycombConstants.ErrorKeys.NO_SHARED_METHOD);
+                });
+    }
+
+    @Test
+    void batchRejectsNonArrayBody() {
+        webClient.post().uri("/honeycomb/shared/_batch")
+                .headers(h -> h.setBasicAuth("shared", "changeit"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(JSON_MAP)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo(HoneycombConstants.ErrorKeys.INVALID_BATCH);
+    }
+
+    @Test
+    void batchStreamsOneLinePerEntry() {
+        webClient.post().uri("/honeycomb/shared/_batch")
+                .headers(h -> h.setBasicAuth("shared", "changeit"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(JSON_BATCH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(java.util.Map.class)
+                .hasSize(3);
+    }
 }
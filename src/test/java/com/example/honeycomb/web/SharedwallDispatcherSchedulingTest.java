@@ -0,0 +1,120 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.annotations.SharedExecution;
+import com.example.honeycomb.annotations.Sharedwall;
+import com.example.honeycomb.config.HoneycombSecurityProperties;
+import com.example.honeycomb.config.HoneycombSharedBulkheadProperties;
+import com.example.honeycomb.config.HoneycombSharedResultsProperties;
+import com.example.honeycomb.service.SharedBulkheadRegistry;
+import com.example.honeycomb.service.SharedResultCache;
+import com.example.honeycomb.service.SharedwallMethodCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link SharedExecution#NON_BLOCKING} methods run on the thread that subscribed to the
+ * dispatch, lookup and body parsing included; {@link SharedExecution#BLOCKING} ones do not.
+ */
+@ExtendWith(MockitoExtension.class)
+class SharedwallDispatcherSchedulingTest {
+    private static final String INLINE = "inlineProbe";
+    private static final String BLOCKING = "blockingProbe";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Probe probe = new Probe();
+
+    @Mock
+    private SharedwallMethodCache methodCache;
+
+    private SharedwallDispatcherController controller;
+
+    public static class Probe {
+        final AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        @Sharedwall(value = INLINE, execution = SharedExecution.NON_BLOCKING)
+        public Mono<String> inline(Map<String, Object> args) {
+            ranOn.set(Thread.currentThread());
+            return Mono.just("ok");
+        }
+
+        @Sharedwall(value = BLOCKING, execution = SharedExecution.BLOCKING)
+        public String blocking(Map<String, Object> args) {
+            ranOn.set(Thread.currentThread());
+            return "ok";
+        }
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (controller != null) controller.shutdown();
+    }
+
+    private SharedwallDispatcherController controller(String alias, String methodName) throws NoSuchMethodException {
+        Method method = Probe.class.getMethod(methodName, Map.class);
+        when(methodCache.getCandidates(alias)).thenReturn(List.of(new SharedwallMethodCache.MethodCandidate(
+                probe, method, method.getAnnotation(Sharedwall.class), objectMapper)));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        controller = new SharedwallDispatcherController(objectMapper, methodCache,
+                new SharedBulkheadRegistry(new HoneycombSharedBulkheadProperties(), meterRegistry),
+                new SharedResultCache(new HoneycombSharedResultsProperties(), objectMapper, meterRegistry),
+                new HoneycombSecurityProperties(), "boundedElastic", 0.0, 50, meterRegistry);
+        return controller;
+    }
+
+    private static MultiValueMap<String, String> jsonHeaders() {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        headers.add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+        return headers;
+    }
+
+    private static ResponseEntity<?> dispatch(SharedwallDispatcherController controller, String alias) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/honeycomb/shared/" + alias));
+        return controller.dispatch(alias, jsonHeaders(),
+                Mono.just("{\"a\":1}".getBytes(StandardCharsets.UTF_8)), exchange).block();
+    }
+
+    @Test
+    void nonBlockingMethodRunsOnTheSubscribingThread() throws Exception {
+        ResponseEntity<?> response = dispatch(controller(INLINE, "inline"), INLINE);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(probe.ranOn.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void nonBlockingMethodRunsOnTheSubscribingThreadOverTheTransportNeutralCall() throws Exception {
+        controller(INLINE, "inline").invokeShared(INLINE, jsonHeaders(),
+                "{\"a\":1}".getBytes(StandardCharsets.UTF_8)).block();
+
+        assertThat(probe.ranOn.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void blockingMethodIsMovedOffTheSubscribingThread() throws Exception {
+        ResponseEntity<?> response = dispatch(controller(BLOCKING, "blocking"), BLOCKING);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(probe.ranOn.get()).isNotNull().isNotSameAs(Thread.currentThread());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.honeycomb.web;
+
+import com.example.honeycomb.config.HoneycombRSocketProperties;
+import com.example.honeycomb.config.HoneycombSecurityProperties;
+import com.example.honeycomb.security.RSocketSetupAuthenticator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SharedwallRSocketControllerTest {
+
+    @Mock
+    private SharedwallDispatcherController dispatcher;
+
+    private SharedwallRSocketController controller() {
+        HoneycombSecurityProperties security = new HoneycombSecurityProperties();
+        security.getJwt().setEnabled(true);
+        security.getJwt().setSharedMethodRoles(Map.of("adminOnly", List.of("ROLE_ADMIN")));
+        RSocketSetupAuthenticator authenticator = new RSocketSetupAuthenticator(new HoneycombRSocketProperties(), security);
+        return new SharedwallRSocketController(dispatcher, authenticator, new ObjectMapper());
+    }
+
+    @Test
+    void requestResponseRefusesMethodsNeedingOtherRoles() {
+        StepVerifier.create(controller().invoke("adminOnly", null, "cell-a", "r-1"))
+                .expectError(SecurityException.class)
+                .verify();
+        verify(dispatcher, never()).invokeShared(anyString(), any(), any());
+    }
+
+    @Test
+    void requestStreamRefusesMethodsNeedingOtherRoles() {
+        StepVerifier.create(controller().stream("adminOnly", null, "cell-a", "r-1"))
+                .expectError(SecurityException.class)
+                .verify();
+        verify(dispatcher, never()).streamShared(anyString(), any(), any());
+    }
+
+    @Test
+    void methodsWithoutRolesAreDispatched() {
+        when(dispatcher.invokeShared(eq("echo"), any(), any()))
+                .thenReturn(Mono.just(Map.of("ExampleSharedService", "echo:hi")));
+        when(dispatcher.streamShared(eq("echo"), any(), any())).thenReturn(Flux.just("a", "b"));
+
+        StepVerifier.create(controller().invoke("echo", null, "cell-a", "r-1")
+                        .map(b -> new String(b, StandardCharsets.UTF_8)))
+                .expectNext("{\"ExampleSharedService\":\"echo:hi\"}")
+                .verifyComplete();
+        StepVerifier.create(controller().stream("echo", null, "cell-a", "r-1"))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+}